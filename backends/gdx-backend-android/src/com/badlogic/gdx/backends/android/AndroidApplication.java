@@ -48,6 +48,7 @@ import com.badlogic.gdx.backends.android.surfaceview.GLSurfaceViewCupcake;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GL11;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
 
@@ -70,6 +71,8 @@ public class AndroidApplication extends Activity implements Application {
 	public Handler handler;
 	protected boolean firstResume = true;
 	protected final Array<Runnable> runnables = new Array<Runnable>();
+	/** runnables posted with {@link #postRunnable(Runnable)}, run after {@link #runnables} **/
+	protected final AtomicChunkedQueue<Runnable> postedRunnables = new AtomicChunkedQueue<Runnable>();
 	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected WakeLock wakeLock = null;
@@ -337,10 +340,8 @@ public class AndroidApplication extends Activity implements Application {
 	
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		postedRunnables.put(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
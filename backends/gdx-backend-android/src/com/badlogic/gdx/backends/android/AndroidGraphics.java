@@ -475,6 +475,7 @@ public final class AndroidGraphics implements Graphics, Renderer {
 				app.executedRunnables.addAll(app.runnables);
 				app.runnables.clear();
 			}
+			app.postedRunnables.drainTo(app.executedRunnables);
 
 			for (int i = 0; i < app.executedRunnables.size; i++) {
 				try {
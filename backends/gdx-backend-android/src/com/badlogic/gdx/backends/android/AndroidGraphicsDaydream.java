@@ -454,13 +454,14 @@ public final class AndroidGraphicsDaydream implements Graphics, Renderer {
 				app.executedRunnables.clear();
 				app.executedRunnables.addAll(app.runnables);
 				app.runnables.clear();
+			}
+			app.postedRunnables.drainTo(app.executedRunnables);
 
-				for (int i = 0; i < app.executedRunnables.size; i++) {
-					try {
-						app.executedRunnables.get(i).run();
-					} catch (Throwable t) {
-						t.printStackTrace();
-					}
+			for (int i = 0; i < app.executedRunnables.size; i++) {
+				try {
+					app.executedRunnables.get(i).run();
+				} catch (Throwable t) {
+					t.printStackTrace();
 				}
 			}
 			app.input.processEvents();
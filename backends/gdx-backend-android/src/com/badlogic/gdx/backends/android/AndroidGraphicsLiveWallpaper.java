@@ -602,13 +602,14 @@ public final class AndroidGraphicsLiveWallpaper implements Graphics, Renderer {
 				app.executedRunnables.clear();
 				app.executedRunnables.addAll(app.runnables);
 				app.runnables.clear();
+			}
+			app.postedRunnables.drainTo(app.executedRunnables);
 
-				for (int i = 0; i < app.executedRunnables.size; i++) {
-					try {
-						app.executedRunnables.get(i).run();
-					} catch (Throwable t) {
-						t.printStackTrace();
-					}
+			for (int i = 0; i < app.executedRunnables.size; i++) {
+				try {
+					app.executedRunnables.get(i).run();
+				} catch (Throwable t) {
+					t.printStackTrace();
 				}
 			}
 			/*
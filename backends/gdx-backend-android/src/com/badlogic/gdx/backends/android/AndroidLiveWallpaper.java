@@ -55,6 +55,7 @@ import com.badlogic.gdx.backends.android.surfaceview.GLSurfaceViewCupcake;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GL11;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
 
@@ -80,6 +81,8 @@ public class AndroidLiveWallpaper implements Application {
 	protected ApplicationListener listener;
 	protected boolean firstResume = true;
 	protected final Array<Runnable> runnables = new Array<Runnable>();
+	/** runnables posted with {@link #postRunnable(Runnable)}, run after {@link #runnables} **/
+	protected final AtomicChunkedQueue<Runnable> postedRunnables = new AtomicChunkedQueue<Runnable>();
 	protected final Array<Runnable> executedRunnables = new Array<Runnable>();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
@@ -243,9 +246,7 @@ public class AndroidLiveWallpaper implements Application {
 
 	@Override 
 	public void postRunnable (Runnable runnable) {
-		synchronized(runnables) {
-			runnables.add(runnable);
-		}
+		postedRunnables.put(runnable);
 	}
 	
 	@Override
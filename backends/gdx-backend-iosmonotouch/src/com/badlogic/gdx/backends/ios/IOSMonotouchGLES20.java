@@ -350,7 +350,7 @@ public class IOSMonotouchGLES20 implements GL20, GLCommon {
 	@Override
 	public void glBufferData (int target, int size, Buffer data, int usage) {
 		GL.BufferData(BufferTarget.wrap(target), IntPtr.op_Explicit(size),
-			IntPtr.op_Explicit(BufferUtils.getUnsafeBufferAddress(data)), BufferUsage.wrap(usage));
+			IntPtr.op_Explicit(data == null ? 0 : BufferUtils.getUnsafeBufferAddress(data)), BufferUsage.wrap(usage));
 	}
 
 	@Override
@@ -11,6 +11,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.LifecycleListener;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxNativesLoader;
 import com.badlogic.gdx.utils.GdxRuntimeException;
@@ -30,7 +31,7 @@ public class JglfwApplication implements Application {
 	JglfwInput input;
 	JglfwNet net;
 	final ApplicationListener listener;
-	private final Array<Runnable> runnables = new Array();
+	private final AtomicChunkedQueue<Runnable> runnables = new AtomicChunkedQueue<Runnable>();
 	private final Array<Runnable> executedRunnables = new Array();
 	private final Array<LifecycleListener> lifecycleListeners = new Array();
 	private final Map<String, Preferences> preferences = new HashMap();
@@ -187,11 +188,8 @@ public class JglfwApplication implements Application {
 	protected void frame () {
 		if (!running) return;
 
-		synchronized (runnables) {
-			executedRunnables.clear();
-			executedRunnables.addAll(runnables);
-			runnables.clear();
-		}
+		executedRunnables.clear();
+		runnables.drainTo(executedRunnables);
 		if (executedRunnables.size > 0) {
 			for (int i = 0; i < executedRunnables.size; i++)
 				executedRunnables.get(i).run();
@@ -300,10 +298,8 @@ public class JglfwApplication implements Application {
 	}
 
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			graphics.requestRendering();
-		}
+		runnables.put(runnable);
+		graphics.requestRendering();
 	}
 
 	public boolean isPaused () {
@@ -96,7 +96,7 @@ public class JglfwGL11 extends JglfwGL10 implements GL11 {
 	}
 
 	public void glBufferData (int target, int size, Buffer data, int usage) {
-		GL.glBufferData(target, size, data, getPosition(data), usage);
+		GL.glBufferData(target, size, data, data == null ? 0 : getPosition(data), usage);
 	}
 
 	public void glBufferSubData (int target, int offset, int size, Buffer data) {
@@ -196,7 +196,7 @@ public class JglfwGL20 implements GL20 {
 	}
 
 	public void glBufferData (int target, int size, Buffer data, int usage) {
-		GL.glBufferData(target, size, data, getPosition(data), usage);
+		GL.glBufferData(target, size, data, data == null ? 0 : getPosition(data), usage);
 	}
 
 	public void glBufferSubData (int target, int offset, int size, Buffer data) {
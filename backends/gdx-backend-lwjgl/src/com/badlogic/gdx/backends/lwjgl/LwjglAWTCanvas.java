@@ -20,9 +20,7 @@ import java.awt.Canvas;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.GraphicsEnvironment;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.lwjgl.LWJGLException;
@@ -41,6 +39,7 @@ import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.backends.openal.OpenALAudio;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
@@ -56,8 +55,8 @@ public class LwjglAWTCanvas implements Application {
 	final LwjglNet net;
 	final ApplicationListener listener;
 	final AWTGLCanvas canvas;
-	final List<Runnable> runnables = new ArrayList();
-	final List<Runnable> executedRunnables = new ArrayList();
+	final AtomicChunkedQueue<Runnable> runnables = new AtomicChunkedQueue<Runnable>();
+	final Array<Runnable> executedRunnables = new Array<Runnable>();
 	final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	boolean running = true;
 	int lastWidth;
@@ -235,17 +234,13 @@ public class LwjglAWTCanvas implements Application {
 			listener.resize(width, height);
 		}
 
-		synchronized (runnables) {
-			executedRunnables.clear();
-			executedRunnables.addAll(runnables);
-			runnables.clear();
-
-			for (int i = 0; i < executedRunnables.size(); i++) {
-				try {
-					executedRunnables.get(i).run();
-				} catch (Throwable t) {
-					t.printStackTrace();
-				}
+		executedRunnables.clear();
+		runnables.drainTo(executedRunnables);
+		for (int i = 0; i < executedRunnables.size; i++) {
+			try {
+				executedRunnables.get(i).run();
+			} catch (Throwable t) {
+				t.printStackTrace();
 			}
 		}
 
@@ -330,9 +325,7 @@ public class LwjglAWTCanvas implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-		}
+		runnables.put(runnable);
 	}
 
 	@Override
@@ -34,6 +34,7 @@ import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.backends.openal.OpenALAudio;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
@@ -48,6 +49,8 @@ public class LwjglApplication implements Application {
 	protected Thread mainLoopThread;
 	protected boolean running = true;
 	protected final Array<Runnable> runnables = new Array();
+	/** runnables posted with {@link #postRunnable(Runnable)}, run after {@link #runnables} **/
+	protected final AtomicChunkedQueue<Runnable> postedRunnables = new AtomicChunkedQueue<Runnable>();
 	protected final Array<Runnable> executedRunnables = new Array();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
@@ -195,6 +198,7 @@ public class LwjglApplication implements Application {
 				executedRunnables.addAll(runnables);
 				runnables.clear();
 			}
+			postedRunnables.drainTo(executedRunnables);
 
 			for (int i = 0; i < executedRunnables.size; i++) {
 				shouldRender = true;
@@ -315,10 +319,8 @@ public class LwjglApplication implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
-		}
+		postedRunnables.put(runnable);
+		Gdx.graphics.requestRendering();
 	}
 
 	@Override
@@ -20,9 +20,7 @@ import java.awt.Canvas;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.EventQueue;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.lwjgl.opengl.Display;
@@ -39,6 +37,7 @@ import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.backends.openal.OpenALAudio;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.SharedLibraryLoader;
@@ -55,8 +54,8 @@ public class LwjglCanvas implements Application {
 	LwjglNet net;
 	ApplicationListener listener;
 	Canvas canvas;
-	final List<Runnable> runnables = new ArrayList();
-	final List<Runnable> executedRunnables = new ArrayList();
+	final AtomicChunkedQueue<Runnable> runnables = new AtomicChunkedQueue<Runnable>();
+	final Array<Runnable> executedRunnables = new Array<Runnable>();
 	final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	boolean running = true;
 	int logLevel = LOG_INFO;
@@ -222,17 +221,13 @@ public class LwjglCanvas implements Application {
 						listener.resize(width, height);
 					}
 
-					synchronized (runnables) {
-						executedRunnables.clear();
-						executedRunnables.addAll(runnables);
-						runnables.clear();
-
-						for (int i = 0; i < executedRunnables.size(); i++) {
-							try {
-								executedRunnables.get(i).run();
-							} catch (Throwable t) {
-								t.printStackTrace();
-							}
+					executedRunnables.clear();
+					runnables.drainTo(executedRunnables);
+					for (int i = 0; i < executedRunnables.size; i++) {
+						try {
+							executedRunnables.get(i).run();
+						} catch (Throwable t) {
+							t.printStackTrace();
 						}
 					}
 
@@ -329,9 +324,7 @@ public class LwjglCanvas implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-		}
+		runnables.put(runnable);
 	}
 
 	@Override
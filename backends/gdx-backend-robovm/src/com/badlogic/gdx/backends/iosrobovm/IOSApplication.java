@@ -26,6 +26,7 @@ import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.Clipboard;
 
 public class IOSApplication implements Application {
@@ -72,7 +73,7 @@ public class IOSApplication implements Application {
 	/** The display scale factor (1.0f for normal; 2.0f to use retina coordinates/dimensions). */
 	float displayScaleFactor;
 
-	Array<Runnable> runnables = new Array<Runnable>();
+	AtomicChunkedQueue<Runnable> runnables = new AtomicChunkedQueue<Runnable>();
 	Array<Runnable> executedRunnables = new Array<Runnable>();
 	Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 
@@ -339,17 +340,12 @@ public class IOSApplication implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-		}
+		runnables.put(runnable);
 	}
 
 	public void processRunnables () {
-		synchronized (runnables) {
-			executedRunnables.clear();
-			executedRunnables.addAll(runnables);
-			runnables.clear();
-		}
+		executedRunnables.clear();
+		runnables.drainTo(executedRunnables);
 		for (int i = 0; i < executedRunnables.size; i++) {
 			try {
 				executedRunnables.get(i).run();
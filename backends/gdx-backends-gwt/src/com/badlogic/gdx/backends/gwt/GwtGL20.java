@@ -96,7 +96,7 @@ public class GwtGL20 implements GL20 {
 
 	public Float32Array copy (FloatBuffer buffer) {
 		if (GWT.isProdMode()) {
-			return ((Float32Array)((HasArrayBufferView)buffer).getTypedArray()).subarray(buffer.position(), buffer.remaining());
+			return ((Float32Array)((HasArrayBufferView)buffer).getTypedArray()).subarray(buffer.position(), buffer.limit());
 		} else {
 			ensureCapacity(buffer);
 			for (int i = buffer.position(), j = 0; i < buffer.limit(); i++, j++) {
@@ -108,7 +108,7 @@ public class GwtGL20 implements GL20 {
 
 	public Int16Array copy (ShortBuffer buffer) {
 		if (GWT.isProdMode()) {
-			return ((Int16Array)((HasArrayBufferView)buffer).getTypedArray()).subarray(buffer.position(), buffer.remaining());
+			return ((Int16Array)((HasArrayBufferView)buffer).getTypedArray()).subarray(buffer.position(), buffer.limit());
 		} else {
 			ensureCapacity(buffer);
 			for (int i = buffer.position(), j = 0; i < buffer.limit(); i++, j++) {
@@ -120,7 +120,7 @@ public class GwtGL20 implements GL20 {
 	
 	public Int32Array copy (IntBuffer buffer) {
 		if (GWT.isProdMode()) {
-			return ((Int32Array)((HasArrayBufferView)buffer).getTypedArray()).subarray(buffer.position(), buffer.remaining());
+			return ((Int32Array)((HasArrayBufferView)buffer).getTypedArray()).subarray(buffer.position(), buffer.limit());
 		} else {
 			ensureCapacity(buffer);
 			for (int i = buffer.position(), j = 0; i < buffer.limit(); i++, j++) {
@@ -500,7 +500,9 @@ public class GwtGL20 implements GL20 {
 
 	@Override
 	public void glBufferData (int target, int size, Buffer data, int usage) {
-		if (data instanceof FloatBuffer) {
+		if (data == null) {
+			gl.bufferData(target, size, usage);
+		} else if (data instanceof FloatBuffer) {
 			gl.bufferData(target, copy((FloatBuffer)data), usage);
 		} else if (data instanceof ShortBuffer) {
 			gl.bufferData(target, copy((ShortBuffer)data), usage);
@@ -24,6 +24,7 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.TextureData.TextureDataType;
 import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
 import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.Disposable;
@@ -132,11 +133,11 @@ public class Texture implements Disposable {
 			setWrap(uWrap, vWrap);
 			if (data.useMipMaps()) Gdx.gl20.glGenerateMipmap(GL10.GL_TEXTURE_2D);
 		}
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, 0);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, 0);
 	}
 
 	private void uploadImageData (Pixmap pixmap) {
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 		Gdx.gl.glPixelStorei(GL10.GL_UNPACK_ALIGNMENT, 1);
 		Gdx.gl.glTexImage2D(GL10.GL_TEXTURE_2D, 0, GL10.GL_RGBA, pixmap.getWidth(), pixmap.getHeight(), 0, GL10.GL_RGBA,
 			GL10.GL_UNSIGNED_BYTE, pixmap.getPixels());
@@ -145,15 +146,14 @@ public class Texture implements Disposable {
 	/** Binds this texture. The texture will be bound to the currently active texture unit specified via
 	 * {@link GLCommon#glActiveTexture(int)}. */
 	public void bind () {
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 	}
 
 	/** Binds the texture to the given texture unit. Sets the currently active texture unit via
 	 * {@link GLCommon#glActiveTexture(int)}.
 	 * @param unit the unit (0 to MAX_TEXTURE_UNITS). */
 	public void bind (int unit) {
-		Gdx.gl.glActiveTexture(GL10.GL_TEXTURE0 + unit);
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(unit, GL10.GL_TEXTURE_2D, glHandle);
 	}
 
 	/** Draws the given {@link Pixmap} to the texture at position x, y. No clipping is performed so you have to make sure that you
@@ -165,7 +165,7 @@ public class Texture implements Disposable {
 	public void draw (Pixmap pixmap, int x, int y) {
 		if (data.isManaged()) throw new GdxRuntimeException("can't draw to a managed texture");
 
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 		Gdx.gl.glTexSubImage2D(GL10.GL_TEXTURE_2D, 0, x, y, pixmap.getWidth(), pixmap.getHeight(), pixmap.getGLFormat(),
 			pixmap.getGLType(), pixmap.getPixels());
 	}
@@ -240,6 +240,7 @@ public class Texture implements Disposable {
 		buffer.put(glHandle);
 		buffer.flip();
 		Gdx.gl.glDeleteTextures(1, buffer);
+		GLStateCache.textureDeleted(glHandle);
 		glHandle = 0;
 	}
 
@@ -142,20 +142,28 @@ public class IndexBufferObject implements IndexData {
 		return buffer;
 	}
 
+	/** Returns the underlying ShortBuffer, the indices are only uploaded again if forWriting is true.
+	 * 
+	 * @return the underlying short buffer. */
+	public ShortBuffer getBuffer (boolean forWriting) {
+		isDirty |= forWriting;
+		return buffer;
+	}
+
 	/** Binds this IndexBufferObject for rendering with glDrawElements. */
 	public void bind () {
 		if (bufferHandle == 0) throw new GdxRuntimeException("No buffer allocated!");
 
 		if (Gdx.gl11 != null) {
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
 			if (isDirty) {
 				gl.glBufferData(GL11.GL_ELEMENT_ARRAY_BUFFER, buffer.limit(), buffer, usage);
 				isDirty = false;
 			}
 		} else {
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
 			if (isDirty) {
 				gl.glBufferData(GL20.GL_ELEMENT_ARRAY_BUFFER, buffer.limit(), buffer, usage);
 				isDirty = false;
@@ -167,9 +175,9 @@ public class IndexBufferObject implements IndexData {
 	/** Unbinds this IndexBufferObject. */
 	public void unbind () {
 		if (Gdx.gl11 != null) {
-			Gdx.gl11.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 		} else if (Gdx.gl20 != null) {
-			Gdx.gl20.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 		}
 		isBound = false;
 	}
@@ -187,7 +195,7 @@ public class IndexBufferObject implements IndexData {
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
 			bufferHandle = 0;
 		} else if (Gdx.gl11 != null) {
@@ -195,7 +203,7 @@ public class IndexBufferObject implements IndexData {
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
 			bufferHandle = 0;
 		}
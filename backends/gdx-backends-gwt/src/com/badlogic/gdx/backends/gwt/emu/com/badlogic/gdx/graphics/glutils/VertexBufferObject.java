@@ -61,6 +61,8 @@ public class VertexBufferObject implements VertexData {
 	final int usage;
 	boolean isDirty = false;
 	boolean isBound = false;
+	/** The floats changed by {@link #updateVertices(int, float[], int, int)} that still have to be uploaded. **/
+	int dirtyStart, dirtyEnd;
 
 	/** Constructs a new interleaved VertexBufferObject.
 	 * 
@@ -119,6 +121,13 @@ public class VertexBufferObject implements VertexData {
 		return buffer;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public FloatBuffer getBuffer (boolean forWriting) {
+		isDirty |= forWriting;
+		return buffer;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void setVertices (float[] vertices, int offset, int count) {
@@ -139,16 +148,54 @@ public class VertexBufferObject implements VertexData {
 		}
 	}
 
+	/** {@inheritDoc} If several ranges are updated before the next upload, everything between them is uploaded as well. */
+	@Override
+	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
+		int position = buffer.position(), limit = buffer.limit();
+		buffer.limit(buffer.capacity());
+		buffer.position(targetOffset);
+		buffer.put(vertices, sourceOffset, count);
+		buffer.limit(limit);
+		buffer.position(position);
+		if (isDirty) return;
+
+		int end = targetOffset + count;
+		if (dirtyStart == dirtyEnd) {
+			dirtyStart = targetOffset;
+			dirtyEnd = end;
+		} else {
+			dirtyStart = Math.min(dirtyStart, targetOffset);
+			dirtyEnd = Math.max(dirtyEnd, end);
+		}
+		if (isBound) uploadDirtyRange();
+	}
+
+	/** Uploads the floats changed by {@link #updateVertices(int, float[], int, int)}. The buffer must be bound. */
+	private void uploadDirtyRange () {
+		int position = buffer.position(), limit = buffer.limit();
+		buffer.limit(dirtyEnd);
+		buffer.position(dirtyStart);
+		if (Gdx.gl20 != null)
+			Gdx.gl20.glBufferSubData(GL20.GL_ARRAY_BUFFER, dirtyStart * 4, (dirtyEnd - dirtyStart) * 4, buffer);
+		else
+			Gdx.gl11.glBufferSubData(GL11.GL_ARRAY_BUFFER, dirtyStart * 4, (dirtyEnd - dirtyStart) * 4, buffer);
+		buffer.limit(limit);
+		buffer.position(position);
+		dirtyStart = dirtyEnd = 0;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void bind () {
 		GL11 gl = Gdx.gl11;
 
-		gl.glBindBuffer(GL11.GL_ARRAY_BUFFER, bufferHandle);
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, bufferHandle);
 		if (isDirty) {
 			gl.glBufferData(GL11.GL_ARRAY_BUFFER, buffer.limit(), buffer, usage);
 			isDirty = false;
-		}
+			dirtyStart = dirtyEnd = 0;
+		} else if (dirtyStart != dirtyEnd) //
+			uploadDirtyRange();
 
 		int textureUnit = 0;
 		int numAttributes = attributes.size();
@@ -206,11 +253,13 @@ public class VertexBufferObject implements VertexData {
 	public void bind (ShaderProgram shader, int[] locations) {
 		final GL20 gl = Gdx.gl20;
 
-		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
 		if (isDirty) {
 			gl.glBufferData(GL20.GL_ARRAY_BUFFER, buffer.limit(), buffer, usage);
 			isDirty = false;
-		}
+			dirtyStart = dirtyEnd = 0;
+		} else if (dirtyStart != dirtyEnd) //
+			uploadDirtyRange();
 
 		final int numAttributes = attributes.size();
 		if (locations == null) {
@@ -277,7 +326,7 @@ public class VertexBufferObject implements VertexData {
 			}
 		}
 
-		gl.glBindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
 		isBound = false;
 	}
 	
@@ -304,7 +353,7 @@ public class VertexBufferObject implements VertexData {
 					shader.disableVertexAttribute(location);
 			}
 		}
-		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, 0);
 		isBound = false;
 	}
 
@@ -322,7 +371,7 @@ public class VertexBufferObject implements VertexData {
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
 			bufferHandle = 0;
 		} else {
@@ -330,7 +379,7 @@ public class VertexBufferObject implements VertexData {
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
 			bufferHandle = 0;
 		}
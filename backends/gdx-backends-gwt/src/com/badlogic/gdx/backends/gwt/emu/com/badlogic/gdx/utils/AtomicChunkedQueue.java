@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** GWT emulation of the lock-free queue. There is only one thread, so values are simply kept in an array. */
+public class AtomicChunkedQueue<T> {
+	private final Array<T> values = new Array<T>();
+
+	public AtomicChunkedQueue () {
+	}
+
+	public AtomicChunkedQueue (int chunkSize) {
+	}
+
+	public void put (T value) {
+		if (value == null) throw new IllegalArgumentException("value cannot be null.");
+		values.add(value);
+	}
+
+	public T poll () {
+		if (values.size == 0) return null;
+		return values.removeIndex(0);
+	}
+
+	public int drainTo (Array<T> array) {
+		int count = values.size;
+		array.addAll(values);
+		values.clear();
+		return count;
+	}
+
+	public boolean isEmpty () {
+		return values.size == 0;
+	}
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.g3d;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.loader.G3dModelLoader;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.utils.MeshOptimizer;
+import com.badlogic.gdx.graphics.g3d.utils.MeshSimplifier;
+import com.badlogic.gdx.tools.FileProcessor;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+/** Optimizes the meshes of g3dj model files with a {@link MeshOptimizer} and writes the files with the optimized vertices and
+ * indices, printing the vertex counts and the average cache miss ratio before and after. When a number of levels of detail is
+ * given, the levels are generated with a {@link MeshSimplifier} first and added to the mesh parts. Everything else in the files
+ * is kept, binary g3db files are not supported. */
+public class G3dMeshOptimizer {
+	static class G3djFileProcessor extends FileProcessor {
+		final MeshOptimizer optimizer = new MeshOptimizer();
+		MeshSimplifier simplifier;
+
+		G3djFileProcessor () {
+			addInputSuffix(".g3dj");
+			setOutputSuffix(".g3dj");
+		}
+
+		@Override
+		protected void processFile (Entry entry) throws Exception {
+			System.out.println("Processing " + entry.inputFile);
+			final FileHandle input = new FileHandle(entry.inputFile);
+			final JsonValue json = new JsonReader().parse(input);
+			final ModelData data = new G3dModelLoader(new JsonReader()).parseModel(input);
+			if (simplifier != null)
+				simplifier.generateLods(data);
+			optimizer.optimize(data);
+
+			int i = 0;
+			for (JsonValue mesh = json.require("meshes").child(); mesh != null; mesh = mesh.next(), i++) {
+				final ModelMesh modelMesh = data.meshes.get(i);
+				setValues(mesh.require("vertices"), modelMesh.vertices);
+				final JsonValue parts = mesh.require("parts");
+				int j = 0;
+				for (JsonValue part = parts.child(); part != null; part = part.next(), j++) {
+					setValues(part.require("indices"), modelMesh.parts[j].indices);
+					if (modelMesh.parts[j].lods != null && part.get("lods") == null) {
+						final JsonValue lods = new JsonValue(ValueType.array);
+						JsonValue last = null;
+						for (final String lod : modelMesh.parts[j].lods)
+							last = append(lods, last, new JsonValue(lod));
+						lods.size = modelMesh.parts[j].lods.length;
+						addChild(part, "lods", lods);
+					}
+				}
+				// the levels of detail added by the simplifier
+				for (; j < modelMesh.parts.length; j++) {
+					final JsonValue part = new JsonValue(ValueType.object);
+					addChild(part, "id", new JsonValue(modelMesh.parts[j].id));
+					addChild(part, "type", new JsonValue("TRIANGLES"));
+					final JsonValue indices = new JsonValue(ValueType.array);
+					setValues(indices, modelMesh.parts[j].indices);
+					addChild(part, "indices", indices);
+					addChild(parts, null, part);
+				}
+			}
+			new FileHandle(entry.outputFile).writeString(json.prettyPrint(OutputType.json, Integer.MAX_VALUE), false);
+
+			if (simplifier != null)
+				System.out.println("Levels of detail: " + simplifier.addedLevels + ", triangles: " + simplifier.triangles + " -> "
+					+ simplifier.addedTriangles);
+
+			System.out.println("Vertices: " + optimizer.verticesBefore + " -> " + optimizer.verticesAfter + ", triangles: "
+				+ optimizer.triangles + ", ACMR: " + optimizer.getACMRBefore() + " -> " + optimizer.getACMRAfter());
+		}
+
+		@Override
+		protected void processDir (Entry entryDir, ArrayList<Entry> value) throws Exception {
+			if (!entryDir.outputDir.exists()) {
+				if (!entryDir.outputDir.mkdirs())
+					throw new Exception("Couldn't create output directory '" + entryDir.outputDir + "'");
+			}
+		}
+
+		private static void setValues (final JsonValue array, final float[] values) {
+			array.child = null;
+			JsonValue last = null;
+			for (int i = 0; i < values.length; i++)
+				last = append(array, last, new JsonValue(Double.parseDouble(Float.toString(values[i]))));
+			array.size = values.length;
+		}
+
+		private static void setValues (final JsonValue array, final short[] values) {
+			array.child = null;
+			JsonValue last = null;
+			for (int i = 0; i < values.length; i++)
+				last = append(array, last, new JsonValue(values[i] & 0xffff));
+			array.size = values.length;
+		}
+
+		private static void addChild (final JsonValue parent, final String name, final JsonValue value) {
+			value.name = name;
+			JsonValue last = parent.child;
+			while (last != null && last.next != null)
+				last = last.next;
+			append(parent, last, value);
+			parent.size++;
+		}
+
+		private static JsonValue append (final JsonValue array, final JsonValue last, final JsonValue value) {
+			if (last == null)
+				array.child = value;
+			else {
+				last.next = value;
+				value.prev = last;
+			}
+			return value;
+		}
+	}
+
+	public static void process (String inputDirectory, String outputDirectory, boolean recursive, boolean flatten)
+		throws Exception {
+		process(inputDirectory, outputDirectory, 0, recursive, flatten);
+	}
+
+	/** @param lodLevels the maximum number of levels of detail to generate for each mesh part, 0 to not generate them */
+	public static void process (String inputDirectory, String outputDirectory, int lodLevels, boolean recursive, boolean flatten)
+		throws Exception {
+		GdxNativesLoader.load();
+		G3djFileProcessor processor = new G3djFileProcessor();
+		if (lodLevels > 0) {
+			processor.simplifier = new MeshSimplifier();
+			processor.simplifier.levels = lodLevels;
+		}
+		processor.setRecursive(recursive);
+		processor.setFlattenOutput(flatten);
+		processor.process(new File(inputDirectory), new File(outputDirectory));
+	}
+
+	public static void main (String[] args) throws Exception {
+		if (args.length != 2 && args.length != 3) {
+			System.out.println("G3dMeshOptimizer <input-dir> <output-dir> [lod-levels]");
+			System.exit(-1);
+		}
+		G3dMeshOptimizer.process(args[0], args[1], args.length == 3 ? Integer.parseInt(args[2]) : 0, true, false);
+	}
+}
@@ -1,10 +1,12 @@
 
 package com.badlogic.gdx;
 
-import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.AtomicChunkedQueue;
 import com.badlogic.gdx.utils.TimeUtils;
 
-/** Queues events that are later passed to the wrapped {@link InputProcessor}.
+/** Queues events that are later passed to the wrapped {@link InputProcessor}. Events can be queued from any number of threads
+ * without locking, {@link #drain()} must be called from a single thread, usually the rendering thread.
  * @author Nathan Sweet */
 public class InputProcessorQueue implements InputProcessor {
 	static private final int KEY_DOWN = 0;
@@ -17,8 +19,10 @@ public class InputProcessorQueue implements InputProcessor {
 	static private final int SCROLLED = 7;
 
 	private InputProcessor processor;
-	private final IntArray queue = new IntArray();
-	private final IntArray processingQueue = new IntArray();
+	private final AtomicChunkedQueue<Event> queue = new AtomicChunkedQueue<Event>();
+	/** drained events, put back by the draining thread and taken by the queueing threads **/
+	private final AtomicChunkedQueue<Event> freeEvents = new AtomicChunkedQueue<Event>();
+	private final Array<Event> processingQueue = new Array<Event>();
 	private long currentEventTime;
 
 	public InputProcessorQueue () {
@@ -37,119 +41,117 @@ public class InputProcessorQueue implements InputProcessor {
 	}
 
 	public void drain () {
-		IntArray q = processingQueue;
-		synchronized (this) {
-			if (processor == null) {
-				queue.clear();
-				return;
-			}
-			q.addAll(queue);
-			queue.clear();
+		Array<Event> q = processingQueue;
+		queue.drainTo(q);
+		InputProcessor processor = this.processor;
+		if (processor == null) {
+			free(q);
+			return;
 		}
-		for (int i = 0, n = q.size; i < n;) {
-			currentEventTime = (long)q.get(i++) << 32 | q.get(i++) & 0xFFFFFFFFL;
-			switch (q.get(i++)) {
+		for (int i = 0, n = q.size; i < n; i++) {
+			Event event = q.get(i);
+			currentEventTime = event.time;
+			switch (event.type) {
 			case KEY_DOWN:
-				processor.keyDown(q.get(i++));
+				processor.keyDown(event.a);
 				break;
 			case KEY_UP:
-				processor.keyUp(q.get(i++));
+				processor.keyUp(event.a);
 				break;
 			case KEY_TYPED:
-				processor.keyTyped((char)q.get(i++));
+				processor.keyTyped((char)event.a);
 				break;
 			case TOUCH_DOWN:
-				processor.touchDown(q.get(i++), q.get(i++), q.get(i++), q.get(i++));
+				processor.touchDown(event.a, event.b, event.c, event.d);
 				break;
 			case TOUCH_UP:
-				processor.touchUp(q.get(i++), q.get(i++), q.get(i++), q.get(i++));
+				processor.touchUp(event.a, event.b, event.c, event.d);
 				break;
 			case TOUCH_DRAGGED:
-				processor.touchDragged(q.get(i++), q.get(i++), q.get(i++));
+				processor.touchDragged(event.a, event.b, event.c);
 				break;
 			case MOUSE_MOVED:
-				processor.mouseMoved(q.get(i++), q.get(i++));
+				processor.mouseMoved(event.a, event.b);
 				break;
 			case SCROLLED:
-				processor.scrolled(q.get(i++));
+				processor.scrolled(event.a);
 				break;
 			}
 		}
+		free(q);
+	}
+
+	/** Returns the drained events to the queueing threads once they are no longer read, then clears the array. */
+	private void free (Array<Event> q) {
+		for (int i = 0, n = q.size; i < n; i++)
+			freeEvents.put(q.get(i));
 		q.clear();
 	}
 
-	private void queueTime () {
-		long time = TimeUtils.nanoTime();
-		queue.add((int)(time >> 32));
-		queue.add((int)time);
+	private void queue (int type, int a, int b, int c, int d) {
+		Event event;
+		// The free events are only taken by the queueing threads, the lock keeps them from polling at the same time.
+		synchronized (freeEvents) {
+			event = freeEvents.poll();
+		}
+		if (event == null) event = new Event();
+		event.time = TimeUtils.nanoTime();
+		event.type = type;
+		event.a = a;
+		event.b = b;
+		event.c = c;
+		event.d = d;
+		queue.put(event);
 	}
 
-	public synchronized boolean keyDown (int keycode) {
-		queueTime();
-		queue.add(KEY_DOWN);
-		queue.add(keycode);
+	public boolean keyDown (int keycode) {
+		queue(KEY_DOWN, keycode, 0, 0, 0);
 		return false;
 	}
 
-	public synchronized boolean keyUp (int keycode) {
-		queueTime();
-		queue.add(KEY_UP);
-		queue.add(keycode);
+	public boolean keyUp (int keycode) {
+		queue(KEY_UP, keycode, 0, 0, 0);
 		return false;
 	}
 
-	public synchronized boolean keyTyped (char character) {
-		queueTime();
-		queue.add(KEY_TYPED);
-		queue.add(character);
+	public boolean keyTyped (char character) {
+		queue(KEY_TYPED, character, 0, 0, 0);
 		return false;
 	}
 
-	public synchronized boolean touchDown (int screenX, int screenY, int pointer, int button) {
-		queueTime();
-		queue.add(TOUCH_DOWN);
-		queue.add(screenX);
-		queue.add(screenY);
-		queue.add(pointer);
-		queue.add(button);
+	public boolean touchDown (int screenX, int screenY, int pointer, int button) {
+		queue(TOUCH_DOWN, screenX, screenY, pointer, button);
 		return false;
 	}
 
-	public synchronized boolean touchUp (int screenX, int screenY, int pointer, int button) {
-		queueTime();
-		queue.add(TOUCH_UP);
-		queue.add(screenX);
-		queue.add(screenY);
-		queue.add(pointer);
-		queue.add(button);
+	public boolean touchUp (int screenX, int screenY, int pointer, int button) {
+		queue(TOUCH_UP, screenX, screenY, pointer, button);
 		return false;
 	}
 
-	public synchronized boolean touchDragged (int screenX, int screenY, int pointer) {
-		queueTime();
-		queue.add(TOUCH_DRAGGED);
-		queue.add(screenX);
-		queue.add(screenY);
-		queue.add(pointer);
+	public boolean touchDragged (int screenX, int screenY, int pointer) {
+		queue(TOUCH_DRAGGED, screenX, screenY, pointer, 0);
 		return false;
 	}
 
-	public synchronized boolean mouseMoved (int screenX, int screenY) {
-		queueTime();
-		queue.add(MOUSE_MOVED);
-		queue.add(screenX);
-		queue.add(screenY);
+	public boolean mouseMoved (int screenX, int screenY) {
+		queue(MOUSE_MOVED, screenX, screenY, 0, 0);
 		return false;
 	}
 
-	public synchronized boolean scrolled (int amount) {
-		queueTime();
-		queue.add(SCROLLED);
-		queue.add(amount);
+	public boolean scrolled (int amount) {
+		queue(SCROLLED, amount, 0, 0, 0);
 		return false;
 	}
 
 	public long getCurrentEventTime () {
 		return currentEventTime;
 	}
+
+	/** Events are reused through {@link InputProcessorQueue#freeEvents} once drained. */
+	static private class Event {
+		long time;
+		int type;
+		int a, b, c, d;
+	}
 }
@@ -11,6 +11,8 @@ import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelTexture;
+import com.badlogic.gdx.graphics.g3d.utils.MeshOptimizer;
+import com.badlogic.gdx.graphics.g3d.utils.MeshSimplifier;
 import com.badlogic.gdx.graphics.g3d.utils.TextureProvider;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -22,6 +24,10 @@ public abstract class ModelLoader<P extends AssetLoaderParameters<Model>> extend
 	}
 	
 	protected Array<ObjectMap.Entry<String, ModelData>> items = new Array<ObjectMap.Entry<String, ModelData>>(); 
+	/** When set, the levels of detail of the meshes of the loaded model data are generated before the model is created. */
+	public MeshSimplifier meshSimplifier;
+	/** When set, the meshes of the loaded model data are optimized before the model is created. */
+	public MeshOptimizer meshOptimizer;
 	
 	/** Directly load the raw model data on the calling thread. */ 
 	public abstract ModelData loadModelData(final FileHandle fileHandle, P parameters);
@@ -34,7 +40,13 @@ public abstract class ModelLoader<P extends AssetLoaderParameters<Model>> extend
 	/** Directly load the model on the calling thread. The model with not be managed by an {@link AssetManager}. */
 	public Model loadModel(final FileHandle fileHandle, TextureProvider textureProvider, P parameters) {
 		final ModelData data = loadModelData(fileHandle, parameters);
-		return data == null ? null : new Model(data, textureProvider);
+		if (data == null)
+			return null;
+		if (meshSimplifier != null)
+			meshSimplifier.generateLods(data);
+		if (meshOptimizer != null)
+			meshOptimizer.optimize(data);
+		return new Model(data, textureProvider);
 	}
 	
 	/** Directly load the model on the calling thread. The model with not be managed by an {@link AssetManager}. */
@@ -58,6 +70,10 @@ public abstract class ModelLoader<P extends AssetLoaderParameters<Model>> extend
 		ModelData data = loadModelData(file, parameters);
 		if (data == null)
 			return deps;
+		if (meshSimplifier != null)
+			meshSimplifier.generateLods(data);
+		if (meshOptimizer != null)
+			meshOptimizer.optimize(data);
 		
 		ObjectMap.Entry<String, ModelData> item = new ObjectMap.Entry<String, ModelData>();
 		item.key = fileName;
@@ -34,6 +34,7 @@ import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.VertexArray;
 import com.badlogic.gdx.graphics.glutils.VertexBufferObject;
 import com.badlogic.gdx.graphics.glutils.VertexBufferObjectSubData;
+import com.badlogic.gdx.graphics.glutils.VertexBufferObjectStreaming;
 import com.badlogic.gdx.graphics.glutils.VertexData;
 import com.badlogic.gdx.math.Matrix3;
 import com.badlogic.gdx.math.Matrix4;
@@ -70,7 +71,7 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
  * @author mzechner, Dave Clayton <contact@redskyforge.com> */
 public class Mesh implements Disposable {
 	public enum VertexDataType {
-		VertexArray, VertexBufferObject, VertexBufferObjectSubData,
+		VertexArray, VertexBufferObject, VertexBufferObjectSubData, VertexBufferObjectStreaming,
 	}
 
 	/** list of all meshes **/
@@ -185,6 +186,10 @@ public class Mesh implements Disposable {
 			vertices = new VertexBufferObjectSubData(isStatic, maxVertices, attributes);
 			indices = new IndexBufferObjectSubData(isStatic, maxIndices);
 			isVertexArray = false;
+		} else if (type == VertexDataType.VertexBufferObjectStreaming && (Gdx.gl20 != null || Gdx.gl11 != null)) {
+			vertices = new VertexBufferObjectStreaming(maxVertices, attributes);
+			indices = new IndexBufferObject(isStatic, maxIndices);
+			isVertexArray = false;
 		} else {
 			vertices = new VertexArray(maxVertices, attributes);
 			indices = new IndexArray(maxIndices);
@@ -317,6 +322,19 @@ public class Mesh implements Disposable {
 		return this;
 	}
 
+	/** Updates part of the vertices of this Mesh, leaving the others as they are. Buffer objects only upload the updated range.
+	 * 
+	 * @param targetOffset the offset in floats of the first float to update
+	 * @param source the vertices
+	 * @param sourceOffset the offset into the source array
+	 * @param count the number of floats to use
+	 * @return the mesh for invocation chaining.
+	 * @see VertexData#updateVertices(int, float[], int, int) */
+	public Mesh updateVertices (int targetOffset, float[] source, int sourceOffset, int count) {
+		this.vertices.updateVertices(targetOffset, source, sourceOffset, count);
+		return this;
+	}
+
 	/** Copies the vertices from the Mesh to the float array. The float array must be large enough to hold all the Mesh's vertices.
 	 * @param vertices the array to copy the vertices to */
 	public void getVertices (float[] vertices) {
@@ -355,10 +373,11 @@ public class Mesh implements Disposable {
 			throw new IndexOutOfBoundsException();
 		if ((vertices.length - destOffset) < count)
 			throw new IllegalArgumentException("not enough room in vertices array, has " + vertices.length + " floats, needs " + count);
-		int pos = getVerticesBuffer().position();
-		getVerticesBuffer().position(srcOffset);
-		getVerticesBuffer().get(vertices, destOffset, count);
-		getVerticesBuffer().position(pos);
+		final FloatBuffer buffer = this.vertices.getBuffer(false);
+		int pos = buffer.position();
+		buffer.position(srcOffset);
+		buffer.get(vertices, destOffset, count);
+		buffer.position(pos);
 	}
 
 	/** Sets the indices of this Mesh
@@ -396,10 +415,11 @@ public class Mesh implements Disposable {
 		if ((indices.length - destOffset) < getNumIndices())
 			throw new IllegalArgumentException("not enough room in indices array, has " + indices.length + " floats, needs "
 				+ getNumIndices());
-		int pos = getIndicesBuffer().position();
-		getIndicesBuffer().position(0);
-		getIndicesBuffer().get(indices, destOffset, getNumIndices());
-		getIndicesBuffer().position(pos);
+		final ShortBuffer buffer = this.indices.getBuffer(false);
+		int pos = buffer.position();
+		buffer.position(0);
+		buffer.get(indices, destOffset, getNumIndices());
+		buffer.position(pos);
 	}
 
 	/** @return the number of defined indices */
@@ -718,7 +738,7 @@ public class Mesh implements Disposable {
 		final int numVertices = getNumVertices();
 		if (numVertices == 0) throw new GdxRuntimeException("No vertices defined");
 
-		final FloatBuffer verts = vertices.getBuffer();
+		final FloatBuffer verts = vertices.getBuffer(false);
 		bbox.inf();
 		final VertexAttribute posAttrib = getVertexAttribute(Usage.Position);
 		final int offset = posAttrib.offset / 4;
@@ -775,18 +795,20 @@ public class Mesh implements Disposable {
 	}
 	
 	private final Vector3 tmpV = new Vector3();
-	/** Extends the specified {@link BoundingBox} with the specified part.
+	/** Extends the specified {@link BoundingBox} with the specified part. If the mesh has no indices the part is a range of
+	 * vertices.
 	 * @param out the bounding box to store the result in. 
 	 * @param offset the start index of the part.
 	 * @param count the amount of indices the part contains. 
 	 * @return the value specified by out. */
 	public BoundingBox extendBoundingBox(final BoundingBox out, int offset, int count, final Matrix4 transform) {
-		int numIndices = getNumIndices();
-		if (offset < 0 || count < 1 || offset + count > numIndices)
+		final int numIndices = getNumIndices();
+		if (offset < 0 || count < 1 || offset + count > (numIndices == 0 ? getNumVertices() : numIndices))
 			throw new GdxRuntimeException("Not enough indices");
 		
-		final FloatBuffer verts = vertices.getBuffer();
-		final ShortBuffer index = indices.getBuffer();
+		// read without marking the buffers dirty, which would upload them again
+		final FloatBuffer verts = vertices.getBuffer(false);
+		final ShortBuffer index = indices.getBuffer(false);
 		final VertexAttribute posAttrib = getVertexAttribute(Usage.Position);
 		final int posoff = posAttrib.offset / 4;
 		final int vertexSize = vertices.getAttributes().vertexSize / 4;
@@ -795,7 +817,7 @@ public class Mesh implements Disposable {
 		switch (posAttrib.numComponents) {
 		case 1:
 			for (int i = offset; i < end; i++) {
-				final int idx = index.get(i) * vertexSize + posoff;
+				final int idx = (numIndices == 0 ? i : index.get(i)) * vertexSize + posoff;
 				tmpV.set(verts.get(idx), 0, 0);
 				if (transform != null)
 					tmpV.mul(transform);
@@ -804,7 +826,7 @@ public class Mesh implements Disposable {
 			break;
 		case 2:
 			for (int i = offset; i < end; i++) {
-				final int idx = index.get(i) * vertexSize + posoff;
+				final int idx = (numIndices == 0 ? i : index.get(i)) * vertexSize + posoff;
 				tmpV.set(verts.get(idx), verts.get(idx + 1), 0);
 				if (transform != null)
 					tmpV.mul(transform);
@@ -813,7 +835,7 @@ public class Mesh implements Disposable {
 			break;
 		case 3:
 			for (int i = offset; i < end; i++) {
-				final int idx = index.get(i) * vertexSize + posoff;
+				final int idx = (numIndices == 0 ? i : index.get(i)) * vertexSize + posoff;
 				tmpV.set(verts.get(idx), verts.get(idx + 1), verts.get(idx + 2));
 				if (transform != null)
 					tmpV.mul(transform);
@@ -844,6 +866,8 @@ public class Mesh implements Disposable {
 		for (int i = 0; i < meshesList.size(); i++) {
 			if (meshesList.get(i).vertices instanceof VertexBufferObject) {
 				((VertexBufferObject)meshesList.get(i).vertices).invalidate();
+			} else if (meshesList.get(i).vertices instanceof VertexBufferObjectStreaming) {
+				((VertexBufferObjectStreaming)meshesList.get(i).vertices).invalidate();
 			}
 			meshesList.get(i).indices.invalidate();
 		}
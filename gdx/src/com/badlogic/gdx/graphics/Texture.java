@@ -35,6 +35,7 @@ import com.badlogic.gdx.graphics.TextureData.TextureDataType;
 import com.badlogic.gdx.graphics.glutils.ETC1TextureData;
 import com.badlogic.gdx.graphics.glutils.FileTextureData;
 import com.badlogic.gdx.graphics.glutils.FloatTextureData;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.graphics.glutils.MipMapGenerator;
 import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
 import com.badlogic.gdx.math.MathUtils;
@@ -183,19 +184,19 @@ public class Texture implements Disposable {
 		}
 
 		if (data.getType() == TextureDataType.Compressed) {
-			Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+			GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 			data.consumeCompressedData();
 			setFilter(minFilter, magFilter);
 			setWrap(uWrap, vWrap);
 		}
 		
 		if (data.getType() == TextureDataType.Float) {
-			Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+			GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 			data.consumeCompressedData();
 			setFilter(minFilter, magFilter);
 			setWrap(uWrap, vWrap);
 		}
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, 0);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, 0);
 	}
 
 	private void uploadImageData (Pixmap pixmap) {
@@ -216,7 +217,7 @@ public class Texture implements Disposable {
 			disposePixmap = true;
 		}
 
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 		Gdx.gl.glPixelStorei(GL10.GL_UNPACK_ALIGNMENT, 1);
 		if (data.useMipMaps()) {
 			MipMapGenerator.generateMipMap(pixmap, pixmap.getWidth(), pixmap.getHeight(), disposePixmap);
@@ -240,15 +241,14 @@ public class Texture implements Disposable {
 	/** Binds this texture. The texture will be bound to the currently active texture unit specified via
 	 * {@link GLCommon#glActiveTexture(int)}. */
 	public void bind () {
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 	}
 
 	/** Binds the texture to the given texture unit. Sets the currently active texture unit via
 	 * {@link GLCommon#glActiveTexture(int)}.
 	 * @param unit the unit (0 to MAX_TEXTURE_UNITS). */
 	public void bind (int unit) {
-		Gdx.gl.glActiveTexture(GL10.GL_TEXTURE0 + unit);
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(unit, GL10.GL_TEXTURE_2D, glHandle);
 	}
 
 	/** Draws the given {@link Pixmap} to the texture at position x, y. No clipping is performed so you have to make sure that you
@@ -260,7 +260,7 @@ public class Texture implements Disposable {
 	public void draw (Pixmap pixmap, int x, int y) {
 		if (data.isManaged()) throw new GdxRuntimeException("can't draw to a managed texture");
 
-		Gdx.gl.glBindTexture(GL10.GL_TEXTURE_2D, glHandle);
+		GLStateCache.bindTexture(GL10.GL_TEXTURE_2D, glHandle);
 		Gdx.gl.glTexSubImage2D(GL10.GL_TEXTURE_2D, 0, x, y, pixmap.getWidth(), pixmap.getHeight(), pixmap.getGLFormat(),
 			pixmap.getGLType(), pixmap.getPixels());
 	}
@@ -333,6 +333,7 @@ public class Texture implements Disposable {
 		if (glHandle == 0) return;
 		buffer.put(0, glHandle);
 		Gdx.gl.glDeleteTextures(1, buffer);
+		GLStateCache.textureDeleted(glHandle);
 		if (data.isManaged()) {
 			if (managedTextures.get(Gdx.app) != null) managedTextures.get(Gdx.app).remove(this);
 		}
@@ -358,6 +359,7 @@ public class Texture implements Disposable {
 
 	/** Invalidate all managed textures. This is an internal method. Do not use it! */
 	public static void invalidateAllTextures (Application app) {
+		GLStateCache.invalidate();
 		List<Texture> managedTextureList = managedTextures.get(app);
 		if (managedTextureList == null) return;
 
@@ -20,12 +20,12 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GL11;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.GLCommon;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Mesh.VertexDataType;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
@@ -94,6 +94,7 @@ public class PolygonSpriteBatch {
 
 	private final ShaderProgram shader;
 	private boolean ownsShader;
+	private int projLocation, transLocation, projTransLocation, textureLocation;
 
 	float color = Color.WHITE.toFloatBits();
 	private Color tempColor = new Color(1, 1, 1, 1);
@@ -169,8 +170,11 @@ public class PolygonSpriteBatch {
 	public PolygonSpriteBatch (int size, int buffers, ShaderProgram defaultShader) {
 		this.buffers = new Mesh[buffers];
 
+		// GLES 2.0 streams the vertices through a ring buffer VBO, GLES 1.x keeps using vertex arrays
+		VertexDataType type = Gdx.graphics.isGL20Available() ? VertexDataType.VertexBufferObjectStreaming
+			: VertexDataType.VertexArray;
 		for (int i = 0; i < buffers; i++) {
-			this.buffers[i] = new Mesh(VertexDataType.VertexArray, false, size, 0, new VertexAttribute(Usage.Position, 2,
+			this.buffers[i] = new Mesh(type, false, size, 0, new VertexAttribute(Usage.Position, 2,
 				ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
 				new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
 		}
@@ -186,6 +190,7 @@ public class PolygonSpriteBatch {
 			ownsShader = true;
 		} else
 			shader = defaultShader;
+		if (shader != null) fetchUniformLocations();
 	}
 
 	/** Returns a new instance of the default shader used by SpriteBatch for GL2 when no shader is specified. */
@@ -230,14 +235,14 @@ public class PolygonSpriteBatch {
 		if (drawing) throw new IllegalStateException("you have to call PolygonSpriteBatch.end() first");
 		renderCalls = 0;
 
-		Gdx.gl.glDepthMask(false);
+		GLStateCache.depthMask(false);
 		if (Gdx.graphics.isGL20Available()) {
 			if (customShader != null)
 				customShader.begin();
 			else
 				shader.begin();
 		} else {
-			Gdx.gl.glEnable(GL10.GL_TEXTURE_2D);
+			GLStateCache.enable(GL10.GL_TEXTURE_2D);
 		}
 		setupMatrices();
 
@@ -255,9 +260,8 @@ public class PolygonSpriteBatch {
 		idx = 0;
 		drawing = false;
 
-		GLCommon gl = Gdx.gl;
-		gl.glDepthMask(true);
-		if (isBlendingEnabled()) gl.glDisable(GL10.GL_BLEND);
+		GLStateCache.depthMask(true);
+		if (isBlendingEnabled()) GLStateCache.disable(GL10.GL_BLEND);
 
 		if (Gdx.graphics.isGL20Available()) {
 			if (customShader != null)
@@ -265,7 +269,7 @@ public class PolygonSpriteBatch {
 			else
 				shader.end();
 		} else {
-			gl.glDisable(GL10.GL_TEXTURE_2D);
+			GLStateCache.disable(GL10.GL_TEXTURE_2D);
 		}
 	}
 
@@ -419,10 +423,10 @@ public class PolygonSpriteBatch {
 		mesh.setVertices(vertices, 0, idx);
 
 		if (blendingDisabled) {
-			Gdx.gl.glDisable(GL20.GL_BLEND);
+			GLStateCache.disable(GL20.GL_BLEND);
 		} else {
-			Gdx.gl.glEnable(GL20.GL_BLEND);
-			Gdx.gl.glBlendFunc(blendSrcFunc, blendDstFunc);
+			GLStateCache.enable(GL20.GL_BLEND);
+			GLStateCache.blendFunc(blendSrcFunc, blendDstFunc);
 		}
 
 		if (Gdx.graphics.isGL20Available()) {
@@ -513,17 +517,32 @@ public class PolygonSpriteBatch {
 		} else {
 			combinedMatrix.set(projectionMatrix).mul(transformMatrix);
 			if (customShader != null) {
-				customShader.setUniformMatrix("u_proj", projectionMatrix);
-				customShader.setUniformMatrix("u_trans", transformMatrix);
-				customShader.setUniformMatrix("u_projTrans", combinedMatrix);
-				customShader.setUniformi("u_texture", 0);
+				customShader.setUniformMatrix(projLocation, projectionMatrix);
+				customShader.setUniformMatrix(transLocation, transformMatrix);
+				customShader.setUniformMatrix(projTransLocation, combinedMatrix);
+				customShader.setUniformi(textureLocation, 0);
 			} else {
-				shader.setUniformMatrix("u_projectionViewMatrix", combinedMatrix);
-				shader.setUniformi("u_texture", 0);
+				shader.setUniformMatrix(projTransLocation, combinedMatrix);
+				shader.setUniformi(textureLocation, 0);
 			}
 		}
 	}
 
+	/** Looks up the uniform locations of the current shader once, so they don't have to be looked up by name every time the
+	 * matrices are set. */
+	private void fetchUniformLocations () {
+		boolean pedantic = ShaderProgram.pedantic;
+		if (customShader != null) {
+			projLocation = customShader.fetchUniformLocation("u_proj", pedantic);
+			transLocation = customShader.fetchUniformLocation("u_trans", pedantic);
+			projTransLocation = customShader.fetchUniformLocation("u_projTrans", pedantic);
+			textureLocation = customShader.fetchUniformLocation("u_texture", pedantic);
+		} else {
+			projTransLocation = shader.fetchUniformLocation("u_projectionViewMatrix", pedantic);
+			textureLocation = shader.fetchUniformLocation("u_texture", pedantic);
+		}
+	}
+
 	private void switchTexture (Texture texture) {
 		renderMesh();
 		lastTexture = texture;
@@ -552,6 +571,7 @@ public class PolygonSpriteBatch {
 				this.shader.end();
 		}
 		customShader = shader;
+		if (shader != null || this.shader != null) fetchUniformLocations();
 		if (drawing) {
 			if (customShader != null)
 				customShader.begin();
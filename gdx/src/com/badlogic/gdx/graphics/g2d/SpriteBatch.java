@@ -16,20 +16,23 @@
 
 package com.badlogic.gdx.graphics.g2d;
 
+import java.nio.IntBuffer;
+
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GL11;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.GLCommon;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Mesh.VertexDataType;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.NumberUtils;
@@ -54,9 +57,16 @@ import com.badlogic.gdx.utils.NumberUtils;
  * A SpriteBatch works with OpenGL ES 1.x and 2.0. In the case of a 2.0 context it will use its own custom shader to draw all
  * provided sprites. You can set your own custom shader via {@link #setShader(ShaderProgram)}.
  * <p>
+ * With OpenGL ES 2.0 a SpriteBatch can bind several textures to separate texture units at once, see
+ * {@link #SpriteBatch(int, int, int, ShaderProgram)}. Sprites using different textures are then drawn with a single render call
+ * as long as no more textures are used than there are units.
+ * <p>
  * A SpriteBatch has to be disposed if it is no longer used.
  * @author mzechner */
 public class SpriteBatch implements Disposable {
+	/** the name of the vertex attribute holding the texture unit of a sprite in multi texture mode **/
+	static public final String TEXTURE_INDEX_ATTRIBUTE = "a_texIndex";
+
 	private Mesh mesh;
 	private Mesh[] buffers;
 
@@ -80,6 +90,17 @@ public class SpriteBatch implements Disposable {
 
 	private final ShaderProgram shader;
 	private boolean ownsShader;
+	private int projTransLocation, textureLocation;
+
+	/** the textures bound to each unit in multi texture mode, null otherwise **/
+	private final Texture[] textures;
+	private int textureCount;
+	/** the vertex offsets at which the texture unit changes and the units used from there on **/
+	private final int[] runOffsets, runUnits;
+	private int runCount;
+	/** the vertices with the texture unit appended to each vertex **/
+	private final float[] multiTextureVertices;
+	private final int[] textureLocations;
 
 	float color = Color.WHITE.toFloatBits();
 	private Color tempColor = new Color(1, 1, 1, 1);
@@ -139,15 +160,61 @@ public class SpriteBatch implements Disposable {
 	 * @param buffers the number of buffers to use. only makes sense with VBOs. This is an expert function.
 	 * @param defaultShader the default shader to use. This is not owned by the SpriteBatch and must be disposed separately. */
 	public SpriteBatch (int size, int buffers, ShaderProgram defaultShader) {
+		this(size, buffers, 1, defaultShader);
+	}
+
+	/** Constructs a SpriteBatch that binds up to the specified number of textures at once and (if GL2) the default shader for that
+	 * number of textures. See {@link #SpriteBatch(int, int, int, ShaderProgram)}. */
+	public SpriteBatch (int size, int buffers, int maxTextures) {
+		this(size, buffers, maxTextures, null);
+	}
+
+	/** Constructs a new SpriteBatch that binds up to maxTextures textures to separate texture units, only flushing when a texture
+	 * is drawn that isn't bound and all units are used. The texture unit of each sprite is passed to the shader with an additional
+	 * float vertex attribute called "a_texIndex", see {@link #TEXTURE_INDEX_ATTRIBUTE}. The samplers are passed via a uniform
+	 * array called "u_textures". See {@link #createDefaultShader(int)}.
+	 * <p>
+	 * The number of textures is limited to the number of texture units the GPU has. With OpenGL ES 1.x only one texture is used.
+	 * @param size the batch size in number of sprites
+	 * @param buffers the number of buffers to use. only makes sense with VBOs. This is an expert function.
+	 * @param maxTextures the maximum number of textures bound at once
+	 * @param defaultShader the default shader to use. This is not owned by the SpriteBatch and must be disposed separately. */
+	public SpriteBatch (int size, int buffers, int maxTextures, ShaderProgram defaultShader) {
 		if (size > 5460) {
 			throw new GdxRuntimeException("Can't have more than 5460 sprites per batch");
 		}
+		if (maxTextures < 1) throw new IllegalArgumentException("maxTextures must be > 0: " + maxTextures);
+		if (maxTextures > 1) maxTextures = Math.min(maxTextures, getMaxTextureUnits());
+
+		if (maxTextures > 1) {
+			textures = new Texture[maxTextures];
+			runOffsets = new int[size + 1];
+			runUnits = new int[size + 1];
+			multiTextureVertices = new float[size * 4 * (Sprite.VERTEX_SIZE + 1)];
+			textureLocations = new int[maxTextures];
+		} else {
+			textures = null;
+			runOffsets = runUnits = null;
+			multiTextureVertices = null;
+			textureLocations = null;
+		}
+
 		this.buffers = new Mesh[buffers];
 
+		// GLES 2.0 streams the vertices through a ring buffer VBO, GLES 1.x keeps using vertex arrays
+		VertexDataType type = Gdx.graphics.isGL20Available() ? VertexDataType.VertexBufferObjectStreaming
+			: VertexDataType.VertexArray;
 		for (int i = 0; i < buffers; i++) {
-			this.buffers[i] = new Mesh(VertexDataType.VertexArray, false, size * 4, size * 6, new VertexAttribute(Usage.Position, 2,
-				ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
-				new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+			if (textures != null) {
+				this.buffers[i] = new Mesh(type, false, size * 4, size * 6, new VertexAttribute(Usage.Position,
+					2, ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+					new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"), new VertexAttribute(
+						Usage.Generic, 1, TEXTURE_INDEX_ATTRIBUTE));
+			} else {
+				this.buffers[i] = new Mesh(type, false, size * 4, size * 6, new VertexAttribute(Usage.Position,
+					2, ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+					new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+			}
 		}
 
 		projectionMatrix.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
@@ -171,10 +238,11 @@ public class SpriteBatch implements Disposable {
 		mesh = this.buffers[0];
 
 		if (Gdx.graphics.isGL20Available() && defaultShader == null) {
-			shader = createDefaultShader();
+			shader = textures != null ? createDefaultShader(textures.length) : createDefaultShader();
 			ownsShader = true;
 		} else
 			shader = defaultShader;
+		if (shader != null) fetchUniformLocations(shader);
 	}
 
 	/** Returns a new instance of the default shader used by SpriteBatch for GL2 when no shader is specified. */
@@ -211,6 +279,61 @@ public class SpriteBatch implements Disposable {
 		return shader;
 	}
 
+	/** Returns a new instance of the default shader used by SpriteBatch for GL2 when the given number of textures are bound at once
+	 * and no shader is specified. */
+	static public ShaderProgram createDefaultShader (int maxTextures) {
+		String vertexShader = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" //
+			+ "attribute float " + TEXTURE_INDEX_ATTRIBUTE + ";\n" //
+			+ "uniform mat4 u_projTrans;\n" //
+			+ "varying vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "varying float v_texIndex;\n" //
+			+ "\n" //
+			+ "void main()\n" //
+			+ "{\n" //
+			+ "   v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" //
+			+ "   v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" //
+			+ "   v_texIndex = " + TEXTURE_INDEX_ATTRIBUTE + ";\n" //
+			+ "   gl_Position =  u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" //
+			+ "}\n";
+		// GLSL ES 1.0 can't index sampler arrays with a varying, so the texture is selected by branching.
+		String fetch = "";
+		for (int i = 0; i < maxTextures - 1; i++)
+			fetch += "  " + (i > 0 ? "else " : "") + "if (v_texIndex < " + i + ".5) color = texture2D(u_textures[" + i
+				+ "], v_texCoords);\n";
+		fetch += "  else color = texture2D(u_textures[" + (maxTextures - 1) + "], v_texCoords);\n";
+		String fragmentShader = "#ifdef GL_ES\n" //
+			+ "#define LOWP lowp\n" //
+			+ "precision mediump float;\n" //
+			+ "#else\n" //
+			+ "#define LOWP \n" //
+			+ "#endif\n" //
+			+ "varying LOWP vec4 v_color;\n" //
+			+ "varying vec2 v_texCoords;\n" //
+			+ "varying float v_texIndex;\n" //
+			+ "uniform sampler2D u_textures[" + maxTextures + "];\n" //
+			+ "void main()\n"//
+			+ "{\n" //
+			+ "  vec4 color;\n" //
+			+ fetch //
+			+ "  gl_FragColor = v_color * color;\n" //
+			+ "}";
+
+		ShaderProgram shader = new ShaderProgram(vertexShader, fragmentShader);
+		if (shader.isCompiled() == false) throw new IllegalArgumentException("couldn't compile shader: " + shader.getLog());
+		return shader;
+	}
+
+	/** @return the number of texture units available to fragment shaders, 1 if GL2 is not available */
+	static private int getMaxTextureUnits () {
+		if (!Gdx.graphics.isGL20Available()) return 1;
+		IntBuffer buffer = BufferUtils.newIntBuffer(16);
+		Gdx.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_IMAGE_UNITS, buffer);
+		return Math.max(1, buffer.get(0));
+	}
+
 	/** Sets up the SpriteBatch for drawing. This will disable depth buffer writting. It enables blending and texturing. If you have
 	 * more texture units enabled than the first one you have to disable them before calling this. Uses a screen coordinate system
 	 * by default where everything is given in pixels. You can specify your own projection and modelview matrices via
@@ -219,19 +342,21 @@ public class SpriteBatch implements Disposable {
 		if (drawing) throw new IllegalStateException("you have to call SpriteBatch.end() first");
 		renderCalls = 0;
 
-		Gdx.gl.glDepthMask(false);
+		GLStateCache.depthMask(false);
 		if (Gdx.graphics.isGL20Available()) {
 			if (customShader != null)
 				customShader.begin();
 			else
 				shader.begin();
 		} else {
-			Gdx.gl.glEnable(GL10.GL_TEXTURE_2D);
+			GLStateCache.enable(GL10.GL_TEXTURE_2D);
 		}
 		setupMatrices();
 
 		idx = 0;
 		lastTexture = null;
+		textureCount = 0;
+		runCount = 0;
 		drawing = true;
 	}
 
@@ -244,9 +369,8 @@ public class SpriteBatch implements Disposable {
 		idx = 0;
 		drawing = false;
 
-		GLCommon gl = Gdx.gl;
-		gl.glDepthMask(true);
-		if (isBlendingEnabled()) gl.glDisable(GL10.GL_BLEND);
+		GLStateCache.depthMask(true);
+		if (isBlendingEnabled()) GLStateCache.disable(GL10.GL_BLEND);
 
 		if (Gdx.graphics.isGL20Available()) {
 			if (customShader != null)
@@ -254,7 +378,7 @@ public class SpriteBatch implements Disposable {
 			else
 				shader.end();
 		} else {
-			gl.glDisable(GL10.GL_TEXTURE_2D);
+			GLStateCache.disable(GL10.GL_TEXTURE_2D);
 		}
 	}
 
@@ -1014,16 +1138,21 @@ public class SpriteBatch implements Disposable {
 		int spritesInBatch = idx / 20;
 		if (spritesInBatch > maxSpritesInBatch) maxSpritesInBatch = spritesInBatch;
 
-		lastTexture.bind();
-		mesh.setVertices(vertices, 0, idx);
-		mesh.getIndicesBuffer().position(0);
-		mesh.getIndicesBuffer().limit(spritesInBatch * 6);
+		if (textures != null) {
+			for (int i = 0; i < textureCount; i++)
+				textures[i].bind(i);
+			GLStateCache.activeTexture(0);
+			mesh.setVertices(multiTextureVertices, 0, appendTextureUnits());
+		} else {
+			lastTexture.bind();
+			mesh.setVertices(vertices, 0, idx);
+		}
 
 		if (blendingDisabled) {
-			Gdx.gl.glDisable(GL20.GL_BLEND);
+			GLStateCache.disable(GL20.GL_BLEND);
 		} else {
-			Gdx.gl.glEnable(GL20.GL_BLEND);
-			if (blendSrcFunc != -1) Gdx.gl.glBlendFunc(blendSrcFunc, blendDstFunc);
+			GLStateCache.enable(GL20.GL_BLEND);
+			if (blendSrcFunc != -1) GLStateCache.blendFunc(blendSrcFunc, blendDstFunc);
 		}
 
 		if (Gdx.graphics.isGL20Available()) {
@@ -1039,6 +1168,37 @@ public class SpriteBatch implements Disposable {
 		currBufferIdx++;
 		if (currBufferIdx == buffers.length) currBufferIdx = 0;
 		mesh = buffers[currBufferIdx];
+
+		if (textures != null) {
+			// sprites drawn after the flush without switching the texture keep using the last one
+			textures[0] = lastTexture;
+			textureCount = 1;
+			runOffsets[0] = 0;
+			runUnits[0] = 0;
+			runCount = 1;
+		}
+	}
+
+	/** Copies the vertices to {@link #multiTextureVertices}, appending the texture unit to each vertex.
+	 * @return the number of floats copied */
+	private int appendTextureUnits () {
+		float[] vertices = this.vertices, multiTextureVertices = this.multiTextureVertices;
+		int[] runOffsets = this.runOffsets, runUnits = this.runUnits;
+		int runCount = this.runCount, idx = this.idx;
+		int j = 0;
+		for (int run = 0; run < runCount; run++) {
+			float unit = runUnits[run];
+			int end = run + 1 < runCount ? runOffsets[run + 1] : idx;
+			for (int i = runOffsets[run]; i < end; i += Sprite.VERTEX_SIZE) {
+				multiTextureVertices[j++] = vertices[i];
+				multiTextureVertices[j++] = vertices[i + 1];
+				multiTextureVertices[j++] = vertices[i + 2];
+				multiTextureVertices[j++] = vertices[i + 3];
+				multiTextureVertices[j++] = vertices[i + 4];
+				multiTextureVertices[j++] = unit;
+			}
+		}
+		return j;
 	}
 
 	/** Disables blending for drawing sprites. */
@@ -1121,28 +1281,75 @@ public class SpriteBatch implements Disposable {
 			gl.glLoadMatrixf(transformMatrix.val, 0);
 		} else {
 			combinedMatrix.set(projectionMatrix).mul(transformMatrix);
-			if (customShader != null) {
-				customShader.setUniformMatrix("u_projTrans", combinedMatrix);
-				customShader.setUniformi("u_texture", 0);
-			} else {
-				shader.setUniformMatrix("u_projTrans", combinedMatrix);
-				shader.setUniformi("u_texture", 0);
-			}
+			ShaderProgram shader = customShader != null ? customShader : this.shader;
+			shader.setUniformMatrix(projTransLocation, combinedMatrix);
+			if (textures != null) {
+				for (int i = 0; i < textureLocations.length; i++)
+					shader.setUniformi(textureLocations[i], i);
+			} else
+				shader.setUniformi(textureLocation, 0);
 		}
 	}
 
+	/** Looks up the uniform locations once, so they don't have to be looked up by name every time the matrices are set. */
+	private void fetchUniformLocations (ShaderProgram shader) {
+		projTransLocation = shader.fetchUniformLocation("u_projTrans", ShaderProgram.pedantic);
+		if (textures != null) {
+			for (int i = 0; i < textureLocations.length; i++)
+				textureLocations[i] = shader.fetchUniformLocation("u_textures[" + i + "]", ShaderProgram.pedantic);
+		} else
+			textureLocation = shader.fetchUniformLocation("u_texture", ShaderProgram.pedantic);
+	}
+
 	private void switchTexture (Texture texture) {
-		renderMesh();
+		if (textures != null)
+			switchTextureUnit(texture);
+		else
+			renderMesh();
 		lastTexture = texture;
 		invTexWidth = 1.0f / texture.getWidth();
 		invTexHeight = 1.0f / texture.getHeight();
 	}
 
+	/** Makes the texture used by the following sprites, flushing only if it isn't bound to a unit yet and all units are used. */
+	private void switchTextureUnit (Texture texture) {
+		Texture[] textures = this.textures;
+		if (idx == vertices.length) {
+			renderMesh();
+			textureCount = 0;
+			runCount = 0;
+		}
+		int unit = -1;
+		for (int i = 0, n = textureCount; i < n; i++) {
+			if (textures[i] == texture) {
+				unit = i;
+				break;
+			}
+		}
+		if (unit == -1) {
+			if (textureCount == textures.length) {
+				renderMesh();
+				textureCount = 0;
+				runCount = 0;
+			}
+			unit = textureCount++;
+			textures[unit] = texture;
+		}
+		if (runCount > 0 && runOffsets[runCount - 1] == idx)
+			runUnits[runCount - 1] = unit;
+		else {
+			runOffsets[runCount] = idx;
+			runUnits[runCount++] = unit;
+		}
+	}
+
 	/** Sets the shader to be used in a GLES 2.0 environment. Vertex position attribute is called "a_position", the texture
 	 * coordinates attribute is called called "a_texCoord0", the color attribute is called "a_color". See
 	 * {@link ShaderProgram#POSITION_ATTRIBUTE}, {@link ShaderProgram#COLOR_ATTRIBUTE} and {@link ShaderProgram#TEXCOORD_ATTRIBUTE}
 	 * which gets "0" appened to indicate the use of the first texture unit. The combined transform and projection matrx is is
-	 * uploaded via a mat4 uniform called "u_projTrans". The texture sampler is passed via a uniform called "u_texture".</p>
+	 * uploaded via a mat4 uniform called "u_projTrans". The texture sampler is passed via a uniform called "u_texture". In multi
+	 * texture mode the samplers are passed via a uniform array called "u_textures" instead and the texture unit of each vertex via
+	 * a float attribute called "a_texIndex".</p>
 	 * 
 	 * Call this method with a null argument to use the default shader.</p>
 	 * 
@@ -1159,6 +1366,9 @@ public class SpriteBatch implements Disposable {
 				this.shader.end();
 		}
 		customShader = shader;
+		if (shader != null)
+			fetchUniformLocations(shader);
+		else if (this.shader != null) fetchUniformLocations(this.shader);
 		if (drawing) {
 			if (customShader != null)
 				customShader.begin();
@@ -1168,6 +1378,11 @@ public class SpriteBatch implements Disposable {
 		}
 	}
 
+	/** @return the shader used for drawing, the custom shader if one is set. Null if OpenGL ES 2.0 is not used. */
+	public ShaderProgram getShader () {
+		return customShader != null ? customShader : shader;
+	}
+
 	/** @return whether blending for sprites is enabled */
 	public boolean isBlendingEnabled () {
 		return !blendingDisabled;
@@ -28,9 +28,11 @@ import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.NumberUtils;
@@ -38,15 +40,17 @@ import com.badlogic.gdx.utils.NumberUtils;
 import static com.badlogic.gdx.graphics.g2d.Sprite.*;
 
 /** Draws 2D images, optimized for geometry that does not change. Sprites and/or textures are cached and given an ID, which can
- * later be used for drawing. The size, color, and texture region for each cached image cannot be modified. This information is
- * stored in video memory and does not have to be sent to the GPU each time it is drawn.<br>
+ * later be used for drawing. This information is stored in video memory and does not have to be sent to the GPU each time it is
+ * drawn. Single images of a cache can be replaced with {@link #update(int, int, Sprite)}, which only sends the replaced image to
+ * the GPU, but the texture of an image cannot be changed.<br>
  * <br>
  * To cache {@link Sprite sprites} or {@link Texture textures}, first call {@link SpriteCache#beginCache()}, then call the
  * appropriate add method to define the images. To complete the cache, call {@link SpriteCache#endCache()} and store the returned
  * cache ID.<br>
  * <br>
  * To draw with SpriteCache, first call {@link #begin()}, then call {@link #draw(int)} with a cache ID. When SpriteCache drawing
- * is complete, call {@link #end()}.<br>
+ * is complete, call {@link #end()}. For large caches, {@link #draw(int, Rectangle)} only draws the chunks of images that are
+ * visible.<br>
  * <br>
  * By default, SpriteCache draws using screen coordinates and uses an x-axis pointing to the right, an y-axis pointing upwards and
  * the origin is the bottom left corner of the screen. The default transformation and projection matrices can be changed. If the
@@ -85,6 +89,7 @@ public class SpriteCache implements Disposable {
 	private Color tempColor = new Color(1, 1, 1, 1);
 
 	private ShaderProgram customShader = null;
+	private int chunkSize = 64;
 
 	/** Creates a cache that uses indexed geometry and can contain up to 1000 images. */
 	public SpriteCache () {
@@ -183,6 +188,7 @@ public class SpriteCache implements Disposable {
 		if (currentCache == null) throw new IllegalStateException("beginCache must be called before endCache.");
 		Cache cache = currentCache;
 		int cacheCount = mesh.getVerticesBuffer().position() - cache.offset;
+		computeBounds(cache, cacheCount);
 		if (cache.textures == null) {
 			// New cache.
 			cache.maxCount = cacheCount;
@@ -224,6 +230,44 @@ public class SpriteCache implements Disposable {
 		return cache.id;
 	}
 
+	/** Computes the bounds of each chunk of images of the cache. */
+	private void computeBounds (Cache cache, int floatCount) {
+		int floatsPerImage = (mesh.getNumIndices() > 0 ? 4 : 6) * VERTEX_SIZE;
+		int imageCount = floatCount / floatsPerImage, chunkSize = this.chunkSize;
+		int chunkCount = (imageCount + chunkSize - 1) / chunkSize;
+		if (cache.bounds == null || cache.bounds.length < chunkCount * 4) cache.bounds = new float[chunkCount * 4];
+		cache.imageCount = imageCount;
+		cache.chunkSize = chunkSize;
+		cache.chunkCount = chunkCount;
+
+		FloatBuffer vertices = mesh.getVerticesBuffer();
+		float[] bounds = cache.bounds;
+		for (int chunk = 0; chunk < chunkCount; chunk++) {
+			float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+			int i = cache.offset + chunk * chunkSize * floatsPerImage;
+			int n = cache.offset + Math.min(imageCount, (chunk + 1) * chunkSize) * floatsPerImage;
+			for (; i < n; i += VERTEX_SIZE) {
+				float x = vertices.get(i), y = vertices.get(i + 1);
+				if (x < minX) minX = x;
+				if (x > maxX) maxX = x;
+				if (y < minY) minY = y;
+				if (y > maxY) maxY = y;
+			}
+			int b = chunk * 4;
+			bounds[b] = minX;
+			bounds[b + 1] = minY;
+			bounds[b + 2] = maxX;
+			bounds[b + 3] = maxY;
+		}
+	}
+
+	/** Sets the number of consecutive images that share bounds for {@link #draw(int, Rectangle)}. Smaller chunks skip more
+	 * invisible images but need more draw calls. Only affects caches ended after this call. Default is 64. */
+	public void setChunkSize (int chunkSize) {
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be >= 1: " + chunkSize);
+		this.chunkSize = chunkSize;
+	}
+
 	/** Invalidates all cache IDs and resets the SpriteCache so new caches can be added. */
 	public void clear () {
 		caches.clear();
@@ -832,14 +876,61 @@ public class SpriteCache implements Disposable {
 		add(sprite.getTexture(), tempVertices, 0, 30);
 	}
 
+	/** Replaces images of a cache with the specified vertices, without redefining the cache. Only the replaced images are sent to
+	 * the GPU. The vertices have the same format as for {@link #add(Texture, float[], int, int)}. The replaced images keep their
+	 * texture, the vertices must use the same texture. This must not be called between {@link #beginCache()} and
+	 * {@link #endCache()}.
+	 * @param index the index of the first image to replace, in the order the images were added to the cache
+	 * @param length the number of floats, a multiple of the floats per image */
+	public void update (int cacheID, int index, float[] vertices, int offset, int length) {
+		if (currentCache != null) throw new IllegalStateException("endCache must be called before update.");
+		Cache cache = caches.get(cacheID);
+		int floatsPerImage = (mesh.getNumIndices() > 0 ? 4 : 6) * VERTEX_SIZE;
+		if (length % floatsPerImage != 0)
+			throw new IllegalArgumentException("length must be a multiple of " + floatsPerImage + ": " + length);
+		int count = length / floatsPerImage;
+		if (index < 0 || index + count > cache.imageCount)
+			throw new IndexOutOfBoundsException("images " + index + " to " + (index + count) + " out of " + cache.imageCount);
+		mesh.updateVertices(cache.offset + index * floatsPerImage, vertices, offset, length);
+
+		// The bounds only grow, they are recomputed when the cache is redefined.
+		float[] bounds = cache.bounds;
+		for (int i = 0; i < count; i++) {
+			int b = (index + i) / cache.chunkSize * 4;
+			for (int v = offset + i * floatsPerImage, n = v + floatsPerImage; v < n; v += VERTEX_SIZE) {
+				float x = vertices[v], y = vertices[v + 1];
+				if (x < bounds[b]) bounds[b] = x;
+				if (y < bounds[b + 1]) bounds[b + 1] = y;
+				if (x > bounds[b + 2]) bounds[b + 2] = x;
+				if (y > bounds[b + 3]) bounds[b + 3] = y;
+			}
+		}
+	}
+
+	/** Replaces an image of a cache with the sprite.
+	 * @see #update(int, int, float[], int, int) */
+	public void update (int cacheID, int index, Sprite sprite) {
+		if (mesh.getNumIndices() > 0) {
+			update(cacheID, index, sprite.getVertices(), 0, SPRITE_SIZE);
+			return;
+		}
+
+		float[] spriteVertices = sprite.getVertices();
+		System.arraycopy(spriteVertices, 0, tempVertices, 0, 3 * VERTEX_SIZE); // temp0,1,2=sprite0,1,2
+		System.arraycopy(spriteVertices, 2 * VERTEX_SIZE, tempVertices, 3 * VERTEX_SIZE, VERTEX_SIZE); // temp3=sprite2
+		System.arraycopy(spriteVertices, 3 * VERTEX_SIZE, tempVertices, 4 * VERTEX_SIZE, VERTEX_SIZE); // temp4=sprite3
+		System.arraycopy(spriteVertices, 0, tempVertices, 5 * VERTEX_SIZE, VERTEX_SIZE); // temp5=sprite0
+		update(cacheID, index, tempVertices, 0, 30);
+	}
+
 	/** Prepares the OpenGL state for SpriteCache rendering. */
 	public void begin () {
 		if (drawing) throw new IllegalStateException("end must be called before begin.");
 
 		if (Gdx.graphics.isGL20Available() == false) {
 			GL10 gl = Gdx.gl10;
-			gl.glDepthMask(false);
-			gl.glEnable(GL10.GL_TEXTURE_2D);
+			GLStateCache.depthMask(false);
+			GLStateCache.enable(GL10.GL_TEXTURE_2D);
 
 			gl.glMatrixMode(GL10.GL_PROJECTION);
 			gl.glLoadMatrixf(projectionMatrix.val, 0);
@@ -850,8 +941,7 @@ public class SpriteCache implements Disposable {
 		} else {
 			combinedMatrix.set(projectionMatrix).mul(transformMatrix);
 
-			GL20 gl = Gdx.gl20;
-			gl.glDepthMask(false);
+			GLStateCache.depthMask(false);
 
 			if (customShader != null) {
 				customShader.begin();
@@ -877,14 +967,12 @@ public class SpriteCache implements Disposable {
 		drawing = false;
 
 		if (Gdx.graphics.isGL20Available() == false) {
-			GL10 gl = Gdx.gl10;
-			gl.glDepthMask(true);
-			gl.glDisable(GL10.GL_TEXTURE_2D);
+			GLStateCache.depthMask(true);
+			GLStateCache.disable(GL10.GL_TEXTURE_2D);
 			mesh.unbind();
 		} else {
 			shader.end();
-			GL20 gl = Gdx.gl20;
-			gl.glDepthMask(true);
+			GLStateCache.depthMask(true);
 			if(customShader != null) mesh.unbind(customShader);
 			else mesh.unbind(shader);
 		}
@@ -960,6 +1048,53 @@ public class SpriteCache implements Disposable {
 		}
 	}
 
+	/** Draws the images of the specified cache that may be visible, skipping chunks of {@link #setChunkSize(int) chunkSize}
+	 * consecutive images whose bounds don't overlap the area. The area uses the coordinates the images were added with, eg the
+	 * part of the world the camera sees. Images close to each other should be added one after another so they share chunks. */
+	public void draw (int cacheID, Rectangle area) {
+		if (!drawing) throw new IllegalStateException("SpriteCache.begin must be called before draw.");
+
+		Cache cache = caches.get(cacheID);
+		float[] bounds = cache.bounds;
+		float minX = area.x, minY = area.y, maxX = area.x + area.width, maxY = area.y + area.height;
+		int chunkSize = cache.chunkSize;
+		int start = -1;
+		for (int chunk = 0, n = cache.chunkCount; chunk < n; chunk++) {
+			int b = chunk * 4;
+			if (bounds[b] <= maxX && bounds[b + 2] >= minX && bounds[b + 1] <= maxY && bounds[b + 3] >= minY) {
+				if (start == -1) start = chunk * chunkSize;
+			} else if (start != -1) {
+				drawImages(cache, start, chunk * chunkSize);
+				start = -1;
+			}
+		}
+		if (start != -1) drawImages(cache, start, cache.imageCount);
+	}
+
+	/** Draws the images of the cache from start to end, exclusive. */
+	private void drawImages (Cache cache, int start, int end) {
+		int verticesPerImage = mesh.getNumIndices() > 0 ? 4 : 6;
+		int offset = cache.offset / (verticesPerImage * VERTEX_SIZE) * 6;
+		Texture[] textures = cache.textures;
+		int[] counts = cache.counts;
+		boolean gl20 = Gdx.graphics.isGL20Available();
+		int runStart = 0;
+		for (int i = 0, n = cache.textureCount; i < n && runStart < end; i++) {
+			int runEnd = runStart + counts[i] / 6;
+			int first = Math.max(start, runStart), last = Math.min(end, runEnd);
+			if (first < last) {
+				textures[i].bind();
+				if (!gl20)
+					mesh.render(GL10.GL_TRIANGLES, offset + first * 6, (last - first) * 6);
+				else if (customShader != null)
+					mesh.render(customShader, GL10.GL_TRIANGLES, offset + first * 6, (last - first) * 6);
+				else
+					mesh.render(shader, GL10.GL_TRIANGLES, offset + first * 6, (last - first) * 6);
+			}
+			runStart = runEnd;
+		}
+	}
+
 	/** Releases all resources held by this SpriteCache. */
 	public void dispose () {
 		mesh.dispose();
@@ -991,6 +1126,9 @@ public class SpriteCache implements Disposable {
 		int textureCount;
 		Texture[] textures;
 		int[] counts;
+		int imageCount, chunkSize, chunkCount;
+		/** The minimum x, minimum y, maximum x and maximum y of each chunk. **/
+		float[] bounds;
 
 		public Cache (int id, int offset) {
 			this.id = id;
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Records sprite draw commands and draws them later with a {@link SpriteBatch}. Recording a command only stores its
+ * parameters, the vertex positions are computed when the buffer is {@link #flush(SpriteBatch) flushed}, on several threads if
+ * the buffer was created with more than one.
+ * <p>
+ * Commands are drawn in the order they were recorded, like with SpriteBatch, except that commands with a lower
+ * {@link #setLayer(int) layer} are drawn before commands with a higher layer. If {@link #setSortByTexture(boolean)} is enabled,
+ * commands in the same layer are additionally grouped by texture, so sprites in a layer should then not overlap.
+ * <p>
+ * A buffer must only be used by one thread at a time. To record commands on several threads, give each thread its own buffer
+ * and {@link #add(SpriteCommandBuffer) add} them to one buffer before flushing it. */
+public class SpriteCommandBuffer implements Disposable {
+	static private final int X = 0, Y = 1, ORIGIN_X = 2, ORIGIN_Y = 3, WIDTH = 4, HEIGHT = 5, SCALE_X = 6, SCALE_Y = 7,
+		ROTATION = 8, U = 9, V = 10, U2 = 11, V2 = 12, COLOR = 13;
+	static private final int STRIDE = 14;
+	static private final int SPRITE_SIZE = 20;
+	/** Flushes with less commands per thread than this generate the vertices on the calling thread. **/
+	static private final int MIN_COMMANDS_PER_THREAD = 512;
+
+	private Texture[] textures;
+	private int[] layers;
+	private float[] params;
+	private long[] keys;
+	private float[] vertices = new float[0];
+	private int size;
+
+	private float color = Color.WHITE.toFloatBits();
+	private int layer;
+	private boolean sortByTexture;
+
+	private final AsyncExecutor executor;
+	private final Worker[] workers;
+	private final AsyncResult[] results;
+
+	/** Creates a buffer that generates vertices on the thread calling {@link #flush(SpriteBatch)}. */
+	public SpriteCommandBuffer () {
+		this(1);
+	}
+
+	/** @param threads the number of threads generating vertices, eg the number of available processors */
+	public SpriteCommandBuffer (int threads) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be >= 1: " + threads);
+		textures = new Texture[16];
+		layers = new int[16];
+		params = new float[16 * STRIDE];
+		keys = new long[16];
+		executor = threads > 1 ? new AsyncExecutor(threads) : null;
+		workers = new Worker[threads];
+		for (int i = 0; i < threads; i++)
+			workers[i] = new Worker();
+		results = new AsyncResult[threads];
+	}
+
+	/** Sets the color used to tint commands recorded from now on. */
+	public void setColor (Color tint) {
+		color = tint.toFloatBits();
+	}
+
+	public void setColor (float r, float g, float b, float a) {
+		int intBits = (int)(255 * a) << 24 | (int)(255 * b) << 16 | (int)(255 * g) << 8 | (int)(255 * r);
+		color = Float.intBitsToFloat(intBits & 0xfeffffff);
+	}
+
+	/** @see Color#toFloatBits() */
+	public void setColor (float color) {
+		this.color = color;
+	}
+
+	/** Sets the layer of commands recorded from now on. Commands with a lower layer are drawn first, commands in the same layer
+	 * in the order they were recorded. Must be between {@link Short#MIN_VALUE} and {@link Short#MAX_VALUE}. */
+	public void setLayer (int layer) {
+		if (layer < Short.MIN_VALUE || layer > Short.MAX_VALUE) throw new IllegalArgumentException("layer out of range: " + layer);
+		this.layer = layer;
+	}
+
+	public int getLayer () {
+		return layer;
+	}
+
+	/** If true, commands in the same layer are grouped by texture when flushed, which needs less texture switches but only gives
+	 * correct results if the sprites in a layer don't overlap. Default is false. */
+	public void setSortByTexture (boolean sortByTexture) {
+		this.sortByTexture = sortByTexture;
+	}
+
+	/** @return the number of recorded commands */
+	public int size () {
+		return size;
+	}
+
+	/** Records a rectangle with the bottom left corner at x,y covering the given width and height, using the whole texture. */
+	public void draw (Texture texture, float x, float y, float width, float height) {
+		draw(texture, x, y, 0, 0, width, height, 1, 1, 0, 0, 0, 1, 1);
+	}
+
+	/** Records a rectangle with the bottom left corner at x,y having the width and height of the region. */
+	public void draw (TextureRegion region, float x, float y) {
+		draw(region, x, y, Math.abs(region.getRegionWidth()), Math.abs(region.getRegionHeight()));
+	}
+
+	/** Records a rectangle with the bottom left corner at x,y stretching the region to cover the given width and height. */
+	public void draw (TextureRegion region, float x, float y, float width, float height) {
+		draw(region.texture, x, y, 0, 0, width, height, 1, 1, 0, region.u, region.v, region.u2, region.v2);
+	}
+
+	/** Records a rectangle with the bottom left corner at x,y stretching the region to cover the given width and height, rotated
+	 * and scaled around originX, originY. */
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation) {
+		draw(region.texture, x, y, originX, originY, width, height, scaleX, scaleY, rotation, region.u, region.v, region.u2,
+			region.v2);
+	}
+
+	/** Records a sprite with its current color instead of the color of this buffer. */
+	public void draw (Sprite sprite) {
+		float color = this.color;
+		this.color = sprite.getColor().toFloatBits();
+		draw(sprite.getTexture(), sprite.getX(), sprite.getY(), sprite.getOriginX(), sprite.getOriginY(), sprite.getWidth(),
+			sprite.getHeight(), sprite.getScaleX(), sprite.getScaleY(), sprite.getRotation(), sprite.getU(), sprite.getV(),
+			sprite.getU2(), sprite.getV2());
+		this.color = color;
+	}
+
+	/** Records a rectangle with the bottom left corner at x,y covering the given width and height, rotated and scaled around
+	 * originX, originY. The texture coordinates u,v are used for the top left corner and u2,v2 for the bottom right corner, like
+	 * in {@link TextureRegion}. */
+	public void draw (Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX,
+		float scaleY, float rotation, float u, float v, float u2, float v2) {
+		int index = size;
+		if (index == textures.length) resize(Math.max(16, (int)(index * 1.75f)));
+		textures[index] = texture;
+		layers[index] = layer;
+		float[] params = this.params;
+		int offset = index * STRIDE;
+		params[offset + X] = x;
+		params[offset + Y] = y;
+		params[offset + ORIGIN_X] = originX;
+		params[offset + ORIGIN_Y] = originY;
+		params[offset + WIDTH] = width;
+		params[offset + HEIGHT] = height;
+		params[offset + SCALE_X] = scaleX;
+		params[offset + SCALE_Y] = scaleY;
+		params[offset + ROTATION] = rotation;
+		params[offset + U] = u;
+		params[offset + V] = v;
+		params[offset + U2] = u2;
+		params[offset + V2] = v2;
+		params[offset + COLOR] = color;
+		size = index + 1;
+	}
+
+	/** Appends all commands of the other buffer to this buffer, keeping their layers and colors. The other buffer is not
+	 * changed. */
+	public void add (SpriteCommandBuffer other) {
+		int count = other.size, index = size;
+		if (index + count > textures.length) resize(Math.max(16, (int)((index + count) * 1.75f)));
+		System.arraycopy(other.textures, 0, textures, index, count);
+		System.arraycopy(other.layers, 0, layers, index, count);
+		System.arraycopy(other.params, 0, params, index * STRIDE, count * STRIDE);
+		size = index + count;
+	}
+
+	private void resize (int capacity) {
+		Texture[] newTextures = new Texture[capacity];
+		System.arraycopy(textures, 0, newTextures, 0, size);
+		textures = newTextures;
+		int[] newLayers = new int[capacity];
+		System.arraycopy(layers, 0, newLayers, 0, size);
+		layers = newLayers;
+		float[] newParams = new float[capacity * STRIDE];
+		System.arraycopy(params, 0, newParams, 0, size * STRIDE);
+		params = newParams;
+		keys = new long[capacity];
+	}
+
+	/** Removes all recorded commands. */
+	public void clear () {
+		Arrays.fill(textures, 0, size, null);
+		size = 0;
+	}
+
+	/** Sorts the recorded commands, generates their vertices and draws them with the batch, then clears this buffer. The batch
+	 * must be between {@link SpriteBatch#begin()} and {@link SpriteBatch#end()}, its color is not applied. */
+	public void flush (SpriteBatch batch) {
+		int size = this.size;
+		if (size == 0) return;
+		sort();
+
+		if (vertices.length < size * SPRITE_SIZE) vertices = new float[size * SPRITE_SIZE];
+		Worker[] workers = this.workers;
+		int threads = Math.min(workers.length, size / MIN_COMMANDS_PER_THREAD);
+		if (threads <= 1) {
+			generate(0, size);
+		} else {
+			AsyncResult[] results = this.results;
+			int start = 0;
+			for (int i = 0; i < threads; i++) {
+				int end = (int)((long)size * (i + 1) / threads);
+				Worker worker = workers[i];
+				worker.start = start;
+				worker.end = end;
+				results[i] = executor.submit(worker);
+				start = end;
+			}
+			for (int i = 0; i < threads; i++) {
+				results[i].get();
+				results[i] = null;
+			}
+		}
+
+		// submit runs of commands with the same texture
+		Texture[] textures = this.textures;
+		long[] keys = this.keys;
+		float[] vertices = this.vertices;
+		int runStart = 0;
+		Texture runTexture = textures[(int)keys[0]];
+		for (int i = 1; i < size; i++) {
+			Texture texture = textures[(int)keys[i]];
+			if (texture == runTexture) continue;
+			batch.draw(runTexture, vertices, runStart * SPRITE_SIZE, (i - runStart) * SPRITE_SIZE);
+			runStart = i;
+			runTexture = texture;
+		}
+		batch.draw(runTexture, vertices, runStart * SPRITE_SIZE, (size - runStart) * SPRITE_SIZE);
+		clear();
+	}
+
+	/** Fills {@link #keys} with the command indices in drawing order. The signed layer is stored in the highest 16 bits, so
+	 * negative layers sort first, the texture in the next 16 bits if sorting by texture and the index in the lowest 32 bits,
+	 * which keeps the recording order for equal keys. */
+	private void sort () {
+		Texture[] textures = this.textures;
+		int[] layers = this.layers;
+		long[] keys = this.keys;
+		boolean sortByTexture = this.sortByTexture;
+		boolean sorted = true;
+		long lastKey = Long.MIN_VALUE;
+		for (int i = 0, n = size; i < n; i++) {
+			long key = (long)layers[i] << 48 | i;
+			if (sortByTexture) key |= (long)(textures[i].getTextureObjectHandle() & 0xffff) << 32;
+			keys[i] = key;
+			if (key < lastKey) sorted = false;
+			lastKey = key;
+		}
+		if (!sorted) Arrays.sort(keys, 0, size);
+	}
+
+	/** Writes the vertices of the sorted commands from start to end, exclusive. */
+	private void generate (int start, int end) {
+		long[] keys = this.keys;
+		float[] params = this.params;
+		float[] vertices = this.vertices;
+		int idx = start * SPRITE_SIZE;
+		for (int i = start; i < end; i++) {
+			int offset = (int)keys[i] * STRIDE;
+			float originX = params[offset + ORIGIN_X];
+			float originY = params[offset + ORIGIN_Y];
+			float worldOriginX = params[offset + X] + originX;
+			float worldOriginY = params[offset + Y] + originY;
+			float scaleX = params[offset + SCALE_X];
+			float scaleY = params[offset + SCALE_Y];
+			float fx = -originX * scaleX;
+			float fy = -originY * scaleY;
+			float fx2 = (params[offset + WIDTH] - originX) * scaleX;
+			float fy2 = (params[offset + HEIGHT] - originY) * scaleY;
+
+			float x1, y1, x2, y2, x3, y3, x4, y4;
+			float rotation = params[offset + ROTATION];
+			if (rotation != 0) {
+				float cos = MathUtils.cosDeg(rotation);
+				float sin = MathUtils.sinDeg(rotation);
+				x1 = cos * fx - sin * fy;
+				y1 = sin * fx + cos * fy;
+				x2 = cos * fx - sin * fy2;
+				y2 = sin * fx + cos * fy2;
+				x3 = cos * fx2 - sin * fy2;
+				y3 = sin * fx2 + cos * fy2;
+				x4 = x1 + (x3 - x2);
+				y4 = y3 - (y2 - y1);
+			} else {
+				x1 = fx;
+				y1 = fy;
+				x2 = fx;
+				y2 = fy2;
+				x3 = fx2;
+				y3 = fy2;
+				x4 = fx2;
+				y4 = fy;
+			}
+
+			float color = params[offset + COLOR];
+			float u = params[offset + U];
+			float v = params[offset + V];
+			float u2 = params[offset + U2];
+			float v2 = params[offset + V2];
+
+			vertices[idx++] = x1 + worldOriginX;
+			vertices[idx++] = y1 + worldOriginY;
+			vertices[idx++] = color;
+			vertices[idx++] = u;
+			vertices[idx++] = v2;
+
+			vertices[idx++] = x2 + worldOriginX;
+			vertices[idx++] = y2 + worldOriginY;
+			vertices[idx++] = color;
+			vertices[idx++] = u;
+			vertices[idx++] = v;
+
+			vertices[idx++] = x3 + worldOriginX;
+			vertices[idx++] = y3 + worldOriginY;
+			vertices[idx++] = color;
+			vertices[idx++] = u2;
+			vertices[idx++] = v;
+
+			vertices[idx++] = x4 + worldOriginX;
+			vertices[idx++] = y4 + worldOriginY;
+			vertices[idx++] = color;
+			vertices[idx++] = u2;
+			vertices[idx++] = v2;
+		}
+	}
+
+	/** Waits for running vertex generation to finish, then stops the threads. */
+	public void dispose () {
+		if (executor != null) executor.dispose();
+	}
+
+	private class Worker implements AsyncTask<Void> {
+		int start, end;
+
+		public Void call () throws Exception {
+			generate(start, end);
+			return null;
+		}
+	}
+}
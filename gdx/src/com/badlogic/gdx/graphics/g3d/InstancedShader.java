@@ -0,0 +1,21 @@
+package com.badlogic.gdx.graphics.g3d;
+
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.g3d.utils.InstancedMeshCache;
+import com.badlogic.gdx.utils.Array;
+
+/** A {@link Shader} that can render several {@link Renderable}s that share the mesh part, material and lights with a single draw
+ * call. OpenGL ES 2.0 has no instanced draw calls, so the mesh part is repeated in an instanced mesh (see
+ * {@link InstancedMeshCache}) with the index of each copy in the {@link InstancedMeshCache#INSTANCE_ATTRIBUTE} attribute, which
+ * the shader uses to look up the world transform of the instance in a uniform array. */
+public interface InstancedShader extends Shader {
+	/** @return the maximum number of instances rendered by one draw call, 0 if this shader can't render instances */
+	int getMaxInstances();
+	/** Whether the other {@link Renderable} can be rendered as an instance in the same draw call as the first one */
+	boolean canInstance(Renderable first, Renderable other);
+	/** Renders count Renderables starting at offset with one draw call, must be called between
+	 * {@link #begin(com.badlogic.gdx.graphics.Camera, com.badlogic.gdx.graphics.g3d.utils.RenderContext)} and {@link #end()}.
+	 * @param count the number of Renderables, at most the number of copies in the instanced mesh
+	 * @param instancedMesh the mesh part of the first Renderable repeated up to {@link #getMaxInstances()} times */
+	void render(Array<Renderable> renderables, int offset, int count, Mesh instancedMesh);
+}
@@ -233,6 +233,22 @@ public class Model implements Disposable {
 			meshParts.add(meshPart);
 		}
 		mesh.getIndicesBuffer().position(0);
+		
+		final int first = meshParts.size - modelMesh.parts.length;
+		for (int i = 0; i < modelMesh.parts.length; i++) {
+			final String[] lods = modelMesh.parts[i].lods;
+			if (lods == null || lods.length == 0)
+				continue;
+			final MeshPart meshPart = meshParts.get(first + i);
+			meshPart.lods = new MeshPart[lods.length];
+			for (int j = 0; j < lods.length; j++) {
+				for (int k = first; k < meshParts.size && meshPart.lods[j] == null; k++)
+					if (lods[j].equals(meshParts.get(k).id))
+						meshPart.lods[j] = meshParts.get(k);
+				if (meshPart.lods[j] == null)
+					throw new GdxRuntimeException("Level of detail '" + lods[j] + "' of mesh part '" + meshPart.id + "' not found");
+			}
+		}
 	}
 
 	private void loadMaterials (Iterable<ModelMaterial> modelMaterials, TextureProvider textureProvider) {
@@ -3,10 +3,15 @@ package com.badlogic.gdx.graphics.g3d;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.g3d.lights.Lights;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultTextureBinder;
+import com.badlogic.gdx.graphics.g3d.utils.InstancedMeshCache;
+import com.badlogic.gdx.graphics.g3d.utils.LodSelector;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
 import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.ShaderProvider;
@@ -14,25 +19,13 @@ import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 public class ModelBatch implements Disposable {
 	protected Camera camera;
-	protected final Pool<Renderable> renderablesPool = new Pool<Renderable>() {
-		@Override
-		protected Renderable newObject () {
-			return new Renderable();
-		}
-
-		@Override
-		public Renderable obtain () {
-			Renderable renderable = super.obtain();
-			renderable.lights = null;
-			renderable.material = null;
-			renderable.mesh = null;
-			renderable.shader = null;
-			return renderable;
-		}
-	};
+	protected final Pool<Renderable> renderablesPool = new RenderablePool();
 	/** list of Renderables to be rendered in the current batch **/
 	protected final Array<Renderable> renderables = new Array<Renderable>();
 	/** list of Renderables that can be put back into the pool **/
@@ -43,6 +36,30 @@ public class ModelBatch implements Disposable {
 	protected final ShaderProvider shaderProvider;
 	/** the {@link RenderableSorter} **/
 	protected final RenderableSorter sorter;
+	/** the queues obtained since last {@link #begin(Camera)}, merged by {@link #end()} **/
+	protected final Array<RenderQueue> queues = new Array<RenderQueue>();
+	private final Array<RenderQueue> freeQueues = new Array<RenderQueue>();
+	/** the instanced meshes used to render several Renderables with one draw call, see {@link InstancedShader} **/
+	protected final InstancedMeshCache instancedMeshes = new InstancedMeshCache();
+	/** whether to render Renderables that share the mesh part, material and lights as instances **/
+	protected boolean instancing = true;
+	/** whether to skip Renderables with bounds outside the camera frustum **/
+	protected boolean culling = true;
+	/** selects the level of detail of the rendered {@link ModelInstance}s, may be null **/
+	protected LodSelector lodSelector;
+	
+	/** number of render calls since last {@link #begin(Camera)} **/
+	public int renderCalls = 0;
+	/** number of render calls since last {@link #begin(Camera)} that rendered several instances **/
+	public int instancedRenderCalls = 0;
+	/** number of Renderables since last {@link #begin(Camera)} rendered by instanced render calls **/
+	public int instancesMerged = 0;
+	/** number of Renderables since last {@link #begin(Camera)} skipped because they were outside the camera frustum **/
+	public int culledRenderables = 0;
+	/** number of Renderables drawn since last {@link #begin(Camera)} **/
+	public int drawnRenderables = 0;
+	/** number of triangles drawn since last {@link #begin(Camera)} **/
+	public int drawnTriangles = 0;
 	
 	/** Construct a BaseRenderBatch with the specified listener */
 	public ModelBatch(RenderContext context, ShaderProvider shaderProvider, RenderableSorter sorter) {
@@ -77,13 +94,23 @@ public class ModelBatch implements Disposable {
 
 	public void begin (Camera cam) {
 		this.camera = cam;
+		renderCalls = 0;
+		instancedRenderCalls = 0;
+		instancesMerged = 0;
+		culledRenderables = 0;
+		drawnRenderables = 0;
+		drawnTriangles = 0;
 	}
 
 	public void end () {
+		mergeQueues();
 		sorter.sort(camera, renderables);
+		drawnRenderables += renderables.size;
+		for (int i = 0; i < renderables.size; i++)
+			drawnTriangles += getTriangleCount(renderables.get(i));
 		context.begin();
 		Shader currentShader = null;
-		for (int i = 0; i < renderables.size; i++) {
+		for (int i = 0; i < renderables.size;) {
 			final Renderable renderable = renderables.get(i);
 			if (currentShader != renderable.shader) {
 				if (currentShader != null)
@@ -91,18 +118,179 @@ public class ModelBatch implements Disposable {
 				currentShader = renderable.shader;
 				currentShader.begin(camera, context);
 			}
-			currentShader.render(renderable);
+			if (instancing && currentShader instanceof InstancedShader)
+				i += renderInstanced((InstancedShader)currentShader, i);
+			else {
+				currentShader.render(renderable);
+				i++;
+			}
+			renderCalls++;
 		}
 		if (currentShader != null)
 			currentShader.end();
 		context.end();
 		renderablesPool.freeAll(reuseableRenderables);
 		reuseableRenderables.clear();
+		freeQueues();
 		renderables.clear();
 		camera = null;
 	}
 
+	/** Adds the Renderables collected by the queues to the batch, resolving their shaders on the calling thread. */
+	protected void mergeQueues() {
+		synchronized (queues) {
+			for (int i = 0; i < queues.size; i++) {
+				final RenderQueue queue = queues.get(i);
+				for (int j = 0; j < queue.renderables.size; j++) {
+					final Renderable renderable = queue.renderables.get(j);
+					renderable.shader = shaderProvider.getShader(renderable);
+					renderables.add(renderable);
+				}
+				culledRenderables += queue.culled;
+			}
+		}
+	}
+	
+	/** Returns the Renderables collected by the queues to their pools and makes the queues available again. */
+	protected void freeQueues() {
+		synchronized (queues) {
+			for (int i = 0; i < queues.size; i++)
+				queues.get(i).clear();
+			freeQueues.addAll(queues);
+			queues.clear();
+		}
+	}
+	
+	/** Returns a {@link RenderQueue} that collects Renderables for this batch. Queues let several threads collect Renderables at
+	 * the same time, each thread must use its own queue. This method can be called from any thread between
+	 * {@link #begin(Camera)} and {@link #end()}, all Renderables must be added to the queue before end() is called. */
+	public RenderQueue obtainQueue() {
+		synchronized (queues) {
+			final RenderQueue queue = freeQueues.size > 0 ? freeQueues.pop() : new RenderQueue();
+			queues.add(queue);
+			return queue;
+		}
+	}
+	
+	/** Collects the Renderables of the providers on several threads of the executor, each with its own {@link RenderQueue}, and
+	 * waits until they are done. The providers are split in contiguous ranges, providers in different ranges must not share state
+	 * that their {@link RenderableProvider#getRenderables(Array, Pool)} changes.
+	 * @param lights the lights to use for the renderables, may be null
+	 * @param shader the shader to use for the renderables, may be null
+	 * @param threads the number of threads to use, eg the number of available processors */
+	public <T extends RenderableProvider> void renderParallel(final Array<T> renderableProviders, final Lights lights,
+		final Shader shader, final AsyncExecutor executor, int threads) {
+		threads = Math.min(threads, renderableProviders.size);
+		if (threads <= 1) {
+			render(renderableProviders, lights, shader);
+			return;
+		}
+		final AsyncResult<?>[] results = new AsyncResult<?>[threads];
+		int start = 0;
+		for (int i = 0; i < threads; i++) {
+			final int from = start, to = (int)((long)renderableProviders.size * (i + 1) / threads);
+			final RenderQueue queue = obtainQueue();
+			results[i] = executor.submit(new AsyncTask<Void>() {
+				@Override
+				public Void call () throws Exception {
+					for (int j = from; j < to; j++)
+						queue.render(renderableProviders.get(j), lights, shader);
+					return null;
+				}
+			});
+			start = to;
+		}
+		for (int i = 0; i < threads; i++)
+			results[i].get();
+	}
+	
+	/** Renders the Renderable at the offset together with the following Renderables that can be instanced with it.
+	 * Falls back to rendering only the one Renderable if there are no such Renderables or its mesh part can't be instanced.
+	 * @return the number of Renderables rendered */
+	protected int renderInstanced(final InstancedShader shader, final int offset) {
+		final Renderable first = renderables.get(offset);
+		int count = 1;
+		int maxInstances = 0;
+		// only ask for the maximum number of instances if there is something to instance, the shader might have to be created
+		if (offset + 1 < renderables.size && shader.canInstance(first, renderables.get(offset + 1))) {
+			maxInstances = shader.getMaxInstances();
+			final int max = Math.min(maxInstances, renderables.size - offset);
+			while (count < max && shader.canInstance(first, renderables.get(offset + count)))
+				count++;
+		}
+		final Mesh instancedMesh = count > 1 ? instancedMeshes.get(first, maxInstances) : null;
+		if (instancedMesh == null) {
+			shader.render(first);
+			return 1;
+		}
+		// the instanced mesh contains less copies than the shader supports if they don't fit in the 16 bit indices
+		count = Math.min(count, instancedMeshes.getInstances(first, maxInstances));
+		shader.render(renderables, offset, count, instancedMesh);
+		instancedRenderCalls++;
+		instancesMerged += count;
+		return count;
+	}
+	
+	/** Sets whether Renderables that share the mesh part, material and lights are rendered with one draw call if the shader
+	 * supports it, see {@link InstancedShader}. Enabled by default. */
+	public void setInstancing(boolean instancing) {
+		this.instancing = instancing;
+	}
+	
+	public boolean isInstancing() {
+		return instancing;
+	}
+	
+	/** Sets whether Renderables are culled against the frustum of the camera, using the bounding sphere of the Renderable.
+	 * Renderables without bounds are never culled. Enabled by default. */
+	public void setCulling(boolean culling) {
+		this.culling = culling;
+	}
+	
+	public boolean isCulling() {
+		return culling;
+	}
+	
+	/** Sets the {@link LodSelector} used to select the level of detail of the {@link ModelInstance}s rendered by this batch,
+	 * before their Renderables are obtained. Null (the default) to render the current {@link NodePart#lodLevel}. */
+	public void setLodSelector(final LodSelector lodSelector) {
+		this.lodSelector = lodSelector;
+	}
+	
+	public LodSelector getLodSelector() {
+		return lodSelector;
+	}
+	
+	/** @return the number of triangles rendered by the Renderable */
+	protected static int getTriangleCount(final Renderable renderable) {
+		switch (renderable.primitiveType) {
+		case GL10.GL_TRIANGLES:
+			return renderable.meshPartSize / 3;
+		case GL10.GL_TRIANGLE_STRIP:
+		case GL10.GL_TRIANGLE_FAN:
+			return Math.max(0, renderable.meshPartSize - 2);
+		default:
+			return 0;
+		}
+	}
+	
+	/** @return whether the Renderable is outside the frustum of the camera and shouldn't be rendered */
+	protected boolean isCulled(final Renderable renderable) {
+		return culling && renderable.boundsRadius >= 0f &&
+			!camera.frustum.sphereInFrustum(renderable.boundsCenter, renderable.boundsRadius);
+	}
+	
+	/** Releases the instanced copies of the mesh, must be called when its vertices or indices changed and before it is disposed
+	 * if it was rendered with instancing enabled. */
+	public void invalidateInstances(final Mesh mesh) {
+		instancedMeshes.invalidate(mesh);
+	}
+
 	public void render(final Renderable renderable) {
+		if (isCulled(renderable)) {
+			culledRenderables++;
+			return;
+		}
 		renderable.shader = shaderProvider.getShader(renderable);
 		renderable.mesh.setAutoBind(false);
 		renderables.add(renderable);
@@ -187,15 +375,25 @@ public class ModelBatch implements Disposable {
 	 * @param shader the shader to use for the renderables
 	 */
 	public void render(final RenderableProvider renderableProvider, final Lights lights, final Shader shader) {
+		if (lodSelector != null && renderableProvider instanceof ModelInstance)
+			lodSelector.select(camera, (ModelInstance)renderableProvider);
 		int offset = renderables.size;
 		renderableProvider.getRenderables(renderables, renderablesPool);
+		int size = offset;
 		for (int i = offset; i < renderables.size; i++) {
 			Renderable renderable = renderables.get(i);
+			if (isCulled(renderable)) {
+				renderablesPool.free(renderable);
+				culledRenderables++;
+				continue;
+			}
 			renderable.lights = lights;
 			renderable.shader = shader;
 			renderable.shader = shaderProvider.getShader(renderable);
 			reuseableRenderables.add(renderable);
+			renderables.set(size++, renderable);
 		}
+		renderables.truncate(size);
 	}
 	
 	/**
@@ -216,5 +414,84 @@ public class ModelBatch implements Disposable {
 	@Override
 	public void dispose () {
 		shaderProvider.dispose();
+		instancedMeshes.dispose();
+	}
+	
+	/** A pool of Renderables that resets the references of obtained Renderables. */
+	protected static class RenderablePool extends Pool<Renderable> {
+		@Override
+		protected Renderable newObject () {
+			return new Renderable();
+		}
+
+		@Override
+		public Renderable obtain () {
+			Renderable renderable = super.obtain();
+			renderable.lights = null;
+			renderable.material = null;
+			renderable.mesh = null;
+			renderable.shader = null;
+			renderable.boundsRadius = -1f;
+			return renderable;
+		}
+	}
+	
+	/** Collects Renderables for a {@link ModelBatch} on a thread other than the rendering thread, see {@link #obtainQueue()}.
+	 * The queue calls {@link RenderableProvider#getRenderables(Array, Pool)} and culls the returned Renderables, their shaders
+	 * are resolved by the batch when it merges the queues in {@link ModelBatch#end()}, since creating a shader needs the GL
+	 * context. A queue must only be used by one thread at a time. */
+	public class RenderQueue {
+		/** list of Renderables collected since the queue was obtained **/
+		protected final Array<Renderable> renderables = new Array<Renderable>();
+		/** list of Renderables that can be put back into the pool **/
+		protected final Array<Renderable> reuseableRenderables = new Array<Renderable>();
+		protected final Pool<Renderable> renderablesPool = new RenderablePool();
+		/** number of Renderables culled by this queue **/
+		protected int culled;
+		
+		/** Adds the Renderable to the queue, unless it's culled. The Renderable is not put in a pool. */
+		public void render(final Renderable renderable) {
+			if (isCulled(renderable))
+				culled++;
+			else
+				renderables.add(renderable);
+		}
+		
+		/** Calls {@link RenderableProvider#getRenderables(Array, Pool)} and adds the returned Renderables that are not culled to
+		 * the queue. */
+		public void render(final RenderableProvider renderableProvider) {
+			render(renderableProvider, null, null);
+		}
+		
+		/** Calls {@link RenderableProvider#getRenderables(Array, Pool)} and adds the returned Renderables that are not culled to
+		 * the queue. Any lights and shaders set on the returned renderables will be replaced with the given lights and shader.
+		 * @param lights the lights to use for the renderables, may be null
+		 * @param shader the shader to use for the renderables, may be null */
+		public void render(final RenderableProvider renderableProvider, final Lights lights, final Shader shader) {
+			if (lodSelector != null && renderableProvider instanceof ModelInstance)
+				lodSelector.select(camera, (ModelInstance)renderableProvider);
+			int offset = renderables.size;
+			renderableProvider.getRenderables(renderables, renderablesPool);
+			int size = offset;
+			for (int i = offset; i < renderables.size; i++) {
+				Renderable renderable = renderables.get(i);
+				reuseableRenderables.add(renderable);
+				if (isCulled(renderable)) {
+					culled++;
+					continue;
+				}
+				renderable.lights = lights;
+				renderable.shader = shader;
+				renderables.set(size++, renderable);
+			}
+			renderables.truncate(size);
+		}
+		
+		void clear() {
+			renderablesPool.freeAll(reuseableRenderables);
+			reuseableRenderables.clear();
+			renderables.clear();
+			culled = 0;
+		}
 	}
 }
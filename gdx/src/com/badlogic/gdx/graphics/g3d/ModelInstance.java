@@ -41,6 +41,12 @@ public class ModelInstance implements RenderableProvider {
 	public Matrix4 transform;
 	/** user definable value, which is passed to the shader. */
 	public Object userData;
+	/** all nodes in depth first order, so each node comes after its parent, used by {@link #calculateTransforms()} **/
+	private final Array<Node> flattenedNodes = new Array<Node>(true, 16, Node.class);
+	/** the node parts with bones, in the same order as {@link #flattenedNodes} **/
+	private final Array<NodePart> skinnedParts = new Array<NodePart>(true, 4, NodePart.class);
+	/** whether {@link #flattenedNodes} must be collected again before calculating the transforms **/
+	private boolean hierarchyChanged = true;
 	
 	/** Constructs a new ModelInstance with all nodes and materials of the given model. */
 	public ModelInstance(Model model) {
@@ -261,6 +267,12 @@ public class ModelInstance implements RenderableProvider {
 		copy.meshPart.numVertices = nodePart.meshPart.numVertices;
 		copy.meshPart.primitiveType = nodePart.meshPart.primitiveType;
 		copy.meshPart.mesh = nodePart.meshPart.mesh;
+		copy.meshPart.lods = nodePart.meshPart.lods;
+		// calculated once on the part of the model and shared, so each instance doesn't scan the vertices again
+		if (nodePart.meshPart.radius < 0f && nodePart.meshPart.numVertices > 0)
+			nodePart.meshPart.updateBounds();
+		copy.meshPart.center.set(nodePart.meshPart.center);
+		copy.meshPart.radius = nodePart.meshPart.radius;
 		
 		if (nodePart.invBoneBindTransforms != null)
 			nodePartBones.put(copy, nodePart.invBoneBindTransforms);
@@ -334,6 +346,9 @@ public class ModelInstance implements RenderableProvider {
 			out.worldTransform.set(transform);
 		else
 			out.worldTransform.idt();
+		if (nodePart.updateBounds(out.worldTransform))
+			out.boundsCenter.set(nodePart.center);
+		out.boundsRadius = nodePart.radius;
 		out.userData = userData;
 		return out;
 	}
@@ -358,16 +373,56 @@ public class ModelInstance implements RenderableProvider {
 	 * Finally, the animation bone matrices are updated accordingly.</p>
 	 * 
 	 * This method can be used to recalculate all transforms if any of the Node's local properties (translation, rotation, scale)
-	 * was modified.
+	 * was modified.</p>
+	 * 
+	 * The node hierarchy is flattened to an array the first time this method is called, so the transforms are calculated without
+	 * traversing the hierarchy. Call {@link #invalidateHierarchy()} after adding or removing nodes or node parts. Only the
+	 * transforms of nodes that changed, or whose parent's world transform changed, are calculated (see
+	 * {@link Node#updateTransforms()}).
 	 */
 	public void calculateTransforms() {
-		final int n = nodes.size;
-		for(int i = 0; i < n; i++) {
-			nodes.get(i).calculateTransforms(true);
+		if (hierarchyChanged)
+			flattenHierarchy();
+		final Node[] nodes = flattenedNodes.items;
+		boolean changed = false;
+		for (int i = 0, n = flattenedNodes.size; i < n; i++)
+			changed |= nodes[i].updateTransforms();
+		if (!changed)
+			return;
+		final NodePart[] parts = skinnedParts.items;
+		for (int i = 0, n = skinnedParts.size; i < n; i++) {
+			final NodePart part = parts[i];
+			final ArrayMap<Node, Matrix4> bindTransforms = part.invBoneBindTransforms;
+			if (bindTransforms == null || part.bones == null || bindTransforms.size != part.bones.length)
+				continue;
+			for (int j = 0, m = bindTransforms.size; j < m; j++)
+				part.bones[j].set(bindTransforms.keys[j].globalTransform).mul(bindTransforms.values[j]);
 		}
-		for(int i = 0; i < n; i++) {
-			nodes.get(i).calculateBoneTransforms(true);
+	}
+	
+	/** Must be called after nodes or node parts are added to or removed from the node hierarchy of this instance, so the next call
+	 * to {@link #calculateTransforms()} includes them. */
+	public void invalidateHierarchy() {
+		hierarchyChanged = true;
+	}
+	
+	private void flattenHierarchy() {
+		flattenedNodes.clear();
+		skinnedParts.clear();
+		for (int i = 0, n = nodes.size; i < n; i++)
+			flattenNode(nodes.get(i));
+		hierarchyChanged = false;
+	}
+	
+	private void flattenNode(final Node node) {
+		flattenedNodes.add(node);
+		for (int i = 0, n = node.parts.size; i < n; i++) {
+			final NodePart part = node.parts.get(i);
+			if (part.invBoneBindTransforms != null)
+				skinnedParts.add(part);
 		}
+		for (int i = 0, n = node.children.size; i < n; i++)
+			flattenNode(node.children.get(i));
 	}
 	
 	/** Calculate the bounding box of this model instance.
@@ -377,6 +432,17 @@ public class ModelInstance implements RenderableProvider {
 		return extendBoundingBox(out);
 	}
 	
+	/** Calculate the bounding box of this model instance from the cached bounds of its nodes (see {@link Node#getBoundingBox()}),
+	 * which are only calculated again for nodes whose transform changed. Like {@link #calculateBoundingBox(BoundingBox)} the
+	 * bounds are not transformed by {@link #transform}. */
+	public BoundingBox getBoundingBox(final BoundingBox out) {
+		out.inf();
+		final int n = nodes.size;
+		for(int i = 0; i < n; i++)
+			out.ext(nodes.get(i).getBoundingBox());
+		return out;
+	}
+	
 	/** Extends the bounding box with the bounds of this model instance.
 	 * This is a potential slow operation, it is advised to cache the result. */
 	public BoundingBox extendBoundingBox(final BoundingBox out) {
@@ -6,6 +6,7 @@ import com.badlogic.gdx.graphics.g3d.lights.Lights;
 import com.badlogic.gdx.graphics.g3d.materials.Material;
 import com.badlogic.gdx.graphics.g3d.model.Node;
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
 
 /**
  * A renderable defines a world transform, the {@link Mesh} to render
@@ -31,6 +32,10 @@ public class Renderable {
 	public int primitiveType;
 	/** the material to be applied to the mesh **/
 	public Material material;
+	/** the center of the bounding sphere in world space, used to cull the renderable **/
+	public final Vector3 boundsCenter = new Vector3();
+	/** the radius of the bounding sphere in world space, negative if the renderable has no bounds and is never culled **/
+	public float boundsRadius = -1f;
 	/** the bones transformations used for skinning, or null if not applicable */  
 	public Matrix4 bones[];
 	/** the lights to be used to render this Renderable, may be null **/
@@ -21,6 +21,7 @@ import java.util.Comparator;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -129,7 +130,7 @@ public class CameraGroupStrategy implements GroupStrategy, Disposable {
 	@Override
 	public void beforeGroup (int group, Array<Decal> contents) {
 		if (group == GROUP_BLEND) {
-			Gdx.gl.glEnable(GL10.GL_BLEND);
+			GLStateCache.enable(GL10.GL_BLEND);
 			contents.sort(cameraSorter);
 		} else {
 			for (int i = 0, n = contents.size; i < n; i++) {
@@ -158,19 +159,19 @@ public class CameraGroupStrategy implements GroupStrategy, Disposable {
 	@Override
 	public void afterGroup (int group) {
 		if (group == GROUP_BLEND) {
-			Gdx.gl.glDisable(GL10.GL_BLEND);
+			GLStateCache.disable(GL10.GL_BLEND);
 		}
 	}
 
 	@Override
 	public void beforeGroups () {
-		Gdx.gl.glEnable(GL10.GL_DEPTH_TEST);
+		GLStateCache.enable(GL10.GL_DEPTH_TEST);
 		if (shader != null) {
 			shader.begin();
 			shader.setUniformMatrix("u_projectionViewMatrix", camera.combined);
 			shader.setUniformi("u_texture", 0);
 		} else {
-			Gdx.gl.glEnable(GL10.GL_TEXTURE_2D);
+			GLStateCache.enable(GL10.GL_TEXTURE_2D);
 			Gdx.gl10.glMatrixMode(GL10.GL_PROJECTION);
 			Gdx.gl10.glLoadMatrixf(camera.projection.val, 0);
 			Gdx.gl10.glMatrixMode(GL10.GL_MODELVIEW);
@@ -183,8 +184,8 @@ public class CameraGroupStrategy implements GroupStrategy, Disposable {
 		if (shader != null) {
 			shader.end();
 		}
-		Gdx.gl.glDisable(GL10.GL_TEXTURE_2D);
-		Gdx.gl.glDisable(GL10.GL_DEPTH_TEST);
+		GLStateCache.disable(GL10.GL_TEXTURE_2D);
+		GLStateCache.disable(GL10.GL_DEPTH_TEST);
 	}
 
 	private void createDefaultShader () {
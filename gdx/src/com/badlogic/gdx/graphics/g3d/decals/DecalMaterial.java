@@ -16,8 +16,8 @@
 
 package com.badlogic.gdx.graphics.g3d.decals;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 
 /** Material used by the {@link Decal} class */
 public class DecalMaterial {
@@ -30,7 +30,7 @@ public class DecalMaterial {
 	public void set () {
 		textureRegion.getTexture().bind();
 		if (!isOpaque()) {
-			Gdx.gl.glBlendFunc(srcBlendFactor, dstBlendFactor);
+			GLStateCache.blendFunc(srcBlendFactor, dstBlendFactor);
 		}
 	}
 
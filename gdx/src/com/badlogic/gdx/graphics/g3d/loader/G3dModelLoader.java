@@ -1,5 +1,8 @@
 package com.badlogic.gdx.graphics.g3d.loader;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.ModelLoader;
@@ -25,8 +28,11 @@ import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ArrayMap;
 import com.badlogic.gdx.utils.BaseJsonReader;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.ShortArray;
 import com.badlogic.gdx.utils.UBJsonReader;
 
 public class G3dModelLoader extends ModelLoader<AssetLoaderParameters<Model>> {
@@ -48,9 +54,16 @@ public class G3dModelLoader extends ModelLoader<AssetLoaderParameters<Model>> {
 		return parseModel(fileHandle);
 	}
 
+	/** Parses the model data of the file. When the reader is a {@link UBJsonReader}, the vertices and indices of the meshes are
+	 * read directly into the arrays of the model data, without creating a {@link JsonValue} for each value. */
 	public ModelData parseModel (FileHandle handle) {
-		JsonValue json = reader.parse(handle);
 		ModelData model = new ModelData();
+		G3dbReader binaryReader = null;
+		JsonValue json;
+		if (reader instanceof UBJsonReader)
+			json = (binaryReader = new G3dbReader(model)).parse(handle);
+		else
+			json = reader.parse(handle);
 		JsonValue version = json.require("version");
 		model.version[0] = (short)version.getInt(0);
 		model.version[1] = (short)version.getInt(1);
@@ -58,7 +71,8 @@ public class G3dModelLoader extends ModelLoader<AssetLoaderParameters<Model>> {
 			throw new GdxRuntimeException("Model version not supported");
 
 		model.id = json.getString("id", "");
-		parseMeshes(model, json);
+		if (binaryReader == null || !binaryReader.meshesParsed)
+			parseMeshes(model, json);
 		parseMaterials(model, json, handle.parent().path());
 		parseNodes(model, json);
 		parseAnimations(model, json);
@@ -71,55 +85,76 @@ public class G3dModelLoader extends ModelLoader<AssetLoaderParameters<Model>> {
 		
 		model.meshes.ensureCapacity(meshes.size());
 		for (JsonValue mesh = meshes.child(); mesh != null; mesh = mesh.next()) {
-			ModelMesh jsonMesh = new ModelMesh();
-			
-			String id = mesh.getString("id", "");
-			jsonMesh.id = id;
-			
-			JsonValue attributes = mesh.require("attributes");
-			jsonMesh.attributes = parseAttributes(attributes);
-			
+			model.meshes.add(parseMesh(mesh, null, null));
+		}
+	}
+	
+	/** @param verts the vertices of the mesh, or null to parse them from the json value
+	 * @param indices the indices of each part, or null to parse them from the json values of the parts */
+	private ModelMesh parseMesh (JsonValue mesh, float[] verts, short[][] indices) {
+		ModelMesh jsonMesh = new ModelMesh();
+		
+		String id = mesh.getString("id", "");
+		jsonMesh.id = id;
+		
+		JsonValue attributes = mesh.require("attributes");
+		jsonMesh.attributes = parseAttributes(attributes);
+		
+		if (verts == null) {
 			JsonValue vertices = mesh.require("vertices");
-			float[] verts = new float[vertices.size()];
+			verts = new float[vertices.size()];
 			int j = 0;
 			for (JsonValue value = vertices.child(); value != null; value = value.next(), j++) {
 				verts[j] = value.asFloat();
 			}
-			jsonMesh.vertices = verts;
-			
-			JsonValue meshParts = mesh.require("parts");
-			Array<ModelMeshPart> parts = new Array<ModelMeshPart>();
-			for (JsonValue meshPart = meshParts.child(); meshPart != null; meshPart = meshPart.next()) {
-				ModelMeshPart jsonPart = new ModelMeshPart();
-				String partId = meshPart.getString("id", null);
-				if(id == null) {
-					throw new GdxRuntimeException("Not id given for mesh part");
-				}
-				for(ModelMeshPart other: parts) {
-					if(other.id.equals(partId)) {
-						throw new GdxRuntimeException("Mesh part with id '" + partId + "' already in defined");
-					}
-				}
-				jsonPart.id = partId;
-				
-				String type = meshPart.getString("type", null);
-				if(type == null) {
-					throw new GdxRuntimeException("No primitive type given for mesh part '" + partId + "'");
+		}
+		jsonMesh.vertices = verts;
+		
+		JsonValue meshParts = mesh.require("parts");
+		Array<ModelMeshPart> parts = new Array<ModelMeshPart>();
+		int i = 0;
+		for (JsonValue meshPart = meshParts.child(); meshPart != null; meshPart = meshPart.next(), i++) {
+			ModelMeshPart jsonPart = new ModelMeshPart();
+			String partId = meshPart.getString("id", null);
+			if(id == null) {
+				throw new GdxRuntimeException("Not id given for mesh part");
+			}
+			for(ModelMeshPart other: parts) {
+				if(other.id.equals(partId)) {
+					throw new GdxRuntimeException("Mesh part with id '" + partId + "' already in defined");
 				}
-				jsonPart.primitiveType = parseType(type);
-				
-				JsonValue indices = meshPart.require("indices");
-				short[] partIndices = new short[indices.size()];
+			}
+			jsonPart.id = partId;
+			
+			String type = meshPart.getString("type", null);
+			if(type == null) {
+				throw new GdxRuntimeException("No primitive type given for mesh part '" + partId + "'");
+			}
+			jsonPart.primitiveType = parseType(type);
+			
+			short[] partIndices = indices == null ? null : indices[i];
+			if (partIndices == null) {
+				JsonValue indexValues = meshPart.require("indices");
+				partIndices = new short[indexValues.size()];
 				int k = 0;
-				for (JsonValue value = indices.child(); value != null; value = value.next(), k++) {
+				for (JsonValue value = indexValues.child(); value != null; value = value.next(), k++) {
 					partIndices[k] = (short)value.asInt();
 				}
-				jsonPart.indices = partIndices;
-				parts.add(jsonPart);
 			}
-			jsonMesh.parts = parts.toArray(ModelMeshPart.class);
-			model.meshes.add(jsonMesh);
+			jsonPart.indices = partIndices;
+			
+			JsonValue lods = meshPart.get("lods");
+			if (lods != null) {
+				jsonPart.lods = new String[lods.size()];
+				int k = 0;
+				for (JsonValue value = lods.child(); value != null; value = value.next(), k++) {
+					jsonPart.lods[k] = value.asString();
+				}
+			}
+			parts.add(jsonPart);
 		}
+		jsonMesh.parts = parts.toArray(ModelMeshPart.class);
+		return jsonMesh;
 	}
 	
 	private int parseType (String type) {
@@ -418,4 +453,175 @@ public class G3dModelLoader extends ModelLoader<AssetLoaderParameters<Model>> {
 			}
 		}
 	}
+	
+	/** Reads g3db files like {@link UBJsonReader}, except for the meshes which are read directly into {@link ModelMesh}es. The
+	 * vertices and indices are read into their arrays as they're streamed from the file, only the small values of the meshes
+	 * are parsed into {@link JsonValue}s. */
+	private class G3dbReader extends UBJsonReader {
+		final ModelData model;
+		/** whether the meshes are read into the model **/
+		boolean meshesParsed;
+		private final FloatArray floats = new FloatArray();
+		private final ShortArray shorts = new ShortArray();
+		private final Array<short[]> partIndices = new Array<short[]>();
+		
+		G3dbReader (ModelData model) {
+			this.model = model;
+		}
+		
+		@Override
+		public JsonValue parse (FileHandle file) {
+			final DataInputStream din = new DataInputStream(file.read(8192));
+			try {
+				if (din.readByte() != '{')
+					throw new GdxRuntimeException("Expected an object");
+				final JsonValue result = new JsonValue(JsonValue.ValueType.object);
+				JsonValue prev = null;
+				for (byte type = din.readByte(); type != '}'; type = din.readByte()) {
+					final String key = parseKey(din, type);
+					if (key.equals("meshes")) {
+						parseMeshes(din);
+						continue;
+					}
+					prev = add(result, prev, key, parse(din));
+				}
+				return result;
+			} catch (Exception ex) {
+				throw new SerializationException("Error parsing file: " + file, ex);
+			} finally {
+				try {
+					din.close();
+				} catch (IOException ignored) {
+				}
+			}
+		}
+		
+		private void parseMeshes (final DataInputStream din) throws IOException {
+			if (din.readByte() != '[')
+				throw new GdxRuntimeException("Expected an array of meshes");
+			for (byte type = din.readByte(); type != ']'; type = din.readByte()) {
+				if (type != '{')
+					throw new GdxRuntimeException("Expected a mesh");
+				model.meshes.add(parseMesh(din));
+			}
+			meshesParsed = true;
+		}
+		
+		private ModelMesh parseMesh (final DataInputStream din) throws IOException {
+			final JsonValue mesh = new JsonValue(JsonValue.ValueType.object);
+			float[] vertices = null;
+			partIndices.clear();
+			JsonValue prev = null;
+			for (byte type = din.readByte(); type != '}'; type = din.readByte()) {
+				final String key = parseKey(din, type);
+				if (key.equals("vertices"))
+					vertices = readFloats(din);
+				else if (key.equals("parts"))
+					prev = add(mesh, prev, key, parseParts(din));
+				else
+					prev = add(mesh, prev, key, parse(din));
+			}
+			final short[][] indices = new short[partIndices.size][];
+			for (int i = 0; i < indices.length; i++)
+				indices[i] = partIndices.get(i);
+			return G3dModelLoader.this.parseMesh(mesh, vertices, indices);
+		}
+		
+		/** @return the parts without their indices, which are added to {@link #partIndices} */
+		private JsonValue parseParts (final DataInputStream din) throws IOException {
+			if (din.readByte() != '[')
+				throw new GdxRuntimeException("Expected an array of mesh parts");
+			final JsonValue parts = new JsonValue(JsonValue.ValueType.array);
+			JsonValue prevPart = null;
+			for (byte type = din.readByte(); type != ']'; type = din.readByte()) {
+				if (type != '{')
+					throw new GdxRuntimeException("Expected a mesh part");
+				final JsonValue part = new JsonValue(JsonValue.ValueType.object);
+				short[] indices = null;
+				JsonValue prev = null;
+				for (byte keyType = din.readByte(); keyType != '}'; keyType = din.readByte()) {
+					final String key = parseKey(din, keyType);
+					if (key.equals("indices"))
+						indices = readShorts(din);
+					else
+						prev = add(part, prev, key, parse(din));
+				}
+				partIndices.add(indices);
+				prevPart = add(parts, prevPart, null, part);
+			}
+			return parts;
+		}
+		
+		private float[] readFloats (final DataInputStream din) throws IOException {
+			final byte type = din.readByte();
+			if (type == 'a' || type == 'A') {
+				final byte dataType = din.readByte();
+				final float[] result = new float[(int)(type == 'A' ? readUInt(din) : readUChar(din))];
+				for (int i = 0; i < result.length; i++)
+					result[i] = (float)readNumber(din, dataType);
+				return result;
+			}
+			if (type != '[')
+				throw new GdxRuntimeException("Expected an array of numbers");
+			floats.clear();
+			for (byte valueType = din.readByte(); valueType != ']'; valueType = din.readByte())
+				floats.add((float)readNumber(din, valueType));
+			return floats.toArray();
+		}
+		
+		private short[] readShorts (final DataInputStream din) throws IOException {
+			final byte type = din.readByte();
+			if (type == 'a' || type == 'A') {
+				final byte dataType = din.readByte();
+				final short[] result = new short[(int)(type == 'A' ? readUInt(din) : readUChar(din))];
+				for (int i = 0; i < result.length; i++)
+					result[i] = (short)readNumber(din, dataType);
+				return result;
+			}
+			if (type != '[')
+				throw new GdxRuntimeException("Expected an array of numbers");
+			shorts.clear();
+			for (byte valueType = din.readByte(); valueType != ']'; valueType = din.readByte())
+				shorts.add((short)readNumber(din, valueType));
+			return shorts.toArray();
+		}
+		
+		private double readNumber (final DataInputStream din, final byte type) throws IOException {
+			switch (type) {
+			case 'd':
+				return din.readFloat();
+			case 'D':
+				return din.readDouble();
+			case 'B':
+				return readUChar(din);
+			case 'i':
+				return din.readShort();
+			case 'I':
+				return din.readInt();
+			case 'L':
+				return din.readLong();
+			default:
+				throw new GdxRuntimeException("Expected a number");
+			}
+		}
+		
+		private String parseKey (final DataInputStream din, final byte type) throws IOException {
+			if (type != 's' && type != 'S')
+				throw new GdxRuntimeException("Only string key are currently supported");
+			return parseString(din, type);
+		}
+		
+		private JsonValue add (final JsonValue parent, final JsonValue prev, final String name, final JsonValue value) {
+			if (name != null)
+				value.setName(name);
+			if (prev != null) {
+				prev.next = value;
+				parent.size++;
+			} else {
+				parent.child = value;
+				parent.size = 1;
+			}
+			return value;
+		}
+	}
 }
@@ -2,6 +2,8 @@ package com.badlogic.gdx.graphics.g3d.model;
 
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
 
 /**
  * A mesh part is composed of a subset of vertices
@@ -22,6 +24,26 @@ public class MeshPart {
 	public int numVertices;
 	/** the Mesh the part references, also stored in {@link Model} **/
 	public Mesh mesh;
+	/** the simplified versions of this part in the same mesh, from most to least detailed, or null if the part has no levels of
+	 * detail, see {@link NodePart#lodLevel} **/
+	public MeshPart[] lods;
+	/** the center of the bounding sphere of the part in model space, see {@link #updateBounds()} **/
+	public final Vector3 center = new Vector3();
+	/** the radius of the bounding sphere of the part, negative if it's not calculated yet **/
+	public volatile float radius = -1f;
+	
+	/** Calculates the bounding sphere of the part from the vertices it uses, must be called again after changing the vertices.
+	 * Can be called from several threads, the radius is set after the center. The radius of a part without vertices stays
+	 * negative. */
+	public void updateBounds() {
+		if (numVertices < 1)
+			return;
+		synchronized (mesh) {
+			final BoundingBox bounds = mesh.calculateBoundingBox(new BoundingBox(), indexOffset, numVertices);
+			center.set(bounds.getCenter());
+			radius = bounds.getDimensions().len() * 0.5f;
+		}
+	}
 	
 	@Override
 	public boolean equals (Object arg0) {
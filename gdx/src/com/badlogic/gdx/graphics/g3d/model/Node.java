@@ -37,6 +37,20 @@ public class Node {
 
 	public Array<NodePart> parts = new Array<NodePart>(2);
 	
+	/** the translation, rotation and scale of the last calculation of the local transform **/
+	private final Vector3 calculatedTranslation = new Vector3();
+	private final Quaternion calculatedRotation = new Quaternion();
+	private final Vector3 calculatedScale = new Vector3();
+	/** whether the local transform changed since the last calculation of the global transform **/
+	private boolean localTransformChanged = true;
+	/** incremented on each calculation of the global transform **/
+	private int globalVersion;
+	/** the {@link #globalVersion} of the parent used by the last calculation of the global transform, -1 if not calculated yet **/
+	private int parentGlobalVersion = -1;
+	/** the bounds of this node and its children, see {@link #getBoundingBox()} **/
+	private final BoundingBox bounds = new BoundingBox();
+	private boolean boundsValid;
+	
 	/**
 	 * Calculates the local transform based on the translation, scale and rotation
 	 * @return the local transform
@@ -47,6 +61,10 @@ public class Node {
 			localTransform.translate(translation);
 			localTransform.rotate(rotation);
 			localTransform.scale(scale.x, scale.y, scale.z);
+			calculatedTranslation.set(translation);
+			calculatedRotation.set(rotation);
+			calculatedScale.set(scale);
+			localTransformChanged = true;
 		}
 		return localTransform;
 	}
@@ -61,9 +79,36 @@ public class Node {
 			globalTransform.set(localTransform);
 		else
 			globalTransform.set(parent.globalTransform).mul(localTransform);
+		parentGlobalVersion = parent == null ? 0 : parent.globalVersion;
+		globalVersion++;
+		localTransformChanged = false;
+		invalidateBounds();
 		return globalTransform;
 	}
 	
+	/**
+	 * Calculates the local transform if the translation, rotation or scale changed, and the world transform if the local
+	 * transform or the world transform of the parent changed since they were last calculated. The parent must be updated
+	 * before its children.
+	 * 
+	 * @return whether the world transform was calculated
+	 */
+	public boolean updateTransforms() {
+		if (!isAnimated && (parentGlobalVersion < 0 || !translation.equals(calculatedTranslation)
+			|| !rotation.equals(calculatedRotation) || !scale.equals(calculatedScale)))
+			calculateLocalTransform();
+		if (!localTransformChanged && (parent == null || parent.globalVersion == parentGlobalVersion))
+			return false;
+		calculateWorldTransform();
+		return true;
+	}
+	
+	/** Must be called after {@link #localTransform} is modified directly, for example by an animation, so the next call to
+	 * {@link #updateTransforms()} calculates the world transform. */
+	public void invalidateGlobalTransform() {
+		localTransformChanged = true;
+	}
+	
 	/**
 	 * Calculates the local and world transform of this node and optionally all
 	 * its children.
@@ -96,6 +141,34 @@ public class Node {
 		}
 	}
 
+	/** Returns the bounding box of this Node and its children, transformed by their world transforms. The bounds are cached and
+	 * only calculated again after the world transform of the node or one of its children changed, or after
+	 * {@link #invalidateBounds()}. Node parts with bones are included without their bones applied.
+	 * @return the cached bounding box, which must not be modified */
+	public BoundingBox getBoundingBox() {
+		if (!boundsValid) {
+			bounds.inf();
+			final int partCount = parts.size;
+			for (int i = 0; i < partCount; i++) {
+				final MeshPart meshPart = parts.get(i).meshPart;
+				if (meshPart.numVertices > 0)
+					meshPart.mesh.extendBoundingBox(bounds, meshPart.indexOffset, meshPart.numVertices, globalTransform);
+			}
+			final int childCount = children.size;
+			for (int i = 0; i < childCount; i++)
+				bounds.ext(children.get(i).getBoundingBox());
+			boundsValid = true;
+		}
+		return bounds;
+	}
+	
+	/** Makes the next call to {@link #getBoundingBox()} of this node and its parents calculate the bounds again, must be called
+	 * after the parts or children of this node or their meshes changed. */
+	public void invalidateBounds() {
+		for (Node node = this; node != null && node.boundsValid; node = node.parent)
+			node.boundsValid = false;
+	}
+	
 	/** Calculate the bounding box of this Node.
 	 * This is a potential slow operation, it is advised to cache the result. */
 	public BoundingBox calculateBoundingBox(final BoundingBox out) {
@@ -15,4 +15,35 @@ public class NodeAnimation {
 	public Node node;
 	/** the keyframes, sorted by time, ascending **/
 	public Array<NodeKeyframe> keyframes = new Array<NodeKeyframe>();
+	/** the index returned by the last call to {@link #getKeyframeIndex(float)} **/
+	private int cursor;
+
+	/** Finds the keyframe to interpolate from at the specified time. The result of the previous call is tried first, so playing
+	 * the animation forwards or backwards doesn't have to search the keyframes, otherwise a binary search is used.
+	 * @return the index of the last keyframe with a keytime less than or equal to time, or 0 if time is before the first keyframe
+	 *         (the keyframe at the next index, if any, is the one to interpolate to) */
+	public int getKeyframeIndex(final float time) {
+		final int n = keyframes.size - 1;
+		if (n <= 0 || time <= keyframes.get(0).keytime)
+			return 0;
+		if (time >= keyframes.get(n).keytime)
+			return n;
+		final int hint = cursor;
+		if (hint < n && keyframes.get(hint).keytime <= time) {
+			if (time < keyframes.get(hint + 1).keytime)
+				return hint;
+			if (hint + 2 <= n && time < keyframes.get(hint + 2).keytime)
+				return cursor = hint + 1;
+		}
+		// keyframes[low].keytime <= time < keyframes[high].keytime
+		int low = 0, high = n;
+		while (high - low > 1) {
+			final int mid = (low + high) >>> 1;
+			if (keyframes.get(mid).keytime <= time)
+				low = mid;
+			else
+				high = mid;
+		}
+		return cursor = low;
+	}
 }
@@ -2,7 +2,9 @@ package com.badlogic.gdx.graphics.g3d.model;
 
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.materials.Material;
+import com.badlogic.gdx.graphics.g3d.utils.LodSelector;
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ArrayMap;
 
@@ -16,6 +18,15 @@ public class NodePart {
 	public Material material;
 	public ArrayMap<Node, Matrix4> invBoneBindTransforms;
 	public Matrix4[] bones;
+	/** the level of detail rendered, 0 for the {@link MeshPart} itself or n for {@link MeshPart#lods}[n - 1], usually set by a
+	 * {@link LodSelector} **/
+	public int lodLevel;
+	/** the center of the bounding sphere of the part in world space, see {@link #updateBounds(Matrix4)} **/
+	public final Vector3 center = new Vector3();
+	/** the radius of the bounding sphere of the part in world space, negative if the part has no bounds **/
+	public float radius = -1f;
+	private final float boundsTransform[] = new float[16];
+	private boolean boundsValid;
 	
 	public NodePart() {}
 	
@@ -24,14 +35,58 @@ public class NodePart {
 		this.material = material;
 	}
 	
-	/** Convenience method to set the material, meshpart and bones values of the renderable. */
+	/** @return the {@link MeshPart} of the current {@link #lodLevel} */
+	public MeshPart getLodMeshPart() {
+		if (lodLevel <= 0 || meshPart.lods == null)
+			return meshPart;
+		return meshPart.lods[Math.min(lodLevel, meshPart.lods.length) - 1];
+	}
+	
+	/** Convenience method to set the material, meshpart and bones values of the renderable. The mesh part of the current
+	 * {@link #lodLevel} is used. */
 	public Renderable setRenderable(final Renderable out) {
+		final MeshPart part = getLodMeshPart();
 		out.material = material;
-		out.mesh = meshPart.mesh;
-		out.meshPartOffset = meshPart.indexOffset;
-		out.meshPartSize = meshPart.numVertices;
-		out.primitiveType = meshPart.primitiveType;
+		out.mesh = part.mesh;
+		out.meshPartOffset = part.indexOffset;
+		out.meshPartSize = part.numVertices;
+		out.primitiveType = part.primitiveType;
 		out.bones = bones;
 		return out;
 	}
+	
+	/** Updates the bounding sphere of the part in world space from the bounds of the {@link MeshPart}, if the transform changed
+	 * since the last call. Parts with bones have no bounds, since the bones move the vertices.
+	 * @return whether the part has bounds */
+	public boolean updateBounds(final Matrix4 worldTransform) {
+		if (bones != null || meshPart == null) {
+			radius = -1f;
+			return false;
+		}
+		final float val[] = worldTransform.val;
+		if (boundsValid) {
+			boolean changed = false;
+			for (int i = 0; i < 16 && !changed; i++)
+				changed = val[i] != boundsTransform[i];
+			if (!changed)
+				return true;
+		}
+		if (meshPart.radius < 0f)
+			meshPart.updateBounds();
+		center.set(meshPart.center).mul(worldTransform);
+		// scale the radius by the length of the longest axis
+		final float scaleX = Vector3.len2(val[Matrix4.M00], val[Matrix4.M10], val[Matrix4.M20]);
+		final float scaleY = Vector3.len2(val[Matrix4.M01], val[Matrix4.M11], val[Matrix4.M21]);
+		final float scaleZ = Vector3.len2(val[Matrix4.M02], val[Matrix4.M12], val[Matrix4.M22]);
+		radius = meshPart.radius * (float)Math.sqrt(Math.max(scaleX, Math.max(scaleY, scaleZ)));
+		System.arraycopy(val, 0, boundsTransform, 0, 16);
+		boundsValid = true;
+		return true;
+	}
+	
+	/** Makes the next call to {@link #updateBounds(Matrix4)} recalculate the bounds, must be called after the bounds of the
+	 * {@link MeshPart} changed. */
+	public void invalidateBounds() {
+		boundsValid = false;
+	}
 }
@@ -4,4 +4,6 @@ public class ModelMeshPart {
 	public String id;
 	public short[] indices;
 	public int primitiveType;
+	/** the ids of the simplified versions of this part in the same mesh, from most to least detailed, may be null **/
+	public String[] lods;
 }
@@ -3,7 +3,9 @@ package com.badlogic.gdx.graphics.g3d.shaders;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.InstancedShader;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.Shader;
 import com.badlogic.gdx.graphics.g3d.materials.Material;
@@ -173,6 +175,15 @@ public abstract class BaseShader implements Shader {
 		// FIXME Use vertexAttributes to bind and render the mesh
 	}
 
+	/** Renders count instances of the {@link Renderable} with one draw call, see {@link InstancedShader}. The world transforms of
+	 * the instances must already be set.
+	 * @param instancedMesh the mesh part of the renderable repeated at least count times */
+	public void renderInstances (final Renderable renderable, final Mesh instancedMesh, final int count) {
+		for (final Input input : localUniforms)
+			input.setter.set(this, program, input, camera, context, renderable);
+		instancedMesh.render(program, renderable.primitiveType, 0, count * renderable.meshPartSize);
+	}
+
 	@Override
 	public void end () {
 		program.end();
@@ -6,6 +6,7 @@ import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.InstancedShader;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.Shader;
 import com.badlogic.gdx.graphics.g3d.lights.AmbientCubemap;
@@ -18,6 +19,7 @@ import com.badlogic.gdx.graphics.g3d.materials.FloatAttribute;
 import com.badlogic.gdx.graphics.g3d.materials.IntAttribute;
 import com.badlogic.gdx.graphics.g3d.materials.Material;
 import com.badlogic.gdx.graphics.g3d.materials.TextureAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.InstancedMeshCache;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Matrix3;
@@ -26,7 +28,7 @@ import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
-public class DefaultShader extends BaseShader {
+public class DefaultShader extends BaseShader implements InstancedShader {
 	/** Note on shadow mapping:
 <kalle_h> so api could check if depth textures are avaible
 <kalle_h> if yes use normal path
@@ -60,6 +62,9 @@ public class DefaultShader extends BaseShader {
 	public static int defaultCullFace = GL10.GL_BACK;
 	/** Set to 0 to disable depth test */
 	public static int defaultDepthFunc = GL10.GL_LEQUAL;
+	/** The number of instances rendered by one draw call by the instanced variant of the shader, each uses 4 vertex uniform
+	 * vectors. Set to 0 to disable instancing */
+	public static int defaultMaxInstances = 16;
 	
 	// Global uniforms
 	protected final Input u_projTrans				= register(new Input(GLOBAL_UNIFORM, "u_projTrans"));
@@ -90,6 +95,8 @@ public class DefaultShader extends BaseShader {
 	protected final Input u_pointLights0intensity= register(new Input(LOCAL_UNIFORM, "u_pointLights[0].intensity"));
 	protected final Input u_pointLights1color		= register(new Input(LOCAL_UNIFORM, "u_pointLights[1].color"));
 	protected final Input u_fogColor				   = register(new Input(LOCAL_UNIFORM, "u_fogColor"));
+	// Instancing attribute
+	protected final Input a_instance					= register(new Input(VERTEX_ATTRIBUTE, InstancedMeshCache.INSTANCE_ATTRIBUTE));
 	// FIXME Cache vertex attribute locations...
 	
 	protected int dirLightsLoc;
@@ -109,6 +116,16 @@ public class DefaultShader extends BaseShader {
 	protected final PointLight pointLights[];
 	
 	protected final float bones[];
+	/** the number of instances the program was created for, only used if the program has the instance attribute **/
+	protected final int numInstances;
+	protected int maxInstances;
+	protected float instanceTransforms[];
+	/** the sources used to create the instanced variant of this shader, null if it can't be created **/
+	private String vertexShader, fragmentShader;
+	/** the variant of this shader used to render instances, created when first needed **/
+	protected DefaultShader instancedShader;
+	/** whether the instanced variant is currently used instead of this shader **/
+	private boolean instancing;
 	
 	protected long materialMask;
 	protected long vertexMask;
@@ -126,15 +143,30 @@ public class DefaultShader extends BaseShader {
 	}
 	
 	public DefaultShader(final String vertexShader, final String fragmentShader, final long materialMask, final long vertexMask, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones) {
-		this(createPrefix(materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones), 
-			vertexShader, fragmentShader, materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones);
+		this(vertexShader, fragmentShader, materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones, 0);
+		this.vertexShader = vertexShader;
+		this.fragmentShader = fragmentShader;
+	}
+
+	/** @param numInstances the number of instances rendered by one draw call, 0 to create a shader that doesn't render instances */
+	public DefaultShader(final String vertexShader, final String fragmentShader, final long materialMask, final long vertexMask, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones, int numInstances) {
+		this(createPrefix(materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones, numInstances), 
+			vertexShader, fragmentShader, materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones, numInstances);
 	}
 
 	public DefaultShader(final String prefix, final String vertexShader, final String fragmentShader, final long materialMask, final long vertexMask, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones) {
-		this(new ShaderProgram(prefix + vertexShader, prefix + fragmentShader), materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones);
+		this(prefix, vertexShader, fragmentShader, materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones, 0);
+	}
+
+	public DefaultShader(final String prefix, final String vertexShader, final String fragmentShader, final long materialMask, final long vertexMask, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones, int numInstances) {
+		this(new ShaderProgram(prefix + vertexShader, prefix + fragmentShader), materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones, numInstances);
 	}
 	
 	public DefaultShader(final ShaderProgram shaderProgram, final long materialMask, final long vertexMask, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones) {
+		this(shaderProgram, materialMask, vertexMask, lighting, fog, numDirectional, numPoint, numSpot, numBones, 0);
+	}
+	
+	public DefaultShader(final ShaderProgram shaderProgram, final long materialMask, final long vertexMask, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones, int numInstances) {
 		this.program = shaderProgram;
 		this.lighting = lighting;
 		this.fog = fog;
@@ -148,6 +180,7 @@ public class DefaultShader extends BaseShader {
 		for (int i = 0; i < pointLights.length; i++)
 			pointLights[i] = new PointLight();
 		bones = new float[numBones > 0 ? numBones * 16 : 0];
+		this.numInstances = numBones > 0 ? 0 : numInstances;
 				
 		if (!ignoreUnimplemented && (implementedFlags & materialMask) != materialMask)
 			throw new GdxRuntimeException("Some attributes not implemented yet ("+materialMask+")");
@@ -169,6 +202,9 @@ public class DefaultShader extends BaseShader {
 		pointLightsPositionOffset 	= u_pointLights0position.location - pointLightsLoc;
 		pointLightsIntensityOffset = u_pointLights0intensity.location - pointLightsLoc;
 		pointLightsSize 				= u_pointLights1color.location - pointLightsLoc;
+		
+		maxInstances = has(a_instance) ? numInstances : 0;
+		instanceTransforms = new float[maxInstances * 16];
 	}
 	
 	protected final static long tangentAttribute = Usage.Generic << 1;
@@ -191,7 +227,7 @@ public class DefaultShader extends BaseShader {
 		return result;
 	}
 	
-	private static String createPrefix(final long mask, final long attributes, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones) {
+	private static String createPrefix(final long mask, final long attributes, boolean lighting, boolean fog, int numDirectional, int numPoint, int numSpot, int numBones, int numInstances) {
 		String prefix = "";
 		if (((attributes & Usage.Color) == Usage.Color) || ((attributes & Usage.ColorPacked) == Usage.ColorPacked))
 			prefix += "#define colorFlag\n";
@@ -233,6 +269,8 @@ public class DefaultShader extends BaseShader {
 			prefix += "#define "+FloatAttribute.AlphaTestAlias+"Flag\n";
 		if (numBones > 0)
 			prefix += "#define numBones "+numBones+"\n";
+		if (numInstances > 0 && numBones <= 0)
+			prefix += "#define numInstances "+numInstances+"\n";
 		return prefix;
 	}
 	
@@ -296,11 +334,36 @@ public class DefaultShader extends BaseShader {
 
 	private void setWorldTransform(final Matrix4 value) {
 		set(u_worldTrans, value);
-		set(u_normalMatrix, normalMatrix.set(value)); // FIXME normalize Matrix3 to remove scale component
+		if (has(u_normalMatrix))
+			set(u_normalMatrix, setNormalMatrix(normalMatrix, value));
+	}
+	
+	/** Sets the normal matrix to the cofactor matrix of the upper left 3x3 part of the transform, which is its inverse transpose
+	 * scaled by the determinant. The sign of the determinant is kept so mirroring transforms don't flip the normals, the scale
+	 * is removed by the shader when normalizing. Unlike the inverse it also exists for singular transforms. */
+	private static Matrix3 setNormalMatrix(final Matrix3 out, final Matrix4 transform) {
+		final float m[] = transform.val;
+		final float v[] = out.val;
+		v[Matrix3.M00] = m[Matrix4.M11] * m[Matrix4.M22] - m[Matrix4.M12] * m[Matrix4.M21];
+		v[Matrix3.M01] = m[Matrix4.M12] * m[Matrix4.M20] - m[Matrix4.M10] * m[Matrix4.M22];
+		v[Matrix3.M02] = m[Matrix4.M10] * m[Matrix4.M21] - m[Matrix4.M11] * m[Matrix4.M20];
+		v[Matrix3.M10] = m[Matrix4.M02] * m[Matrix4.M21] - m[Matrix4.M01] * m[Matrix4.M22];
+		v[Matrix3.M11] = m[Matrix4.M00] * m[Matrix4.M22] - m[Matrix4.M02] * m[Matrix4.M20];
+		v[Matrix3.M12] = m[Matrix4.M01] * m[Matrix4.M20] - m[Matrix4.M00] * m[Matrix4.M21];
+		v[Matrix3.M20] = m[Matrix4.M01] * m[Matrix4.M12] - m[Matrix4.M02] * m[Matrix4.M11];
+		v[Matrix3.M21] = m[Matrix4.M02] * m[Matrix4.M10] - m[Matrix4.M00] * m[Matrix4.M12];
+		v[Matrix3.M22] = m[Matrix4.M00] * m[Matrix4.M11] - m[Matrix4.M01] * m[Matrix4.M10];
+		final float det = m[Matrix4.M00] * v[Matrix3.M00] + m[Matrix4.M01] * v[Matrix3.M01] + m[Matrix4.M02] * v[Matrix3.M02];
+		if (det < 0f)
+			for (int i = 0; i < 9; i++)
+				v[i] = -v[i];
+		return out;
 	}
 	
 	@Override
 	public void render (final Renderable renderable) {
+		if (instancing)
+			endInstancing();
 		if (!renderable.material.has(BlendingAttribute.Type))
 			context.setBlending(false, GL10.GL_SRC_ALPHA, GL10.GL_ONE_MINUS_SRC_ALPHA);
 		setWorldTransform(renderable.worldTransform);
@@ -323,9 +386,92 @@ public class DefaultShader extends BaseShader {
 		}
 		super.render(renderable);
 	}
+	
+	/** @return the variant of this shader that renders instances, creating it on first use, or null if this shader has no
+	 * instanced variant. The instanced variant is its own instanced variant. */
+	protected DefaultShader getInstancedShader () {
+		if (numInstances > 0)
+			return this;
+		if (instancedShader == null && hasInstancedShader()) {
+			instancedShader = new DefaultShader(vertexShader, fragmentShader, materialMask, vertexMask, lighting, fog,
+				directionalLights.length, pointLights.length, 0, 0, defaultMaxInstances);
+			instancedShader.init();
+		}
+		return instancedShader;
+	}
+	
+	private boolean hasInstancedShader () {
+		return vertexShader != null && bones.length == 0 && defaultMaxInstances > 1;
+	}
+	
+	/** Creates the instanced variant of this shader if needed, so only call this if instances will be rendered. */
+	@Override
+	public int getMaxInstances () {
+		final DefaultShader shader = getInstancedShader();
+		return shader == null ? 0 : shader.maxInstances;
+	}
+	
+	@Override
+	public boolean canInstance (final Renderable first, final Renderable other) {
+		// point lights that don't fit in the shader are added to the ambient cubemap depending on the position of the renderable.
+		// each ModelInstance has its own copy of the materials, so they are compared by value.
+		final boolean instanceable = instancedShader != null ? instancedShader.maxInstances > 1 :
+			(numInstances > 0 ? maxInstances > 1 : hasInstancedShader());
+		return instanceable && other.shader == this && other.mesh == first.mesh &&
+			other.meshPartOffset == first.meshPartOffset && other.meshPartSize == first.meshPartSize &&
+			other.primitiveType == first.primitiveType && other.lights == first.lights && first.bones == null && other.bones == null &&
+			(first.lights == null || !has(u_ambientCubemap) || first.lights.pointLights.size <= pointLights.length) &&
+			first.material.equals(other.material);
+	}
+	
+	@Override
+	public void render (final Array<Renderable> renderables, final int offset, final int count, final Mesh instancedMesh) {
+		final DefaultShader shader = getInstancedShader();
+		if (shader != this) {
+			if (!instancing) {
+				if (currentMesh != null) {
+					currentMesh.unbind(program);
+					currentMesh = null;
+				}
+				shader.begin(super.camera, context);
+				instancing = true;
+			}
+			shader.render(renderables, offset, count, instancedMesh);
+			return;
+		}
+		final Renderable renderable = renderables.get(offset);
+		if (!renderable.material.has(BlendingAttribute.Type))
+			context.setBlending(false, GL10.GL_SRC_ALPHA, GL10.GL_ONE_MINUS_SRC_ALPHA);
+		for (int i = 0; i < count; i++)
+			System.arraycopy(renderables.get(offset + i).worldTransform.val, 0, instanceTransforms, i * 16, 16);
+		program.setUniformMatrix4fv(u_worldTrans.location, instanceTransforms, 0, count * 16);
+		bindMaterial(renderable);
+		if (lighting)
+			bindLights(renderable);
+		if (currentMesh != instancedMesh) {
+			if (currentMesh != null)
+				currentMesh.unbind(program);
+			(currentMesh = instancedMesh).bind(program);
+		}
+		renderInstances(renderable, instancedMesh, count);
+	}
+
+	/** Switches back from the instanced variant to this shader. */
+	private void endInstancing () {
+		instancedShader.end();
+		instancing = false;
+		program.begin();
+		// the textures of the material might have been unbound by the instanced variant
+		currentTextureAttribute = null;
+		currentMaterial = null;
+	}
 
 	@Override
 	public void end () {
+		if (instancing) {
+			instancedShader.end();
+			instancing = false;
+		}
 		if (currentMesh != null) {
 			currentMesh.unbind(program);
 			currentMesh = null;
@@ -444,6 +590,10 @@ public class DefaultShader extends BaseShader {
 
 	@Override
 	public void dispose () {
+		if (instancedShader != null) {
+			instancedShader.dispose();
+			instancedShader = null;
+		}
 		program.dispose();
 	}
 }
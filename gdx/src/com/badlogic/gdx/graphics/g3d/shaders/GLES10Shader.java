@@ -18,6 +18,7 @@ import com.badlogic.gdx.graphics.g3d.materials.Material;
 import com.badlogic.gdx.graphics.g3d.materials.TextureAttribute;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
 import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
@@ -78,10 +79,10 @@ public class GLES10Shader implements Shader{
 	private final float[] oneVal4  = {1,1,1,1};
 	private void bindLights(Lights lights) {
 		if (lights == null) {
-			Gdx.gl10.glDisable(GL10.GL_LIGHTING);
+			GLStateCache.disable(GL10.GL_LIGHTING);
 			return;
 		}
-		Gdx.gl10.glEnable(GL10.GL_LIGHTING);
+		GLStateCache.enable(GL10.GL_LIGHTING);
 		Gdx.gl10.glLightModelfv(GL10.GL_LIGHT_MODEL_AMBIENT, getValues(lightVal, lights.ambientLight), 0);
 		Gdx.gl10.glLightfv(GL10.GL_LIGHT0, GL10.GL_DIFFUSE, zeroVal4, 0);
 		int idx=0;
@@ -89,7 +90,7 @@ public class GLES10Shader implements Shader{
 		Gdx.gl10.glLoadIdentity();
 		for (int i = 0; i < lights.directionalLights.size && idx < 8; i++) {
 			final DirectionalLight light = lights.directionalLights.get(i);
-			Gdx.gl10.glEnable(GL10.GL_LIGHT0+idx);
+			GLStateCache.enable(GL10.GL_LIGHT0+idx);
 			Gdx.gl10.glLightfv(GL10.GL_LIGHT0+idx, GL10.GL_DIFFUSE, getValues(lightVal, light.color), 0);
 			Gdx.gl10.glLightfv(GL10.GL_LIGHT0+idx, GL10.GL_POSITION, getValues(lightVal, -light.direction.x, -light.direction.y, -light.direction.z, 0f), 0);
 			Gdx.gl10.glLightf(GL10.GL_LIGHT0+idx, GL10.GL_SPOT_CUTOFF, 180f);
@@ -99,7 +100,7 @@ public class GLES10Shader implements Shader{
 			idx++;
 		}
 		for (int i = 0; i < lights.pointLights.size && idx < 8; i++) {
-			Gdx.gl10.glEnable(GL10.GL_LIGHT0+idx);
+			GLStateCache.enable(GL10.GL_LIGHT0+idx);
 			final PointLight light = lights.pointLights.get(i);
 			Gdx.gl10.glLightfv(GL10.GL_LIGHT0+idx, GL10.GL_DIFFUSE, getValues(lightVal, light.color), 0);
 			Gdx.gl10.glLightfv(GL10.GL_LIGHT0+idx, GL10.GL_POSITION, getValues(lightVal, light.position.x, light.position.y, light.position.z, 1f), 0);
@@ -110,7 +111,7 @@ public class GLES10Shader implements Shader{
 			idx++;
 		}
 		while(idx < 8)
-			Gdx.gl10.glDisable(GL10.GL_LIGHT0+(idx++));
+			GLStateCache.disable(GL10.GL_LIGHT0+(idx++));
 		Gdx.gl10.glPopMatrix();
 	}
 	
@@ -135,9 +136,9 @@ public class GLES10Shader implements Shader{
 			if (!currentMaterial.has(ColorAttribute.Diffuse)) {
 				Gdx.gl10.glColor4f(1,1,1,1);
 				if (renderable.lights != null)
-					Gdx.gl10.glDisable(GL10.GL_COLOR_MATERIAL);
+					GLStateCache.disable(GL10.GL_COLOR_MATERIAL);
 			} if (!currentMaterial.has(TextureAttribute.Diffuse))
-				Gdx.gl10.glDisable(GL10.GL_TEXTURE_2D);
+				GLStateCache.disable(GL10.GL_TEXTURE_2D);
 			int cullFace = defaultCullFace;
 			for (final Material.Attribute attribute : currentMaterial) {
 				if (attribute.type == BlendingAttribute.Type)
@@ -145,7 +146,7 @@ public class GLES10Shader implements Shader{
 				else if (attribute.type == ColorAttribute.Diffuse) {
 					Gdx.gl10.glColor4f(((ColorAttribute)attribute).color.r, ((ColorAttribute)attribute).color.g, ((ColorAttribute)attribute).color.b, ((ColorAttribute)attribute).color.a);
 					if (renderable.lights != null) {
-						Gdx.gl10.glEnable(GL10.GL_COLOR_MATERIAL);
+						GLStateCache.enable(GL10.GL_COLOR_MATERIAL);
 						Gdx.gl10.glMaterialfv(GL10.GL_FRONT_AND_BACK, GL10.GL_AMBIENT, zeroVal4, 0);
 						Gdx.gl10.glMaterialfv(GL10.GL_FRONT_AND_BACK, GL10.GL_DIFFUSE, getValues(lightVal, ((ColorAttribute)attribute).color), 0);
 					}
@@ -157,7 +158,7 @@ public class GLES10Shader implements Shader{
 					Gdx.gl.glTexParameterf(GL10.GL_TEXTURE_2D, GL10.GL_TEXTURE_MAG_FILTER, textureDesc.magFilter);
 					Gdx.gl.glTexParameterf(GL10.GL_TEXTURE_2D, GL10.GL_TEXTURE_WRAP_S, textureDesc.uWrap);
 					Gdx.gl.glTexParameterf(GL10.GL_TEXTURE_2D, GL10.GL_TEXTURE_WRAP_T, textureDesc.vWrap);
-					Gdx.gl10.glEnable(GL10.GL_TEXTURE_2D);
+					GLStateCache.enable(GL10.GL_TEXTURE_2D);
 				}
 				else if ((attribute.type & IntAttribute.CullFace) == IntAttribute.CullFace)
 					cullFace = ((IntAttribute)attribute).value;
@@ -190,7 +191,7 @@ public class GLES10Shader implements Shader{
 		currentTransform = null;
 		currentTexture0 = null;
 		currentMaterial = null;
-		Gdx.gl10.glDisable(GL10.GL_LIGHTING);
+		GLStateCache.disable(GL10.GL_LIGHTING);
 	}
 
 	@Override
@@ -89,7 +89,20 @@ attribute vec2 a_boneWeight7;
 #endif
 #endif
 
+#if defined(numInstances) && !defined(skinningFlag)
+#if (numInstances > 0)
+#define instancingFlag
+#endif
+#endif
+
+#ifdef instancingFlag
+attribute float a_instance;
+uniform mat4 u_worldTrans[numInstances];
+#define worldTrans u_worldTrans[int(a_instance)]
+#else
 uniform mat4 u_worldTrans;
+#define worldTrans u_worldTrans
+#endif //instancingFlag
 
 #if defined(numBones)
 #if numBones > 0
@@ -206,15 +219,20 @@ void main() {
 	#endif //skinningFlag
 
 	#ifdef skinningFlag
-		vec4 pos = u_worldTrans * skinning * vec4(a_position, 1.0);
+		vec4 pos = worldTrans * skinning * vec4(a_position, 1.0);
 	#else
-		vec4 pos = u_worldTrans * vec4(a_position, 1.0);
+		vec4 pos = worldTrans * vec4(a_position, 1.0);
 	#endif
 	gl_Position = u_projTrans * pos; // FIXME dont use a temp pos value (<kalle_h> this causes some vertex yittering with positions as low as 300)
 	
 	#if defined(normalFlag)
 		#if defined(skinningFlag)
-			vec3 normal = normalize((u_worldTrans * skinning * vec4(a_normal, 0.0)).xyz);
+			vec3 normal = normalize((worldTrans * skinning * vec4(a_normal, 0.0)).xyz);
+		#elif defined(instancingFlag)
+			// same as u_normalMatrix: the cofactor matrix of the world transform, mirrored back if the determinant is negative
+			mat3 normalMatrix = mat3(cross(worldTrans[1].xyz, worldTrans[2].xyz), cross(worldTrans[2].xyz, worldTrans[0].xyz),
+				cross(worldTrans[0].xyz, worldTrans[1].xyz));
+			vec3 normal = normalize(sign(dot(worldTrans[0].xyz, normalMatrix[0])) * (normalMatrix * a_normal));
 		#else
 			vec3 normal = normalize(u_normalMatrix * a_normal);
 		#endif
@@ -1,6 +1,7 @@
 package com.badlogic.gdx.graphics.g3d.utils;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.graphics.g3d.model.Animation;
 import com.badlogic.gdx.graphics.g3d.model.Node;
@@ -9,11 +10,15 @@ import com.badlogic.gdx.graphics.g3d.model.NodeKeyframe;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.ObjectMap.Entry;
 import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.Pool.Poolable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 public class AnimationController extends BaseAnimationController {
 	public interface AnimationListener {
@@ -62,6 +67,22 @@ public class AnimationController extends BaseAnimationController {
 				return delta;
 		}
 	}
+	/** Level of detail settings for instances at least {@link #distance} away from the camera, see
+	 * {@link AnimationController#updateLod(Camera, float)}. */
+	public static class AnimationLod {
+		/** The minimum distance of the instance to the camera. */
+		public float distance;
+		/** The minimum time between two evaluations of the animations, see {@link AnimationController#updateInterval}. */
+		public float updateInterval;
+		/** The maximum depth of the animated nodes, see {@link BaseAnimationController#maxNodeDepth}. */
+		public int maxNodeDepth;
+		
+		public AnimationLod(float distance, float updateInterval, int maxNodeDepth) {
+			this.distance = distance;
+			this.updateInterval = updateInterval;
+			this.maxNodeDepth = maxNodeDepth;
+		}
+	}
 	protected final Pool<AnimationDesc> animationPool = new Pool<AnimationDesc>() {
 		@Override
 		protected AnimationDesc newObject() {
@@ -76,6 +97,14 @@ public class AnimationController extends BaseAnimationController {
 	public float transitionCurrentTime;
 	public float transitionTargetTime;
 	public boolean inAction;
+	/** Whether the target is not visible, the animation time still advances but the nodes are not evaluated. **/
+	public boolean culled;
+	/** The minimum time between two evaluations of the animations, 0 to evaluate them on every update. **/
+	public float updateInterval;
+	/** The level of detail settings used by {@link #updateLod(Camera, float)}, sorted by distance. Can be shared by controllers. **/
+	public Array<AnimationLod> lods;
+	private float timeSinceEvaluation = Float.MAX_VALUE;
+	private final Vector3 position = new Vector3();
 
 	public AnimationController (ModelInstance target) {
 		super(target);
@@ -105,6 +134,7 @@ public class AnimationController extends BaseAnimationController {
 	private boolean updating; //FIXME
 	/** @param delta The time elapsed since last update, change this to alter the overall speed (can be negative). */
 	public void update(float delta) {
+		resetStats();
 		if (current == null || current.loopCount == 0 || current.animation == null)
 			return;
 		updating = true;
@@ -121,13 +151,83 @@ public class AnimationController extends BaseAnimationController {
 			animationPool.free(previous);
 			previous = null;
 		}
-		if (previous != null)
+		if (current.loopCount != 0 && skipEvaluation(delta)) {
+			skippedNodes += current.animation.nodeAnimations.size;
+			if (previous != null)
+				skippedNodes += previous.animation.nodeAnimations.size;
+		} else if (previous != null)
 			applyAnimations(previous.animation, previous.time, current.animation, current.time, transitionCurrentTime / transitionTargetTime);
 		else
 			applyAnimation(current.animation, current.time);
 		updating = false;
 	}
 	
+	/** Updates the controllers on several threads of the executor and waits until they are done. Each controller must animate a
+	 * different {@link ModelInstance}, the {@link AnimationListener}s are called on the thread that updates their controller.
+	 * @param delta The time elapsed since last update, see {@link #update(float)}.
+	 * @param threads the number of threads to use, eg the number of available processors */
+	public static void updateParallel(final Array<? extends AnimationController> controllers, final float delta,
+		final AsyncExecutor executor, int threads) {
+		threads = Math.min(threads, controllers.size);
+		if (threads <= 1) {
+			for (int i = 0, n = controllers.size; i < n; i++)
+				controllers.get(i).update(delta);
+			return;
+		}
+		final AsyncResult<?>[] results = new AsyncResult<?>[threads];
+		int start = 0;
+		for (int i = 0; i < threads; i++) {
+			final int from = start, to = (int)((long)controllers.size * (i + 1) / threads);
+			results[i] = executor.submit(new AsyncTask<Void>() {
+				@Override
+				public Void call () throws Exception {
+					for (int j = from; j < to; j++)
+						controllers.get(j).update(delta);
+					return null;
+				}
+			});
+			start = to;
+		}
+		for (int i = 0; i < threads; i++)
+			results[i].get();
+	}
+	
+	/** @return whether the nodes should not be evaluated in this update, because the target is culled or the previous
+	 *         evaluation was less than {@link #updateInterval} ago. The last update of an animation is always evaluated. */
+	private boolean skipEvaluation(final float delta) {
+		if (culled) {
+			timeSinceEvaluation = Float.MAX_VALUE;
+			return true;
+		}
+		timeSinceEvaluation += Math.abs(delta);
+		if (timeSinceEvaluation < updateInterval)
+			return true;
+		timeSinceEvaluation = 0f;
+		return false;
+	}
+	
+	/** Sets {@link #culled}, {@link #updateInterval} and {@link #maxNodeDepth} for the position of the target relative to the
+	 * camera. The interval and depth are taken from the farthest of the {@link #lods} that is closer than the target, or reset to
+	 * evaluate all nodes on each update when there is no such level of detail.
+	 * @param radius the radius of a sphere at the position of the target containing the whole instance, used to check whether it's
+	 *           visible, negative to never cull the target */
+	public void updateLod(final Camera camera, final float radius) {
+		target.transform.getTranslation(position);
+		culled = radius >= 0f && !camera.frustum.sphereInFrustum(position, radius);
+		final float dst2 = camera.position.dst2(position);
+		updateInterval = 0f;
+		maxNodeDepth = -1;
+		if (lods != null) {
+			for (int i = 0, n = lods.size; i < n; i++) {
+				final AnimationLod lod = lods.get(i);
+				if (dst2 < lod.distance * lod.distance)
+					break;
+				updateInterval = lod.updateInterval;
+				maxNodeDepth = lod.maxNodeDepth;
+			}
+		}
+	}
+	
 	/** Set the active animation, replacing any current animation. */
 	public void setAnimation(final String id, int loopCount, float speed, final AnimationListener listener) {
 		setAnimation(obtain(id, loopCount, speed, listener));
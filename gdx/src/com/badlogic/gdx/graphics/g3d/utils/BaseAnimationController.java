@@ -59,9 +59,17 @@ public class BaseAnimationController {
 			return new Transform();
 		}
 	};
-	private final static ObjectMap<Node, Transform> transforms = new ObjectMap<Node, Transform>();
+	private final ObjectMap<Node, Transform> transforms = new ObjectMap<Node, Transform>();
+	private final Transform tmpT = new Transform();
 	private boolean applying = false;
 	public final ModelInstance target;
+	/** the maximum depth in the node hierarchy of the nodes to animate, 0 to only animate root nodes or -1 to animate all nodes.
+	 * Deeper nodes keep their last transform, which allows to skip small details of distant instances. **/
+	public int maxNodeDepth = -1;
+	/** number of nodes whose transform was calculated from an animation, see {@link #resetStats()} **/
+	public int evaluatedNodes = 0;
+	/** number of animated nodes whose transform wasn't calculated, see {@link #resetStats()} **/
+	public int skippedNodes = 0;
 	
 	public BaseAnimationController(final ModelInstance target) {
 		this.target = target;
@@ -80,7 +88,9 @@ public class BaseAnimationController {
 	protected void apply(final Animation animation, final float time, final float weight) {
 		if (!applying)
 			throw new GdxRuntimeException("You must call begin() before adding an animation");
-		applyAnimation(transforms, transformPool, weight, animation, time);
+		final int evaluated = applyAnimation(transforms, transformPool, weight, animation, time, tmpT, maxNodeDepth);
+		evaluatedNodes += evaluated;
+		skippedNodes += animation.nodeAnimations.size - evaluated;
 	}
 	
 	/** End applying multiple animations to the instance and update it to reflect the changes. */
@@ -89,6 +99,7 @@ public class BaseAnimationController {
 			throw new GdxRuntimeException("You must call begin() first");
 		for (Entry<Node, Transform> entry : transforms.entries()) {
 			entry.value.toMatrix4(entry.key.localTransform);
+			entry.key.invalidateGlobalTransform();
 			transformPool.free(entry.value);
 		}
 		transforms.clear();
@@ -100,7 +111,9 @@ public class BaseAnimationController {
 	protected void applyAnimation(final Animation animation, final float time) {
 		if (applying)
 			throw new GdxRuntimeException("Call end() first");
-		applyAnimation(null, null, 1.f, animation, time);
+		final int evaluated = applyAnimation(null, null, 1.f, animation, time, tmpT, maxNodeDepth);
+		evaluatedNodes += evaluated;
+		skippedNodes += animation.nodeAnimations.size - evaluated;
 		target.calculateTransforms();
 	}
 	
@@ -120,36 +133,51 @@ public class BaseAnimationController {
 		}
 	}
 	
-	private final static Transform tmpT = new Transform();
-	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones. */
+	/** Resets {@link #evaluatedNodes} and {@link #skippedNodes}. */
+	public void resetStats() {
+		evaluatedNodes = 0;
+		skippedNodes = 0;
+	}
+	
+	private final static Transform sharedTmpT = new Transform();
+	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones. Uses a temporary
+	 * {@link Transform} shared by all controllers, use
+	 * {@link #applyAnimation(ObjectMap, Pool, float, Animation, float, Transform, int)} to apply animations on multiple threads. */
 	protected static void applyAnimation(final ObjectMap<Node, Transform> out, final Pool<Transform> pool, final float alpha, final Animation animation, final float time) {
-		for (final NodeAnimation nodeAnim : animation.nodeAnimations) {
+		applyAnimation(out, pool, alpha, animation, time, sharedTmpT, -1);
+	}
+
+	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones.
+	 * @param transform the temporary transform used to calculate the transform of each node
+	 * @param maxNodeDepth the maximum depth of the nodes to apply the animation to, or -1 for all nodes
+	 * @return the number of nodes the animation was applied to */
+	protected static int applyAnimation(final ObjectMap<Node, Transform> out, final Pool<Transform> pool, final float alpha,
+		final Animation animation, final float time, final Transform transform, final int maxNodeDepth) {
+		final int count = animation.nodeAnimations.size;
+		int evaluated = 0;
+		for (int i = 0; i < count; i++) {
+			final NodeAnimation nodeAnim = animation.nodeAnimations.get(i);
 			final Node node = nodeAnim.node;
+			if (maxNodeDepth >= 0 && getDepth(node, maxNodeDepth) > maxNodeDepth)
+				continue;
+			evaluated++;
 			node.isAnimated = true;
 			// Find the keyframe(s)
-			final int n = nodeAnim.keyframes.size - 1;
-			int first = 0, second = -1;
-			for (int i = 0; i < n; i++) {
-				if (time >= nodeAnim.keyframes.get(i).keytime && time <= nodeAnim.keyframes.get(i+1).keytime) {
-					first = i;
-					second = i+1;
-					break;
-				}
-			}
+			final int first = nodeAnim.getKeyframeIndex(time);
 			// Apply the first keyframe:
-			final Transform transform = tmpT;
 			final NodeKeyframe firstKeyframe = nodeAnim.keyframes.get(first);
 			transform.set(firstKeyframe.translation, firstKeyframe.rotation, firstKeyframe.scale);
 			// Lerp the second keyframe
-			if (second > first) {
-				final NodeKeyframe secondKeyframe = nodeAnim.keyframes.get(second);
+			if (first < nodeAnim.keyframes.size - 1 && time > firstKeyframe.keytime) {
+				final NodeKeyframe secondKeyframe = nodeAnim.keyframes.get(first + 1);
 				final float t = (time - firstKeyframe.keytime) / (secondKeyframe.keytime - firstKeyframe.keytime);
 				transform.lerp(secondKeyframe.translation, secondKeyframe.rotation, secondKeyframe.scale, t);
 			}
 			// Apply the transform, either directly to the bone or to out when blending
-			if (out == null)
+			if (out == null) {
 				transform.toMatrix4(node.localTransform);
-			else {
+				node.invalidateGlobalTransform();
+			} else {
 				if (out.containsKey(node)) {
 					if (alpha == 1.f)
 						out.get(node).set(transform);
@@ -160,5 +188,14 @@ public class BaseAnimationController {
 				}
 			}
 		}
+		return evaluated;
+	}
+	
+	/** @return the number of parents of the node, or max + 1 if it has more than max parents */
+	private static int getDepth(Node node, final int max) {
+		int depth = 0;
+		while ((node = node.parent) != null && depth <= max)
+			depth++;
+		return depth;
 	}
 }
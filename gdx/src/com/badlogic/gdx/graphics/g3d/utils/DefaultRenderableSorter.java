@@ -3,34 +3,181 @@ package com.badlogic.gdx.graphics.g3d.utils;
 import java.util.Comparator;
 
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
 import com.badlogic.gdx.graphics.g3d.materials.BlendingAttribute;
-import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.graphics.g3d.materials.Material;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
 
+/** Sorts {@link Renderable}s on a 64 bit key which is calculated once for each renderable. Opaque renderables are rendered first,
+ * grouped by shader, material and mesh part (so they can be rendered as instances) and then sorted front to back. Blended
+ * renderables are sorted back to front and grouped by shader, material and mesh part only when they are at the same depth. The
+ * keys are sorted with a radix sort, which keeps the submission order of renderables with equal keys.
+ * <p>
+ * Shaders, materials and mesh parts get a small id the first time they are sorted. Materials that are equal in value (see
+ * {@link Material#equals(Material)}), like the copies each ModelInstance makes of the materials of its Model, get the same id.
+ * The ids are reset when they no longer fit in the key, this only changes the order of the groups. */
 public class DefaultRenderableSorter implements RenderableSorter, Comparator<Renderable> {
+	private final static int DEPTH_BITS = 24, SHADER_BITS = 10, MATERIAL_BITS = 14, MESH_BITS = 15;
+	private final static int SHADER_MASK = (1 << SHADER_BITS) - 1, MATERIAL_MASK = (1 << MATERIAL_BITS) - 1,
+		MESH_MASK = (1 << MESH_BITS) - 1, DEPTH_MASK = (1 << DEPTH_BITS) - 1;
+	private final static long BLENDED_BIT = 1L << 63;
+	private final static int MAX_CACHED_MATERIALS = 1 << 16;
+
 	private Camera camera;
-	private final Vector3 tmpV1 = new Vector3();
-	private final Vector3 tmpV2 = new Vector3();
-	
+
+	private final ObjectIntMap<Shader> shaderIds = new ObjectIntMap<Shader>();
+	/** the id of each sorted material, Material doesn't override hashCode so this finds the same instance **/
+	private final ObjectIntMap<Material> materialIds = new ObjectIntMap<Material>();
+	/** the first material sorted with each id, later materials equal to it get its id **/
+	private final Array<Material> distinctMaterials = new Array<Material>();
+	private final ObjectMap<Mesh, IntIntMap> meshPartIds = new ObjectMap<Mesh, IntIntMap>();
+	private int meshPartCount;
+
+	private long[] keys = new long[0], tmpKeys = new long[0];
+	private int[] indices = new int[0], tmpIndices = new int[0];
+	private Renderable[] items = new Renderable[0];
+	private final int[] counts = new int[256];
+
 	@Override
 	public void sort (final Camera camera, final Array<Renderable> renderables) {
 		this.camera = camera;
-		renderables.sort(this);
+		final int n = renderables.size;
+		if (n < 2) return;
+		if (keys.length < n) {
+			keys = new long[n];
+			tmpKeys = new long[n];
+			indices = new int[n];
+			tmpIndices = new int[n];
+			items = new Renderable[n];
+		}
+		boolean sorted = true;
+		for (int i = 0; i < n; i++) {
+			keys[i] = getKey(renderables.get(i));
+			indices[i] = i;
+			if (i > 0 && compareUnsigned(keys[i - 1], keys[i]) > 0) sorted = false;
+		}
+		if (sorted) return;
+		radixSort(n);
+		final Object[] array = renderables.items;
+		System.arraycopy(array, 0, items, 0, n);
+		for (int i = 0; i < n; i++) {
+			array[i] = items[indices[i]];
+			items[indices[i]] = null;
+		}
 	}
-	
+
+	/** Sorts the first n keys and their indices, least significant byte first. Bytes that are equal for all keys are skipped. */
+	private void radixSort (final int n) {
+		long[] keys = this.keys, tmpKeys = this.tmpKeys;
+		int[] indices = this.indices, tmpIndices = this.tmpIndices;
+		final int[] counts = this.counts;
+		for (int shift = 0; shift < 64; shift += 8) {
+			for (int i = 0; i < 256; i++)
+				counts[i] = 0;
+			for (int i = 0; i < n; i++)
+				counts[(int)(keys[i] >>> shift) & 0xff]++;
+			if (counts[(int)(keys[0] >>> shift) & 0xff] == n) continue;
+			int total = 0;
+			for (int i = 0; i < 256; i++) {
+				final int count = counts[i];
+				counts[i] = total;
+				total += count;
+			}
+			for (int i = 0; i < n; i++) {
+				final int index = counts[(int)(keys[i] >>> shift) & 0xff]++;
+				tmpKeys[index] = keys[i];
+				tmpIndices[index] = indices[i];
+			}
+			long[] swapKeys = keys;
+			keys = tmpKeys;
+			tmpKeys = swapKeys;
+			int[] swapIndices = indices;
+			indices = tmpIndices;
+			tmpIndices = swapIndices;
+		}
+		this.keys = keys;
+		this.tmpKeys = tmpKeys;
+		this.indices = indices;
+		this.tmpIndices = tmpIndices;
+	}
+
+	/** @return the sort key of the renderable, renderables are rendered in the order of their keys compared as unsigned values */
+	protected long getKey (final Renderable renderable) {
+		final float[] val = renderable.worldTransform.val;
+		final float dx = val[Matrix4.M03] - camera.position.x;
+		final float dy = val[Matrix4.M13] - camera.position.y;
+		final float dz = val[Matrix4.M23] - camera.position.z;
+		// the bits of a positive float increase with its value, keep the exponent and the high bits of the mantissa
+		final long depth = (NumberUtils.floatToRawIntBits(dx * dx + dy * dy + dz * dz) >>> (31 - DEPTH_BITS)) & DEPTH_MASK;
+		final long state = ((long)getShaderId(renderable.shader) << (MATERIAL_BITS + MESH_BITS))
+			| ((long)getMaterialId(renderable.material) << MESH_BITS) | getMeshPartId(renderable);
+		if (renderable.material.has(BlendingAttribute.Type))
+			return BLENDED_BIT | ((DEPTH_MASK - depth) << (63 - DEPTH_BITS)) | state;
+		return (state << DEPTH_BITS) | depth;
+	}
+
+	private int getShaderId (final Shader shader) {
+		if (shader == null) return 0;
+		int id = shaderIds.get(shader, -1);
+		if (id < 0) {
+			if (shaderIds.size > SHADER_MASK) shaderIds.clear();
+			shaderIds.put(shader, id = shaderIds.size);
+		}
+		return id;
+	}
+
+	private int getMaterialId (final Material material) {
+		int id = materialIds.get(material, -1);
+		if (id >= 0) return id;
+		for (int i = 0, n = distinctMaterials.size; i < n; i++) {
+			if (distinctMaterials.get(i).equals(material)) {
+				id = i;
+				break;
+			}
+		}
+		if (id < 0) {
+			if (distinctMaterials.size > MATERIAL_MASK) {
+				distinctMaterials.clear();
+				materialIds.clear();
+			}
+			id = distinctMaterials.size;
+			distinctMaterials.add(material);
+		}
+		// the instances only cache the ids, forgetting them doesn't change the ids of the distinct materials
+		if (materialIds.size > MAX_CACHED_MATERIALS) materialIds.clear();
+		materialIds.put(material, id);
+		return id;
+	}
+
+	private int getMeshPartId (final Renderable renderable) {
+		if (renderable.mesh == null) return 0;
+		IntIntMap parts = meshPartIds.get(renderable.mesh);
+		if (parts == null) {
+			if (meshPartCount > MESH_MASK) {
+				meshPartIds.clear();
+				meshPartCount = 0;
+			}
+			meshPartIds.put(renderable.mesh, parts = new IntIntMap(4));
+		}
+		int id = parts.get(renderable.meshPartOffset, -1);
+		if (id < 0) parts.put(renderable.meshPartOffset, id = meshPartCount++ & MESH_MASK);
+		return id;
+	}
+
 	@Override
 	public int compare (final Renderable o1, final Renderable o2) {
-		final boolean b1 = o1.material.has(BlendingAttribute.Type);
-		final boolean b2 = o2.material.has(BlendingAttribute.Type);
-		if (b1 != b2) 
-			return b1 ? 1 : -1;
-		// FIXME implement better sorting algorithm
-		// final boolean same = o1.shader == o2.shader && o1.mesh == o2.mesh && (o1.lights == null) == (o2.lights == null) && 
-			// o1.material.equals(o2.material);
-		o1.worldTransform.getTranslation(tmpV1);
-		o2.worldTransform.getTranslation(tmpV2);
-		final float dst = camera.position.dst2(tmpV1) - camera.position.dst2(tmpV2);
-		return dst < 0f ? -1 : (dst > 0f ? 1 : 0);
+		return compareUnsigned(getKey(o1), getKey(o2));
+	}
+
+	private static int compareUnsigned (final long a, final long b) {
+		final long x = a + Long.MIN_VALUE, y = b + Long.MIN_VALUE;
+		return x < y ? -1 : (x > y ? 1 : 0);
 	}
 }
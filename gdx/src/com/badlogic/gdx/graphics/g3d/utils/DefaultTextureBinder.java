@@ -6,6 +6,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
@@ -85,12 +86,11 @@ public final class DefaultTextureBinder implements TextureBinder {
 	public void end () {
 		for(int i = 0; i < count; i++) {
 			if (textures[i].texture != null) {
-				Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0 + offset + i);
-				Gdx.gl.glBindTexture(GL20.GL_TEXTURE_2D, 0);
+				GLStateCache.bindTexture(offset + i, GL20.GL_TEXTURE_2D, 0);
 				textures[i].texture = null;
 			}
 		}
-		Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0);
+		GLStateCache.activeTexture(0);
 	}
 	
 	/** Binds the texture if needed and sets it active, returns the unit */
@@ -114,7 +114,7 @@ public final class DefaultTextureBinder implements TextureBinder {
 			if (rebind)
 				textureDesc.texture.bind(result);
 			else
-				Gdx.gl.glActiveTexture(GL10.GL_TEXTURE0 + result);
+				GLStateCache.activeTexture(result);
 		} else
 			bindCount++;
 		if (textureDesc.minFilter != GL10.GL_INVALID_VALUE && textureDesc.minFilter != textures[idx].minFilter)
@@ -0,0 +1,173 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.InstancedShader;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Creates and keeps the instanced meshes used by {@link InstancedShader}s. An instanced mesh contains a mesh part repeated a
+ * number of times, each copy has its index stored in the {@link #INSTANCE_ATTRIBUTE} attribute. Only parts rendered as triangles,
+ * lines or points can be repeated, and all copies must fit in the 16 bit indices.
+ * <p>
+ * The copies are made from the vertices of the mesh when the part is first requested, {@link #invalidate(Mesh)} must be called
+ * when the vertices or indices of the mesh change and before the mesh is disposed. */
+public class InstancedMeshCache implements Disposable {
+	/** the alias of the attribute containing the index of the instance **/
+	public final static String INSTANCE_ATTRIBUTE = "a_instance";
+
+	private static class Entry {
+		int offset;
+		int size;
+		int primitiveType;
+		int maxInstances;
+		/** the number of copies in the instanced mesh, at most {@link #maxInstances} **/
+		int instances;
+		/** the instanced mesh, or null if the part can't be instanced **/
+		Mesh mesh;
+	}
+
+	private final ObjectMap<Mesh, Array<Entry>> entries = new ObjectMap<Mesh, Array<Entry>>();
+
+	/** @return the instanced mesh of the mesh part of the renderable, or null if the part can't be instanced. It may contain less
+	 *         than maxInstances copies, see {@link #getInstances(Renderable, int)}. */
+	public Mesh get (final Renderable renderable, final int maxInstances) {
+		return getEntry(renderable, maxInstances).mesh;
+	}
+
+	/** @return the number of copies in the instanced mesh returned by {@link #get(Renderable, int)}, which is less than
+	 *         maxInstances if that many copies don't fit in the 16 bit indices, or 0 if the part can't be instanced */
+	public int getInstances (final Renderable renderable, final int maxInstances) {
+		return getEntry(renderable, maxInstances).instances;
+	}
+
+	private Entry getEntry (final Renderable renderable, final int maxInstances) {
+		Array<Entry> parts = entries.get(renderable.mesh);
+		if (parts == null)
+			entries.put(renderable.mesh, parts = new Array<Entry>(false, 4));
+		for (int i = 0, n = parts.size; i < n; i++) {
+			final Entry entry = parts.get(i);
+			if (entry.offset == renderable.meshPartOffset && entry.size == renderable.meshPartSize
+				&& entry.primitiveType == renderable.primitiveType && entry.maxInstances == maxInstances)
+				return entry;
+		}
+		final Entry entry = new Entry();
+		entry.offset = renderable.meshPartOffset;
+		entry.size = renderable.meshPartSize;
+		entry.primitiveType = renderable.primitiveType;
+		entry.maxInstances = maxInstances;
+		create(renderable.mesh, entry);
+		parts.add(entry);
+		return entry;
+	}
+
+	/** Disposes the instanced meshes created for the mesh, they are created again when needed. */
+	public void invalidate (final Mesh mesh) {
+		final Array<Entry> parts = entries.remove(mesh);
+		if (parts == null)
+			return;
+		for (int i = 0, n = parts.size; i < n; i++)
+			if (parts.get(i).mesh != null)
+				parts.get(i).mesh.dispose();
+	}
+
+	/** Disposes all instanced meshes. */
+	public void clear () {
+		for (final Array<Entry> parts : entries.values())
+			for (int i = 0, n = parts.size; i < n; i++)
+				if (parts.get(i).mesh != null)
+					parts.get(i).mesh.dispose();
+		entries.clear();
+	}
+
+	@Override
+	public void dispose () {
+		clear();
+	}
+
+	/** Sets the instanced mesh and the number of copies of the entry, leaves them null and 0 if the part can't be instanced. */
+	private static void create (final Mesh mesh, final Entry entry) {
+		final int offset = entry.offset, size = entry.size, primitiveType = entry.primitiveType;
+		if (primitiveType != GL10.GL_TRIANGLES && primitiveType != GL10.GL_LINES && primitiveType != GL10.GL_POINTS)
+			return;
+		final VertexAttributes attributes = mesh.getVertexAttributes();
+		if (size <= 0 || entry.maxInstances < 2 || mesh.getNumVertices() == 0)
+			return;
+		for (int i = 0, n = attributes.size(); i < n; i++)
+			if (INSTANCE_ATTRIBUTE.equals(attributes.get(i).alias))
+				return;
+
+		final int vertexSize = mesh.getVertexSize() / 4;
+		final float[] vertices = new float[mesh.getNumVertices() * vertexSize];
+		mesh.getVertices(vertices);
+
+		// the vertices used by the part and the indices of the part into those vertices
+		final IntArray partVertices = new IntArray(size);
+		short[] partIndices = null;
+		final int numIndices = mesh.getNumIndices();
+		if (numIndices > 0) {
+			final short[] indices = new short[numIndices];
+			mesh.getIndices(indices);
+			final IntIntMap remap = new IntIntMap(size);
+			partIndices = new short[size];
+			for (int i = 0; i < size; i++) {
+				final int index = indices[offset + i] & 0xffff;
+				int newIndex = remap.get(index, -1);
+				if (newIndex < 0) {
+					remap.put(index, newIndex = partVertices.size);
+					partVertices.add(index);
+				}
+				partIndices[i] = (short)newIndex;
+			}
+		} else {
+			for (int i = 0; i < size; i++)
+				partVertices.add(offset + i);
+		}
+
+		final int instances = Math.min(entry.maxInstances, 65536 / partVertices.size);
+		if (instances < 2)
+			return;
+
+		final int newVertexSize = vertexSize + 1;
+		final float[] newVertices = new float[instances * partVertices.size * newVertexSize];
+		int idx = 0;
+		for (int i = 0; i < instances; i++) {
+			for (int j = 0; j < partVertices.size; j++) {
+				System.arraycopy(vertices, partVertices.get(j) * vertexSize, newVertices, idx, vertexSize);
+				idx += vertexSize;
+				newVertices[idx++] = i;
+			}
+		}
+		short[] newIndices = null;
+		if (partIndices != null) {
+			newIndices = new short[instances * size];
+			for (int i = 0; i < instances; i++) {
+				final int base = i * partVertices.size;
+				for (int j = 0; j < size; j++)
+					newIndices[i * size + j] = (short)(base + (partIndices[j] & 0xffff));
+			}
+		}
+
+		final VertexAttribute[] newAttributes = new VertexAttribute[attributes.size() + 1];
+		for (int i = 0, n = attributes.size(); i < n; i++) {
+			final VertexAttribute attribute = attributes.get(i);
+			newAttributes[i] = new VertexAttribute(attribute.usage, attribute.numComponents, attribute.alias, attribute.unit);
+		}
+		newAttributes[attributes.size()] = new VertexAttribute(Usage.Generic, 1, INSTANCE_ATTRIBUTE);
+
+		final Mesh result = new Mesh(true, instances * partVertices.size, newIndices == null ? 0 : newIndices.length, newAttributes);
+		result.setVertices(newVertices);
+		if (newIndices != null)
+			result.setIndices(newIndices);
+		result.setAutoBind(false);
+		entry.mesh = result;
+		entry.instances = instances;
+	}
+}
@@ -0,0 +1,112 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+
+/** Selects the {@link NodePart#lodLevel} of the node parts of {@link ModelInstance}s from the size of the bounding sphere of their
+ * {@link MeshPart} projected on the screen. Level n (using {@link MeshPart#lods}[n - 1]) is used when the projected size is below
+ * {@link #thresholds}[n - 1]. A part only switches to a less detailed level when its size is {@link #hysteresis} below the
+ * threshold and back when it's {@link #hysteresis} above it, so it doesn't switch every frame when its size is near a threshold.
+ * <p>
+ * Set the selector with {@link ModelBatch#setLodSelector(LodSelector)} to select the levels of the instances rendered by the
+ * batch, or call {@link #select(Camera, ModelInstance)} before getting the renderables of an instance. The selector only reads
+ * its settings, it can be used by several threads at the same time. See {@link MeshSimplifier} to generate the levels. */
+public class LodSelector {
+	/** the projected sizes, as fraction of the viewport height, below which the next level is used, in decreasing order **/
+	public float[] thresholds;
+	/** the fraction of a threshold the projected size must be beyond it to switch levels **/
+	public float hysteresis = 0.1f;
+	/** multiplies the projected sizes, values below 1 select less detailed levels **/
+	public float bias = 1f;
+
+	public LodSelector () {
+		this(0.25f, 0.1f, 0.04f);
+	}
+
+	public LodSelector (final float... thresholds) {
+		this.thresholds = thresholds;
+	}
+
+	/** Selects the level of detail of the node parts of the instance, using its current {@link ModelInstance#transform} and node
+	 * transforms. */
+	public void select (final Camera camera, final ModelInstance instance) {
+		for (int i = 0; i < instance.nodes.size; i++)
+			select(camera, instance.transform, instance.nodes.get(i));
+	}
+
+	private void select (final Camera camera, final Matrix4 transform, final Node node) {
+		for (int i = 0; i < node.parts.size; i++) {
+			final NodePart part = node.parts.get(i);
+			if (part.meshPart.lods == null)
+				continue;
+			final int levels = Math.min(part.meshPart.lods.length, thresholds.length);
+			part.lodLevel = getLevel(bias * getProjectedSize(camera, transform, node, part), part.lodLevel, levels);
+		}
+		for (int i = 0; i < node.children.size; i++)
+			select(camera, transform, node.children.get(i));
+	}
+
+	/** @param size the projected size of the part
+	 * @param current the level currently used
+	 * @param levels the number of levels available, excluding level 0
+	 * @return the level to use */
+	protected int getLevel (final float size, final int current, final int levels) {
+		int level = Math.max(0, Math.min(current, levels));
+		while (level < levels && size < thresholds[level] * (1f - hysteresis))
+			level++;
+		while (level > 0 && size > thresholds[level - 1] * (1f + hysteresis))
+			level--;
+		return level;
+	}
+
+	/** Calculates the diameter of the bounding sphere of the {@link MeshPart} of the node part projected by the camera, as fraction
+	 * of the viewport height. The world transform is calculated like {@link ModelInstance#getRenderable(Renderable, Node, NodePart)}
+	 * does, the bounds of parts with bones are those of the bind pose.
+	 * @param transform the transform of the instance, may be null
+	 * @return the projected size, or {@link Float#MAX_VALUE} if the center is not in front of the camera */
+	public static float getProjectedSize (final Camera camera, final Matrix4 transform, final Node node, final NodePart part) {
+		final MeshPart meshPart = part.meshPart;
+		if (meshPart.radius < 0f)
+			meshPart.updateBounds();
+		float x = meshPart.center.x, y = meshPart.center.y, z = meshPart.center.z, scale = 1f;
+		if (part.bones == null) {
+			final float m[] = node.globalTransform.val;
+			final float tx = m[Matrix4.M00] * x + m[Matrix4.M01] * y + m[Matrix4.M02] * z + m[Matrix4.M03];
+			final float ty = m[Matrix4.M10] * x + m[Matrix4.M11] * y + m[Matrix4.M12] * z + m[Matrix4.M13];
+			z = m[Matrix4.M20] * x + m[Matrix4.M21] * y + m[Matrix4.M22] * z + m[Matrix4.M23];
+			x = tx;
+			y = ty;
+			scale = getScale(m);
+		}
+		if (transform != null) {
+			final float m[] = transform.val;
+			final float tx = m[Matrix4.M00] * x + m[Matrix4.M01] * y + m[Matrix4.M02] * z + m[Matrix4.M03];
+			final float ty = m[Matrix4.M10] * x + m[Matrix4.M11] * y + m[Matrix4.M12] * z + m[Matrix4.M13];
+			z = m[Matrix4.M20] * x + m[Matrix4.M21] * y + m[Matrix4.M22] * z + m[Matrix4.M23];
+			x = tx;
+			y = ty;
+			scale *= getScale(m);
+		}
+		// w is the distance along the view direction for perspective projections and 1 for orthographic projections
+		final float p[] = camera.combined.val;
+		final float w = p[Matrix4.M30] * x + p[Matrix4.M31] * y + p[Matrix4.M32] * z + p[Matrix4.M33];
+		if (w <= 0f)
+			return Float.MAX_VALUE;
+		return meshPart.radius * scale * Math.abs(camera.projection.val[Matrix4.M11]) / w;
+	}
+
+	/** @return the length of the longest axis of the matrix */
+	private static float getScale (final float m[]) {
+		final float scaleX = Vector3.len2(m[Matrix4.M00], m[Matrix4.M10], m[Matrix4.M20]);
+		final float scaleY = Vector3.len2(m[Matrix4.M01], m[Matrix4.M11], m[Matrix4.M21]);
+		final float scaleZ = Vector3.len2(m[Matrix4.M02], m[Matrix4.M12], m[Matrix4.M22]);
+		return (float)Math.sqrt(Math.max(scaleX, Math.max(scaleY, scaleZ)));
+	}
+}
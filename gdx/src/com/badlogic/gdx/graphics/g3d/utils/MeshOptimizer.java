@@ -0,0 +1,300 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.assets.loaders.ModelLoader;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/** Optimizes the meshes of {@link ModelData} before they are uploaded:
+ * <ul>
+ * <li>identical vertices are welded, so they're only stored and transformed once.</li>
+ * <li>the triangles of each part are reordered to make better use of the post transform vertex cache of the GPU, using Tom
+ * Forsyth's linear-speed vertex cache optimisation.</li>
+ * <li>the vertices are reordered in the order the indices first use them, so they're fetched sequentially, and vertices that
+ * aren't used by any part are removed.</li>
+ * </ul>
+ * The average cache miss ratio (ACMR, the number of vertices transformed per triangle with a FIFO cache of {@link #cacheSize}
+ * vertices) of the triangles before and after the optimization are available for reporting. Meshes with a part without indices
+ * are not changed. Set {@link ModelLoader#meshOptimizer} to optimize models when they're loaded. */
+public class MeshOptimizer {
+	/** the number of vertices in the simulated post transform cache, at least 4 **/
+	public int cacheSize = 32;
+	/** whether to weld identical vertices **/
+	public boolean weldVertices = true;
+	/** whether to reorder the triangles for the post transform vertex cache **/
+	public boolean reorderTriangles = true;
+	/** whether to reorder the vertices in the order they're used and remove unused vertices **/
+	public boolean reorderVertices = true;
+
+	/** the number of vertices of the meshes before they were optimized, since the last {@link #reset()} **/
+	public int verticesBefore;
+	/** the number of vertices of the meshes after they were optimized, since the last {@link #reset()} **/
+	public int verticesAfter;
+	/** the number of triangles in the optimized meshes, since the last {@link #reset()} **/
+	public int triangles;
+	/** the number of cache misses rendering the triangles before they were optimized, since the last {@link #reset()} **/
+	public int cacheMissesBefore;
+	/** the number of cache misses rendering the triangles after they were optimized, since the last {@link #reset()} **/
+	public int cacheMissesAfter;
+
+	/** Resets the statistics. */
+	public void reset () {
+		verticesBefore = verticesAfter = triangles = cacheMissesBefore = cacheMissesAfter = 0;
+	}
+
+	/** @return the average number of vertices transformed per triangle before the optimization */
+	public float getACMRBefore () {
+		return triangles == 0 ? 0f : (float)cacheMissesBefore / triangles;
+	}
+
+	/** @return the average number of vertices transformed per triangle after the optimization */
+	public float getACMRAfter () {
+		return triangles == 0 ? 0f : (float)cacheMissesAfter / triangles;
+	}
+
+	/** Optimizes all meshes of the model data, the statistics are {@link #reset()} first. */
+	public void optimize (final ModelData data) {
+		reset();
+		for (int i = 0; i < data.meshes.size; i++)
+			optimize(data.meshes.get(i));
+	}
+
+	/** Optimizes the vertices and indices of the mesh and adds it to the statistics. The ids and primitive types of the parts
+	 * don't change. */
+	public void optimize (final ModelMesh mesh) {
+		if (cacheSize < 4)
+			throw new GdxRuntimeException("The cache size must be at least 4");
+		final int stride = new VertexAttributes(mesh.attributes).vertexSize / 4;
+		int numVertices = mesh.vertices.length / stride;
+		verticesBefore += numVertices;
+		for (final ModelMeshPart part : mesh.parts) {
+			if (part.indices == null || part.indices.length == 0) {
+				verticesAfter += numVertices;
+				return;
+			}
+		}
+		for (final ModelMeshPart part : mesh.parts) {
+			if (part.primitiveType == GL10.GL_TRIANGLES) {
+				triangles += part.indices.length / 3;
+				cacheMissesBefore += countCacheMisses(part.indices, cacheSize);
+			}
+		}
+
+		if (weldVertices) {
+			final int[] remap = new int[numVertices];
+			final int count = weld(mesh.vertices, stride, numVertices, remap);
+			if (count < numVertices) {
+				final float[] vertices = new float[count * stride];
+				System.arraycopy(mesh.vertices, 0, vertices, 0, vertices.length);
+				mesh.vertices = vertices;
+				for (final ModelMeshPart part : mesh.parts)
+					for (int i = 0; i < part.indices.length; i++)
+						part.indices[i] = (short)remap[part.indices[i] & 0xffff];
+				numVertices = count;
+			}
+		}
+
+		if (reorderTriangles) {
+			for (final ModelMeshPart part : mesh.parts)
+				if (part.primitiveType == GL10.GL_TRIANGLES)
+					reorderTriangles(part.indices, numVertices);
+		}
+
+		if (reorderVertices) {
+			final int[] remap = new int[numVertices];
+			for (int i = 0; i < numVertices; i++)
+				remap[i] = -1;
+			int count = 0;
+			for (final ModelMeshPart part : mesh.parts) {
+				for (int i = 0; i < part.indices.length; i++) {
+					final int index = part.indices[i] & 0xffff;
+					if (remap[index] < 0)
+						remap[index] = count++;
+					part.indices[i] = (short)remap[index];
+				}
+			}
+			final float[] vertices = new float[count * stride];
+			for (int i = 0; i < numVertices; i++)
+				if (remap[i] >= 0)
+					System.arraycopy(mesh.vertices, i * stride, vertices, remap[i] * stride, stride);
+			mesh.vertices = vertices;
+			numVertices = count;
+		}
+
+		verticesAfter += numVertices;
+		for (final ModelMeshPart part : mesh.parts)
+			if (part.primitiveType == GL10.GL_TRIANGLES)
+				cacheMissesAfter += countCacheMisses(part.indices, cacheSize);
+	}
+
+	/** @return the number of vertices transformed when rendering the indices with a FIFO post transform cache of the size */
+	public static int countCacheMisses (final short[] indices, final int cacheSize) {
+		final int[] cache = new int[cacheSize];
+		for (int i = 0; i < cacheSize; i++)
+			cache[i] = -1;
+		int next = 0, misses = 0;
+		for (int i = 0; i < indices.length; i++) {
+			final int index = indices[i] & 0xffff;
+			boolean hit = false;
+			for (int j = 0; j < cacheSize && !hit; j++)
+				hit = cache[j] == index;
+			if (!hit) {
+				cache[next] = index;
+				next = (next + 1) % cacheSize;
+				misses++;
+			}
+		}
+		return misses;
+	}
+
+	/** Moves the unique vertices to the start of the array, keeping their order.
+	 * @param remap receives the new index of each vertex
+	 * @return the number of unique vertices */
+	private static int weld (final float[] vertices, final int stride, final int numVertices, final int[] remap) {
+		// the first unique vertex with each hash, the others with the same hash are chained in next
+		final IntIntMap first = new IntIntMap(numVertices);
+		final int[] next = new int[numVertices];
+		int count = 0;
+		for (int i = 0; i < numVertices; i++) {
+			final int offset = i * stride;
+			int hash = 0;
+			for (int j = 0; j < stride; j++)
+				hash = hash * 31 + NumberUtils.floatToRawIntBits(vertices[offset + j]);
+			int unique = first.get(hash, -1);
+			while (unique >= 0 && !equals(vertices, unique * stride, offset, stride))
+				unique = next[unique];
+			if (unique < 0) {
+				// only vertices before i are overwritten, which are already welded
+				System.arraycopy(vertices, offset, vertices, count * stride, stride);
+				next[count] = first.get(hash, -1);
+				first.put(hash, count);
+				unique = count++;
+			}
+			remap[i] = unique;
+		}
+		return count;
+	}
+
+	private static boolean equals (final float[] vertices, final int offset1, final int offset2, final int stride) {
+		for (int i = 0; i < stride; i++)
+			if (NumberUtils.floatToRawIntBits(vertices[offset1 + i]) != NumberUtils.floatToRawIntBits(vertices[offset2 + i]))
+				return false;
+		return true;
+	}
+
+	/** Reorders the triangles, each time adding the triangle with the highest score, which is the sum of the scores of its
+	 * vertices. A vertex scores higher when it's recently used and when few of its triangles are left. */
+	private void reorderTriangles (final short[] indices, final int numVertices) {
+		final int numTriangles = indices.length / 3;
+		if (numTriangles < 2)
+			return;
+		// the remaining triangles of each vertex are stored at vertexTriangles[offsets[v]] to [offsets[v] + remaining[v]]
+		final int[] remaining = new int[numVertices];
+		for (int i = 0; i < numTriangles * 3; i++)
+			remaining[indices[i] & 0xffff]++;
+		final int[] offsets = new int[numVertices];
+		for (int i = 1; i < numVertices; i++)
+			offsets[i] = offsets[i - 1] + remaining[i - 1];
+		final int[] vertexTriangles = new int[numTriangles * 3];
+		final int[] fill = new int[numVertices];
+		for (int i = 0; i < numTriangles * 3; i++) {
+			final int vertex = indices[i] & 0xffff;
+			vertexTriangles[offsets[vertex] + fill[vertex]++] = i / 3;
+		}
+
+		final int[] cachePositions = new int[numVertices];
+		final float[] vertexScores = new float[numVertices];
+		for (int i = 0; i < numVertices; i++) {
+			cachePositions[i] = -1;
+			vertexScores[i] = getVertexScore(-1, remaining[i]);
+		}
+		final float[] triangleScores = new float[numTriangles];
+		final boolean[] added = new boolean[numTriangles];
+		int best = 0;
+		for (int i = 0; i < numTriangles; i++) {
+			triangleScores[i] = vertexScores[indices[i * 3] & 0xffff] + vertexScores[indices[i * 3 + 1] & 0xffff]
+				+ vertexScores[indices[i * 3 + 2] & 0xffff];
+			if (triangleScores[i] > triangleScores[best])
+				best = i;
+		}
+
+		final short[] result = new short[numTriangles * 3];
+		int[] cache = new int[cacheSize + 3], newCache = new int[cacheSize + 3];
+		int cacheCount = 0;
+		int firstNotAdded = 0;
+		for (int n = 0; n < numTriangles; n++) {
+			if (best < 0) {
+				while (added[firstNotAdded])
+					firstNotAdded++;
+				best = firstNotAdded;
+			}
+			added[best] = true;
+			int newCount = 0;
+			for (int i = 0; i < 3; i++) {
+				final int vertex = indices[best * 3 + i] & 0xffff;
+				result[n * 3 + i] = (short)vertex;
+				// remove the triangle from the remaining triangles of the vertex
+				final int start = offsets[vertex], end = start + --remaining[vertex];
+				for (int j = start; j <= end; j++) {
+					if (vertexTriangles[j] == best) {
+						vertexTriangles[j] = vertexTriangles[end];
+						break;
+					}
+				}
+				newCache[newCount++] = vertex;
+			}
+			for (int i = 0; i < cacheCount; i++) {
+				final int vertex = cache[i];
+				if (vertex != newCache[0] && vertex != newCache[1] && vertex != newCache[2])
+					newCache[newCount++] = vertex;
+			}
+			final int[] swap = cache;
+			cache = newCache;
+			newCache = swap;
+			cacheCount = newCount;
+
+			// update the scores of the vertices in the cache and the triangles using them
+			best = -1;
+			for (int i = 0; i < cacheCount; i++) {
+				final int vertex = cache[i];
+				cachePositions[vertex] = i < cacheSize ? i : -1;
+				vertexScores[vertex] = getVertexScore(cachePositions[vertex], remaining[vertex]);
+			}
+			for (int i = 0; i < cacheCount; i++) {
+				final int vertex = cache[i];
+				for (int j = offsets[vertex], end = j + remaining[vertex]; j < end; j++) {
+					final int triangle = vertexTriangles[j];
+					final float score = vertexScores[indices[triangle * 3] & 0xffff]
+						+ vertexScores[indices[triangle * 3 + 1] & 0xffff] + vertexScores[indices[triangle * 3 + 2] & 0xffff];
+					triangleScores[triangle] = score;
+					if (best < 0 || score > triangleScores[best])
+						best = triangle;
+				}
+			}
+			if (cacheCount > cacheSize)
+				cacheCount = cacheSize;
+		}
+		System.arraycopy(result, 0, indices, 0, result.length);
+	}
+
+	/** @param cachePosition the position of the vertex in the cache, most recently used first, or -1 if it's not in the cache
+	 * @param remaining the number of triangles using the vertex that are not added yet */
+	private float getVertexScore (final int cachePosition, final int remaining) {
+		if (remaining == 0)
+			return -1f;
+		float score = 0f;
+		if (cachePosition >= 0) {
+			if (cachePosition < 3)
+				score = 0.75f; // the vertices of the last triangle, which shouldn't be used again right away
+			else
+				score = (float)Math.pow(1f - (cachePosition - 3) / (float)(cacheSize - 3), 1.5f);
+		}
+		// prefer vertices with few remaining triangles, so they're done with and no longer need a place in the cache
+		return score + 2f * (float)Math.pow(remaining, -0.5f);
+	}
+}
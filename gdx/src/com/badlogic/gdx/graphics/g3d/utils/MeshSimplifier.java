@@ -0,0 +1,329 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.assets.loaders.ModelLoader;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/** Generates levels of detail for the triangle parts of {@link ModelData} meshes (see {@link MeshPart#lods} and
+ * {@link LodSelector}). A part is simplified by collapsing its edges in the order of their quadric error (Garland and Heckbert),
+ * each collapse moves a vertex onto one of its neighbours. Since no vertices are created, the levels are added as parts of the
+ * same mesh which only add indices, with the id of the part followed by "_lod" and the level.
+ * <p>
+ * Vertices on the border of a part and vertices sharing their position with other vertices of the mesh (seams in the texture
+ * coordinates or normals) are never removed, so the simplified parts don't have cracks. Each level keeps about {@link #ratio} of
+ * the triangles of the previous level, fewer levels are generated when a part can't be simplified further without exceeding
+ * {@link #maxError}. Set {@link ModelLoader#meshSimplifier} to generate the levels when models are loaded. */
+public class MeshSimplifier {
+	/** the maximum number of levels of detail generated for each part **/
+	public int levels = 3;
+	/** the fraction of the triangles of the previous level kept by each level **/
+	public float ratio = 0.5f;
+	/** the maximum distance a vertex may move away from the surface, relative to the size of the part **/
+	public float maxError = 0.1f;
+
+	/** the number of levels added since the last {@link #reset()} **/
+	public int addedLevels;
+	/** the number of triangles of the simplified parts, since the last {@link #reset()} **/
+	public int triangles;
+	/** the number of triangles of the added levels, since the last {@link #reset()} **/
+	public int addedTriangles;
+
+	/** Resets the statistics. */
+	public void reset () {
+		addedLevels = triangles = addedTriangles = 0;
+	}
+
+	/** Generates the levels of detail of all meshes of the model data, the statistics are {@link #reset()} first. */
+	public void generateLods (final ModelData data) {
+		reset();
+		for (int i = 0; i < data.meshes.size; i++)
+			generateLods(data.meshes.get(i));
+	}
+
+	/** Generates the levels of detail of the triangle parts of the mesh that don't have levels yet and adds them to the
+	 * statistics. */
+	public void generateLods (final ModelMesh mesh) {
+		final VertexAttributes attributes = new VertexAttributes(mesh.attributes);
+		final VertexAttribute position = attributes.findByUsage(Usage.Position);
+		if (position == null || position.numComponents < 3 || levels < 1 || ratio <= 0f || ratio >= 1f)
+			return;
+		final int stride = attributes.vertexSize / 4;
+		final int offset = position.offset / 4;
+		final int numVertices = mesh.vertices.length / stride;
+		final boolean[] seams = findSeams(mesh.vertices, stride, offset, numVertices);
+
+		ModelMeshPart[] parts = mesh.parts;
+		for (int i = 0; i < mesh.parts.length; i++) {
+			final ModelMeshPart part = mesh.parts[i];
+			if (part.primitiveType != GL10.GL_TRIANGLES || part.lods != null || part.indices == null || part.indices.length < 6)
+				continue;
+			final short[][] lods = simplify(mesh.vertices, stride, offset, numVertices, seams, part.indices);
+			if (lods.length == 0)
+				continue;
+			triangles += part.indices.length / 3;
+			part.lods = new String[lods.length];
+			final ModelMeshPart[] newParts = new ModelMeshPart[parts.length + lods.length];
+			System.arraycopy(parts, 0, newParts, 0, parts.length);
+			for (int j = 0; j < lods.length; j++) {
+				final ModelMeshPart lod = new ModelMeshPart();
+				lod.id = part.lods[j] = part.id + "_lod" + (j + 1);
+				lod.primitiveType = GL10.GL_TRIANGLES;
+				lod.indices = lods[j];
+				newParts[parts.length + j] = lod;
+				addedLevels++;
+				addedTriangles += lods[j].length / 3;
+			}
+			parts = newParts;
+		}
+		mesh.parts = parts;
+	}
+
+	/** @return whether each vertex shares its position with another vertex */
+	private static boolean[] findSeams (final float[] vertices, final int stride, final int offset, final int numVertices) {
+		final boolean[] result = new boolean[numVertices];
+		// the first vertex with each hash, the others with the same hash are chained in next
+		final IntIntMap first = new IntIntMap(numVertices);
+		final int[] next = new int[numVertices];
+		for (int i = 0; i < numVertices; i++) {
+			final int index = i * stride + offset;
+			final int hash = (NumberUtils.floatToRawIntBits(vertices[index]) * 31 + NumberUtils.floatToRawIntBits(vertices[index + 1]))
+				* 31 + NumberUtils.floatToRawIntBits(vertices[index + 2]);
+			next[i] = first.get(hash, -1);
+			first.put(hash, i);
+			for (int other = next[i]; other >= 0; other = next[other]) {
+				final int otherIndex = other * stride + offset;
+				if (vertices[index] == vertices[otherIndex] && vertices[index + 1] == vertices[otherIndex + 1]
+					&& vertices[index + 2] == vertices[otherIndex + 2])
+					result[i] = result[other] = true;
+			}
+		}
+		return result;
+	}
+
+	/** Simplifies the triangles of a part, each pass collapses the edges with the lowest error that don't share a vertex with
+	 * another edge collapsed in the same pass, until the number of triangles of the next level is reached.
+	 * @return the indices of each level */
+	private short[][] simplify (final float[] vertices, final int stride, final int offset, final int numVertices,
+		final boolean[] seams, final short[] indices) {
+		int count = indices.length / 3;
+		final int[] triangles = new int[count * 3];
+		for (int i = 0; i < triangles.length; i++)
+			triangles[i] = indices[i] & 0xffff;
+
+		final boolean[] locked = new boolean[numVertices];
+		System.arraycopy(seams, 0, locked, 0, numVertices);
+		// edges not shared by exactly two triangles are on the border of the part
+		final IntIntMap edges = new IntIntMap(count * 3);
+		for (int i = 0; i < count * 3; i++) {
+			final int key = getEdgeKey(triangles[i], triangles[i % 3 == 2 ? i - 2 : i + 1]);
+			edges.put(key, edges.get(key, 0) + 1);
+		}
+		for (int i = 0; i < count * 3; i++) {
+			final int a = triangles[i], b = triangles[i % 3 == 2 ? i - 2 : i + 1];
+			if (edges.get(getEdgeKey(a, b), 0) != 2)
+				locked[a] = locked[b] = true;
+		}
+
+		// the quadric of each vertex, the symmetric matrix summing the squared distances to the planes of its triangles
+		final double[] quadrics = new double[numVertices * 10];
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+		float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			final int p0 = triangles[i * 3] * stride + offset, p1 = triangles[i * 3 + 1] * stride + offset;
+			final int p2 = triangles[i * 3 + 2] * stride + offset;
+			final double ux = vertices[p1] - vertices[p0], uy = vertices[p1 + 1] - vertices[p0 + 1];
+			final double uz = vertices[p1 + 2] - vertices[p0 + 2];
+			final double vx = vertices[p2] - vertices[p0], vy = vertices[p2 + 1] - vertices[p0 + 1];
+			final double vz = vertices[p2 + 2] - vertices[p0 + 2];
+			double nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+			final double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+			for (int j = 0; j < 3; j++) {
+				final int p = triangles[i * 3 + j] * stride + offset;
+				minX = Math.min(minX, vertices[p]);
+				minY = Math.min(minY, vertices[p + 1]);
+				minZ = Math.min(minZ, vertices[p + 2]);
+				maxX = Math.max(maxX, vertices[p]);
+				maxY = Math.max(maxY, vertices[p + 1]);
+				maxZ = Math.max(maxZ, vertices[p + 2]);
+			}
+			if (length == 0)
+				continue;
+			nx /= length;
+			ny /= length;
+			nz /= length;
+			final double d = -(nx * vertices[p0] + ny * vertices[p0 + 1] + nz * vertices[p0 + 2]);
+			for (int j = 0; j < 3; j++) {
+				final int q = triangles[i * 3 + j] * 10;
+				quadrics[q] += nx * nx;
+				quadrics[q + 1] += nx * ny;
+				quadrics[q + 2] += nx * nz;
+				quadrics[q + 3] += nx * d;
+				quadrics[q + 4] += ny * ny;
+				quadrics[q + 5] += ny * nz;
+				quadrics[q + 6] += ny * d;
+				quadrics[q + 7] += nz * nz;
+				quadrics[q + 8] += nz * d;
+				quadrics[q + 9] += d * d;
+			}
+		}
+		final double size = maxError * Math.sqrt(Vector3.len2(maxX - minX, maxY - minY, maxZ - minZ));
+		final double errorLimit = size * size;
+
+		final short[][] result = new short[levels][];
+		int level = 0, levelCount = count, target = (int)(count * ratio);
+		final int[] vertexOffsets = new int[numVertices + 1];
+		final int[] vertexTriangles = new int[count * 3];
+		final int[] collapseTargets = new int[numVertices];
+		final double[] collapseErrors = new double[numVertices];
+		final boolean[] touched = new boolean[numVertices];
+		final long[] candidates = new long[numVertices];
+		int slots = count;
+		while (level < levels) {
+			// the triangles using each vertex are stored at vertexTriangles[vertexOffsets[v]] to [vertexOffsets[v + 1]]
+			Arrays.fill(vertexOffsets, 0);
+			for (int i = 0; i < slots * 3; i++)
+				vertexOffsets[triangles[i] + 1]++;
+			for (int i = 0; i < numVertices; i++)
+				vertexOffsets[i + 1] += vertexOffsets[i];
+			for (int i = 0; i < slots * 3; i++)
+				vertexTriangles[vertexOffsets[triangles[i]]++] = i / 3;
+			for (int i = numVertices; i > 0; i--)
+				vertexOffsets[i] = vertexOffsets[i - 1];
+			vertexOffsets[0] = 0;
+
+			// the collapse with the lowest error of each vertex that can be removed, sorted on the error
+			int numCandidates = 0;
+			for (int a = 0; a < numVertices; a++) {
+				collapseTargets[a] = -1;
+				touched[a] = false;
+				if (locked[a])
+					continue;
+				for (int j = vertexOffsets[a]; j < vertexOffsets[a + 1]; j++) {
+					final int triangle = vertexTriangles[j];
+					for (int k = 0; k < 3; k++) {
+						final int b = triangles[triangle * 3 + k];
+						if (b == a)
+							continue;
+						final double error = getError(quadrics, a, b, vertices, b * stride + offset);
+						if (collapseTargets[a] < 0 || error < collapseErrors[a]) {
+							collapseTargets[a] = b;
+							collapseErrors[a] = error;
+						}
+					}
+				}
+				if (collapseTargets[a] >= 0 && collapseErrors[a] <= errorLimit) {
+					// the bits of a positive float increase with its value
+					final long bits = NumberUtils.floatToRawIntBits((float)Math.max(0, collapseErrors[a]));
+					candidates[numCandidates++] = (bits << 32) | a;
+				}
+			}
+			Arrays.sort(candidates, 0, numCandidates);
+
+			int collapsed = 0;
+			for (int i = 0; i < numCandidates && count > target; i++) {
+				final int a = (int)candidates[i], b = collapseTargets[a];
+				if (touched[a] || touched[b] || flips(vertices, stride, offset, triangles, vertexTriangles, vertexOffsets, a, b))
+					continue;
+				for (int j = vertexOffsets[a]; j < vertexOffsets[a + 1]; j++) {
+					final int triangle = vertexTriangles[j] * 3;
+					boolean degenerate = false;
+					for (int k = 0; k < 3; k++) {
+						touched[triangles[triangle + k]] = true;
+						degenerate |= triangles[triangle + k] == b;
+					}
+					for (int k = 0; k < 3; k++)
+						if (triangles[triangle + k] == a)
+							triangles[triangle + k] = degenerate ? -1 : b;
+					if (degenerate)
+						count--;
+				}
+				for (int k = 0; k < 10; k++)
+					quadrics[b * 10 + k] += quadrics[a * 10 + k];
+				collapsed++;
+			}
+
+			// remove the collapsed triangles
+			int alive = 0;
+			for (int i = 0; i < slots; i++) {
+				if (triangles[i * 3] < 0 || triangles[i * 3 + 1] < 0 || triangles[i * 3 + 2] < 0)
+					continue;
+				System.arraycopy(triangles, i * 3, triangles, alive * 3, 3);
+				alive++;
+			}
+			slots = alive;
+
+			final boolean done = collapsed == 0;
+			if (count <= target || (done && count < levelCount * 0.9f)) {
+				final short[] lod = new short[count * 3];
+				for (int i = 0; i < count * 3; i++)
+					lod[i] = (short)triangles[i];
+				result[level++] = lod;
+				levelCount = count;
+				target = (int)(count * ratio);
+			}
+			if (done)
+				break;
+		}
+		if (level == levels)
+			return result;
+		final short[][] lods = new short[level][];
+		System.arraycopy(result, 0, lods, 0, level);
+		return lods;
+	}
+
+	private static int getEdgeKey (final int a, final int b) {
+		return a < b ? (a << 16) | b : (b << 16) | a;
+	}
+
+	/** @return the error of moving vertex a to vertex b, the sum of their quadrics at the position of b */
+	private static double getError (final double[] quadrics, final int a, final int b, final float[] vertices, final int position) {
+		final double x = vertices[position], y = vertices[position + 1], z = vertices[position + 2];
+		final int qa = a * 10, qb = b * 10;
+		return (quadrics[qa] + quadrics[qb]) * x * x + 2 * (quadrics[qa + 1] + quadrics[qb + 1]) * x * y
+			+ 2 * (quadrics[qa + 2] + quadrics[qb + 2]) * x * z + 2 * (quadrics[qa + 3] + quadrics[qb + 3]) * x
+			+ (quadrics[qa + 4] + quadrics[qb + 4]) * y * y + 2 * (quadrics[qa + 5] + quadrics[qb + 5]) * y * z
+			+ 2 * (quadrics[qa + 6] + quadrics[qb + 6]) * y + (quadrics[qa + 7] + quadrics[qb + 7]) * z * z
+			+ 2 * (quadrics[qa + 8] + quadrics[qb + 8]) * z + quadrics[qa + 9] + quadrics[qb + 9];
+	}
+
+	/** @return whether moving vertex a to vertex b turns one of the triangles of a that remain by more than about 75 degrees or
+	 *         makes it degenerate */
+	private static boolean flips (final float[] vertices, final int stride, final int offset, final int[] triangles,
+		final int[] vertexTriangles, final int[] vertexOffsets, final int a, final int b) {
+		final int pb = b * stride + offset;
+		for (int j = vertexOffsets[a]; j < vertexOffsets[a + 1]; j++) {
+			final int triangle = vertexTriangles[j] * 3;
+			int k = 0;
+			while (triangles[triangle + k] != a)
+				k++;
+			final int c = triangles[triangle + (k + 1) % 3], d = triangles[triangle + (k + 2) % 3];
+			if (c == b || d == b)
+				continue;
+			final int pa = a * stride + offset, pc = c * stride + offset, pd = d * stride + offset;
+			final float cx = vertices[pc], cy = vertices[pc + 1], cz = vertices[pc + 2];
+			final float dx = vertices[pd], dy = vertices[pd + 1], dz = vertices[pd + 2];
+			// the normals of the triangle before and after the collapse
+			final float ux = cx - vertices[pa], uy = cy - vertices[pa + 1], uz = cz - vertices[pa + 2];
+			final float vx = dx - vertices[pa], vy = dy - vertices[pa + 1], vz = dz - vertices[pa + 2];
+			final float wx = cx - vertices[pb], wy = cy - vertices[pb + 1], wz = cz - vertices[pb + 2];
+			final float tx = dx - vertices[pb], ty = dy - vertices[pb + 1], tz = dz - vertices[pb + 2];
+			final float n1x = uy * vz - uz * vy, n1y = uz * vx - ux * vz, n1z = ux * vy - uy * vx;
+			final float n2x = wy * tz - wz * ty, n2y = wz * tx - wx * tz, n2z = wx * ty - wy * tx;
+			final float dot = n1x * n2x + n1y * n2y + n1z * n2z;
+			if (dot <= 0.25f * (float)Math.sqrt(Vector3.len2(n1x, n1y, n1z) * Vector3.len2(n2x, n2y, n2z)))
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,243 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.materials.Material;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Merges the static geometry of {@link ModelInstance}s into a single {@link Model}, so it can be rendered with a few draw calls.
+ * The node parts of all instances are grouped by {@link Material}, {@link VertexAttributes} and primitive type, and the vertices
+ * of each group are transformed to world space and copied into one {@link MeshPart}. A group is split over several meshes when
+ * its vertices don't fit in {@link #maxVertices}.
+ * <p>
+ * Only parts rendered as triangles, lines or points without bones can be merged, other parts are skipped and counted in
+ * {@link #skippedParts}. The merged model doesn't reference the instances or their model, it owns the merged meshes and copies of
+ * the materials (the textures of the materials are not managed by the merged model). */
+public class ModelMerger {
+	/** the maximum number of vertices of a merged mesh, at most {@link Short#MAX_VALUE} so the indices fit in a short **/
+	public int maxVertices = Short.MAX_VALUE;
+	/** the number of node parts skipped by the last call to {@link #merge(Array)} because they couldn't be merged **/
+	public int skippedParts;
+
+	private static class Group {
+		Material material;
+		VertexAttributes attributes;
+		int primitiveType;
+		final Array<NodePart> parts = new Array<NodePart>();
+		final Array<Matrix4> transforms = new Array<Matrix4>();
+	}
+
+	private final Array<Group> groups = new Array<Group>();
+	private final ObjectMap<Mesh, float[]> vertices = new ObjectMap<Mesh, float[]>();
+	private final ObjectMap<Mesh, short[]> indices = new ObjectMap<Mesh, short[]>();
+	private final Array<MeshBuilder> builders = new Array<MeshBuilder>();
+	/** the number of vertices added to each builder, MeshBuilder only counts them in a short **/
+	private final ObjectIntMap<MeshBuilder> builderVertices = new ObjectIntMap<MeshBuilder>();
+	private final Array<Mesh> meshes = new Array<Mesh>();
+	private final IntArray partVertices = new IntArray();
+	private final IntArray partIndices = new IntArray();
+	private final IntIntMap remap = new IntIntMap();
+	private final Matrix4 normalTransform = new Matrix4();
+	private final Vector3 tmpV = new Vector3();
+
+	/** Merges the node parts of the instances, using their current {@link ModelInstance#transform} and node transforms.
+	 * @return the merged model, call {@link Model#dispose()} when no longer used */
+	public Model merge (final Array<ModelInstance> instances) {
+		skippedParts = 0;
+		for (int i = 0; i < instances.size; i++) {
+			final ModelInstance instance = instances.get(i);
+			for (int j = 0; j < instance.nodes.size; j++)
+				collect(instance, instance.nodes.get(j));
+		}
+
+		final Model result = new Model();
+		final Node node = new Node();
+		node.id = "merged";
+		result.nodes.add(node);
+		for (int i = 0; i < groups.size; i++) {
+			final Group group = groups.get(i);
+			final Material material = group.material.copy();
+			result.materials.add(material);
+			MeshBuilder builder = getBuilder(group.attributes);
+			MeshPart part = null;
+			for (int j = 0; j < group.parts.size; j++) {
+				final NodePart nodePart = group.parts.get(j);
+				if (!collectPart(nodePart.meshPart)) {
+					skippedParts++;
+					continue;
+				}
+				// the builder is shared by the groups with the same attributes, so it can be full before the first part of the group
+				final int numVertices = builderVertices.get(builder, 0);
+				if (numVertices > 0 && numVertices + partVertices.size > maxVertices) {
+					meshes.add(builder.end());
+					builders.removeValue(builder, true);
+					builderVertices.remove(builder, 0);
+					builder = getBuilder(group.attributes);
+					part = null;
+				}
+				if (part == null) {
+					part = builder.part("merged" + result.meshParts.size, group.primitiveType);
+					result.meshParts.add(part);
+					node.parts.add(new NodePart(part, material));
+				}
+				addPart(builder, nodePart.meshPart, group.transforms.get(j));
+			}
+		}
+		for (int i = 0; i < builders.size; i++)
+			if (builderVertices.get(builders.get(i), 0) > 0)
+				meshes.add(builders.get(i).end());
+		for (int i = 0; i < meshes.size; i++) {
+			result.meshes.add(meshes.get(i));
+			result.manageDisposable(meshes.get(i));
+		}
+		result.calculateTransforms();
+
+		groups.clear();
+		vertices.clear();
+		indices.clear();
+		builders.clear();
+		builderVertices.clear();
+		meshes.clear();
+		return result;
+	}
+
+	private void collect (final ModelInstance instance, final Node node) {
+		for (int i = 0; i < node.parts.size; i++) {
+			final NodePart part = node.parts.get(i);
+			final int primitiveType = part.meshPart.primitiveType;
+			if (part.bones != null || part.meshPart.numVertices <= 0
+				|| (primitiveType != GL10.GL_TRIANGLES && primitiveType != GL10.GL_LINES && primitiveType != GL10.GL_POINTS)) {
+				skippedParts++;
+				continue;
+			}
+			final Group group = getGroup(part.material, part.meshPart.mesh.getVertexAttributes(), primitiveType);
+			group.parts.add(part);
+			group.transforms.add(new Matrix4(instance.transform).mul(node.globalTransform));
+		}
+		for (int i = 0; i < node.children.size; i++)
+			collect(instance, node.children.get(i));
+	}
+
+	private Group getGroup (final Material material, final VertexAttributes attributes, final int primitiveType) {
+		for (int i = 0; i < groups.size; i++) {
+			final Group group = groups.get(i);
+			if (group.primitiveType == primitiveType && group.attributes.equals(attributes) && group.material.equals(material))
+				return group;
+		}
+		final Group group = new Group();
+		group.material = material;
+		group.attributes = attributes;
+		group.primitiveType = primitiveType;
+		groups.add(group);
+		return group;
+	}
+
+	private MeshBuilder getBuilder (final VertexAttributes attributes) {
+		for (int i = 0; i < builders.size; i++)
+			if (builders.get(i).getAttributes().equals(attributes))
+				return builders.get(i);
+		final MeshBuilder result = new MeshBuilder();
+		result.begin(attributes);
+		builders.add(result);
+		return result;
+	}
+
+	/** Collects the vertices used by the mesh part in {@link #partVertices} and its indices into those in {@link #partIndices}.
+	 * @return false if the part doesn't fit in a merged mesh */
+	private boolean collectPart (final MeshPart meshPart) {
+		final Mesh mesh = meshPart.mesh;
+		partVertices.clear();
+		partIndices.clear();
+		remap.clear();
+		final int offset = meshPart.indexOffset, size = meshPart.numVertices;
+		if (mesh.getNumIndices() > 0) {
+			short[] meshIndices = indices.get(mesh);
+			if (meshIndices == null) {
+				indices.put(mesh, meshIndices = new short[mesh.getNumIndices()]);
+				mesh.getIndices(meshIndices);
+			}
+			for (int i = 0; i < size; i++) {
+				final int index = meshIndices[offset + i] & 0xffff;
+				int newIndex = remap.get(index, -1);
+				if (newIndex < 0) {
+					remap.put(index, newIndex = partVertices.size);
+					partVertices.add(index);
+				}
+				partIndices.add(newIndex);
+			}
+		} else {
+			for (int i = 0; i < size; i++) {
+				partVertices.add(offset + i);
+				partIndices.add(i);
+			}
+		}
+		return partVertices.size <= maxVertices;
+	}
+
+	/** Adds the vertices collected by {@link #collectPart(MeshPart)} transformed by the transform, and the indices of the part. */
+	private void addPart (final MeshBuilder builder, final MeshPart meshPart, final Matrix4 transform) {
+		final Mesh mesh = meshPart.mesh;
+		float[] meshVertices = vertices.get(mesh);
+		if (meshVertices == null) {
+			vertices.put(mesh, meshVertices = new float[mesh.getNumVertices() * mesh.getVertexSize() / 4]);
+			mesh.getVertices(meshVertices);
+		}
+		final VertexAttributes attributes = mesh.getVertexAttributes();
+		final int stride = attributes.vertexSize / 4;
+		final VertexAttribute position = attributes.findByUsage(Usage.Position);
+		final VertexAttribute normal = attributes.findByUsage(Usage.Normal);
+		final VertexAttribute tangent = attributes.findByUsage(Usage.Tangent);
+		final VertexAttribute binormal = attributes.findByUsage(Usage.BiNormal);
+		if (normal != null)
+			normalTransform.set(transform).toNormalMatrix();
+
+		final float[] values = new float[partVertices.size * stride];
+		for (int i = 0; i < partVertices.size; i++) {
+			final int start = i * stride;
+			System.arraycopy(meshVertices, partVertices.get(i) * stride, values, start, stride);
+			if (position != null)
+				transform(values, start + position.offset / 4, position.numComponents, transform, true);
+			if (normal != null)
+				transform(values, start + normal.offset / 4, normal.numComponents, normalTransform, false);
+			if (tangent != null)
+				transform(values, start + tangent.offset / 4, tangent.numComponents, transform, false);
+			if (binormal != null)
+				transform(values, start + binormal.offset / 4, binormal.numComponents, transform, false);
+		}
+		final int base = builderVertices.get(builder, 0);
+		builderVertices.put(builder, base + partVertices.size);
+		builder.vertex(values);
+		for (int i = 0; i < partIndices.size; i++)
+			builder.index((short)(base + partIndices.get(i)));
+	}
+
+	/** Transforms the vector at the offset, positions are multiplied by the matrix, directions are rotated and normalized.
+	 * Missing components are zero, components beyond the third are not changed. */
+	private void transform (final float[] values, final int offset, final int components, final Matrix4 matrix,
+		final boolean isPosition) {
+		tmpV.set(values[offset], components > 1 ? values[offset + 1] : 0f, components > 2 ? values[offset + 2] : 0f);
+		if (isPosition)
+			tmpV.mul(matrix);
+		else
+			tmpV.rot(matrix).nor();
+		values[offset] = tmpV.x;
+		if (components > 1)
+			values[offset + 1] = tmpV.y;
+		if (components > 2)
+			values[offset + 2] = tmpV.z;
+	}
+}
@@ -2,6 +2,7 @@ package com.badlogic.gdx.graphics.g3d.utils;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 
 /**
  * Manages OpenGL state and tries to reduce state changes. Uses a {@link TextureBinder} to 
@@ -29,11 +30,11 @@ public class RenderContext {
 	 * that the OpenGL states are in their defaults.
 	 */
 	public final void begin() {
-		Gdx.gl.glDisable(GL10.GL_DEPTH_TEST);
+		GLStateCache.disable(GL10.GL_DEPTH_TEST);
 		depthTest = false;
-		Gdx.gl.glDisable(GL10.GL_BLEND);
+		GLStateCache.disable(GL10.GL_BLEND);
 		blending = false;
-		Gdx.gl.glDisable(GL10.GL_CULL_FACE);
+		GLStateCache.disable(GL10.GL_CULL_FACE);
 		cullFace = blendSFactor = blendDFactor = depthFunc = 0;
 		textureBinder.begin();
 	}
@@ -42,9 +43,9 @@ public class RenderContext {
 	 * Resest all changed OpenGL states to their defaults.
 	 */
 	public final void end() {
-		if(depthTest) Gdx.gl.glDisable(GL10.GL_DEPTH_TEST);
-		if(blending) Gdx.gl.glDisable(GL10.GL_BLEND);
-		if(cullFace>0) Gdx.gl.glDisable(GL10.GL_CULL_FACE);
+		if(depthTest) GLStateCache.disable(GL10.GL_DEPTH_TEST);
+		if(blending) GLStateCache.disable(GL10.GL_BLEND);
+		if(cullFace>0) GLStateCache.disable(GL10.GL_CULL_FACE);
 		textureBinder.end();
 	}
 	
@@ -52,12 +53,12 @@ public class RenderContext {
 		if (enabled != depthTest) {
 			depthTest = enabled;
 			if (enabled)
-				Gdx.gl.glEnable(GL10.GL_DEPTH_TEST);
+				GLStateCache.enable(GL10.GL_DEPTH_TEST);
 			else
-				Gdx.gl.glDisable(GL10.GL_DEPTH_TEST);
+				GLStateCache.disable(GL10.GL_DEPTH_TEST);
 		}
 		if (enabled && depthFunc != depthFunction) {
-			Gdx.gl.glDepthFunc(depthFunction);
+			GLStateCache.depthFunc(depthFunction);
 			depthFunc = depthFunction;
 		}
 	}
@@ -66,12 +67,12 @@ public class RenderContext {
 		if (enabled != blending) {
 			blending = enabled;
 			if (enabled)
-				Gdx.gl.glEnable(GL10.GL_BLEND);
+				GLStateCache.enable(GL10.GL_BLEND);
 			else
-				Gdx.gl.glDisable(GL10.GL_BLEND);
+				GLStateCache.disable(GL10.GL_BLEND);
 		}
 		if (enabled && (blendSFactor != sFactor || blendDFactor != dFactor)) {
-			Gdx.gl.glBlendFunc(sFactor, dFactor);
+			GLStateCache.blendFunc(sFactor, dFactor);
 			blendSFactor = sFactor;
 			blendDFactor = dFactor;
 		}
@@ -81,11 +82,11 @@ public class RenderContext {
 		if (face != cullFace) {
 			cullFace = face;
 			if ((face == GL10.GL_FRONT) || (face == GL10.GL_BACK) || (face == GL10.GL_FRONT_AND_BACK)) {
-				Gdx.gl.glEnable(GL10.GL_CULL_FACE);
+				GLStateCache.enable(GL10.GL_CULL_FACE);
 				Gdx.gl.glCullFace(face);
 			}
 			else
-				Gdx.gl.glDisable(GL10.GL_CULL_FACE);
+				GLStateCache.disable(GL10.GL_CULL_FACE);
 		}
 	}
 }
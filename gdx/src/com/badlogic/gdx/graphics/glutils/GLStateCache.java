@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.glutils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.IntIntMap;
+
+/** Remembers the GL state set through it and skips calls that would not change anything: the bound program, the textures bound
+ * to each texture unit, the bound vertex and index buffers, enabled capabilities, the blend function, depth function and mask
+ * and the scissor box. {@link ShaderProgram} also skips setting uniforms to the value they already have while the cache is
+ * enabled. The classes of the core library that change this state, such as {@link ShaderProgram}, {@link Texture}, the vertex and
+ * index buffers, the batches, {@link com.badlogic.gdx.graphics.g2d.SpriteCache}, the decal group strategies and
+ * {@link com.badlogic.gdx.scenes.scene2d.utils.ScissorStack}, do so through this class. State this class doesn't track, like the
+ * GL10 matrices or the cull face, is still changed with GL directly.
+ * <p>
+ * The cache is disabled by default, every call then goes straight to GL. It can only be enabled if all GL state is changed
+ * through this class, or if {@link #invalidate()} is called after changing state with GL directly, otherwise calls that are
+ * needed will be skipped. The cache is invalidated automatically when the GL context is recreated. */
+public final class GLStateCache {
+	static private final int UNKNOWN = -1;
+
+	static private boolean enabled;
+	static private int generation;
+
+	static private int program = UNKNOWN;
+	static private int activeUnit = UNKNOWN;
+	static private int[] textures2D = new int[32], texturesCube = new int[32];
+	static private int arrayBuffer = UNKNOWN, elementArrayBuffer = UNKNOWN;
+	static private final IntIntMap capabilities = new IntIntMap();
+	static private int blendSrc = UNKNOWN, blendDst = UNKNOWN, depthFunc = UNKNOWN, depthMask = UNKNOWN;
+	static private int scissorX = UNKNOWN, scissorY, scissorWidth, scissorHeight;
+
+	/** The number of calls skipped since the last {@link #resetCounters()}. */
+	static public int elidedPrograms, elidedTextures, elidedBuffers, elidedStates, elidedUniforms;
+
+	static {
+		invalidate();
+	}
+
+	private GLStateCache () {
+	}
+
+	/** Enables or disables the cache. Enabling it forgets all cached state. */
+	static public void setEnabled (boolean enabled) {
+		GLStateCache.enabled = enabled;
+		invalidate();
+	}
+
+	static public boolean isEnabled () {
+		return enabled;
+	}
+
+	/** Forgets all cached state, including the uniform values cached by each {@link ShaderProgram}. Must be called after changing
+	 * GL state without going through this class. */
+	static public void invalidate () {
+		generation++;
+		program = UNKNOWN;
+		activeUnit = UNKNOWN;
+		for (int i = 0, n = textures2D.length; i < n; i++) {
+			textures2D[i] = UNKNOWN;
+			texturesCube[i] = UNKNOWN;
+		}
+		arrayBuffer = elementArrayBuffer = UNKNOWN;
+		capabilities.clear();
+		blendSrc = blendDst = depthFunc = depthMask = UNKNOWN;
+		scissorX = UNKNOWN;
+	}
+
+	/** Incremented by every {@link #invalidate()}, so other caches can tell when they must be cleared. */
+	static int getGeneration () {
+		return generation;
+	}
+
+	/** @return the number of calls skipped since the last {@link #resetCounters()} */
+	static public int getElidedCalls () {
+		return elidedPrograms + elidedTextures + elidedBuffers + elidedStates + elidedUniforms;
+	}
+
+	static public void resetCounters () {
+		elidedPrograms = 0;
+		elidedTextures = 0;
+		elidedBuffers = 0;
+		elidedStates = 0;
+		elidedUniforms = 0;
+	}
+
+	static public void useProgram (int program) {
+		if (enabled) {
+			if (program == GLStateCache.program) {
+				elidedPrograms++;
+				return;
+			}
+			GLStateCache.program = program;
+		}
+		Gdx.gl20.glUseProgram(program);
+	}
+
+	/** Must be called when a program is deleted, which also unbinds it. */
+	static public void programDeleted (int program) {
+		if (program == GLStateCache.program) GLStateCache.program = 0;
+	}
+
+	/** @param unit the texture unit, starting at 0 */
+	static public void activeTexture (int unit) {
+		if (enabled) {
+			if (unit == activeUnit) {
+				elidedTextures++;
+				return;
+			}
+			activeUnit = unit;
+		}
+		Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0 + unit);
+	}
+
+	/** Binds the texture to the target of the active texture unit. */
+	static public void bindTexture (int target, int texture) {
+		if (enabled) {
+			int[] textures = target == GL20.GL_TEXTURE_2D ? textures2D : target == GL20.GL_TEXTURE_CUBE_MAP ? texturesCube : null;
+			int unit = activeUnit;
+			if (textures != null && unit != UNKNOWN) {
+				if (unit >= textures.length) textures = growTextures(target, unit + 1);
+				if (textures[unit] == texture) {
+					elidedTextures++;
+					return;
+				}
+				textures[unit] = texture;
+			}
+		}
+		Gdx.gl.glBindTexture(target, texture);
+	}
+
+	/** Binds the texture to the target of the texture unit, making it the active unit. */
+	static public void bindTexture (int unit, int target, int texture) {
+		activeTexture(unit);
+		bindTexture(target, texture);
+	}
+
+	/** Must be called when a texture is deleted, which also unbinds it from every unit it is bound to. */
+	static public void textureDeleted (int texture) {
+		int[] textures2D = GLStateCache.textures2D, texturesCube = GLStateCache.texturesCube;
+		for (int i = 0, n = textures2D.length; i < n; i++) {
+			if (textures2D[i] == texture) textures2D[i] = 0;
+			if (texturesCube[i] == texture) texturesCube[i] = 0;
+		}
+	}
+
+	static private int[] growTextures (int target, int size) {
+		int[] newTextures2D = new int[size], newTexturesCube = new int[size];
+		int oldSize = textures2D.length;
+		System.arraycopy(textures2D, 0, newTextures2D, 0, oldSize);
+		System.arraycopy(texturesCube, 0, newTexturesCube, 0, oldSize);
+		for (int i = oldSize; i < size; i++) {
+			newTextures2D[i] = UNKNOWN;
+			newTexturesCube[i] = UNKNOWN;
+		}
+		textures2D = newTextures2D;
+		texturesCube = newTexturesCube;
+		return target == GL20.GL_TEXTURE_2D ? newTextures2D : newTexturesCube;
+	}
+
+	/** Binds a buffer to {@link GL20#GL_ARRAY_BUFFER} or {@link GL20#GL_ELEMENT_ARRAY_BUFFER}, using GL20 if available and GL11
+	 * otherwise. */
+	static public void bindBuffer (int target, int buffer) {
+		if (enabled) {
+			if (target == GL20.GL_ELEMENT_ARRAY_BUFFER) {
+				if (buffer == elementArrayBuffer) {
+					elidedBuffers++;
+					return;
+				}
+				elementArrayBuffer = buffer;
+			} else if (target == GL20.GL_ARRAY_BUFFER) {
+				if (buffer == arrayBuffer) {
+					elidedBuffers++;
+					return;
+				}
+				arrayBuffer = buffer;
+			}
+		}
+		if (Gdx.gl20 != null)
+			Gdx.gl20.glBindBuffer(target, buffer);
+		else
+			Gdx.gl11.glBindBuffer(target, buffer);
+	}
+
+	/** Must be called when a buffer is deleted, which also unbinds it. */
+	static public void bufferDeleted (int buffer) {
+		if (buffer == arrayBuffer) arrayBuffer = 0;
+		if (buffer == elementArrayBuffer) elementArrayBuffer = 0;
+	}
+
+	static public void enable (int capability) {
+		if (enabled) {
+			if (capabilities.get(capability, UNKNOWN) == 1) {
+				elidedStates++;
+				return;
+			}
+			capabilities.put(capability, 1);
+		}
+		Gdx.gl.glEnable(capability);
+	}
+
+	static public void disable (int capability) {
+		if (enabled) {
+			if (capabilities.get(capability, UNKNOWN) == 0) {
+				elidedStates++;
+				return;
+			}
+			capabilities.put(capability, 0);
+		}
+		Gdx.gl.glDisable(capability);
+	}
+
+	static public void blendFunc (int src, int dst) {
+		if (enabled) {
+			if (src == blendSrc && dst == blendDst) {
+				elidedStates++;
+				return;
+			}
+			blendSrc = src;
+			blendDst = dst;
+		}
+		Gdx.gl.glBlendFunc(src, dst);
+	}
+
+	static public void depthFunc (int func) {
+		if (enabled) {
+			if (func == depthFunc) {
+				elidedStates++;
+				return;
+			}
+			depthFunc = func;
+		}
+		Gdx.gl.glDepthFunc(func);
+	}
+
+	static public void depthMask (boolean flag) {
+		if (enabled) {
+			int value = flag ? 1 : 0;
+			if (value == depthMask) {
+				elidedStates++;
+				return;
+			}
+			depthMask = value;
+		}
+		Gdx.gl.glDepthMask(flag);
+	}
+
+	static public void scissor (int x, int y, int width, int height) {
+		if (enabled) {
+			if (x == scissorX && y == scissorY && width == scissorWidth && height == scissorHeight) {
+				elidedStates++;
+				return;
+			}
+			scissorX = x;
+			scissorY = y;
+			scissorWidth = width;
+			scissorHeight = height;
+		}
+		Gdx.gl.glScissor(x, y, width, height);
+	}
+}
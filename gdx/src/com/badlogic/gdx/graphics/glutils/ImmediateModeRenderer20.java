@@ -19,6 +19,7 @@ package com.badlogic.gdx.graphics.glutils;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Mesh.VertexDataType;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.math.Matrix4;
@@ -45,6 +46,8 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 	private final int texCoordOffset;
 	private final Matrix4 projModelView = new Matrix4();
 	private final float[] vertices;
+	private int projModelViewLocation;
+	private final int[] samplerLocations;
 
 	public ImmediateModeRenderer20 (boolean hasNormals, boolean hasColors, int numTexCoords) {
 		this(5000, hasNormals, hasColors, numTexCoords, createDefaultShader(hasNormals, hasColors, numTexCoords));
@@ -60,9 +63,11 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 		this.maxVertices = maxVertices;
 		this.numTexCoords = numTexCoords;
 		this.shader = shader;
+		samplerLocations = new int[numTexCoords];
+		fetchUniformLocations();
 
 		VertexAttribute[] attribs = buildVertexAttributes(hasNormals, hasColors, numTexCoords);
-		mesh = new Mesh(false, maxVertices, 0, attribs);
+		mesh = new Mesh(VertexDataType.VertexBufferObjectStreaming, false, maxVertices, 0, attribs);
 
 		vertices = new float[maxVertices * (mesh.getVertexAttributes().vertexSize / 4)];
 		vertexSize = mesh.getVertexAttributes().vertexSize / 4;
@@ -91,6 +96,14 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 		if (ownsShader) this.shader.dispose();
 		this.shader = shader;
 		ownsShader = false;
+		fetchUniformLocations();
+	}
+
+	/** Looks up the uniform locations once, so they don't have to be looked up by name on every {@link #end()}. */
+	private void fetchUniformLocations () {
+		projModelViewLocation = shader.fetchUniformLocation("u_projModelView", ShaderProgram.pedantic);
+		for (int i = 0; i < numTexCoords; i++)
+			samplerLocations[i] = shader.fetchUniformLocation("u_sampler" + i, ShaderProgram.pedantic);
 	}
 
 	public void begin (Matrix4 projModelView, int primitiveType) {
@@ -130,9 +143,9 @@ public class ImmediateModeRenderer20 implements ImmediateModeRenderer {
 	public void end () {
 		if (numVertices == 0) return;
 		shader.begin();
-		shader.setUniformMatrix("u_projModelView", projModelView);
+		shader.setUniformMatrix(projModelViewLocation, projModelView);
 		for (int i = 0; i < numTexCoords; i++)
-			shader.setUniformi("u_sampler" + i, i);
+			shader.setUniformi(samplerLocations[i], i);
 		mesh.setVertices(vertices, 0, vertexIdx);
 		mesh.render(shader, primitiveType);
 		shader.end();
@@ -78,6 +78,13 @@ public class IndexArray implements IndexData {
 		return buffer;
 	}
 
+	/** Returns the underlying ShortBuffer, the indices are never uploaded since they are not stored on the GPU.
+	 * 
+	 * @return the underlying short buffer. */
+	public ShortBuffer getBuffer (boolean forWriting) {
+		return buffer;
+	}
+
 	/** Binds this IndexArray for rendering with glDrawElements. */
 	public void bind () {
 	}
@@ -157,13 +157,21 @@ public class IndexBufferObject implements IndexData {
 		return buffer;
 	}
 
+	/** Returns the underlying ShortBuffer, the indices are only uploaded again if forWriting is true.
+	 * 
+	 * @return the underlying short buffer. */
+	public ShortBuffer getBuffer (boolean forWriting) {
+		isDirty |= forWriting;
+		return buffer;
+	}
+
 	/** Binds this IndexBufferObject for rendering with glDrawElements. */
 	public void bind () {
 		if (bufferHandle == 0) throw new GdxRuntimeException("No buffer allocated!");
 
 		if (Gdx.gl11 != null) {
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
 			if (isDirty) {
 				byteBuffer.limit(buffer.limit() * 2);
 				gl.glBufferData(GL11.GL_ELEMENT_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
@@ -171,7 +179,7 @@ public class IndexBufferObject implements IndexData {
 			}
 		} else {
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
 			if (isDirty) {
 				byteBuffer.limit(buffer.limit() * 2);
 				gl.glBufferData(GL20.GL_ELEMENT_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
@@ -184,9 +192,9 @@ public class IndexBufferObject implements IndexData {
 	/** Unbinds this IndexBufferObject. */
 	public void unbind () {
 		if (Gdx.gl11 != null) {
-			Gdx.gl11.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 		} else if (Gdx.gl20 != null) {
-			Gdx.gl20.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 		}
 		isBound = false;
 	}
@@ -204,16 +212,18 @@ public class IndexBufferObject implements IndexData {
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
+			GLStateCache.bufferDeleted(bufferHandle);
 			bufferHandle = 0;
 		} else if (Gdx.gl11 != null) {
 			tmpHandle.clear();
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
+			GLStateCache.bufferDeleted(bufferHandle);
 			bufferHandle = 0;
 		}
 		BufferUtils.disposeUnsafeByteBuffer(byteBuffer);
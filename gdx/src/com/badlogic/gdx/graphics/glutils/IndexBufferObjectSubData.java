@@ -95,15 +95,15 @@ public class IndexBufferObjectSubData implements IndexData {
 	private int createBufferObject () {
 		if (Gdx.gl20 != null) {
 			Gdx.gl20.glGenBuffers(1, tmpHandle);
-			Gdx.gl20.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, tmpHandle.get(0));
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, tmpHandle.get(0));
 			Gdx.gl20.glBufferData(GL20.GL_ELEMENT_ARRAY_BUFFER, byteBuffer.capacity(), null, usage);
-			Gdx.gl20.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
 			return tmpHandle.get(0);
 		} else if (Gdx.gl11 != null) {
 			Gdx.gl11.glGenBuffers(1, tmpHandle);
-			Gdx.gl11.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, tmpHandle.get(0));
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, tmpHandle.get(0));
 			Gdx.gl11.glBufferData(GL11.GL_ELEMENT_ARRAY_BUFFER, byteBuffer.capacity(), null, usage);
-			Gdx.gl11.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 			return tmpHandle.get(0);
 		}
 
@@ -168,13 +168,21 @@ public class IndexBufferObjectSubData implements IndexData {
 		return buffer;
 	}
 
+	/** Returns the underlying ShortBuffer, the indices are only uploaded again if forWriting is true.
+	 * 
+	 * @return the underlying short buffer. */
+	public ShortBuffer getBuffer (boolean forWriting) {
+		isDirty |= forWriting;
+		return buffer;
+	}
+
 	/** Binds this IndexBufferObject for rendering with glDrawElements. */
 	public void bind () {
 		if (bufferHandle == 0) throw new GdxRuntimeException("buuh");
 
 		if (Gdx.gl11 != null) {
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
 			if (isDirty) {
 // gl.glBufferData(GL11.GL_ELEMENT_ARRAY_BUFFER, byteBuffer
 // .limit(), byteBuffer, usage);
@@ -184,7 +192,7 @@ public class IndexBufferObjectSubData implements IndexData {
 			}
 		} else {
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
 			if (isDirty) {
 // gl.glBufferData(GL20.GL_ELEMENT_ARRAY_BUFFER, byteBuffer
 // .limit(), byteBuffer, usage);
@@ -199,9 +207,9 @@ public class IndexBufferObjectSubData implements IndexData {
 	/** Unbinds this IndexBufferObject. */
 	public void unbind () {
 		if (Gdx.gl11 != null) {
-			Gdx.gl11.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 		} else if (Gdx.gl20 != null) {
-			Gdx.gl20.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 		}
 		isBound = false;
 	}
@@ -219,16 +227,18 @@ public class IndexBufferObjectSubData implements IndexData {
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
+			GLStateCache.bufferDeleted(bufferHandle);
 			bufferHandle = 0;
 		} else if (Gdx.gl11 != null) {
 			tmpHandle.clear();
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ELEMENT_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
+			GLStateCache.bufferDeleted(bufferHandle);
 			bufferHandle = 0;
 		}
 	}
@@ -51,6 +51,12 @@ public interface IndexData extends Disposable {
 	 * @return the underlying short buffer. */
 	public ShortBuffer getBuffer ();
 
+	/** Returns the underlying ShortBuffer like {@link #getBuffer()}, but only uploads the indices again on the next call to
+	 * {@link #bind()} if forWriting is true. Use false to read the indices without re-uploading them.
+	 * 
+	 * @return the underlying short buffer. */
+	public ShortBuffer getBuffer (boolean forWriting);
+
 	/** Binds this IndexBufferObject for rendering with glDrawElements. */
 	public void bind ();
 
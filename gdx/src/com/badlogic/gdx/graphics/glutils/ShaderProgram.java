@@ -36,6 +36,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntIntMap;
 import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.ObjectMap;
 
@@ -143,6 +144,11 @@ public class ShaderProgram implements Disposable {
 	private FloatBuffer floatBuffer = null;
 	private IntBuffer intBuffer = null;
 
+	/** uniform values set while the {@link GLStateCache} is enabled, 16 floats per uniform location **/
+	private final IntIntMap uniformSlots = new IntIntMap();
+	private float[] uniformValues = new float[16 * 8];
+	private int uniformGeneration;
+
 	/** reference count **/
 	private int refCount = 0;
 
@@ -284,6 +290,10 @@ public class ShaderProgram implements Disposable {
 		return fetchUniformLocation(name, pedantic);
 	}
 
+	/** Returns the location of the uniform, querying GL only the first time. Setting uniforms by location avoids looking up the name
+	 * every time, so renderers should fetch the locations they use once and pass them to the setters taking a location.
+	 * @param pedantic whether to throw an IllegalArgumentException if the uniform doesn't exist
+	 * @return the location or -1 if the uniform doesn't exist */
 	public int fetchUniformLocation (String name, boolean pedantic) {
 		GL20 gl = Gdx.graphics.getGL20();
 		// -2 == not yet cached
@@ -297,21 +307,93 @@ public class ShaderProgram implements Disposable {
 		return location;
 	}
 
+	/** @return the offset of the cached values of the uniform in {@link #uniformValues}, or -1 if the {@link GLStateCache} is
+	 *         disabled. */
+	private int uniformSlot (int location) {
+		if (!GLStateCache.isEnabled() || location < 0) return -1;
+		int generation = GLStateCache.getGeneration();
+		if (uniformGeneration != generation) {
+			uniformGeneration = generation;
+			uniformSlots.clear();
+		}
+		int slot = uniformSlots.get(location, -1);
+		if (slot == -1) {
+			slot = uniformSlots.size * 16;
+			if (slot + 16 > uniformValues.length) {
+				float[] newValues = new float[uniformValues.length * 2];
+				System.arraycopy(uniformValues, 0, newValues, 0, uniformValues.length);
+				uniformValues = newValues;
+			}
+			uniformValues[slot] = Float.NaN;
+			uniformSlots.put(location, slot);
+		}
+		return slot;
+	}
+
+	/** @return whether the uniform already has the given values, in which case setting it can be skipped. Otherwise the values are
+	 *         remembered. */
+	private boolean isUniformCached (int location, float value1, float value2, float value3, float value4) {
+		int slot = uniformSlot(location);
+		if (slot == -1) return false;
+		float[] values = uniformValues;
+		if (values[slot] == value1 && values[slot + 1] == value2 && values[slot + 2] == value3 && values[slot + 3] == value4) {
+			GLStateCache.elidedUniforms++;
+			return true;
+		}
+		values[slot] = value1;
+		values[slot + 1] = value2;
+		values[slot + 2] = value3;
+		values[slot + 3] = value4;
+		return false;
+	}
+
+	private boolean isUniformCached (int location, int value1, int value2, int value3, int value4) {
+		// larger ints can't be stored exactly as floats
+		if (Math.abs(value1) > 1 << 24 || Math.abs(value2) > 1 << 24 || Math.abs(value3) > 1 << 24 || Math.abs(value4) > 1 << 24) {
+			forgetUniform(location);
+			return false;
+		}
+		return isUniformCached(location, (float)value1, (float)value2, (float)value3, (float)value4);
+	}
+
+	private boolean isUniformCached (int location, float[] newValues, int offset, int count) {
+		int slot = uniformSlot(location);
+		if (slot == -1) return false;
+		float[] values = uniformValues;
+		boolean equal = true;
+		for (int i = 0; i < count; i++) {
+			if (values[slot + i] != newValues[offset + i]) {
+				equal = false;
+				break;
+			}
+		}
+		if (equal) {
+			GLStateCache.elidedUniforms++;
+			return true;
+		}
+		System.arraycopy(newValues, offset, values, slot, count);
+		return false;
+	}
+
+	private void forgetUniform (int location) {
+		int slot = uniformSlot(location);
+		if (slot != -1) uniformValues[slot] = Float.NaN;
+	}
+
 	/** Sets the uniform with the given name. Throws an IllegalArgumentException in case it is not called in between a
 	 * {@link #begin()}/{@link #end()} block.
 	 * 
 	 * @param name the name of the uniform
 	 * @param value the value */
 	public void setUniformi (String name, int value) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform1i(location, value);
+		setUniformi(fetchUniformLocation(name), value);
 	}
 	
 	public void setUniformi (int location, int value) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value, 0, 0, 0)) return;
 		gl.glUniform1i(location, value);
 	}
 
@@ -322,15 +404,14 @@ public class ShaderProgram implements Disposable {
 	 * @param value1 the first value
 	 * @param value2 the second value */
 	public void setUniformi (String name, int value1, int value2) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform2i(location, value1, value2);
+		setUniformi(fetchUniformLocation(name), value1, value2);
 	}
 	
 	public void setUniformi (int location, int value1, int value2) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value1, value2, 0, 0)) return;
 		gl.glUniform2i(location, value1, value2);
 	}
 
@@ -342,15 +423,14 @@ public class ShaderProgram implements Disposable {
 	 * @param value2 the second value
 	 * @param value3 the third value */
 	public void setUniformi (String name, int value1, int value2, int value3) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform3i(location, value1, value2, value3);
+		setUniformi(fetchUniformLocation(name), value1, value2, value3);
 	}
 	
 	public void setUniformi (int location, int value1, int value2, int value3) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value1, value2, value3, 0)) return;
 		gl.glUniform3i(location, value1, value2, value3);
 	}
 
@@ -363,15 +443,14 @@ public class ShaderProgram implements Disposable {
 	 * @param value3 the third value
 	 * @param value4 the fourth value */
 	public void setUniformi (String name, int value1, int value2, int value3, int value4) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform4i(location, value1, value2, value3, value4);
+		setUniformi(fetchUniformLocation(name), value1, value2, value3, value4);
 	}
 	
 	public void setUniformi (int location, int value1, int value2, int value3, int value4) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value1, value2, value3, value4)) return;
 		gl.glUniform4i(location, value1, value2, value3, value4);
 	}
 
@@ -381,15 +460,14 @@ public class ShaderProgram implements Disposable {
 	 * @param name the name of the uniform
 	 * @param value the value */
 	public void setUniformf (String name, float value) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform1f(location, value);
+		setUniformf(fetchUniformLocation(name), value);
 	}
 	
 	public void setUniformf (int location, float value) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value, 0, 0, 0)) return;
 		gl.glUniform1f(location, value);
 	}
 
@@ -400,15 +478,14 @@ public class ShaderProgram implements Disposable {
 	 * @param value1 the first value
 	 * @param value2 the second value */
 	public void setUniformf (String name, float value1, float value2) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform2f(location, value1, value2);
+		setUniformf(fetchUniformLocation(name), value1, value2);
 	}
 	
 	public void setUniformf (int location, float value1, float value2) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value1, value2, 0, 0)) return;
 		gl.glUniform2f(location, value1, value2);
 	}
 
@@ -420,15 +497,14 @@ public class ShaderProgram implements Disposable {
 	 * @param value2 the second value
 	 * @param value3 the third value */
 	public void setUniformf (String name, float value1, float value2, float value3) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform3f(location, value1, value2, value3);
+		setUniformf(fetchUniformLocation(name), value1, value2, value3);
 	}
 	
 	public void setUniformf (int location, float value1, float value2, float value3) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value1, value2, value3, 0)) return;
 		gl.glUniform3f(location, value1, value2, value3);
 	}
 
@@ -441,15 +517,14 @@ public class ShaderProgram implements Disposable {
 	 * @param value3 the third value
 	 * @param value4 the fourth value */
 	public void setUniformf (String name, float value1, float value2, float value3, float value4) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		gl.glUniform4f(location, value1, value2, value3, value4);
+		setUniformf(fetchUniformLocation(name), value1, value2, value3, value4);
 	}
 	
 	public void setUniformf (int location, float value1, float value2, float value3, float value4) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (isUniformCached(location, value1, value2, value3, value4)) return;
 		gl.glUniform4f(location, value1, value2, value3, value4);
 	}
 
@@ -460,6 +535,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform1fv(location, length, floatBuffer);
 	}
 	
@@ -469,6 +545,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform1fv(location, length, floatBuffer);
 	}
 
@@ -479,6 +556,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform2fv(location, length / 2, floatBuffer);
 	}
 	
@@ -488,6 +566,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform2fv(location, length / 2, floatBuffer);
 	}
 
@@ -498,6 +577,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform3fv(location, length / 3, floatBuffer);
 	}
 	
@@ -507,6 +587,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform3fv(location, length / 3, floatBuffer);
 	}
 
@@ -517,6 +598,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform4fv(location, length / 4, floatBuffer);
 	}
 	
@@ -526,6 +608,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniform4fv(location, length / 4, floatBuffer);
 	}
 
@@ -545,12 +628,8 @@ public class ShaderProgram implements Disposable {
 	 * @param matrix the matrix
 	 * @param transpose whether the matrix shouls be transposed */
 	public void setUniformMatrix (String name, Matrix4 matrix, boolean transpose) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		this.matrix.clear();
-		BufferUtils.copy(matrix.val, this.matrix, matrix.val.length, 0);
-		gl.glUniformMatrix4fv(location, 1, transpose, this.matrix);
+		setUniformMatrix(fetchUniformLocation(name), matrix, transpose);
 	}
 	
 	public void setUniformMatrix (int location, Matrix4 matrix) {
@@ -560,6 +639,9 @@ public class ShaderProgram implements Disposable {
 	public void setUniformMatrix (int location, Matrix4 matrix, boolean transpose) {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
+		if (transpose)
+			forgetUniform(location);
+		else if (isUniformCached(location, matrix.val, 0, 16)) return;
 		this.matrix.clear();
 		BufferUtils.copy(matrix.val, this.matrix, matrix.val.length, 0);
 		gl.glUniformMatrix4fv(location, 1, transpose, this.matrix);
@@ -581,13 +663,8 @@ public class ShaderProgram implements Disposable {
 	 * @param matrix the matrix
 	 * @param transpose whether the uniform matrix should be transposed */
 	public void setUniformMatrix (String name, Matrix3 matrix, boolean transpose) {
-		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		int location = fetchUniformLocation(name);
-		float[] vals = matrix.getValues();
-		this.matrix.clear();
-		BufferUtils.copy(vals, this.matrix, vals.length, 0);
-		gl.glUniformMatrix3fv(location, 1, transpose, this.matrix);
+		setUniformMatrix(fetchUniformLocation(name), matrix, transpose);
 	}
 	
 	public void setUniformMatrix (int location, Matrix3 matrix) {
@@ -598,6 +675,9 @@ public class ShaderProgram implements Disposable {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
 		float[] vals = matrix.getValues();
+		if (transpose)
+			forgetUniform(location);
+		else if (isUniformCached(location, vals, 0, 9)) return;
 		this.matrix.clear();
 		BufferUtils.copy(vals, this.matrix, vals.length, 0);
 		gl.glUniformMatrix3fv(location, 1, transpose, this.matrix);
@@ -614,6 +694,7 @@ public class ShaderProgram implements Disposable {
 		checkManaged();
 		buffer.position(0);
 		int location = fetchUniformLocation(name);
+		forgetUniform(location);
 		gl.glUniformMatrix3fv(location, count, transpose, buffer);
 	}
 
@@ -628,6 +709,7 @@ public class ShaderProgram implements Disposable {
 		checkManaged();
 		buffer.position(0);
 		int location = fetchUniformLocation(name);
+		forgetUniform(location);
 		gl.glUniformMatrix4fv(location, count, transpose, buffer);
 	}
 	
@@ -637,6 +719,7 @@ public class ShaderProgram implements Disposable {
 		ensureBufferCapacity(length << 2);
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
+		forgetUniform(location);
 		gl.glUniformMatrix4fv(location, length / 16, false, floatBuffer);
 	}
 	
@@ -647,6 +730,7 @@ public class ShaderProgram implements Disposable {
 		floatBuffer.clear();
 		BufferUtils.copy(values, floatBuffer, length, offset);
 		int location = fetchUniformLocation(name);
+		forgetUniform(location);
 		gl.glUniformMatrix4fv(location, length / 16, false, floatBuffer);
 	}
 
@@ -742,23 +826,23 @@ public class ShaderProgram implements Disposable {
 	public void begin () {
 		GL20 gl = Gdx.graphics.getGL20();
 		checkManaged();
-		gl.glUseProgram(program);
+		GLStateCache.useProgram(program);
 	}
 
 	/** Disables this shader. Must be called when one is done with the shader. Don't mix it with dispose, that will release the
 	 * shader resources. */
 	public void end () {
-		GL20 gl = Gdx.graphics.getGL20();
-		gl.glUseProgram(0);
+		GLStateCache.useProgram(0);
 	}
 
 	/** Disposes all resources associated with this shader. Must be called when the shader is no longer used. */
 	public void dispose () {
 		GL20 gl = Gdx.graphics.getGL20();
-		gl.glUseProgram(0);
+		GLStateCache.useProgram(0);
 		gl.glDeleteShader(vertexShaderHandle);
 		gl.glDeleteShader(fragmentShaderHandle);
 		gl.glDeleteProgram(program);
+		GLStateCache.programDeleted(program);
 		if (shaders.get(Gdx.app) != null) shaders.get(Gdx.app).remove(this);
 	}
 
@@ -814,6 +898,7 @@ public class ShaderProgram implements Disposable {
 	 * @param app */
 	public static void invalidateAllShaderPrograms (Application app) {
 		if (Gdx.graphics.getGL20() == null) return;
+		GLStateCache.invalidate();
 
 		List<ShaderProgram> shaderList = shaders.get(app);
 		if (shaderList == null) return;
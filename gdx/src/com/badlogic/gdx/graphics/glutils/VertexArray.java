@@ -77,6 +77,12 @@ public class VertexArray implements VertexData {
 		return buffer;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public FloatBuffer getBuffer (boolean forWriting) {
+		return buffer;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public int getNumVertices () {
@@ -96,6 +102,17 @@ public class VertexArray implements VertexData {
 		buffer.limit(count);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
+		int position = byteBuffer.position(), limit = byteBuffer.limit();
+		byteBuffer.limit(byteBuffer.capacity());
+		byteBuffer.position(targetOffset * 4);
+		BufferUtils.copy(vertices, sourceOffset, byteBuffer, count);
+		byteBuffer.limit(limit);
+		byteBuffer.position(position);
+	}
+
 	@Override
 	public void bind () {
 		GL10 gl = Gdx.gl10;
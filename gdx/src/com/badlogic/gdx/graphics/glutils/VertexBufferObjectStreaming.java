@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.graphics.glutils;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL11;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** <p>
+ * A {@link VertexData} implementation for vertices that are replaced every time they are drawn, like the vertices of a batch.
+ * </p>
+ * 
+ * <p>
+ * The vertex buffer object is used as a ring buffer several times the size of the vertices. Each upload is written with
+ * glBufferSubData behind the previous one, so the driver doesn't have to wait for the GPU to finish drawing the previous vertices
+ * before it can overwrite them. When the ring buffer is full it is orphaned with glBufferData, which gives it new storage while
+ * the GPU still draws from the old one, and writing starts again at the beginning. The vertex attributes are bound at the offset
+ * of the last upload, so vertex indices start at 0 as usual. Because of that vertices are only uploaded by {@link #bind()}, vertices
+ * set while the buffer is bound are used after the next bind.
+ * </p>
+ * 
+ * <p>
+ * If the OpenGL ES context was lost you can call {@link #invalidate()} to recreate a new OpenGL vertex buffer object. This class
+ * can be used seamlessly with OpenGL ES 1.1 and 2.0.
+ * </p>
+ * 
+ * <p>
+ * VertexBufferObjectStreamings must be disposed via the {@link #dispose()} method when no longer needed
+ * </p> */
+public class VertexBufferObjectStreaming implements VertexData {
+	final static IntBuffer tmpHandle = BufferUtils.newIntBuffer(1);
+
+	final VertexAttributes attributes;
+	final FloatBuffer buffer;
+	final ByteBuffer byteBuffer;
+	int bufferHandle;
+	/** the size of the ring buffer in bytes **/
+	final int capacity;
+	/** the offset in bytes at which the next upload is written and the offset of the last upload **/
+	int writeOffset, vertexOffset;
+	boolean isDirty = false;
+	boolean isBound = false;
+	/** the number of uploads and the number of times the ring buffer was orphaned since the last {@link #resetCounters()} **/
+	int uploads, orphans;
+
+	/** Constructs a new interleaved VertexBufferObjectStreaming with a ring buffer for 4 times the maximum number of vertices.
+	 * 
+	 * @param numVertices the maximum number of vertices per upload
+	 * @param attributes the {@link VertexAttribute}s. */
+	public VertexBufferObjectStreaming (int numVertices, VertexAttribute... attributes) {
+		this(numVertices, 4, new VertexAttributes(attributes));
+	}
+
+	/** Constructs a new interleaved VertexBufferObjectStreaming.
+	 * 
+	 * @param numVertices the maximum number of vertices per upload
+	 * @param numUploads the number of uploads of the maximum number of vertices that fit into the ring buffer before it is orphaned.
+	 *           Should be about the number of times the vertices are set per frame.
+	 * @param attributes the {@link VertexAttributes}. */
+	public VertexBufferObjectStreaming (int numVertices, int numUploads, VertexAttributes attributes) {
+		if (numUploads < 1) throw new IllegalArgumentException("numUploads must be > 0: " + numUploads);
+		this.attributes = attributes;
+
+		byteBuffer = BufferUtils.newByteBuffer(this.attributes.vertexSize * numVertices);
+		buffer = byteBuffer.asFloatBuffer();
+		buffer.flip();
+		byteBuffer.flip();
+		capacity = this.attributes.vertexSize * numVertices * numUploads;
+		bufferHandle = createBufferObject();
+	}
+
+	private int createBufferObject () {
+		if (Gdx.gl20 != null)
+			Gdx.gl20.glGenBuffers(1, tmpHandle);
+		else
+			Gdx.gl11.glGenBuffers(1, tmpHandle);
+		int handle = tmpHandle.get(0);
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, handle);
+		orphan();
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+		return handle;
+	}
+
+	/** Gives the bound buffer new uninitialized storage, the old storage is released by the driver once the GPU is done with it. */
+	private void orphan () {
+		if (Gdx.gl20 != null)
+			Gdx.gl20.glBufferData(GL20.GL_ARRAY_BUFFER, capacity, null, GL20.GL_STREAM_DRAW);
+		else
+			Gdx.gl11.glBufferData(GL11.GL_ARRAY_BUFFER, capacity, null, GL11.GL_DYNAMIC_DRAW);
+		writeOffset = 0;
+	}
+
+	/** Writes the vertices behind the previous upload, orphaning the ring buffer if they don't fit. The buffer must be bound. The
+	 * vertices are passed as {@link FloatBuffer}, which all backends accept. */
+	private void upload () {
+		int size = buffer.limit() * 4;
+		buffer.position(0);
+		if (writeOffset + size > capacity) {
+			orphan();
+			orphans++;
+		}
+		if (Gdx.gl20 != null)
+			Gdx.gl20.glBufferSubData(GL20.GL_ARRAY_BUFFER, writeOffset, size, buffer);
+		else
+			Gdx.gl11.glBufferSubData(GL11.GL_ARRAY_BUFFER, writeOffset, size, buffer);
+		vertexOffset = writeOffset;
+		writeOffset += size;
+		uploads++;
+		isDirty = false;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public VertexAttributes getAttributes () {
+		return attributes;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getNumVertices () {
+		return buffer.limit() * 4 / attributes.vertexSize;
+	}
+
+	/** {@inheritDoc} */
+	public int getNumMaxVertices () {
+		return byteBuffer.capacity() / attributes.vertexSize;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public FloatBuffer getBuffer () {
+		isDirty = true;
+		return buffer;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public FloatBuffer getBuffer (boolean forWriting) {
+		isDirty |= forWriting;
+		return buffer;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setVertices (float[] vertices, int offset, int count) {
+		isDirty = true;
+		BufferUtils.copy(vertices, byteBuffer, count, offset);
+		buffer.position(0);
+		buffer.limit(count);
+		// the attribute pointers have to be moved to the new offset, so the data can't be uploaded right away
+	}
+
+	/** {@inheritDoc} The whole vertices are uploaded on the next call to {@link #bind()}, as with
+	 * {@link #setVertices(float[], int, int)}. */
+	@Override
+	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
+		isDirty = true;
+		int position = byteBuffer.position(), limit = byteBuffer.limit();
+		byteBuffer.limit(byteBuffer.capacity());
+		byteBuffer.position(targetOffset * 4);
+		BufferUtils.copy(vertices, sourceOffset, byteBuffer, count);
+		byteBuffer.limit(limit);
+		byteBuffer.position(position);
+	}
+
+	/** @return the number of uploads since the last {@link #resetCounters()} */
+	public int getUploads () {
+		return uploads;
+	}
+
+	/** @return the number of times the ring buffer was full and had to be orphaned since the last {@link #resetCounters()}. If this
+	 *         is much more than once per frame the ring buffer should be larger. */
+	public int getOrphans () {
+		return orphans;
+	}
+
+	public void resetCounters () {
+		uploads = 0;
+		orphans = 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void bind () {
+		GL11 gl = Gdx.gl11;
+
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, bufferHandle);
+		if (isDirty) upload();
+
+		int textureUnit = 0;
+		int numAttributes = attributes.size();
+		int vertexOffset = this.vertexOffset;
+
+		for (int i = 0; i < numAttributes; i++) {
+			VertexAttribute attribute = attributes.get(i);
+
+			switch (attribute.usage) {
+			case Usage.Position:
+				gl.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+				gl.glVertexPointer(attribute.numComponents, GL10.GL_FLOAT, attributes.vertexSize, vertexOffset + attribute.offset);
+				break;
+
+			case Usage.Color:
+			case Usage.ColorPacked:
+				int colorType = GL10.GL_FLOAT;
+				if (attribute.usage == Usage.ColorPacked) colorType = GL11.GL_UNSIGNED_BYTE;
+
+				gl.glEnableClientState(GL10.GL_COLOR_ARRAY);
+				gl.glColorPointer(attribute.numComponents, colorType, attributes.vertexSize, vertexOffset + attribute.offset);
+				break;
+
+			case Usage.Normal:
+				gl.glEnableClientState(GL10.GL_NORMAL_ARRAY);
+				gl.glNormalPointer(GL10.GL_FLOAT, attributes.vertexSize, vertexOffset + attribute.offset);
+				break;
+
+			case Usage.TextureCoordinates:
+				gl.glClientActiveTexture(GL10.GL_TEXTURE0 + textureUnit);
+				gl.glEnableClientState(GL10.GL_TEXTURE_COORD_ARRAY);
+				gl.glTexCoordPointer(attribute.numComponents, GL10.GL_FLOAT, attributes.vertexSize, vertexOffset + attribute.offset);
+				textureUnit++;
+				break;
+
+			default:
+				throw new GdxRuntimeException("unkown vertex attribute type: " + attribute.usage);
+			}
+		}
+
+		isBound = true;
+	}
+
+	/** Binds this VertexBufferObjectStreaming for rendering via glDrawArrays or glDrawElements
+	 * 
+	 * @param shader the shader */
+	@Override
+	public void bind (final ShaderProgram shader) {
+		bind(shader, null);
+	}
+
+	@Override
+	public void bind (final ShaderProgram shader, final int[] locations) {
+		GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		if (isDirty) upload();
+
+		final int numAttributes = attributes.size();
+		final int vertexOffset = this.vertexOffset;
+		for (int i = 0; i < numAttributes; i++) {
+			final VertexAttribute attribute = attributes.get(i);
+			final int location = locations == null ? shader.getAttributeLocation(attribute.alias) : locations[i];
+			if (location < 0) continue;
+			shader.enableVertexAttribute(location);
+
+			if (attribute.usage == Usage.ColorPacked)
+				shader.setVertexAttribute(location, attribute.numComponents, GL20.GL_UNSIGNED_BYTE, true, attributes.vertexSize,
+					vertexOffset + attribute.offset);
+			else
+				shader.setVertexAttribute(location, attribute.numComponents, GL20.GL_FLOAT, false, attributes.vertexSize,
+					vertexOffset + attribute.offset);
+		}
+		isBound = true;
+	}
+
+	@Override
+	public void unbind () {
+		GL11 gl = Gdx.gl11;
+		int textureUnit = 0;
+		int numAttributes = attributes.size();
+
+		for (int i = 0; i < numAttributes; i++) {
+
+			VertexAttribute attribute = attributes.get(i);
+			switch (attribute.usage) {
+			case Usage.Position:
+				break; // no-op, we also need a position bound in gles
+			case Usage.Color:
+			case Usage.ColorPacked:
+				gl.glDisableClientState(GL11.GL_COLOR_ARRAY);
+				break;
+			case Usage.Normal:
+				gl.glDisableClientState(GL11.GL_NORMAL_ARRAY);
+				break;
+			case Usage.TextureCoordinates:
+				gl.glClientActiveTexture(GL11.GL_TEXTURE0 + textureUnit);
+				gl.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+				textureUnit++;
+				break;
+			default:
+				throw new GdxRuntimeException("unkown vertex attribute type: " + attribute.usage);
+			}
+		}
+
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+		isBound = false;
+	}
+
+	/** Unbinds this VertexBufferObjectStreaming.
+	 * 
+	 * @param shader the shader */
+	@Override
+	public void unbind (final ShaderProgram shader) {
+		unbind(shader, null);
+	}
+
+	@Override
+	public void unbind (final ShaderProgram shader, final int[] locations) {
+		final int numAttributes = attributes.size();
+		if (locations == null) {
+			for (int i = 0; i < numAttributes; i++) {
+				shader.disableVertexAttribute(attributes.get(i).alias);
+			}
+		} else {
+			for (int i = 0; i < numAttributes; i++) {
+				final int location = locations[i];
+				if (location >= 0) shader.disableVertexAttribute(location);
+			}
+		}
+		GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		isBound = false;
+	}
+
+	/** Invalidates the VertexBufferObjectStreaming so a new OpenGL buffer handle is created. Use this in case of a context loss. */
+	public void invalidate () {
+		bufferHandle = createBufferObject();
+		isDirty = true;
+	}
+
+	/** Disposes of all resources this VertexBufferObjectStreaming uses. */
+	@Override
+	public void dispose () {
+		tmpHandle.clear();
+		tmpHandle.put(bufferHandle);
+		tmpHandle.flip();
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+		if (Gdx.gl20 != null)
+			Gdx.gl20.glDeleteBuffers(1, tmpHandle);
+		else
+			Gdx.gl11.glDeleteBuffers(1, tmpHandle);
+		GLStateCache.bufferDeleted(bufferHandle);
+		bufferHandle = 0;
+	}
+
+	/** Returns the VBO handle
+	 * @return the VBO handle */
+	public int getBufferHandle () {
+		return bufferHandle;
+	}
+}
@@ -65,6 +65,8 @@ public class VertexBufferObjectSubData implements VertexData {
 	final int usage;
 	boolean isDirty = false;
 	boolean isBound = false;
+	/** The bytes changed by {@link #updateVertices(int, float[], int, int)} that still have to be uploaded. **/
+	int dirtyStart, dirtyEnd;
 
 	/** Constructs a new interleaved VertexBufferObject.
 	 * 
@@ -94,14 +96,14 @@ public class VertexBufferObjectSubData implements VertexData {
 	private int createBufferObject () {
 		if (Gdx.gl20 != null) {
 			Gdx.gl20.glGenBuffers(1, tmpHandle);
-			Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, tmpHandle.get(0));
+			GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, tmpHandle.get(0));
 			Gdx.gl20.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.capacity(), null, usage);
-			Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, 0);
 		} else {
 			Gdx.gl11.glGenBuffers(1, tmpHandle);
-			Gdx.gl11.glBindBuffer(GL11.GL_ARRAY_BUFFER, tmpHandle.get(0));
+			GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, tmpHandle.get(0));
 			Gdx.gl11.glBufferData(GL11.GL_ARRAY_BUFFER, byteBuffer.capacity(), null, usage);
-			Gdx.gl11.glBindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
 		}
 		return tmpHandle.get(0);
 	}
@@ -130,6 +132,13 @@ public class VertexBufferObjectSubData implements VertexData {
 		return buffer;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public FloatBuffer getBuffer (boolean forWriting) {
+		isDirty |= forWriting;
+		return buffer;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void setVertices (float[] vertices, int offset, int count) {
@@ -158,19 +167,57 @@ public class VertexBufferObjectSubData implements VertexData {
 		}
 	}
 
+	/** {@inheritDoc} If several ranges are updated before the next upload, everything between them is uploaded as well. */
+	@Override
+	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
+		int position = byteBuffer.position(), limit = byteBuffer.limit();
+		byteBuffer.limit(byteBuffer.capacity());
+		byteBuffer.position(targetOffset * 4);
+		BufferUtils.copy(vertices, sourceOffset, byteBuffer, count);
+		byteBuffer.limit(limit);
+		byteBuffer.position(position);
+		if (isDirty) return;
+
+		int start = targetOffset * 4, end = start + count * 4;
+		if (dirtyStart == dirtyEnd) {
+			dirtyStart = start;
+			dirtyEnd = end;
+		} else {
+			dirtyStart = Math.min(dirtyStart, start);
+			dirtyEnd = Math.max(dirtyEnd, end);
+		}
+		if (isBound) uploadDirtyRange();
+	}
+
+	/** Uploads the bytes changed by {@link #updateVertices(int, float[], int, int)}. The buffer must be bound. */
+	private void uploadDirtyRange () {
+		int position = byteBuffer.position(), limit = byteBuffer.limit();
+		byteBuffer.limit(dirtyEnd);
+		byteBuffer.position(dirtyStart);
+		if (Gdx.gl20 != null)
+			Gdx.gl20.glBufferSubData(GL20.GL_ARRAY_BUFFER, dirtyStart, dirtyEnd - dirtyStart, byteBuffer);
+		else
+			Gdx.gl11.glBufferSubData(GL11.GL_ARRAY_BUFFER, dirtyStart, dirtyEnd - dirtyStart, byteBuffer);
+		byteBuffer.limit(limit);
+		byteBuffer.position(position);
+		dirtyStart = dirtyEnd = 0;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void bind () {
 		GL11 gl = Gdx.gl11;
 
-		gl.glBindBuffer(GL11.GL_ARRAY_BUFFER, bufferHandle);
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, bufferHandle);
 		if (isDirty) {
 			byteBuffer.limit(buffer.limit() * 4);
 			gl.glBufferSubData(GL11.GL_ARRAY_BUFFER, 0, byteBuffer.limit(), byteBuffer);
 // gl.glBufferData(GL11.GL_ARRAY_BUFFER, byteBuffer.limit(),
 // byteBuffer, usage);
 			isDirty = false;
-		}
+			dirtyStart = dirtyEnd = 0;
+		} else if (dirtyStart != dirtyEnd) //
+			uploadDirtyRange();
 
 		int textureUnit = 0;
 		int numAttributes = attributes.size();
@@ -225,12 +272,14 @@ public class VertexBufferObjectSubData implements VertexData {
 	public void bind (final ShaderProgram shader, final int[] locations) {
 		final GL20 gl = Gdx.gl20;
 
-		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
 		if (isDirty) {
 			byteBuffer.limit(buffer.limit() * 4);
 			gl.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
 			isDirty = false;
-		}
+			dirtyStart = dirtyEnd = 0;
+		} else if (dirtyStart != dirtyEnd) //
+			uploadDirtyRange();
 
 		final int numAttributes = attributes.size();
 		if (locations == null) {
@@ -296,7 +345,7 @@ public class VertexBufferObjectSubData implements VertexData {
 			}
 		}
 
-		gl.glBindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+		GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
 		isBound = false;
 	}
 
@@ -323,7 +372,7 @@ public class VertexBufferObjectSubData implements VertexData {
 					shader.disableVertexAttribute(location);
 			}
 		}
-		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, 0);
 		isBound = false;
 	}
 
@@ -341,16 +390,18 @@ public class VertexBufferObjectSubData implements VertexData {
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL20 gl = Gdx.gl20;
-			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL20.GL_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
+			GLStateCache.bufferDeleted(bufferHandle);
 			bufferHandle = 0;
 		} else {
 			tmpHandle.clear();
 			tmpHandle.put(bufferHandle);
 			tmpHandle.flip();
 			GL11 gl = Gdx.gl11;
-			gl.glBindBuffer(GL11.GL_ARRAY_BUFFER, 0);
+			GLStateCache.bindBuffer(GL11.GL_ARRAY_BUFFER, 0);
 			gl.glDeleteBuffers(1, tmpHandle);
+			GLStateCache.bufferDeleted(bufferHandle);
 			bufferHandle = 0;
 		}
 	}
@@ -51,6 +51,15 @@ public interface VertexData extends Disposable {
 	 * @param count the number of floats to copy */
 	public void setVertices (float[] vertices, int offset, int count);
 
+	/** Updates part of the vertices of this VertexData, leaving the others as they are. Buffer objects only upload the updated
+	 * floats, right away if this VertexData is bound and otherwise on the next call to {@link #bind()}. The updated floats must lie
+	 * within the current vertices.
+	 * @param targetOffset the offset in floats of the first float to update
+	 * @param vertices the vertex data
+	 * @param sourceOffset the offset to start copying the data from
+	 * @param count the number of floats to copy */
+	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count);
+
 	/** <p>
 	 * Returns the underlying FloatBuffer. If you modify the buffer contents they will be uploaded on the next call to
 	 * {@link #bind()}. If you need immediate uploading use {@link #setVertices(float[], int, int)};
@@ -59,6 +68,12 @@ public interface VertexData extends Disposable {
 	 * @return the underlying FloatBuffer holding the vertex data. */
 	public FloatBuffer getBuffer ();
 
+	/** Returns the underlying FloatBuffer like {@link #getBuffer()}, but only uploads the vertices again on the next call to
+	 * {@link #bind()} if forWriting is true. Use false to read the vertices without re-uploading them.
+	 * 
+	 * @return the underlying FloatBuffer holding the vertex data. */
+	public FloatBuffer getBuffer (boolean forWriting);
+
 	/** Binds this VertexData for rendering via glDrawArrays or glDrawElements. */
 	public void bind ();
 
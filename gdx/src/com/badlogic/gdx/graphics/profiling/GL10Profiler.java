@@ -0,0 +1,683 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.profiling;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL10;
+
+/** A {@link GL10} that passes every call to another GL10 and counts it with a {@link GLProfiler}.
+ * @see GLProfiler#install() */
+public class GL10Profiler implements GL10 {
+	private final GL10 gl;
+	private final GLProfiler profiler;
+
+	public GL10Profiler (GL10 gl, GLProfiler profiler) {
+		this.gl = gl;
+		this.profiler = profiler;
+	}
+
+	/** @return the wrapped GL instance */
+	public GL10 getGL () {
+		return gl;
+	}
+
+	public void glActiveTexture (int texture) {
+		profiler.activeTexture(texture);
+		if (profiler.isTracing()) profiler.trace("glActiveTexture", texture);
+		long start = profiler.begin("glActiveTexture");
+		gl.glActiveTexture(texture);
+		profiler.end(start);
+	}
+
+	public void glAlphaFunc (int func, float ref) {
+		if (profiler.isTracing()) profiler.trace("glAlphaFunc", func, ref);
+		long start = profiler.begin("glAlphaFunc");
+		gl.glAlphaFunc(func, ref);
+		profiler.end(start);
+	}
+
+	public void glBindTexture (int target, int texture) {
+		profiler.bindTexture(target, texture);
+		if (profiler.isTracing()) profiler.trace("glBindTexture", target, texture);
+		long start = profiler.begin("glBindTexture");
+		gl.glBindTexture(target, texture);
+		profiler.end(start);
+	}
+
+	public void glBlendFunc (int sfactor, int dfactor) {
+		profiler.blendFunc(sfactor, dfactor);
+		if (profiler.isTracing()) profiler.trace("glBlendFunc", sfactor, dfactor);
+		long start = profiler.begin("glBlendFunc");
+		gl.glBlendFunc(sfactor, dfactor);
+		profiler.end(start);
+	}
+
+	public void glClear (int mask) {
+		if (profiler.isTracing()) profiler.trace("glClear", mask);
+		long start = profiler.begin("glClear");
+		gl.glClear(mask);
+		profiler.end(start);
+	}
+
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		if (profiler.isTracing()) profiler.trace("glClearColor", red, green, blue, alpha);
+		long start = profiler.begin("glClearColor");
+		gl.glClearColor(red, green, blue, alpha);
+		profiler.end(start);
+	}
+
+	public void glClearDepthf (float depth) {
+		if (profiler.isTracing()) profiler.trace("glClearDepthf", depth);
+		long start = profiler.begin("glClearDepthf");
+		gl.glClearDepthf(depth);
+		profiler.end(start);
+	}
+
+	public void glClearStencil (int s) {
+		if (profiler.isTracing()) profiler.trace("glClearStencil", s);
+		long start = profiler.begin("glClearStencil");
+		gl.glClearStencil(s);
+		profiler.end(start);
+	}
+
+	public void glClientActiveTexture (int texture) {
+		if (profiler.isTracing()) profiler.trace("glClientActiveTexture", texture);
+		long start = profiler.begin("glClientActiveTexture");
+		gl.glClientActiveTexture(texture);
+		profiler.end(start);
+	}
+
+	public void glColor4f (float red, float green, float blue, float alpha) {
+		if (profiler.isTracing()) profiler.trace("glColor4f", red, green, blue, alpha);
+		long start = profiler.begin("glColor4f");
+		gl.glColor4f(red, green, blue, alpha);
+		profiler.end(start);
+	}
+
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		if (profiler.isTracing()) profiler.trace("glColorMask", red, green, blue, alpha);
+		long start = profiler.begin("glColorMask");
+		gl.glColorMask(red, green, blue, alpha);
+		profiler.end(start);
+	}
+
+	public void glColorPointer (int size, int type, int stride, Buffer pointer) {
+		if (profiler.isTracing()) profiler.trace("glColorPointer", size, type, stride, pointer);
+		long start = profiler.begin("glColorPointer");
+		gl.glColorPointer(size, type, stride, pointer);
+		profiler.end(start);
+	}
+
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border,
+		int imageSize, Buffer data) {
+		profiler.upload(imageSize);
+		if (profiler.isTracing()) profiler.trace("glCompressedTexImage2D", target, level, internalformat, width, height, border,
+			imageSize, data);
+		long start = profiler.begin("glCompressedTexImage2D");
+		gl.glCompressedTexImage2D(target, level, internalformat, width, height, border, imageSize, data);
+		profiler.end(start);
+	}
+
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format,
+		int imageSize, Buffer data) {
+		profiler.upload(imageSize);
+		if (profiler.isTracing()) profiler.trace("glCompressedTexSubImage2D", target, level, xoffset, yoffset, width, height,
+			format, imageSize, data);
+		long start = profiler.begin("glCompressedTexSubImage2D");
+		gl.glCompressedTexSubImage2D(target, level, xoffset, yoffset, width, height, format, imageSize, data);
+		profiler.end(start);
+	}
+
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		if (profiler.isTracing()) profiler.trace("glCopyTexImage2D", target, level, internalformat, x, y, width, height, border);
+		long start = profiler.begin("glCopyTexImage2D");
+		gl.glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
+		profiler.end(start);
+	}
+
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		if (profiler.isTracing()) profiler.trace("glCopyTexSubImage2D", target, level, xoffset, yoffset, x, y, width, height);
+		long start = profiler.begin("glCopyTexSubImage2D");
+		gl.glCopyTexSubImage2D(target, level, xoffset, yoffset, x, y, width, height);
+		profiler.end(start);
+	}
+
+	public void glCullFace (int mode) {
+		profiler.cullFace(mode);
+		if (profiler.isTracing()) profiler.trace("glCullFace", mode);
+		long start = profiler.begin("glCullFace");
+		gl.glCullFace(mode);
+		profiler.end(start);
+	}
+
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		profiler.deleteTextures();
+		if (profiler.isTracing()) profiler.trace("glDeleteTextures", n, textures);
+		long start = profiler.begin("glDeleteTextures");
+		gl.glDeleteTextures(n, textures);
+		profiler.end(start);
+	}
+
+	public void glDeleteTextures (int n, int[] textures, int offset) {
+		profiler.deleteTextures();
+		if (profiler.isTracing()) profiler.trace("glDeleteTextures", n, textures, offset);
+		long start = profiler.begin("glDeleteTextures");
+		gl.glDeleteTextures(n, textures, offset);
+		profiler.end(start);
+	}
+
+	public void glDepthFunc (int func) {
+		profiler.depthFunc(func);
+		if (profiler.isTracing()) profiler.trace("glDepthFunc", func);
+		long start = profiler.begin("glDepthFunc");
+		gl.glDepthFunc(func);
+		profiler.end(start);
+	}
+
+	public void glDepthMask (boolean flag) {
+		profiler.depthMask(flag);
+		if (profiler.isTracing()) profiler.trace("glDepthMask", flag);
+		long start = profiler.begin("glDepthMask");
+		gl.glDepthMask(flag);
+		profiler.end(start);
+	}
+
+	public void glDepthRangef (float zNear, float zFar) {
+		if (profiler.isTracing()) profiler.trace("glDepthRangef", zNear, zFar);
+		long start = profiler.begin("glDepthRangef");
+		gl.glDepthRangef(zNear, zFar);
+		profiler.end(start);
+	}
+
+	public void glDisable (int cap) {
+		profiler.enable(cap, false);
+		if (profiler.isTracing()) profiler.trace("glDisable", cap);
+		long start = profiler.begin("glDisable");
+		gl.glDisable(cap);
+		profiler.end(start);
+	}
+
+	public void glDisableClientState (int array) {
+		if (profiler.isTracing()) profiler.trace("glDisableClientState", array);
+		long start = profiler.begin("glDisableClientState");
+		gl.glDisableClientState(array);
+		profiler.end(start);
+	}
+
+	public void glDrawArrays (int mode, int first, int count) {
+		profiler.draw(count);
+		if (profiler.isTracing()) profiler.trace("glDrawArrays", mode, first, count);
+		long start = profiler.begin("glDrawArrays");
+		gl.glDrawArrays(mode, first, count);
+		profiler.end(start);
+	}
+
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		profiler.draw(count);
+		if (profiler.isTracing()) profiler.trace("glDrawElements", mode, count, type, indices);
+		long start = profiler.begin("glDrawElements");
+		gl.glDrawElements(mode, count, type, indices);
+		profiler.end(start);
+	}
+
+	public void glEnable (int cap) {
+		profiler.enable(cap, true);
+		if (profiler.isTracing()) profiler.trace("glEnable", cap);
+		long start = profiler.begin("glEnable");
+		gl.glEnable(cap);
+		profiler.end(start);
+	}
+
+	public void glEnableClientState (int array) {
+		if (profiler.isTracing()) profiler.trace("glEnableClientState", array);
+		long start = profiler.begin("glEnableClientState");
+		gl.glEnableClientState(array);
+		profiler.end(start);
+	}
+
+	public void glFinish () {
+		if (profiler.isTracing()) profiler.trace("glFinish");
+		long start = profiler.begin("glFinish");
+		gl.glFinish();
+		profiler.end(start);
+	}
+
+	public void glFlush () {
+		if (profiler.isTracing()) profiler.trace("glFlush");
+		long start = profiler.begin("glFlush");
+		gl.glFlush();
+		profiler.end(start);
+	}
+
+	public void glFogf (int pname, float param) {
+		if (profiler.isTracing()) profiler.trace("glFogf", pname, param);
+		long start = profiler.begin("glFogf");
+		gl.glFogf(pname, param);
+		profiler.end(start);
+	}
+
+	public void glFogfv (int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glFogfv", pname, params);
+		long start = profiler.begin("glFogfv");
+		gl.glFogfv(pname, params);
+		profiler.end(start);
+	}
+
+	public void glFogfv (int pname, float[] params, int offset) {
+		if (profiler.isTracing()) profiler.trace("glFogfv", pname, params, offset);
+		long start = profiler.begin("glFogfv");
+		gl.glFogfv(pname, params, offset);
+		profiler.end(start);
+	}
+
+	public void glFrontFace (int mode) {
+		if (profiler.isTracing()) profiler.trace("glFrontFace", mode);
+		long start = profiler.begin("glFrontFace");
+		gl.glFrontFace(mode);
+		profiler.end(start);
+	}
+
+	public void glFrustumf (float left, float right, float bottom, float top, float zNear, float zFar) {
+		if (profiler.isTracing()) profiler.trace("glFrustumf", left, right, bottom, top, zNear, zFar);
+		long start = profiler.begin("glFrustumf");
+		gl.glFrustumf(left, right, bottom, top, zNear, zFar);
+		profiler.end(start);
+	}
+
+	public void glGenTextures (int n, IntBuffer textures) {
+		if (profiler.isTracing()) profiler.trace("glGenTextures", n, textures);
+		long start = profiler.begin("glGenTextures");
+		gl.glGenTextures(n, textures);
+		profiler.end(start);
+	}
+
+	public void glGenTextures (int n, int[] textures, int offset) {
+		if (profiler.isTracing()) profiler.trace("glGenTextures", n, textures, offset);
+		long start = profiler.begin("glGenTextures");
+		gl.glGenTextures(n, textures, offset);
+		profiler.end(start);
+	}
+
+	public int glGetError () {
+		if (profiler.isTracing()) profiler.trace("glGetError");
+		long start = profiler.begin("glGetError");
+		int result = gl.glGetError();
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetIntegerv", pname, params);
+		long start = profiler.begin("glGetIntegerv");
+		gl.glGetIntegerv(pname, params);
+		profiler.end(start);
+	}
+
+	public void glGetIntegerv (int pname, int[] params, int offset) {
+		if (profiler.isTracing()) profiler.trace("glGetIntegerv", pname, params, offset);
+		long start = profiler.begin("glGetIntegerv");
+		gl.glGetIntegerv(pname, params, offset);
+		profiler.end(start);
+	}
+
+	public String glGetString (int name) {
+		if (profiler.isTracing()) profiler.trace("glGetString", name);
+		long start = profiler.begin("glGetString");
+		String result = gl.glGetString(name);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glHint (int target, int mode) {
+		if (profiler.isTracing()) profiler.trace("glHint", target, mode);
+		long start = profiler.begin("glHint");
+		gl.glHint(target, mode);
+		profiler.end(start);
+	}
+
+	public void glLightModelf (int pname, float param) {
+		if (profiler.isTracing()) profiler.trace("glLightModelf", pname, param);
+		long start = profiler.begin("glLightModelf");
+		gl.glLightModelf(pname, param);
+		profiler.end(start);
+	}
+
+	public void glLightModelfv (int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glLightModelfv", pname, params);
+		long start = profiler.begin("glLightModelfv");
+		gl.glLightModelfv(pname, params);
+		profiler.end(start);
+	}
+
+	public void glLightModelfv (int pname, float[] params, int offset) {
+		if (profiler.isTracing()) profiler.trace("glLightModelfv", pname, params, offset);
+		long start = profiler.begin("glLightModelfv");
+		gl.glLightModelfv(pname, params, offset);
+		profiler.end(start);
+	}
+
+	public void glLightf (int light, int pname, float param) {
+		if (profiler.isTracing()) profiler.trace("glLightf", light, pname, param);
+		long start = profiler.begin("glLightf");
+		gl.glLightf(light, pname, param);
+		profiler.end(start);
+	}
+
+	public void glLightfv (int light, int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glLightfv", light, pname, params);
+		long start = profiler.begin("glLightfv");
+		gl.glLightfv(light, pname, params);
+		profiler.end(start);
+	}
+
+	public void glLightfv (int light, int pname, float[] params, int offset) {
+		if (profiler.isTracing()) profiler.trace("glLightfv", light, pname, params, offset);
+		long start = profiler.begin("glLightfv");
+		gl.glLightfv(light, pname, params, offset);
+		profiler.end(start);
+	}
+
+	public void glLineWidth (float width) {
+		if (profiler.isTracing()) profiler.trace("glLineWidth", width);
+		long start = profiler.begin("glLineWidth");
+		gl.glLineWidth(width);
+		profiler.end(start);
+	}
+
+	public void glLoadIdentity () {
+		if (profiler.isTracing()) profiler.trace("glLoadIdentity");
+		long start = profiler.begin("glLoadIdentity");
+		gl.glLoadIdentity();
+		profiler.end(start);
+	}
+
+	public void glLoadMatrixf (FloatBuffer m) {
+		if (profiler.isTracing()) profiler.trace("glLoadMatrixf", m);
+		long start = profiler.begin("glLoadMatrixf");
+		gl.glLoadMatrixf(m);
+		profiler.end(start);
+	}
+
+	public void glLoadMatrixf (float[] m, int offset) {
+		if (profiler.isTracing()) profiler.trace("glLoadMatrixf", m, offset);
+		long start = profiler.begin("glLoadMatrixf");
+		gl.glLoadMatrixf(m, offset);
+		profiler.end(start);
+	}
+
+	public void glLogicOp (int opcode) {
+		if (profiler.isTracing()) profiler.trace("glLogicOp", opcode);
+		long start = profiler.begin("glLogicOp");
+		gl.glLogicOp(opcode);
+		profiler.end(start);
+	}
+
+	public void glMaterialf (int face, int pname, float param) {
+		if (profiler.isTracing()) profiler.trace("glMaterialf", face, pname, param);
+		long start = profiler.begin("glMaterialf");
+		gl.glMaterialf(face, pname, param);
+		profiler.end(start);
+	}
+
+	public void glMaterialfv (int face, int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glMaterialfv", face, pname, params);
+		long start = profiler.begin("glMaterialfv");
+		gl.glMaterialfv(face, pname, params);
+		profiler.end(start);
+	}
+
+	public void glMaterialfv (int face, int pname, float[] params, int offset) {
+		if (profiler.isTracing()) profiler.trace("glMaterialfv", face, pname, params, offset);
+		long start = profiler.begin("glMaterialfv");
+		gl.glMaterialfv(face, pname, params, offset);
+		profiler.end(start);
+	}
+
+	public void glMatrixMode (int mode) {
+		if (profiler.isTracing()) profiler.trace("glMatrixMode", mode);
+		long start = profiler.begin("glMatrixMode");
+		gl.glMatrixMode(mode);
+		profiler.end(start);
+	}
+
+	public void glMultMatrixf (FloatBuffer m) {
+		if (profiler.isTracing()) profiler.trace("glMultMatrixf", m);
+		long start = profiler.begin("glMultMatrixf");
+		gl.glMultMatrixf(m);
+		profiler.end(start);
+	}
+
+	public void glMultMatrixf (float[] m, int offset) {
+		if (profiler.isTracing()) profiler.trace("glMultMatrixf", m, offset);
+		long start = profiler.begin("glMultMatrixf");
+		gl.glMultMatrixf(m, offset);
+		profiler.end(start);
+	}
+
+	public void glMultiTexCoord4f (int target, float s, float t, float r, float q) {
+		if (profiler.isTracing()) profiler.trace("glMultiTexCoord4f", target, s, t, r, q);
+		long start = profiler.begin("glMultiTexCoord4f");
+		gl.glMultiTexCoord4f(target, s, t, r, q);
+		profiler.end(start);
+	}
+
+	public void glNormal3f (float nx, float ny, float nz) {
+		if (profiler.isTracing()) profiler.trace("glNormal3f", nx, ny, nz);
+		long start = profiler.begin("glNormal3f");
+		gl.glNormal3f(nx, ny, nz);
+		profiler.end(start);
+	}
+
+	public void glNormalPointer (int type, int stride, Buffer pointer) {
+		if (profiler.isTracing()) profiler.trace("glNormalPointer", type, stride, pointer);
+		long start = profiler.begin("glNormalPointer");
+		gl.glNormalPointer(type, stride, pointer);
+		profiler.end(start);
+	}
+
+	public void glOrthof (float left, float right, float bottom, float top, float zNear, float zFar) {
+		if (profiler.isTracing()) profiler.trace("glOrthof", left, right, bottom, top, zNear, zFar);
+		long start = profiler.begin("glOrthof");
+		gl.glOrthof(left, right, bottom, top, zNear, zFar);
+		profiler.end(start);
+	}
+
+	public void glPixelStorei (int pname, int param) {
+		if (profiler.isTracing()) profiler.trace("glPixelStorei", pname, param);
+		long start = profiler.begin("glPixelStorei");
+		gl.glPixelStorei(pname, param);
+		profiler.end(start);
+	}
+
+	public void glPointSize (float size) {
+		if (profiler.isTracing()) profiler.trace("glPointSize", size);
+		long start = profiler.begin("glPointSize");
+		gl.glPointSize(size);
+		profiler.end(start);
+	}
+
+	public void glPolygonMode (int face, int mode) {
+		if (profiler.isTracing()) profiler.trace("glPolygonMode", face, mode);
+		long start = profiler.begin("glPolygonMode");
+		gl.glPolygonMode(face, mode);
+		profiler.end(start);
+	}
+
+	public void glPolygonOffset (float factor, float units) {
+		if (profiler.isTracing()) profiler.trace("glPolygonOffset", factor, units);
+		long start = profiler.begin("glPolygonOffset");
+		gl.glPolygonOffset(factor, units);
+		profiler.end(start);
+	}
+
+	public void glPopMatrix () {
+		if (profiler.isTracing()) profiler.trace("glPopMatrix");
+		long start = profiler.begin("glPopMatrix");
+		gl.glPopMatrix();
+		profiler.end(start);
+	}
+
+	public void glPushMatrix () {
+		if (profiler.isTracing()) profiler.trace("glPushMatrix");
+		long start = profiler.begin("glPushMatrix");
+		gl.glPushMatrix();
+		profiler.end(start);
+	}
+
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		if (profiler.isTracing()) profiler.trace("glReadPixels", x, y, width, height, format, type, pixels);
+		long start = profiler.begin("glReadPixels");
+		gl.glReadPixels(x, y, width, height, format, type, pixels);
+		profiler.end(start);
+	}
+
+	public void glRotatef (float angle, float x, float y, float z) {
+		if (profiler.isTracing()) profiler.trace("glRotatef", angle, x, y, z);
+		long start = profiler.begin("glRotatef");
+		gl.glRotatef(angle, x, y, z);
+		profiler.end(start);
+	}
+
+	public void glSampleCoverage (float value, boolean invert) {
+		if (profiler.isTracing()) profiler.trace("glSampleCoverage", value, invert);
+		long start = profiler.begin("glSampleCoverage");
+		gl.glSampleCoverage(value, invert);
+		profiler.end(start);
+	}
+
+	public void glScalef (float x, float y, float z) {
+		if (profiler.isTracing()) profiler.trace("glScalef", x, y, z);
+		long start = profiler.begin("glScalef");
+		gl.glScalef(x, y, z);
+		profiler.end(start);
+	}
+
+	public void glScissor (int x, int y, int width, int height) {
+		if (profiler.isTracing()) profiler.trace("glScissor", x, y, width, height);
+		long start = profiler.begin("glScissor");
+		gl.glScissor(x, y, width, height);
+		profiler.end(start);
+	}
+
+	public void glShadeModel (int mode) {
+		if (profiler.isTracing()) profiler.trace("glShadeModel", mode);
+		long start = profiler.begin("glShadeModel");
+		gl.glShadeModel(mode);
+		profiler.end(start);
+	}
+
+	public void glStencilFunc (int func, int ref, int mask) {
+		if (profiler.isTracing()) profiler.trace("glStencilFunc", func, ref, mask);
+		long start = profiler.begin("glStencilFunc");
+		gl.glStencilFunc(func, ref, mask);
+		profiler.end(start);
+	}
+
+	public void glStencilMask (int mask) {
+		if (profiler.isTracing()) profiler.trace("glStencilMask", mask);
+		long start = profiler.begin("glStencilMask");
+		gl.glStencilMask(mask);
+		profiler.end(start);
+	}
+
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		if (profiler.isTracing()) profiler.trace("glStencilOp", fail, zfail, zpass);
+		long start = profiler.begin("glStencilOp");
+		gl.glStencilOp(fail, zfail, zpass);
+		profiler.end(start);
+	}
+
+	public void glTexCoordPointer (int size, int type, int stride, Buffer pointer) {
+		if (profiler.isTracing()) profiler.trace("glTexCoordPointer", size, type, stride, pointer);
+		long start = profiler.begin("glTexCoordPointer");
+		gl.glTexCoordPointer(size, type, stride, pointer);
+		profiler.end(start);
+	}
+
+	public void glTexEnvf (int target, int pname, float param) {
+		if (profiler.isTracing()) profiler.trace("glTexEnvf", target, pname, param);
+		long start = profiler.begin("glTexEnvf");
+		gl.glTexEnvf(target, pname, param);
+		profiler.end(start);
+	}
+
+	public void glTexEnvfv (int target, int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glTexEnvfv", target, pname, params);
+		long start = profiler.begin("glTexEnvfv");
+		gl.glTexEnvfv(target, pname, params);
+		profiler.end(start);
+	}
+
+	public void glTexEnvfv (int target, int pname, float[] params, int offset) {
+		if (profiler.isTracing()) profiler.trace("glTexEnvfv", target, pname, params, offset);
+		long start = profiler.begin("glTexEnvfv");
+		gl.glTexEnvfv(target, pname, params, offset);
+		profiler.end(start);
+	}
+
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type,
+		Buffer pixels) {
+		profiler.uploadTexture(width, height, format, type, pixels);
+		if (profiler.isTracing()) profiler.trace("glTexImage2D", target, level, internalformat, width, height, border, format, type,
+			pixels);
+		long start = profiler.begin("glTexImage2D");
+		gl.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+		profiler.end(start);
+	}
+
+	public void glTexParameterf (int target, int pname, float param) {
+		if (profiler.isTracing()) profiler.trace("glTexParameterf", target, pname, param);
+		long start = profiler.begin("glTexParameterf");
+		gl.glTexParameterf(target, pname, param);
+		profiler.end(start);
+	}
+
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type,
+		Buffer pixels) {
+		profiler.uploadTexture(width, height, format, type, pixels);
+		if (profiler.isTracing()) profiler.trace("glTexSubImage2D", target, level, xoffset, yoffset, width, height, format, type,
+			pixels);
+		long start = profiler.begin("glTexSubImage2D");
+		gl.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+		profiler.end(start);
+	}
+
+	public void glTranslatef (float x, float y, float z) {
+		if (profiler.isTracing()) profiler.trace("glTranslatef", x, y, z);
+		long start = profiler.begin("glTranslatef");
+		gl.glTranslatef(x, y, z);
+		profiler.end(start);
+	}
+
+	public void glVertexPointer (int size, int type, int stride, Buffer pointer) {
+		if (profiler.isTracing()) profiler.trace("glVertexPointer", size, type, stride, pointer);
+		long start = profiler.begin("glVertexPointer");
+		gl.glVertexPointer(size, type, stride, pointer);
+		profiler.end(start);
+	}
+
+	public void glViewport (int x, int y, int width, int height) {
+		profiler.viewport(x, y, width, height);
+		if (profiler.isTracing()) profiler.trace("glViewport", x, y, width, height);
+		long start = profiler.begin("glViewport");
+		gl.glViewport(x, y, width, height);
+		profiler.end(start);
+	}
+}
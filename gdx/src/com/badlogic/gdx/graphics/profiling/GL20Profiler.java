@@ -0,0 +1,1111 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.profiling;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+
+/** A {@link GL20} that passes every call to another GL20 and counts it with a {@link GLProfiler}.
+ * @see GLProfiler#install() */
+public class GL20Profiler implements GL20 {
+	private final GL20 gl;
+	private final GLProfiler profiler;
+
+	public GL20Profiler (GL20 gl, GLProfiler profiler) {
+		this.gl = gl;
+		this.profiler = profiler;
+	}
+
+	/** @return the wrapped GL instance */
+	public GL20 getGL () {
+		return gl;
+	}
+
+	public void glActiveTexture (int texture) {
+		profiler.activeTexture(texture);
+		if (profiler.isTracing()) profiler.trace("glActiveTexture", texture);
+		long start = profiler.begin("glActiveTexture");
+		gl.glActiveTexture(texture);
+		profiler.end(start);
+	}
+
+	public void glAttachShader (int program, int shader) {
+		if (profiler.isTracing()) profiler.trace("glAttachShader", program, shader);
+		long start = profiler.begin("glAttachShader");
+		gl.glAttachShader(program, shader);
+		profiler.end(start);
+	}
+
+	public void glBindAttribLocation (int program, int index, String name) {
+		if (profiler.isTracing()) profiler.trace("glBindAttribLocation", program, index, name);
+		long start = profiler.begin("glBindAttribLocation");
+		gl.glBindAttribLocation(program, index, name);
+		profiler.end(start);
+	}
+
+	public void glBindBuffer (int target, int buffer) {
+		profiler.bindBuffer(target, buffer);
+		if (profiler.isTracing()) profiler.trace("glBindBuffer", target, buffer);
+		long start = profiler.begin("glBindBuffer");
+		gl.glBindBuffer(target, buffer);
+		profiler.end(start);
+	}
+
+	public void glBindFramebuffer (int target, int framebuffer) {
+		profiler.bindFramebuffer(framebuffer);
+		if (profiler.isTracing()) profiler.trace("glBindFramebuffer", target, framebuffer);
+		long start = profiler.begin("glBindFramebuffer");
+		gl.glBindFramebuffer(target, framebuffer);
+		profiler.end(start);
+	}
+
+	public void glBindRenderbuffer (int target, int renderbuffer) {
+		if (profiler.isTracing()) profiler.trace("glBindRenderbuffer", target, renderbuffer);
+		long start = profiler.begin("glBindRenderbuffer");
+		gl.glBindRenderbuffer(target, renderbuffer);
+		profiler.end(start);
+	}
+
+	public void glBindTexture (int target, int texture) {
+		profiler.bindTexture(target, texture);
+		if (profiler.isTracing()) profiler.trace("glBindTexture", target, texture);
+		long start = profiler.begin("glBindTexture");
+		gl.glBindTexture(target, texture);
+		profiler.end(start);
+	}
+
+	public void glBlendColor (float red, float green, float blue, float alpha) {
+		if (profiler.isTracing()) profiler.trace("glBlendColor", red, green, blue, alpha);
+		long start = profiler.begin("glBlendColor");
+		gl.glBlendColor(red, green, blue, alpha);
+		profiler.end(start);
+	}
+
+	public void glBlendEquation (int mode) {
+		if (profiler.isTracing()) profiler.trace("glBlendEquation", mode);
+		long start = profiler.begin("glBlendEquation");
+		gl.glBlendEquation(mode);
+		profiler.end(start);
+	}
+
+	public void glBlendEquationSeparate (int modeRGB, int modeAlpha) {
+		if (profiler.isTracing()) profiler.trace("glBlendEquationSeparate", modeRGB, modeAlpha);
+		long start = profiler.begin("glBlendEquationSeparate");
+		gl.glBlendEquationSeparate(modeRGB, modeAlpha);
+		profiler.end(start);
+	}
+
+	public void glBlendFunc (int sfactor, int dfactor) {
+		profiler.blendFunc(sfactor, dfactor);
+		if (profiler.isTracing()) profiler.trace("glBlendFunc", sfactor, dfactor);
+		long start = profiler.begin("glBlendFunc");
+		gl.glBlendFunc(sfactor, dfactor);
+		profiler.end(start);
+	}
+
+	public void glBlendFuncSeparate (int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+		if (profiler.isTracing()) profiler.trace("glBlendFuncSeparate", srcRGB, dstRGB, srcAlpha, dstAlpha);
+		long start = profiler.begin("glBlendFuncSeparate");
+		gl.glBlendFuncSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+		profiler.end(start);
+	}
+
+	public void glBufferData (int target, int size, Buffer data, int usage) {
+		profiler.upload(size);
+		if (profiler.isTracing()) profiler.trace("glBufferData", target, size, data, usage);
+		long start = profiler.begin("glBufferData");
+		gl.glBufferData(target, size, data, usage);
+		profiler.end(start);
+	}
+
+	public void glBufferSubData (int target, int offset, int size, Buffer data) {
+		profiler.upload(size);
+		if (profiler.isTracing()) profiler.trace("glBufferSubData", target, offset, size, data);
+		long start = profiler.begin("glBufferSubData");
+		gl.glBufferSubData(target, offset, size, data);
+		profiler.end(start);
+	}
+
+	public int glCheckFramebufferStatus (int target) {
+		if (profiler.isTracing()) profiler.trace("glCheckFramebufferStatus", target);
+		long start = profiler.begin("glCheckFramebufferStatus");
+		int result = gl.glCheckFramebufferStatus(target);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glClear (int mask) {
+		if (profiler.isTracing()) profiler.trace("glClear", mask);
+		long start = profiler.begin("glClear");
+		gl.glClear(mask);
+		profiler.end(start);
+	}
+
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		if (profiler.isTracing()) profiler.trace("glClearColor", red, green, blue, alpha);
+		long start = profiler.begin("glClearColor");
+		gl.glClearColor(red, green, blue, alpha);
+		profiler.end(start);
+	}
+
+	public void glClearDepthf (float depth) {
+		if (profiler.isTracing()) profiler.trace("glClearDepthf", depth);
+		long start = profiler.begin("glClearDepthf");
+		gl.glClearDepthf(depth);
+		profiler.end(start);
+	}
+
+	public void glClearStencil (int s) {
+		if (profiler.isTracing()) profiler.trace("glClearStencil", s);
+		long start = profiler.begin("glClearStencil");
+		gl.glClearStencil(s);
+		profiler.end(start);
+	}
+
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		if (profiler.isTracing()) profiler.trace("glColorMask", red, green, blue, alpha);
+		long start = profiler.begin("glColorMask");
+		gl.glColorMask(red, green, blue, alpha);
+		profiler.end(start);
+	}
+
+	public void glCompileShader (int shader) {
+		if (profiler.isTracing()) profiler.trace("glCompileShader", shader);
+		long start = profiler.begin("glCompileShader");
+		gl.glCompileShader(shader);
+		profiler.end(start);
+	}
+
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border,
+		int imageSize, Buffer data) {
+		profiler.upload(imageSize);
+		if (profiler.isTracing()) profiler.trace("glCompressedTexImage2D", target, level, internalformat, width, height, border,
+			imageSize, data);
+		long start = profiler.begin("glCompressedTexImage2D");
+		gl.glCompressedTexImage2D(target, level, internalformat, width, height, border, imageSize, data);
+		profiler.end(start);
+	}
+
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format,
+		int imageSize, Buffer data) {
+		profiler.upload(imageSize);
+		if (profiler.isTracing()) profiler.trace("glCompressedTexSubImage2D", target, level, xoffset, yoffset, width, height,
+			format, imageSize, data);
+		long start = profiler.begin("glCompressedTexSubImage2D");
+		gl.glCompressedTexSubImage2D(target, level, xoffset, yoffset, width, height, format, imageSize, data);
+		profiler.end(start);
+	}
+
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		if (profiler.isTracing()) profiler.trace("glCopyTexImage2D", target, level, internalformat, x, y, width, height, border);
+		long start = profiler.begin("glCopyTexImage2D");
+		gl.glCopyTexImage2D(target, level, internalformat, x, y, width, height, border);
+		profiler.end(start);
+	}
+
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		if (profiler.isTracing()) profiler.trace("glCopyTexSubImage2D", target, level, xoffset, yoffset, x, y, width, height);
+		long start = profiler.begin("glCopyTexSubImage2D");
+		gl.glCopyTexSubImage2D(target, level, xoffset, yoffset, x, y, width, height);
+		profiler.end(start);
+	}
+
+	public int glCreateProgram () {
+		if (profiler.isTracing()) profiler.trace("glCreateProgram");
+		long start = profiler.begin("glCreateProgram");
+		int result = gl.glCreateProgram();
+		profiler.end(start);
+		return result;
+	}
+
+	public int glCreateShader (int type) {
+		if (profiler.isTracing()) profiler.trace("glCreateShader", type);
+		long start = profiler.begin("glCreateShader");
+		int result = gl.glCreateShader(type);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glCullFace (int mode) {
+		profiler.cullFace(mode);
+		if (profiler.isTracing()) profiler.trace("glCullFace", mode);
+		long start = profiler.begin("glCullFace");
+		gl.glCullFace(mode);
+		profiler.end(start);
+	}
+
+	public void glDeleteBuffers (int n, IntBuffer buffers) {
+		profiler.deleteBuffers();
+		if (profiler.isTracing()) profiler.trace("glDeleteBuffers", n, buffers);
+		long start = profiler.begin("glDeleteBuffers");
+		gl.glDeleteBuffers(n, buffers);
+		profiler.end(start);
+	}
+
+	public void glDeleteFramebuffers (int n, IntBuffer framebuffers) {
+		profiler.deleteFramebuffers();
+		if (profiler.isTracing()) profiler.trace("glDeleteFramebuffers", n, framebuffers);
+		long start = profiler.begin("glDeleteFramebuffers");
+		gl.glDeleteFramebuffers(n, framebuffers);
+		profiler.end(start);
+	}
+
+	public void glDeleteProgram (int program) {
+		profiler.deleteProgram();
+		if (profiler.isTracing()) profiler.trace("glDeleteProgram", program);
+		long start = profiler.begin("glDeleteProgram");
+		gl.glDeleteProgram(program);
+		profiler.end(start);
+	}
+
+	public void glDeleteRenderbuffers (int n, IntBuffer renderbuffers) {
+		if (profiler.isTracing()) profiler.trace("glDeleteRenderbuffers", n, renderbuffers);
+		long start = profiler.begin("glDeleteRenderbuffers");
+		gl.glDeleteRenderbuffers(n, renderbuffers);
+		profiler.end(start);
+	}
+
+	public void glDeleteShader (int shader) {
+		if (profiler.isTracing()) profiler.trace("glDeleteShader", shader);
+		long start = profiler.begin("glDeleteShader");
+		gl.glDeleteShader(shader);
+		profiler.end(start);
+	}
+
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		profiler.deleteTextures();
+		if (profiler.isTracing()) profiler.trace("glDeleteTextures", n, textures);
+		long start = profiler.begin("glDeleteTextures");
+		gl.glDeleteTextures(n, textures);
+		profiler.end(start);
+	}
+
+	public void glDepthFunc (int func) {
+		profiler.depthFunc(func);
+		if (profiler.isTracing()) profiler.trace("glDepthFunc", func);
+		long start = profiler.begin("glDepthFunc");
+		gl.glDepthFunc(func);
+		profiler.end(start);
+	}
+
+	public void glDepthMask (boolean flag) {
+		profiler.depthMask(flag);
+		if (profiler.isTracing()) profiler.trace("glDepthMask", flag);
+		long start = profiler.begin("glDepthMask");
+		gl.glDepthMask(flag);
+		profiler.end(start);
+	}
+
+	public void glDepthRangef (float zNear, float zFar) {
+		if (profiler.isTracing()) profiler.trace("glDepthRangef", zNear, zFar);
+		long start = profiler.begin("glDepthRangef");
+		gl.glDepthRangef(zNear, zFar);
+		profiler.end(start);
+	}
+
+	public void glDetachShader (int program, int shader) {
+		if (profiler.isTracing()) profiler.trace("glDetachShader", program, shader);
+		long start = profiler.begin("glDetachShader");
+		gl.glDetachShader(program, shader);
+		profiler.end(start);
+	}
+
+	public void glDisable (int cap) {
+		profiler.enable(cap, false);
+		if (profiler.isTracing()) profiler.trace("glDisable", cap);
+		long start = profiler.begin("glDisable");
+		gl.glDisable(cap);
+		profiler.end(start);
+	}
+
+	public void glDisableVertexAttribArray (int index) {
+		if (profiler.isTracing()) profiler.trace("glDisableVertexAttribArray", index);
+		long start = profiler.begin("glDisableVertexAttribArray");
+		gl.glDisableVertexAttribArray(index);
+		profiler.end(start);
+	}
+
+	public void glDrawArrays (int mode, int first, int count) {
+		profiler.draw(count);
+		if (profiler.isTracing()) profiler.trace("glDrawArrays", mode, first, count);
+		long start = profiler.begin("glDrawArrays");
+		gl.glDrawArrays(mode, first, count);
+		profiler.end(start);
+	}
+
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		profiler.draw(count);
+		if (profiler.isTracing()) profiler.trace("glDrawElements", mode, count, type, indices);
+		long start = profiler.begin("glDrawElements");
+		gl.glDrawElements(mode, count, type, indices);
+		profiler.end(start);
+	}
+
+	public void glDrawElements (int mode, int count, int type, int indices) {
+		profiler.draw(count);
+		if (profiler.isTracing()) profiler.trace("glDrawElements", mode, count, type, indices);
+		long start = profiler.begin("glDrawElements");
+		gl.glDrawElements(mode, count, type, indices);
+		profiler.end(start);
+	}
+
+	public void glEnable (int cap) {
+		profiler.enable(cap, true);
+		if (profiler.isTracing()) profiler.trace("glEnable", cap);
+		long start = profiler.begin("glEnable");
+		gl.glEnable(cap);
+		profiler.end(start);
+	}
+
+	public void glEnableVertexAttribArray (int index) {
+		if (profiler.isTracing()) profiler.trace("glEnableVertexAttribArray", index);
+		long start = profiler.begin("glEnableVertexAttribArray");
+		gl.glEnableVertexAttribArray(index);
+		profiler.end(start);
+	}
+
+	public void glFinish () {
+		if (profiler.isTracing()) profiler.trace("glFinish");
+		long start = profiler.begin("glFinish");
+		gl.glFinish();
+		profiler.end(start);
+	}
+
+	public void glFlush () {
+		if (profiler.isTracing()) profiler.trace("glFlush");
+		long start = profiler.begin("glFlush");
+		gl.glFlush();
+		profiler.end(start);
+	}
+
+	public void glFramebufferRenderbuffer (int target, int attachment, int renderbuffertarget, int renderbuffer) {
+		if (profiler.isTracing()) profiler.trace("glFramebufferRenderbuffer", target, attachment, renderbuffertarget, renderbuffer);
+		long start = profiler.begin("glFramebufferRenderbuffer");
+		gl.glFramebufferRenderbuffer(target, attachment, renderbuffertarget, renderbuffer);
+		profiler.end(start);
+	}
+
+	public void glFramebufferTexture2D (int target, int attachment, int textarget, int texture, int level) {
+		if (profiler.isTracing()) profiler.trace("glFramebufferTexture2D", target, attachment, textarget, texture, level);
+		long start = profiler.begin("glFramebufferTexture2D");
+		gl.glFramebufferTexture2D(target, attachment, textarget, texture, level);
+		profiler.end(start);
+	}
+
+	public void glFrontFace (int mode) {
+		if (profiler.isTracing()) profiler.trace("glFrontFace", mode);
+		long start = profiler.begin("glFrontFace");
+		gl.glFrontFace(mode);
+		profiler.end(start);
+	}
+
+	public void glGenBuffers (int n, IntBuffer buffers) {
+		if (profiler.isTracing()) profiler.trace("glGenBuffers", n, buffers);
+		long start = profiler.begin("glGenBuffers");
+		gl.glGenBuffers(n, buffers);
+		profiler.end(start);
+	}
+
+	public void glGenFramebuffers (int n, IntBuffer framebuffers) {
+		if (profiler.isTracing()) profiler.trace("glGenFramebuffers", n, framebuffers);
+		long start = profiler.begin("glGenFramebuffers");
+		gl.glGenFramebuffers(n, framebuffers);
+		profiler.end(start);
+	}
+
+	public void glGenRenderbuffers (int n, IntBuffer renderbuffers) {
+		if (profiler.isTracing()) profiler.trace("glGenRenderbuffers", n, renderbuffers);
+		long start = profiler.begin("glGenRenderbuffers");
+		gl.glGenRenderbuffers(n, renderbuffers);
+		profiler.end(start);
+	}
+
+	public void glGenTextures (int n, IntBuffer textures) {
+		if (profiler.isTracing()) profiler.trace("glGenTextures", n, textures);
+		long start = profiler.begin("glGenTextures");
+		gl.glGenTextures(n, textures);
+		profiler.end(start);
+	}
+
+	public void glGenerateMipmap (int target) {
+		if (profiler.isTracing()) profiler.trace("glGenerateMipmap", target);
+		long start = profiler.begin("glGenerateMipmap");
+		gl.glGenerateMipmap(target);
+		profiler.end(start);
+	}
+
+	public String glGetActiveAttrib (int program, int index, IntBuffer size, Buffer type) {
+		if (profiler.isTracing()) profiler.trace("glGetActiveAttrib", program, index, size, type);
+		long start = profiler.begin("glGetActiveAttrib");
+		String result = gl.glGetActiveAttrib(program, index, size, type);
+		profiler.end(start);
+		return result;
+	}
+
+	public String glGetActiveUniform (int program, int index, IntBuffer size, Buffer type) {
+		if (profiler.isTracing()) profiler.trace("glGetActiveUniform", program, index, size, type);
+		long start = profiler.begin("glGetActiveUniform");
+		String result = gl.glGetActiveUniform(program, index, size, type);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetAttachedShaders (int program, int maxcount, Buffer count, IntBuffer shaders) {
+		if (profiler.isTracing()) profiler.trace("glGetAttachedShaders", program, maxcount, count, shaders);
+		long start = profiler.begin("glGetAttachedShaders");
+		gl.glGetAttachedShaders(program, maxcount, count, shaders);
+		profiler.end(start);
+	}
+
+	public int glGetAttribLocation (int program, String name) {
+		if (profiler.isTracing()) profiler.trace("glGetAttribLocation", program, name);
+		long start = profiler.begin("glGetAttribLocation");
+		int result = gl.glGetAttribLocation(program, name);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetBooleanv (int pname, Buffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetBooleanv", pname, params);
+		long start = profiler.begin("glGetBooleanv");
+		gl.glGetBooleanv(pname, params);
+		profiler.end(start);
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetBufferParameteriv", target, pname, params);
+		long start = profiler.begin("glGetBufferParameteriv");
+		gl.glGetBufferParameteriv(target, pname, params);
+		profiler.end(start);
+	}
+
+	public int glGetError () {
+		if (profiler.isTracing()) profiler.trace("glGetError");
+		long start = profiler.begin("glGetError");
+		int result = gl.glGetError();
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetFloatv (int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetFloatv", pname, params);
+		long start = profiler.begin("glGetFloatv");
+		gl.glGetFloatv(pname, params);
+		profiler.end(start);
+	}
+
+	public void glGetFramebufferAttachmentParameteriv (int target, int attachment, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetFramebufferAttachmentParameteriv", target, attachment, pname, params);
+		long start = profiler.begin("glGetFramebufferAttachmentParameteriv");
+		gl.glGetFramebufferAttachmentParameteriv(target, attachment, pname, params);
+		profiler.end(start);
+	}
+
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetIntegerv", pname, params);
+		long start = profiler.begin("glGetIntegerv");
+		gl.glGetIntegerv(pname, params);
+		profiler.end(start);
+	}
+
+	public String glGetProgramInfoLog (int program) {
+		if (profiler.isTracing()) profiler.trace("glGetProgramInfoLog", program);
+		long start = profiler.begin("glGetProgramInfoLog");
+		String result = gl.glGetProgramInfoLog(program);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetProgramiv (int program, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetProgramiv", program, pname, params);
+		long start = profiler.begin("glGetProgramiv");
+		gl.glGetProgramiv(program, pname, params);
+		profiler.end(start);
+	}
+
+	public void glGetRenderbufferParameteriv (int target, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetRenderbufferParameteriv", target, pname, params);
+		long start = profiler.begin("glGetRenderbufferParameteriv");
+		gl.glGetRenderbufferParameteriv(target, pname, params);
+		profiler.end(start);
+	}
+
+	public String glGetShaderInfoLog (int shader) {
+		if (profiler.isTracing()) profiler.trace("glGetShaderInfoLog", shader);
+		long start = profiler.begin("glGetShaderInfoLog");
+		String result = gl.glGetShaderInfoLog(shader);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetShaderPrecisionFormat (int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+		if (profiler.isTracing()) profiler.trace("glGetShaderPrecisionFormat", shadertype, precisiontype, range, precision);
+		long start = profiler.begin("glGetShaderPrecisionFormat");
+		gl.glGetShaderPrecisionFormat(shadertype, precisiontype, range, precision);
+		profiler.end(start);
+	}
+
+	public void glGetShaderiv (int shader, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetShaderiv", shader, pname, params);
+		long start = profiler.begin("glGetShaderiv");
+		gl.glGetShaderiv(shader, pname, params);
+		profiler.end(start);
+	}
+
+	public String glGetString (int name) {
+		if (profiler.isTracing()) profiler.trace("glGetString", name);
+		long start = profiler.begin("glGetString");
+		String result = gl.glGetString(name);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetTexParameterfv", target, pname, params);
+		long start = profiler.begin("glGetTexParameterfv");
+		gl.glGetTexParameterfv(target, pname, params);
+		profiler.end(start);
+	}
+
+	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetTexParameteriv", target, pname, params);
+		long start = profiler.begin("glGetTexParameteriv");
+		gl.glGetTexParameteriv(target, pname, params);
+		profiler.end(start);
+	}
+
+	public int glGetUniformLocation (int program, String name) {
+		if (profiler.isTracing()) profiler.trace("glGetUniformLocation", program, name);
+		long start = profiler.begin("glGetUniformLocation");
+		int result = gl.glGetUniformLocation(program, name);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glGetUniformfv (int program, int location, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetUniformfv", program, location, params);
+		long start = profiler.begin("glGetUniformfv");
+		gl.glGetUniformfv(program, location, params);
+		profiler.end(start);
+	}
+
+	public void glGetUniformiv (int program, int location, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetUniformiv", program, location, params);
+		long start = profiler.begin("glGetUniformiv");
+		gl.glGetUniformiv(program, location, params);
+		profiler.end(start);
+	}
+
+	public void glGetVertexAttribPointerv (int index, int pname, Buffer pointer) {
+		if (profiler.isTracing()) profiler.trace("glGetVertexAttribPointerv", index, pname, pointer);
+		long start = profiler.begin("glGetVertexAttribPointerv");
+		gl.glGetVertexAttribPointerv(index, pname, pointer);
+		profiler.end(start);
+	}
+
+	public void glGetVertexAttribfv (int index, int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetVertexAttribfv", index, pname, params);
+		long start = profiler.begin("glGetVertexAttribfv");
+		gl.glGetVertexAttribfv(index, pname, params);
+		profiler.end(start);
+	}
+
+	public void glGetVertexAttribiv (int index, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glGetVertexAttribiv", index, pname, params);
+		long start = profiler.begin("glGetVertexAttribiv");
+		gl.glGetVertexAttribiv(index, pname, params);
+		profiler.end(start);
+	}
+
+	public void glHint (int target, int mode) {
+		if (profiler.isTracing()) profiler.trace("glHint", target, mode);
+		long start = profiler.begin("glHint");
+		gl.glHint(target, mode);
+		profiler.end(start);
+	}
+
+	public boolean glIsBuffer (int buffer) {
+		if (profiler.isTracing()) profiler.trace("glIsBuffer", buffer);
+		long start = profiler.begin("glIsBuffer");
+		boolean result = gl.glIsBuffer(buffer);
+		profiler.end(start);
+		return result;
+	}
+
+	public boolean glIsEnabled (int cap) {
+		if (profiler.isTracing()) profiler.trace("glIsEnabled", cap);
+		long start = profiler.begin("glIsEnabled");
+		boolean result = gl.glIsEnabled(cap);
+		profiler.end(start);
+		return result;
+	}
+
+	public boolean glIsFramebuffer (int framebuffer) {
+		if (profiler.isTracing()) profiler.trace("glIsFramebuffer", framebuffer);
+		long start = profiler.begin("glIsFramebuffer");
+		boolean result = gl.glIsFramebuffer(framebuffer);
+		profiler.end(start);
+		return result;
+	}
+
+	public boolean glIsProgram (int program) {
+		if (profiler.isTracing()) profiler.trace("glIsProgram", program);
+		long start = profiler.begin("glIsProgram");
+		boolean result = gl.glIsProgram(program);
+		profiler.end(start);
+		return result;
+	}
+
+	public boolean glIsRenderbuffer (int renderbuffer) {
+		if (profiler.isTracing()) profiler.trace("glIsRenderbuffer", renderbuffer);
+		long start = profiler.begin("glIsRenderbuffer");
+		boolean result = gl.glIsRenderbuffer(renderbuffer);
+		profiler.end(start);
+		return result;
+	}
+
+	public boolean glIsShader (int shader) {
+		if (profiler.isTracing()) profiler.trace("glIsShader", shader);
+		long start = profiler.begin("glIsShader");
+		boolean result = gl.glIsShader(shader);
+		profiler.end(start);
+		return result;
+	}
+
+	public boolean glIsTexture (int texture) {
+		if (profiler.isTracing()) profiler.trace("glIsTexture", texture);
+		long start = profiler.begin("glIsTexture");
+		boolean result = gl.glIsTexture(texture);
+		profiler.end(start);
+		return result;
+	}
+
+	public void glLineWidth (float width) {
+		if (profiler.isTracing()) profiler.trace("glLineWidth", width);
+		long start = profiler.begin("glLineWidth");
+		gl.glLineWidth(width);
+		profiler.end(start);
+	}
+
+	public void glLinkProgram (int program) {
+		if (profiler.isTracing()) profiler.trace("glLinkProgram", program);
+		long start = profiler.begin("glLinkProgram");
+		gl.glLinkProgram(program);
+		profiler.end(start);
+	}
+
+	public void glPixelStorei (int pname, int param) {
+		if (profiler.isTracing()) profiler.trace("glPixelStorei", pname, param);
+		long start = profiler.begin("glPixelStorei");
+		gl.glPixelStorei(pname, param);
+		profiler.end(start);
+	}
+
+	public void glPolygonOffset (float factor, float units) {
+		if (profiler.isTracing()) profiler.trace("glPolygonOffset", factor, units);
+		long start = profiler.begin("glPolygonOffset");
+		gl.glPolygonOffset(factor, units);
+		profiler.end(start);
+	}
+
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		if (profiler.isTracing()) profiler.trace("glReadPixels", x, y, width, height, format, type, pixels);
+		long start = profiler.begin("glReadPixels");
+		gl.glReadPixels(x, y, width, height, format, type, pixels);
+		profiler.end(start);
+	}
+
+	public void glReleaseShaderCompiler () {
+		if (profiler.isTracing()) profiler.trace("glReleaseShaderCompiler");
+		long start = profiler.begin("glReleaseShaderCompiler");
+		gl.glReleaseShaderCompiler();
+		profiler.end(start);
+	}
+
+	public void glRenderbufferStorage (int target, int internalformat, int width, int height) {
+		if (profiler.isTracing()) profiler.trace("glRenderbufferStorage", target, internalformat, width, height);
+		long start = profiler.begin("glRenderbufferStorage");
+		gl.glRenderbufferStorage(target, internalformat, width, height);
+		profiler.end(start);
+	}
+
+	public void glSampleCoverage (float value, boolean invert) {
+		if (profiler.isTracing()) profiler.trace("glSampleCoverage", value, invert);
+		long start = profiler.begin("glSampleCoverage");
+		gl.glSampleCoverage(value, invert);
+		profiler.end(start);
+	}
+
+	public void glScissor (int x, int y, int width, int height) {
+		if (profiler.isTracing()) profiler.trace("glScissor", x, y, width, height);
+		long start = profiler.begin("glScissor");
+		gl.glScissor(x, y, width, height);
+		profiler.end(start);
+	}
+
+	public void glShaderBinary (int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+		if (profiler.isTracing()) profiler.trace("glShaderBinary", n, shaders, binaryformat, binary, length);
+		long start = profiler.begin("glShaderBinary");
+		gl.glShaderBinary(n, shaders, binaryformat, binary, length);
+		profiler.end(start);
+	}
+
+	public void glShaderSource (int shader, String string) {
+		if (profiler.isTracing()) profiler.trace("glShaderSource", shader, string);
+		long start = profiler.begin("glShaderSource");
+		gl.glShaderSource(shader, string);
+		profiler.end(start);
+	}
+
+	public void glStencilFunc (int func, int ref, int mask) {
+		if (profiler.isTracing()) profiler.trace("glStencilFunc", func, ref, mask);
+		long start = profiler.begin("glStencilFunc");
+		gl.glStencilFunc(func, ref, mask);
+		profiler.end(start);
+	}
+
+	public void glStencilFuncSeparate (int face, int func, int ref, int mask) {
+		if (profiler.isTracing()) profiler.trace("glStencilFuncSeparate", face, func, ref, mask);
+		long start = profiler.begin("glStencilFuncSeparate");
+		gl.glStencilFuncSeparate(face, func, ref, mask);
+		profiler.end(start);
+	}
+
+	public void glStencilMask (int mask) {
+		if (profiler.isTracing()) profiler.trace("glStencilMask", mask);
+		long start = profiler.begin("glStencilMask");
+		gl.glStencilMask(mask);
+		profiler.end(start);
+	}
+
+	public void glStencilMaskSeparate (int face, int mask) {
+		if (profiler.isTracing()) profiler.trace("glStencilMaskSeparate", face, mask);
+		long start = profiler.begin("glStencilMaskSeparate");
+		gl.glStencilMaskSeparate(face, mask);
+		profiler.end(start);
+	}
+
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		if (profiler.isTracing()) profiler.trace("glStencilOp", fail, zfail, zpass);
+		long start = profiler.begin("glStencilOp");
+		gl.glStencilOp(fail, zfail, zpass);
+		profiler.end(start);
+	}
+
+	public void glStencilOpSeparate (int face, int fail, int zfail, int zpass) {
+		if (profiler.isTracing()) profiler.trace("glStencilOpSeparate", face, fail, zfail, zpass);
+		long start = profiler.begin("glStencilOpSeparate");
+		gl.glStencilOpSeparate(face, fail, zfail, zpass);
+		profiler.end(start);
+	}
+
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format, int type,
+		Buffer pixels) {
+		profiler.uploadTexture(width, height, format, type, pixels);
+		if (profiler.isTracing()) profiler.trace("glTexImage2D", target, level, internalformat, width, height, border, format, type,
+			pixels);
+		long start = profiler.begin("glTexImage2D");
+		gl.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+		profiler.end(start);
+	}
+
+	public void glTexParameterf (int target, int pname, float param) {
+		if (profiler.isTracing()) profiler.trace("glTexParameterf", target, pname, param);
+		long start = profiler.begin("glTexParameterf");
+		gl.glTexParameterf(target, pname, param);
+		profiler.end(start);
+	}
+
+	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glTexParameterfv", target, pname, params);
+		long start = profiler.begin("glTexParameterfv");
+		gl.glTexParameterfv(target, pname, params);
+		profiler.end(start);
+	}
+
+	public void glTexParameteri (int target, int pname, int param) {
+		if (profiler.isTracing()) profiler.trace("glTexParameteri", target, pname, param);
+		long start = profiler.begin("glTexParameteri");
+		gl.glTexParameteri(target, pname, param);
+		profiler.end(start);
+	}
+
+	public void glTexParameteriv (int target, int pname, IntBuffer params) {
+		if (profiler.isTracing()) profiler.trace("glTexParameteriv", target, pname, params);
+		long start = profiler.begin("glTexParameteriv");
+		gl.glTexParameteriv(target, pname, params);
+		profiler.end(start);
+	}
+
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format, int type,
+		Buffer pixels) {
+		profiler.uploadTexture(width, height, format, type, pixels);
+		if (profiler.isTracing()) profiler.trace("glTexSubImage2D", target, level, xoffset, yoffset, width, height, format, type,
+			pixels);
+		long start = profiler.begin("glTexSubImage2D");
+		gl.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+		profiler.end(start);
+	}
+
+	public void glUniform1f (int location, float x) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform1f", location, x);
+		long start = profiler.begin("glUniform1f");
+		gl.glUniform1f(location, x);
+		profiler.end(start);
+	}
+
+	public void glUniform1fv (int location, int count, FloatBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform1fv", location, count, v);
+		long start = profiler.begin("glUniform1fv");
+		gl.glUniform1fv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniform1i (int location, int x) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform1i", location, x);
+		long start = profiler.begin("glUniform1i");
+		gl.glUniform1i(location, x);
+		profiler.end(start);
+	}
+
+	public void glUniform1iv (int location, int count, IntBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform1iv", location, count, v);
+		long start = profiler.begin("glUniform1iv");
+		gl.glUniform1iv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniform2f (int location, float x, float y) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform2f", location, x, y);
+		long start = profiler.begin("glUniform2f");
+		gl.glUniform2f(location, x, y);
+		profiler.end(start);
+	}
+
+	public void glUniform2fv (int location, int count, FloatBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform2fv", location, count, v);
+		long start = profiler.begin("glUniform2fv");
+		gl.glUniform2fv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniform2i (int location, int x, int y) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform2i", location, x, y);
+		long start = profiler.begin("glUniform2i");
+		gl.glUniform2i(location, x, y);
+		profiler.end(start);
+	}
+
+	public void glUniform2iv (int location, int count, IntBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform2iv", location, count, v);
+		long start = profiler.begin("glUniform2iv");
+		gl.glUniform2iv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniform3f (int location, float x, float y, float z) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform3f", location, x, y, z);
+		long start = profiler.begin("glUniform3f");
+		gl.glUniform3f(location, x, y, z);
+		profiler.end(start);
+	}
+
+	public void glUniform3fv (int location, int count, FloatBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform3fv", location, count, v);
+		long start = profiler.begin("glUniform3fv");
+		gl.glUniform3fv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniform3i (int location, int x, int y, int z) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform3i", location, x, y, z);
+		long start = profiler.begin("glUniform3i");
+		gl.glUniform3i(location, x, y, z);
+		profiler.end(start);
+	}
+
+	public void glUniform3iv (int location, int count, IntBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform3iv", location, count, v);
+		long start = profiler.begin("glUniform3iv");
+		gl.glUniform3iv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniform4f (int location, float x, float y, float z, float w) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform4f", location, x, y, z, w);
+		long start = profiler.begin("glUniform4f");
+		gl.glUniform4f(location, x, y, z, w);
+		profiler.end(start);
+	}
+
+	public void glUniform4fv (int location, int count, FloatBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform4fv", location, count, v);
+		long start = profiler.begin("glUniform4fv");
+		gl.glUniform4fv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniform4i (int location, int x, int y, int z, int w) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform4i", location, x, y, z, w);
+		long start = profiler.begin("glUniform4i");
+		gl.glUniform4i(location, x, y, z, w);
+		profiler.end(start);
+	}
+
+	public void glUniform4iv (int location, int count, IntBuffer v) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniform4iv", location, count, v);
+		long start = profiler.begin("glUniform4iv");
+		gl.glUniform4iv(location, count, v);
+		profiler.end(start);
+	}
+
+	public void glUniformMatrix2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniformMatrix2fv", location, count, transpose, value);
+		long start = profiler.begin("glUniformMatrix2fv");
+		gl.glUniformMatrix2fv(location, count, transpose, value);
+		profiler.end(start);
+	}
+
+	public void glUniformMatrix3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniformMatrix3fv", location, count, transpose, value);
+		long start = profiler.begin("glUniformMatrix3fv");
+		gl.glUniformMatrix3fv(location, count, transpose, value);
+		profiler.end(start);
+	}
+
+	public void glUniformMatrix4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		profiler.uniform();
+		if (profiler.isTracing()) profiler.trace("glUniformMatrix4fv", location, count, transpose, value);
+		long start = profiler.begin("glUniformMatrix4fv");
+		gl.glUniformMatrix4fv(location, count, transpose, value);
+		profiler.end(start);
+	}
+
+	public void glUseProgram (int program) {
+		profiler.useProgram(program);
+		if (profiler.isTracing()) profiler.trace("glUseProgram", program);
+		long start = profiler.begin("glUseProgram");
+		gl.glUseProgram(program);
+		profiler.end(start);
+	}
+
+	public void glValidateProgram (int program) {
+		if (profiler.isTracing()) profiler.trace("glValidateProgram", program);
+		long start = profiler.begin("glValidateProgram");
+		gl.glValidateProgram(program);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib1f (int indx, float x) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib1f", indx, x);
+		long start = profiler.begin("glVertexAttrib1f");
+		gl.glVertexAttrib1f(indx, x);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib1fv (int indx, FloatBuffer values) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib1fv", indx, values);
+		long start = profiler.begin("glVertexAttrib1fv");
+		gl.glVertexAttrib1fv(indx, values);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib2f (int indx, float x, float y) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib2f", indx, x, y);
+		long start = profiler.begin("glVertexAttrib2f");
+		gl.glVertexAttrib2f(indx, x, y);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib2fv (int indx, FloatBuffer values) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib2fv", indx, values);
+		long start = profiler.begin("glVertexAttrib2fv");
+		gl.glVertexAttrib2fv(indx, values);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib3f (int indx, float x, float y, float z) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib3f", indx, x, y, z);
+		long start = profiler.begin("glVertexAttrib3f");
+		gl.glVertexAttrib3f(indx, x, y, z);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib3fv (int indx, FloatBuffer values) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib3fv", indx, values);
+		long start = profiler.begin("glVertexAttrib3fv");
+		gl.glVertexAttrib3fv(indx, values);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib4f (int indx, float x, float y, float z, float w) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib4f", indx, x, y, z, w);
+		long start = profiler.begin("glVertexAttrib4f");
+		gl.glVertexAttrib4f(indx, x, y, z, w);
+		profiler.end(start);
+	}
+
+	public void glVertexAttrib4fv (int indx, FloatBuffer values) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttrib4fv", indx, values);
+		long start = profiler.begin("glVertexAttrib4fv");
+		gl.glVertexAttrib4fv(indx, values);
+		profiler.end(start);
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, Buffer ptr) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttribPointer", indx, size, type, normalized, stride, ptr);
+		long start = profiler.begin("glVertexAttribPointer");
+		gl.glVertexAttribPointer(indx, size, type, normalized, stride, ptr);
+		profiler.end(start);
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, int ptr) {
+		if (profiler.isTracing()) profiler.trace("glVertexAttribPointer", indx, size, type, normalized, stride, ptr);
+		long start = profiler.begin("glVertexAttribPointer");
+		gl.glVertexAttribPointer(indx, size, type, normalized, stride, ptr);
+		profiler.end(start);
+	}
+
+	public void glViewport (int x, int y, int width, int height) {
+		profiler.viewport(x, y, width, height);
+		if (profiler.isTracing()) profiler.trace("glViewport", x, y, width, height);
+		long start = profiler.begin("glViewport");
+		gl.glViewport(x, y, width, height);
+		profiler.end(start);
+	}
+}
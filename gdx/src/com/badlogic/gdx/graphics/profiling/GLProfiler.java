@@ -0,0 +1,433 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.profiling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.Buffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectIntMap.Entry;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Counts the GL calls made through a {@link GL20Profiler} or {@link GL10Profiler}: calls per function, draw calls, texture
+ * bindings, shader switches, uniform calls, state changes that didn't change anything, bytes uploaded to buffers and textures
+ * and, if {@link #timeCalls} is set, the time spent in GL calls. The calls can also be written to a trace file.
+ * <p>
+ * {@link #install()} wraps {@link Gdx#gl} and {@link Gdx#gl20} or {@link Gdx#gl10}, so everything that uses those fields is
+ * counted. Code that gets the GL instance from {@link com.badlogic.gdx.Graphics} or {@link Gdx#gl11} is not. Call
+ * {@link #nextFrame()} once per frame, eg at the start of {@link com.badlogic.gdx.ApplicationListener#render()}, and read the
+ * counters of the previous frame from {@link #getLastFrame()}.
+ * <p>
+ * The wrappers don't need a real GL context, a profiler can be created around any GL20 or GL10 implementation, eg a mock for
+ * tests. The profiler is not thread safe, like GL itself. */
+public class GLProfiler {
+	static private final int UNKNOWN = Integer.MIN_VALUE;
+
+	/** The counters of the current frame. */
+	public int calls, drawCalls, vertexCount, textureBindings, shaderSwitches, uniformCalls, stateChanges, redundantStateChanges;
+	/** The bytes uploaded with glBufferData, glBufferSubData and the glTexImage2D family in the current frame. */
+	public long bytesUploaded;
+	/** The nanoseconds spent in GL calls in the current frame, only measured if {@link #timeCalls} is true. */
+	public long glTime;
+	/** If true, the time spent in every GL call is measured. This has some overhead and, since GL calls usually only queue work
+	 * for the GPU, mostly shows the time spent in the driver. */
+	public boolean timeCalls;
+
+	final ObjectIntMap<String> callCounts = new ObjectIntMap<String>();
+	private final Snapshot lastFrame = new Snapshot();
+	private long frameStart = -1;
+	private int frame;
+
+	private GLCommon originalGL;
+	private GL20 originalGL20;
+	private GL10 originalGL10;
+
+	private Writer trace;
+	private final StringBuilder traceBuffer = new StringBuilder(128);
+
+	// The GL state as last set through the profiler, UNKNOWN until it has been set.
+	private int activeTexture = UNKNOWN, program = UNKNOWN, arrayBuffer = UNKNOWN, elementArrayBuffer = UNKNOWN,
+		framebuffer = UNKNOWN;
+	private int blendSrc = UNKNOWN, blendDst = UNKNOWN, depthFunc = UNKNOWN, depthMask = UNKNOWN, cullFace = UNKNOWN;
+	private int viewportX = UNKNOWN, viewportY, viewportWidth, viewportHeight;
+	private final IntIntMap boundTextures = new IntIntMap();
+	private final IntIntMap enabledCaps = new IntIntMap();
+
+	/** Replaces {@link Gdx#gl} and {@link Gdx#gl20} or {@link Gdx#gl10} with a profiling wrapper. */
+	public void install () {
+		if (originalGL != null) throw new IllegalStateException("The profiler is already installed.");
+		if (Gdx.gl == null) throw new IllegalStateException("No GL instance to profile.");
+		originalGL = Gdx.gl;
+		originalGL20 = Gdx.gl20;
+		originalGL10 = Gdx.gl10;
+		if (Gdx.gl20 != null) {
+			GL20Profiler gl = new GL20Profiler(Gdx.gl20, this);
+			Gdx.gl = gl;
+			Gdx.gl20 = gl;
+		} else if (Gdx.gl10 != null) {
+			GL10Profiler gl = new GL10Profiler(Gdx.gl10, this);
+			Gdx.gl = gl;
+			Gdx.gl10 = gl;
+		}
+		resetState();
+	}
+
+	/** Restores the GL instances that were replaced by {@link #install()} and stops tracing. */
+	public void uninstall () {
+		if (originalGL == null) return;
+		Gdx.gl = originalGL;
+		Gdx.gl20 = originalGL20;
+		Gdx.gl10 = originalGL10;
+		originalGL = null;
+		originalGL20 = null;
+		originalGL10 = null;
+		stopTrace();
+	}
+
+	public boolean isInstalled () {
+		return originalGL != null;
+	}
+
+	/** Ends the current frame: its counters are stored in {@link #getLastFrame()} and then reset. */
+	public void nextFrame () {
+		long time = TimeUtils.nanoTime();
+		snapshot(lastFrame);
+		lastFrame.frameTime = frameStart == -1 ? 0 : time - frameStart;
+		frameStart = time;
+		reset();
+		frame++;
+		if (trace != null) {
+			traceBuffer.setLength(0);
+			traceBuffer.append("# frame ").append(frame).append('\n');
+			writeTrace();
+		}
+	}
+
+	/** @return the counters of the frame ended by the last call to {@link #nextFrame()} */
+	public Snapshot getLastFrame () {
+		return lastFrame;
+	}
+
+	/** Copies the counters of the current frame to the snapshot.
+	 * @return the snapshot passed in, for chaining */
+	public Snapshot snapshot (Snapshot out) {
+		out.calls = calls;
+		out.drawCalls = drawCalls;
+		out.vertexCount = vertexCount;
+		out.textureBindings = textureBindings;
+		out.shaderSwitches = shaderSwitches;
+		out.uniformCalls = uniformCalls;
+		out.stateChanges = stateChanges;
+		out.redundantStateChanges = redundantStateChanges;
+		out.bytesUploaded = bytesUploaded;
+		out.glTime = glTime;
+		out.frameTime = frameStart == -1 ? 0 : TimeUtils.nanoTime() - frameStart;
+		out.callCounts.clear();
+		out.callCounts.putAll(callCounts);
+		return out;
+	}
+
+	/** @return the number of calls to the GL function with the specified name in the current frame, eg "glBindTexture" */
+	public int getCallCount (String function) {
+		return callCounts.get(function, 0);
+	}
+
+	/** Sets the counters of the current frame to zero. */
+	public void reset () {
+		calls = 0;
+		drawCalls = 0;
+		vertexCount = 0;
+		textureBindings = 0;
+		shaderSwitches = 0;
+		uniformCalls = 0;
+		stateChanges = 0;
+		redundantStateChanges = 0;
+		bytesUploaded = 0;
+		glTime = 0;
+		callCounts.clear();
+	}
+
+	/** Forgets the tracked GL state, so the next state change of each kind is not counted as redundant. Must be called if GL state
+	 * is changed without going through the profiler. */
+	public void resetState () {
+		activeTexture = program = arrayBuffer = elementArrayBuffer = framebuffer = UNKNOWN;
+		blendSrc = blendDst = depthFunc = depthMask = cullFace = UNKNOWN;
+		viewportX = UNKNOWN;
+		boundTextures.clear();
+		enabledCaps.clear();
+	}
+
+	/** Writes every GL call with its arguments to the file, one per line, until {@link #stopTrace()} is called. */
+	public void startTrace (FileHandle file) {
+		startTrace(file.writer(false));
+	}
+
+	/** Writes every GL call with its arguments to the writer, one per line, until {@link #stopTrace()} is called, which closes the
+	 * writer. */
+	public void startTrace (Writer writer) {
+		stopTrace();
+		trace = writer;
+	}
+
+	public void stopTrace () {
+		if (trace == null) return;
+		try {
+			trace.close();
+		} catch (IOException ignored) {
+		}
+		trace = null;
+	}
+
+	public boolean isTracing () {
+		return trace != null;
+	}
+
+	long begin (String function) {
+		calls++;
+		callCounts.getAndIncrement(function, 0, 1);
+		return timeCalls ? TimeUtils.nanoTime() : 0;
+	}
+
+	void end (long start) {
+		if (timeCalls) glTime += TimeUtils.nanoTime() - start;
+	}
+
+	void trace (String function, Object... args) {
+		if (trace == null) return;
+		StringBuilder buffer = traceBuffer;
+		buffer.setLength(0);
+		buffer.append(function).append('(');
+		for (int i = 0; i < args.length; i++) {
+			if (i > 0) buffer.append(", ");
+			Object arg = args[i];
+			if (arg instanceof Buffer) {
+				Buffer b = (Buffer)arg;
+				buffer.append("buffer[").append(b.position()).append(':').append(b.limit()).append(']');
+			} else if (arg instanceof int[])
+				buffer.append("int[").append(((int[])arg).length).append(']');
+			else if (arg instanceof float[])
+				buffer.append("float[").append(((float[])arg).length).append(']');
+			else if (arg instanceof String)
+				buffer.append('"').append(arg).append('"');
+			else
+				buffer.append(arg);
+		}
+		buffer.append(")\n");
+		writeTrace();
+	}
+
+	private void writeTrace () {
+		try {
+			trace.append(traceBuffer);
+		} catch (IOException ex) {
+			stopTrace();
+			throw new GdxRuntimeException("Error writing GL trace.", ex);
+		}
+	}
+
+	private void stateChange (boolean redundant) {
+		stateChanges++;
+		if (redundant) redundantStateChanges++;
+	}
+
+	void activeTexture (int texture) {
+		stateChange(texture == activeTexture);
+		activeTexture = texture;
+	}
+
+	void bindTexture (int target, int texture) {
+		textureBindings++;
+		if (activeTexture == UNKNOWN) {
+			stateChange(false);
+			return;
+		}
+		int key = (activeTexture - GL20.GL_TEXTURE0) << 16 | target & 0xFFFF;
+		stateChange(boundTextures.get(key, UNKNOWN) == texture);
+		boundTextures.put(key, texture);
+	}
+
+	void deleteTextures () {
+		boundTextures.clear();
+	}
+
+	void useProgram (int program) {
+		shaderSwitches++;
+		stateChange(program == this.program);
+		this.program = program;
+	}
+
+	void deleteProgram () {
+		program = UNKNOWN;
+	}
+
+	void bindBuffer (int target, int buffer) {
+		if (target == GL20.GL_ELEMENT_ARRAY_BUFFER) {
+			stateChange(buffer == elementArrayBuffer);
+			elementArrayBuffer = buffer;
+		} else {
+			stateChange(buffer == arrayBuffer);
+			arrayBuffer = buffer;
+		}
+	}
+
+	void deleteBuffers () {
+		arrayBuffer = elementArrayBuffer = UNKNOWN;
+	}
+
+	void bindFramebuffer (int framebuffer) {
+		stateChange(framebuffer == this.framebuffer);
+		this.framebuffer = framebuffer;
+	}
+
+	void deleteFramebuffers () {
+		framebuffer = UNKNOWN;
+	}
+
+	void enable (int cap, boolean enabled) {
+		int value = enabled ? 1 : 0;
+		stateChange(enabledCaps.get(cap, UNKNOWN) == value);
+		enabledCaps.put(cap, value);
+	}
+
+	void blendFunc (int src, int dst) {
+		stateChange(src == blendSrc && dst == blendDst);
+		blendSrc = src;
+		blendDst = dst;
+	}
+
+	void depthFunc (int func) {
+		stateChange(func == depthFunc);
+		depthFunc = func;
+	}
+
+	void depthMask (boolean flag) {
+		int value = flag ? 1 : 0;
+		stateChange(value == depthMask);
+		depthMask = value;
+	}
+
+	void cullFace (int mode) {
+		stateChange(mode == cullFace);
+		cullFace = mode;
+	}
+
+	void viewport (int x, int y, int width, int height) {
+		stateChange(x == viewportX && y == viewportY && width == viewportWidth && height == viewportHeight);
+		viewportX = x;
+		viewportY = y;
+		viewportWidth = width;
+		viewportHeight = height;
+	}
+
+	void draw (int count) {
+		drawCalls++;
+		vertexCount += count;
+	}
+
+	void uniform () {
+		uniformCalls++;
+	}
+
+	void upload (int bytes) {
+		bytesUploaded += bytes;
+	}
+
+	void uploadTexture (int width, int height, int format, int type, Buffer pixels) {
+		if (pixels == null) return;
+		int components;
+		switch (format) {
+		case GL20.GL_ALPHA:
+		case GL20.GL_LUMINANCE:
+		case GL20.GL_DEPTH_COMPONENT:
+			components = 1;
+			break;
+		case GL20.GL_LUMINANCE_ALPHA:
+			components = 2;
+			break;
+		case GL20.GL_RGB:
+			components = 3;
+			break;
+		default:
+			components = 4;
+		}
+		int bytesPerPixel;
+		switch (type) {
+		case GL20.GL_UNSIGNED_SHORT_5_6_5:
+		case GL20.GL_UNSIGNED_SHORT_4_4_4_4:
+		case GL20.GL_UNSIGNED_SHORT_5_5_5_1:
+			bytesPerPixel = 2;
+			break;
+		case GL20.GL_UNSIGNED_SHORT:
+		case GL20.GL_SHORT:
+			bytesPerPixel = components * 2;
+			break;
+		case GL20.GL_FLOAT:
+		case GL20.GL_UNSIGNED_INT:
+		case GL20.GL_INT:
+			bytesPerPixel = components * 4;
+			break;
+		default:
+			bytesPerPixel = components;
+		}
+		bytesUploaded += (long)width * height * bytesPerPixel;
+	}
+
+	/** The counters of one frame. */
+	static public class Snapshot {
+		public int calls, drawCalls, vertexCount, textureBindings, shaderSwitches, uniformCalls, stateChanges, redundantStateChanges;
+		public long bytesUploaded, glTime;
+		/** The nanoseconds between the start and end of the frame. */
+		public long frameTime;
+		final ObjectIntMap<String> callCounts = new ObjectIntMap<String>();
+
+		/** @return the number of calls to the GL function with the specified name, eg "glBindTexture" */
+		public int getCallCount (String function) {
+			return callCounts.get(function, 0);
+		}
+
+		/** @return the names of the GL functions that were called with their call counts */
+		public ObjectIntMap<String> getCallCounts () {
+			return callCounts;
+		}
+
+		public String toString () {
+			StringBuilder buffer = new StringBuilder(256);
+			buffer.append("calls: ").append(calls);
+			buffer.append(", draw calls: ").append(drawCalls);
+			buffer.append(", vertices: ").append(vertexCount);
+			buffer.append(", texture bindings: ").append(textureBindings);
+			buffer.append(", shader switches: ").append(shaderSwitches);
+			buffer.append(", uniforms: ").append(uniformCalls);
+			buffer.append(", state changes: ").append(stateChanges);
+			buffer.append(" (").append(redundantStateChanges).append(" redundant)");
+			buffer.append(", bytes uploaded: ").append(bytesUploaded);
+			buffer.append(", frame time: ").append(frameTime / 1000000f).append("ms");
+			if (glTime > 0) buffer.append(", gl time: ").append(glTime / 1000000f).append("ms");
+			for (Entry<String> entry : callCounts.entries())
+				buffer.append("\n").append(entry.key).append(": ").append(entry.value);
+			return buffer.toString();
+		}
+	}
+}
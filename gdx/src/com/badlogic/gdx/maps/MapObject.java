@@ -1,6 +1,7 @@
 package com.badlogic.gdx.maps;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
 
 /**
  * Generic Map entity with basic attributes like name, opacity, color 
@@ -74,4 +75,24 @@ public class MapObject {
 	public MapProperties getProperties() {
 		return properties;
 	}
+
+	/**
+	 * Computes the axis aligned bounds of the object's shape, used by {@link MapObjects} to find objects by region. Objects
+	 * without bounds are returned by every region query.
+	 * 
+	 * @param out rectangle to store the bounds in
+	 * @return out, or null if the object has no bounds
+	 */
+	public Rectangle getBounds(Rectangle out) {
+		return null;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @return whether the point lies within the object's shape, false if the object has no shape
+	 */
+	public boolean contains(float x, float y) {
+		return false;
+	}
 }
@@ -1,16 +1,35 @@
 package com.badlogic.gdx.maps;
 
+import java.util.Comparator;
 import java.util.Iterator;
 
+import com.badlogic.gdx.math.DynamicTree;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.SpatialIndex.QueryCallback;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.Sort;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 
 /**
  * @brief Collection of MapObject instances
+ * 
+ * Objects can be found by region or point with {@link #getInRegion(Rectangle, Array)} and {@link #getAtPoint(float, float, Array)},
+ * which use a {@link DynamicTree} over the {@link MapObject#getBounds(Rectangle) bounds} of the objects. The tree is built by the
+ * first query and kept up to date when objects are added or removed. Shapes don't notify the collection when they change, so
+ * {@link #updateBounds(MapObject)} must be called after moving or resizing an object.
  */
 public class MapObjects implements Iterable<MapObject> {
 
 	private Array<MapObject> objects;
+	
+	private DynamicTree<MapObject> index;
+	private ObjectIntMap<MapObject> proxies;
+	private ObjectIntMap<MapObject> orders;
+	private Array<MapObject> unbounded;
+	private int nextOrder;
+	private Rectangle bounds;
+	private IndexQuery query;
 
 	/**
 	 * Creates and empty set of MapObject instances
@@ -45,20 +64,113 @@ public class MapObjects implements Iterable<MapObject> {
 	 */
 	public void add(MapObject object) {
 		this.objects.add(object);
+		if (index != null) {
+			orders.put(object, nextOrder++);
+			addToIndex(object);
+		}
 	}
 	
 	/**
 	 * @param index removes MapObject instance at index
 	 */
 	public void remove(int index) {
-		objects.removeIndex(index);
+		MapObject object = objects.removeIndex(index);
+		if (this.index != null) {
+			removeFromIndex(object);
+			orders.remove(object, 0);
+		}
 	}
 	
 	/**
 	 * @param object instance to be removed
 	 */
 	public void remove(MapObject object) {
-		objects.removeValue(object, true);
+		if (objects.removeValue(object, true) && index != null) {
+			removeFromIndex(object);
+			orders.remove(object, 0);
+		}
+	}
+	
+	/**
+	 * Updates the object in the spatial index, must be called after the object's shape was moved or resized
+	 * 
+	 * @param object instance whose bounds changed
+	 */
+	public void updateBounds(MapObject object) {
+		if (index == null || !orders.containsKey(object)) return;
+		int proxy = proxies.get(object, -1);
+		if (proxy != -1 && object.getBounds(bounds) != null) {
+			index.update(proxy, bounds);
+			return;
+		}
+		removeFromIndex(object);
+		addToIndex(object);
+	}
+	
+	/**
+	 * Finds the objects whose bounds overlap the region. Objects without bounds are always returned.
+	 * 
+	 * @param region the region to search, in map coordinates
+	 * @param fill collection to put the returned objects in
+	 * @return fill, containing the objects in the order they were added
+	 */
+	public Array<MapObject> getInRegion(Rectangle region, Array<MapObject> fill) {
+		fill.clear();
+		buildIndex();
+		query.set(region, fill);
+		index.query(region, query);
+		fill.addAll(unbounded);
+		query.results = null;
+		if (fill.size > 1) Sort.instance().sort(fill, query);
+		return fill;
+	}
+	
+	/**
+	 * Finds the objects whose shape contains the point, see {@link MapObject#contains(float, float)}.
+	 * 
+	 * @param x
+	 * @param y
+	 * @param fill collection to put the returned objects in
+	 * @return fill, containing the objects in the order they were added
+	 */
+	public Array<MapObject> getAtPoint(float x, float y, Array<MapObject> fill) {
+		fill.clear();
+		buildIndex();
+		query.set(x, y, fill);
+		index.query(query.region, query);
+		query.results = null;
+		if (fill.size > 1) Sort.instance().sort(fill, query);
+		return fill;
+	}
+	
+	private void buildIndex() {
+		if (index != null) return;
+		index = new DynamicTree<MapObject>(0.1f, Math.max(16, objects.size));
+		proxies = new ObjectIntMap<MapObject>(Math.max(16, objects.size));
+		orders = new ObjectIntMap<MapObject>(Math.max(16, objects.size));
+		unbounded = new Array<MapObject>();
+		bounds = new Rectangle();
+		query = new IndexQuery();
+		for (int i = 0, n = objects.size; i < n; i++) {
+			MapObject object = objects.get(i);
+			orders.put(object, nextOrder++);
+			addToIndex(object);
+		}
+	}
+	
+	private void addToIndex(MapObject object) {
+		if (object.getBounds(bounds) != null)
+			proxies.put(object, index.add(object, bounds));
+		else
+			unbounded.add(object);
+	}
+	
+	private void removeFromIndex(MapObject object) {
+		int proxy = proxies.remove(object, -1);
+		if (proxy != -1)
+			index.remove(proxy);
+		else
+			unbounded.removeValue(object, true);
 	}
 	
 	/**
@@ -99,4 +211,47 @@ public class MapObjects implements Iterable<MapObject> {
 		return objects.iterator();
 	}
 	
+	/**
+	 * @brief Collects the results of a region or point query and sorts them by the order the objects were added
+	 */
+	private class IndexQuery implements QueryCallback<MapObject>, Comparator<MapObject> {
+		final Rectangle region = new Rectangle();
+		final Rectangle objectBounds = new Rectangle();
+		Array<MapObject> results;
+		boolean point;
+		
+		void set(Rectangle region, Array<MapObject> results) {
+			this.region.set(region);
+			this.results = results;
+			point = false;
+		}
+		
+		void set(float x, float y, Array<MapObject> results) {
+			region.set(x, y, 0, 0);
+			this.results = results;
+			point = true;
+		}
+		
+		@Override
+		public boolean reportProxy(int proxy, MapObject object) {
+			// the tree stores enlarged bounds, so check the exact ones
+			if (point) {
+				if (object.contains(region.x, region.y)) results.add(object);
+			} else if (object.getBounds(objectBounds) != null && overlaps(objectBounds, region)) {
+				results.add(object);
+			}
+			return true;
+		}
+		
+		private boolean overlaps(Rectangle a, Rectangle b) {
+			return a.x <= b.x + b.width && a.x + a.width >= b.x && a.y <= b.y + b.height && a.y + a.height >= b.y;
+		}
+		
+		@Override
+		public int compare(MapObject a, MapObject b) {
+			int orderA = orders.get(a, 0), orderB = orders.get(b, 0);
+			return orderA < orderB ? -1 : (orderA > orderB ? 1 : 0);
+		}
+	}
+	
 }
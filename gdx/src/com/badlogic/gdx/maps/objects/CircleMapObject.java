@@ -2,6 +2,7 @@ package com.badlogic.gdx.maps.objects;
 
 import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Rectangle;
 
 /**
  * @brief represents circle shaped map objects
@@ -35,4 +36,14 @@ public class CircleMapObject extends MapObject {
 		super();
 		circle = new Circle(x, y, radius);
 	}
+
+	@Override
+	public Rectangle getBounds(Rectangle out) {
+		return out.set(circle.x - circle.radius, circle.y - circle.radius, circle.radius * 2, circle.radius * 2);
+	}
+
+	@Override
+	public boolean contains(float x, float y) {
+		return circle.contains(x, y);
+	}
 }
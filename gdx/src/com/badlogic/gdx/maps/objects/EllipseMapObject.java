@@ -32,5 +32,19 @@ public class EllipseMapObject extends MapObject {
 		super();
 		ellipse = new Ellipse(x, y, width, height);
 	}
+
+	/**
+	 * The ellipse's position is its lower left corner.
+	 */
+	@Override
+	public Rectangle getBounds(Rectangle out) {
+		return out.set(ellipse.x, ellipse.y, ellipse.width, ellipse.height);
+	}
+
+	@Override
+	public boolean contains(float x, float y) {
+		// Ellipse#contains expects the position to be the center
+		return ellipse.contains(x - ellipse.width * 0.5f, y - ellipse.height * 0.5f);
+	}
 	
 }
@@ -5,6 +5,7 @@ package com.badlogic.gdx.maps.objects;
 
 import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Rectangle;
 
 /**
  * @brief represents polygon map objects
@@ -47,5 +48,17 @@ public class PolygonMapObject extends MapObject {
 	public PolygonMapObject(Polygon polygon) {
 		this.polygon = polygon;
 	}
+
+	@Override
+	public Rectangle getBounds(Rectangle out) {
+		if (polygon.getVertices().length < 2) return null;
+		return out.set(polygon.getBoundingRectangle());
+	}
+
+	@Override
+	public boolean contains(float x, float y) {
+		if (polygon.getVertices().length < 6) return false;
+		return polygon.contains(x, y);
+	}
 	
 }
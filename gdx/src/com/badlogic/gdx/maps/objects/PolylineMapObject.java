@@ -2,6 +2,7 @@ package com.badlogic.gdx.maps.objects;
 
 import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.math.Polyline;
+import com.badlogic.gdx.math.Rectangle;
 
 /**
  * @brief Represents polyline map objects
@@ -44,5 +45,19 @@ public class PolylineMapObject extends MapObject {
 	public PolylineMapObject(Polyline polyline) {
 		this.polyline = polyline;
 	}
+
+	@Override
+	public Rectangle getBounds(Rectangle out) {
+		if (polyline.getVertices().length < 2) return null;
+		float[] vertices = polyline.getTransformedVertices();
+		float minX = vertices[0], minY = vertices[1], maxX = minX, maxY = minY;
+		for (int i = 2, n = vertices.length; i < n; i += 2) {
+			minX = Math.min(minX, vertices[i]);
+			minY = Math.min(minY, vertices[i + 1]);
+			maxX = Math.max(maxX, vertices[i]);
+			maxY = Math.max(maxY, vertices[i + 1]);
+		}
+		return out.set(minX, minY, maxX - minX, maxY - minY);
+	}
 	
 }
@@ -34,5 +34,15 @@ public class RectangleMapObject extends MapObject {
 		super();
 		rectangle = new Rectangle(x, y, width, height);
 	}
+
+	@Override
+	public Rectangle getBounds(Rectangle out) {
+		return out.set(rectangle);
+	}
+
+	@Override
+	public boolean contains(float x, float y) {
+		return rectangle.contains(x, y);
+	}
 	
 }
@@ -2,6 +2,8 @@ package com.badlogic.gdx.maps.objects;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 
 /**
  * @brief Represents a map object containing a texture (region)
@@ -145,4 +147,47 @@ public class TextureMapObject extends MapObject {
 		super();
 		this.textureRegion = textureRegion;
 	}
+
+	/**
+	 * The bounds of the region drawn at the object's position, scaled and rotated around its origin.
+	 */
+	@Override
+	public Rectangle getBounds(Rectangle out) {
+		if (textureRegion == null) return null;
+		// corners relative to the origin
+		float x1 = -originX * scaleX, y1 = -originY * scaleY;
+		float x2 = (textureRegion.getRegionWidth() - originX) * scaleX, y2 = (textureRegion.getRegionHeight() - originY) * scaleY;
+		float minX, minY, maxX, maxY;
+		if (rotation == 0) {
+			minX = Math.min(x1, x2);
+			minY = Math.min(y1, y2);
+			maxX = Math.max(x1, x2);
+			maxY = Math.max(y1, y2);
+		} else {
+			float cos = MathUtils.cosDeg(rotation), sin = MathUtils.sinDeg(rotation);
+			float ax = cos * x1, ay = sin * x1, bx = cos * x2, by = sin * x2;
+			float cx = -sin * y1, cy = cos * y1, dx = -sin * y2, dy = cos * y2;
+			minX = Math.min(ax, bx) + Math.min(cx, dx);
+			maxX = Math.max(ax, bx) + Math.max(cx, dx);
+			minY = Math.min(ay, by) + Math.min(cy, dy);
+			maxY = Math.max(ay, by) + Math.max(cy, dy);
+		}
+		return out.set(x + originX + minX, y + originY + minY, maxX - minX, maxY - minY);
+	}
+
+	@Override
+	public boolean contains(float x, float y) {
+		if (textureRegion == null) return false;
+		// transform the point into the unrotated space relative to the origin
+		float px = x - this.x - originX, py = y - this.y - originY;
+		if (rotation != 0) {
+			float cos = MathUtils.cosDeg(rotation), sin = MathUtils.sinDeg(rotation);
+			float rx = cos * px + sin * py;
+			py = -sin * px + cos * py;
+			px = rx;
+		}
+		float x1 = -originX * scaleX, y1 = -originY * scaleY;
+		float x2 = (textureRegion.getRegionWidth() - originX) * scaleX, y2 = (textureRegion.getRegionHeight() - originY) * scaleY;
+		return px >= Math.min(x1, x2) && px <= Math.max(x1, x2) && py >= Math.min(y1, y2) && py <= Math.max(y1, y2);
+	}
 }
@@ -4,12 +4,14 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapObjects;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 
 public abstract class BatchTiledMapRenderer implements TiledMapRenderer, Disposable {
@@ -24,6 +26,10 @@ public abstract class BatchTiledMapRenderer implements TiledMapRenderer, Disposa
 
 	protected boolean ownsSpriteBatch;
 	
+	private final Array<MapObject> visibleObjects = new Array<MapObject>();
+	
+	private final Rectangle objectBounds = new Rectangle();
+	
 	public TiledMap getMap() {
 		return map;			
 	}
@@ -91,9 +97,7 @@ public abstract class BatchTiledMapRenderer implements TiledMapRenderer, Disposa
 				if (layer instanceof TiledMapTileLayer) {
 					renderTileLayer((TiledMapTileLayer) layer);
 				} else {
-					for (MapObject object : layer.getObjects()) {
-						renderObject(object);
-					}
+					renderObjects(layer);
 				}					
 			}				
 		}
@@ -110,15 +114,29 @@ public abstract class BatchTiledMapRenderer implements TiledMapRenderer, Disposa
 				if (layer instanceof TiledMapTileLayer) {
 					renderTileLayer((TiledMapTileLayer) layer);
 				} else {
-					for (MapObject object : layer.getObjects()) {
-						renderObject(object);
-					}
+					renderObjects(layer);
 				}					
 			}				
 		}		
 		spriteBatch.end();
 	}
 
+	/**
+	 * Renders the objects of the layer that overlap the view bounds, found through the spatial index of the layer's
+	 * {@link MapObjects}. Object coordinates are in map pixels, so the view bounds are divided by the unit scale.
+	 * 
+	 * @param layer the object layer to render
+	 */
+	protected void renderObjects (MapLayer layer) {
+		objectBounds.set(viewBounds.x / unitScale, viewBounds.y / unitScale, viewBounds.width / unitScale,
+			viewBounds.height / unitScale);
+		Array<MapObject> objects = layer.getObjects().getInRegion(objectBounds, visibleObjects);
+		for (int i = 0, n = objects.size; i < n; i++) {
+			renderObject(objects.get(i));
+		}
+		objects.clear();
+	}
+
 	@Override
 	public void dispose () {
 		if (ownsSpriteBatch) {
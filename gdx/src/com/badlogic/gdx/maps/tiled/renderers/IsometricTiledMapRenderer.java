@@ -24,6 +24,7 @@ import static com.badlogic.gdx.graphics.g2d.SpriteBatch.Y4;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTile;
@@ -57,6 +58,16 @@ public class IsometricTiledMapRenderer extends  BatchTiledMapRenderer {
 		
 	}
 	
+	/**
+	 * Renders all objects of the layer, isometric object coordinates don't map to the view bounds
+	 */
+	@Override
+	protected void renderObjects (MapLayer layer) {
+		for (MapObject object : layer.getObjects()) {
+			renderObject(object);
+		}
+	}
+	
 	@Override
 	public void renderTileLayer (TiledMapTileLayer layer) {
 		final Color batchColor = spriteBatch.getColor();
@@ -0,0 +1,422 @@
+/*******************************************************************************
+ * Copyright 2013 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled.renderers;
+
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.C1;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.C2;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.C3;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.C4;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.U1;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.U2;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.U3;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.U4;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.V1;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.V2;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.V3;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.V4;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.X1;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.X2;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.X3;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.X4;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.Y1;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.Y2;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.Y3;
+import static com.badlogic.gdx.graphics.g2d.SpriteBatch.Y4;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Renders orthogonal tile layers like {@link OrthogonalTiledMapRenderer}, but keeps their geometry in static meshes so it
+ * doesn't have to be computed and uploaded every frame. Each layer is split into chunks of cells, each chunk is built once and
+ * only the chunks that overlap the view bounds are drawn. Cells with an {@link AnimatedTiledMapTile} are not cached, they are
+ * drawn with the sprite batch every frame.
+ * <p>
+ * The renderer doesn't notice when cells of a layer are changed, {@link #invalidate(TiledMapTileLayer, int, int)} must be called
+ * for changed cells so their chunk is rebuilt. Chunks are also rebuilt if the batch color or the layer opacity changes.
+ * <p>
+ * The chunks are drawn with the shader of the sprite batch, so a custom shader must not need other vertex attributes than
+ * position, color and texture coordinates. */
+public class OrthogonalCachedTiledMapRenderer extends BatchTiledMapRenderer {
+	private final int chunkSize;
+	private final ObjectMap<TiledMapTileLayer, LayerCache> layerCaches = new ObjectMap<TiledMapTileLayer, LayerCache>();
+	private final float[] vertices = new float[20];
+	private final Array<Texture> chunkTextures = new Array<Texture>();
+	private float[] chunkVertices = new float[0];
+
+	public OrthogonalCachedTiledMapRenderer (TiledMap map) {
+		this(map, 1.0f, 32);
+	}
+
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, SpriteBatch spriteBatch) {
+		this(map, 1.0f, spriteBatch, 32);
+	}
+
+	/** @param chunkSize the number of cells along each side of a chunk, at most 128 */
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, float unitScale, int chunkSize) {
+		super(map, unitScale);
+		this.chunkSize = checkChunkSize(chunkSize);
+	}
+
+	/** @param chunkSize the number of cells along each side of a chunk, at most 128 */
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, float unitScale, SpriteBatch spriteBatch, int chunkSize) {
+		super(map, unitScale, spriteBatch);
+		this.chunkSize = checkChunkSize(chunkSize);
+	}
+
+	static private int checkChunkSize (int chunkSize) {
+		// the vertices of a chunk must be addressable with short indices
+		if (chunkSize < 1 || chunkSize > 128) throw new IllegalArgumentException("chunkSize must be >= 1 and <= 128: " + chunkSize);
+		return chunkSize;
+	}
+
+	@Override
+	public void setMap (TiledMap map) {
+		super.setMap(map);
+		clearCaches();
+	}
+
+	/** Rebuilds the chunk containing the cell before it is drawn next. Must be called after changing the cell. */
+	public void invalidate (TiledMapTileLayer layer, int x, int y) {
+		LayerCache cache = layerCaches.get(layer);
+		if (cache == null) return;
+		if (x < 0 || y < 0 || x >= layer.getWidth() || y >= layer.getHeight()) return;
+		cache.chunks[y / chunkSize * cache.chunksX + x / chunkSize].dirty = true;
+	}
+
+	/** Rebuilds all chunks of the layer before they are drawn next. */
+	public void invalidate (TiledMapTileLayer layer) {
+		LayerCache cache = layerCaches.get(layer);
+		if (cache == null) return;
+		for (int i = 0, n = cache.chunks.length; i < n; i++)
+			cache.chunks[i].dirty = true;
+	}
+
+	/** Releases the meshes of all layers, they are built again when the layers are drawn next. */
+	public void clearCaches () {
+		for (LayerCache cache : layerCaches.values())
+			cache.dispose();
+		layerCaches.clear();
+	}
+
+	@Override
+	public void renderObject (MapObject object) {
+
+	}
+
+	@Override
+	public void renderTileLayer (TiledMapTileLayer layer) {
+		final Color batchColor = spriteBatch.getColor();
+		final float color = Color.toFloatBits(batchColor.r, batchColor.g, batchColor.b, batchColor.a * layer.getOpacity());
+
+		LayerCache cache = layerCaches.get(layer);
+		if (cache == null) {
+			cache = new LayerCache(layer, chunkSize);
+			layerCaches.put(layer, cache);
+		}
+
+		spriteBatch.flush();
+		if (spriteBatch.isBlendingEnabled()) {
+			GLStateCache.enable(GL10.GL_BLEND);
+			int srcFunc = spriteBatch.getBlendSrcFunc();
+			if (srcFunc != -1) GLStateCache.blendFunc(srcFunc, spriteBatch.getBlendDstFunc());
+		} else
+			GLStateCache.disable(GL10.GL_BLEND);
+		ShaderProgram shader = spriteBatch.getShader();
+
+		final float minX = viewBounds.x, minY = viewBounds.y;
+		final float maxX = minX + viewBounds.width, maxY = minY + viewBounds.height;
+		final Chunk[] chunks = cache.chunks;
+		for (int i = 0, n = chunks.length; i < n; i++) {
+			Chunk chunk = chunks[i];
+			if (chunk.dirty || chunk.color != color) buildChunk(layer, chunk, color);
+			if (chunk.maxX < minX || chunk.minX > maxX || chunk.maxY < minY || chunk.minY > maxY) continue;
+
+			int offset = 0;
+			for (int t = 0, tn = chunk.textureCount; t < tn; t++) {
+				chunk.textures[t].bind();
+				int count = chunk.counts[t];
+				if (shader != null)
+					chunk.mesh.render(shader, GL10.GL_TRIANGLES, offset, count);
+				else
+					chunk.mesh.render(GL10.GL_TRIANGLES, offset, count);
+				offset += count;
+			}
+
+			IntArray animatedCells = chunk.animatedCells;
+			for (int c = 0, cn = animatedCells.size; c < cn; c += 2) {
+				int x = animatedCells.get(c), y = animatedCells.get(c + 1);
+				Cell cell = layer.getCell(x, y);
+				TextureRegion region = cell.getTile().getTextureRegion();
+				writeTile(cell, region, x * layer.getTileWidth() * unitScale, y * layer.getTileHeight() * unitScale, color, vertices,
+					0);
+				spriteBatch.draw(region.getTexture(), vertices, 0, 20);
+			}
+		}
+	}
+
+	/** Collects the animated cells of the chunk and writes the vertices of all other cells to its mesh, grouped by texture. */
+	private void buildChunk (TiledMapTileLayer layer, Chunk chunk, float color) {
+		chunk.dirty = false;
+		chunk.color = color;
+		chunk.animatedCells.clear();
+
+		final float tileWidth = layer.getTileWidth() * unitScale;
+		final float tileHeight = layer.getTileHeight() * unitScale;
+		final int col1 = chunk.x, col2 = Math.min(layer.getWidth(), col1 + chunkSize);
+		final int row1 = chunk.y, row2 = Math.min(layer.getHeight(), row1 + chunkSize);
+
+		// the bounds start with the cells of the chunk and grow with tiles that are larger than a cell
+		chunk.minX = col1 * tileWidth;
+		chunk.minY = row1 * tileHeight;
+		chunk.maxX = col2 * tileWidth;
+		chunk.maxY = row2 * tileHeight;
+
+		Array<Texture> textures = chunkTextures;
+		textures.clear();
+		int tileCount = 0;
+		for (int row = row1; row < row2; row++) {
+			for (int col = col1; col < col2; col++) {
+				Cell cell = layer.getCell(col, row);
+				if (cell == null) continue;
+				TiledMapTile tile = cell.getTile();
+				if (tile == null) continue;
+				if (tile instanceof AnimatedTiledMapTile) {
+					chunk.animatedCells.add(col);
+					chunk.animatedCells.add(row);
+					// an animated tile can't be measured once, assume it covers its cell
+					continue;
+				}
+				Texture texture = tile.getTextureRegion().getTexture();
+				if (!textures.contains(texture, true)) textures.add(texture);
+				tileCount++;
+			}
+		}
+
+		if (chunkVertices.length < tileCount * 20) chunkVertices = new float[tileCount * 20];
+		float[] chunkVertices = this.chunkVertices;
+		if (chunk.textures.length < textures.size) {
+			chunk.textures = new Texture[textures.size];
+			chunk.counts = new int[textures.size];
+		}
+		chunk.textureCount = textures.size;
+
+		int idx = 0;
+		for (int t = 0, tn = textures.size; t < tn; t++) {
+			Texture texture = textures.get(t);
+			int start = idx;
+			for (int row = row1; row < row2; row++) {
+				for (int col = col1; col < col2; col++) {
+					Cell cell = layer.getCell(col, row);
+					if (cell == null) continue;
+					TiledMapTile tile = cell.getTile();
+					if (tile == null || tile instanceof AnimatedTiledMapTile) continue;
+					TextureRegion region = tile.getTextureRegion();
+					if (region.getTexture() != texture) continue;
+					writeTile(cell, region, col * tileWidth, row * tileHeight, color, chunkVertices, idx);
+					chunk.maxX = Math.max(chunk.maxX, chunkVertices[idx + X3]);
+					chunk.maxY = Math.max(chunk.maxY, chunkVertices[idx + Y3]);
+					idx += 20;
+				}
+			}
+			chunk.textures[t] = texture;
+			chunk.counts[t] = (idx - start) / 20 * 6;
+		}
+		textures.clear();
+
+		if (tileCount == 0) return;
+		Mesh mesh = chunk.mesh;
+		if (mesh == null || mesh.getMaxVertices() < tileCount * 4) {
+			if (mesh != null) mesh.dispose();
+			mesh = chunk.mesh = createMesh(tileCount);
+		}
+		mesh.setVertices(chunkVertices, 0, idx);
+	}
+
+	static private Mesh createMesh (int tiles) {
+		Mesh mesh = new Mesh(true, tiles * 4, tiles * 6, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE), new VertexAttribute(
+				Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		int length = tiles * 6;
+		short[] indices = new short[length];
+		short j = 0;
+		for (int i = 0; i < length; i += 6, j += 4) {
+			indices[i + 0] = j;
+			indices[i + 1] = (short)(j + 1);
+			indices[i + 2] = (short)(j + 2);
+			indices[i + 3] = (short)(j + 2);
+			indices[i + 4] = (short)(j + 3);
+			indices[i + 5] = j;
+		}
+		mesh.setIndices(indices);
+		return mesh;
+	}
+
+	/** Writes the 4 vertices of the tile with the bottom left corner at x,y, applying the flip and rotation of the cell. */
+	private void writeTile (Cell cell, TextureRegion region, float x, float y, float color, float[] vertices, int offset) {
+		float x1 = x;
+		float y1 = y;
+		float x2 = x1 + region.getRegionWidth() * unitScale;
+		float y2 = y1 + region.getRegionHeight() * unitScale;
+
+		float u1 = region.getU();
+		float v1 = region.getV2();
+		float u2 = region.getU2();
+		float v2 = region.getV();
+
+		vertices[offset + X1] = x1;
+		vertices[offset + Y1] = y1;
+		vertices[offset + C1] = color;
+		vertices[offset + X2] = x1;
+		vertices[offset + Y2] = y2;
+		vertices[offset + C2] = color;
+		vertices[offset + X3] = x2;
+		vertices[offset + Y3] = y2;
+		vertices[offset + C3] = color;
+		vertices[offset + X4] = x2;
+		vertices[offset + Y4] = y1;
+		vertices[offset + C4] = color;
+
+		// texture coordinates of the corners, counter clockwise from the bottom left
+		float cu1 = u1, cv1 = v1, cu2 = u1, cv2 = v2, cu3 = u2, cv3 = v2, cu4 = u2, cv4 = v1;
+		if (cell.getFlipHorizontally()) {
+			float temp = cu1;
+			cu1 = cu3;
+			cu3 = temp;
+			temp = cu2;
+			cu2 = cu4;
+			cu4 = temp;
+		}
+		if (cell.getFlipVertically()) {
+			float temp = cv1;
+			cv1 = cv3;
+			cv3 = temp;
+			temp = cv2;
+			cv2 = cv4;
+			cv4 = temp;
+		}
+		switch (cell.getRotation()) {
+		case Cell.ROTATE_90: {
+			float tempU = cu1, tempV = cv1;
+			cu1 = cu2;
+			cv1 = cv2;
+			cu2 = cu3;
+			cv2 = cv3;
+			cu3 = cu4;
+			cv3 = cv4;
+			cu4 = tempU;
+			cv4 = tempV;
+			break;
+		}
+		case Cell.ROTATE_180: {
+			float temp = cu1;
+			cu1 = cu3;
+			cu3 = temp;
+			temp = cu2;
+			cu2 = cu4;
+			cu4 = temp;
+			temp = cv1;
+			cv1 = cv3;
+			cv3 = temp;
+			temp = cv2;
+			cv2 = cv4;
+			cv4 = temp;
+			break;
+		}
+		case Cell.ROTATE_270: {
+			float tempU = cu1, tempV = cv1;
+			cu1 = cu4;
+			cv1 = cv4;
+			cu4 = cu3;
+			cv4 = cv3;
+			cu3 = cu2;
+			cv3 = cv2;
+			cu2 = tempU;
+			cv2 = tempV;
+			break;
+		}
+		}
+		vertices[offset + U1] = cu1;
+		vertices[offset + V1] = cv1;
+		vertices[offset + U2] = cu2;
+		vertices[offset + V2] = cv2;
+		vertices[offset + U3] = cu3;
+		vertices[offset + V3] = cv3;
+		vertices[offset + U4] = cu4;
+		vertices[offset + V4] = cv4;
+	}
+
+	@Override
+	public void dispose () {
+		clearCaches();
+		super.dispose();
+	}
+
+	static private class LayerCache {
+		final int chunksX;
+		final Chunk[] chunks;
+
+		LayerCache (TiledMapTileLayer layer, int chunkSize) {
+			chunksX = (layer.getWidth() + chunkSize - 1) / chunkSize;
+			int chunksY = (layer.getHeight() + chunkSize - 1) / chunkSize;
+			chunks = new Chunk[chunksX * chunksY];
+			for (int y = 0, i = 0; y < chunksY; y++)
+				for (int x = 0; x < chunksX; x++, i++)
+					chunks[i] = new Chunk(x * chunkSize, y * chunkSize);
+		}
+
+		void dispose () {
+			for (int i = 0, n = chunks.length; i < n; i++)
+				if (chunks[i].mesh != null) chunks[i].mesh.dispose();
+		}
+	}
+
+	static private class Chunk {
+		/** The first column and row of the chunk. **/
+		final int x, y;
+		Mesh mesh;
+		Texture[] textures = new Texture[1];
+		int[] counts = new int[1];
+		int textureCount;
+		/** The column and row of each cell with an animated tile. **/
+		final IntArray animatedCells = new IntArray();
+		float minX, minY, maxX, maxY;
+		float color;
+		boolean dirty = true;
+
+		Chunk (int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+}
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.utils.FloatArray;
+
+/** Transforms many vectors, normals, bounding boxes or quaternions stored in float arrays at once. These are pure Java versions of
+ * the bulk methods in {@link Matrix4}, such as {@link Matrix4#mulVec(float[], float[], int, int, int)}, without the JNI overhead
+ * that dominates small batches, and also work on GWT.
+ * <p>
+ * The matrix is read into locals once and each loop body only does arithmetic on array elements, which lets the JIT unroll the
+ * loops and, for the structure of arrays variants with a stride of 1, vectorize them. Interleaved data is given as an offset to
+ * the first element, the number of elements and the stride in floats between consecutive elements, so vertex data can be
+ * transformed in place. */
+public final class BatchMath {
+	private BatchMath () {
+	}
+
+	/** Multiplies 2D points with the matrix, as {@link Vector2#mul(Matrix3)} does.
+	 * @param stride the number of floats between consecutive points, must be >= 2 */
+	static public void mulVec2 (Matrix3 matrix, float[] vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix3.M00], m01 = m[Matrix3.M01], m02 = m[Matrix3.M02];
+		float m10 = m[Matrix3.M10], m11 = m[Matrix3.M11], m12 = m[Matrix3.M12];
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs[i], y = vecs[i + 1];
+			vecs[i] = x * m00 + y * m01 + m02;
+			vecs[i + 1] = x * m10 + y * m11 + m12;
+		}
+	}
+
+	/** Multiplies all 2D points in the array with the matrix.
+	 * @see #mulVec2(Matrix3, float[], int, int, int) */
+	static public void mulVec2 (Matrix3 matrix, FloatArray vecs, int stride) {
+		mulVec2(matrix, vecs.items, 0, vecs.size / stride, stride);
+	}
+
+	/** Multiplies 2D points in the buffer with the matrix. The buffer's position and limit are not used or changed.
+	 * @see #mulVec2(Matrix3, float[], int, int, int) */
+	static public void mulVec2 (Matrix3 matrix, FloatBuffer vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix3.M00], m01 = m[Matrix3.M01], m02 = m[Matrix3.M02];
+		float m10 = m[Matrix3.M10], m11 = m[Matrix3.M11], m12 = m[Matrix3.M12];
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs.get(i), y = vecs.get(i + 1);
+			vecs.put(i, x * m00 + y * m01 + m02);
+			vecs.put(i + 1, x * m10 + y * m11 + m12);
+		}
+	}
+
+	/** Multiplies 3D points with the matrix, as {@link Vector3#mul(Matrix4)} does. This is the same as
+	 * {@link Matrix4#mulVec(float[], float[], int, int, int)}.
+	 * @param stride the number of floats between consecutive points, must be >= 3 */
+	static public void mulVec3 (Matrix4 matrix, float[] vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m02 = m[Matrix4.M02], m03 = m[Matrix4.M03];
+		float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m12 = m[Matrix4.M12], m13 = m[Matrix4.M13];
+		float m20 = m[Matrix4.M20], m21 = m[Matrix4.M21], m22 = m[Matrix4.M22], m23 = m[Matrix4.M23];
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs[i], y = vecs[i + 1], z = vecs[i + 2];
+			vecs[i] = x * m00 + y * m01 + z * m02 + m03;
+			vecs[i + 1] = x * m10 + y * m11 + z * m12 + m13;
+			vecs[i + 2] = x * m20 + y * m21 + z * m22 + m23;
+		}
+	}
+
+	/** Multiplies all 3D points in the array with the matrix.
+	 * @see #mulVec3(Matrix4, float[], int, int, int) */
+	static public void mulVec3 (Matrix4 matrix, FloatArray vecs, int stride) {
+		mulVec3(matrix, vecs.items, 0, vecs.size / stride, stride);
+	}
+
+	/** Multiplies 3D points in the buffer with the matrix, eg the positions in {@link com.badlogic.gdx.graphics.Mesh#getVerticesBuffer()}.
+	 * The buffer's position and limit are not used or changed.
+	 * @see #mulVec3(Matrix4, float[], int, int, int) */
+	static public void mulVec3 (Matrix4 matrix, FloatBuffer vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m02 = m[Matrix4.M02], m03 = m[Matrix4.M03];
+		float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m12 = m[Matrix4.M12], m13 = m[Matrix4.M13];
+		float m20 = m[Matrix4.M20], m21 = m[Matrix4.M21], m22 = m[Matrix4.M22], m23 = m[Matrix4.M23];
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs.get(i), y = vecs.get(i + 1), z = vecs.get(i + 2);
+			vecs.put(i, x * m00 + y * m01 + z * m02 + m03);
+			vecs.put(i + 1, x * m10 + y * m11 + z * m12 + m13);
+			vecs.put(i + 2, x * m20 + y * m21 + z * m22 + m23);
+		}
+	}
+
+	/** Multiplies 3D points stored as a structure of arrays with the matrix. The loop has a stride of 1, so the JIT can vectorize
+	 * it. */
+	static public void mulVec3 (Matrix4 matrix, float[] xs, float[] ys, float[] zs, int offset, int count) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m02 = m[Matrix4.M02], m03 = m[Matrix4.M03];
+		float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m12 = m[Matrix4.M12], m13 = m[Matrix4.M13];
+		float m20 = m[Matrix4.M20], m21 = m[Matrix4.M21], m22 = m[Matrix4.M22], m23 = m[Matrix4.M23];
+		for (int i = offset, n = offset + count; i < n; i++) {
+			float x = xs[i], y = ys[i], z = zs[i];
+			xs[i] = x * m00 + y * m01 + z * m02 + m03;
+			ys[i] = x * m10 + y * m11 + z * m12 + m13;
+			zs[i] = x * m20 + y * m21 + z * m22 + m23;
+		}
+	}
+
+	/** Multiplies 3D points with the matrix and divides by w, as {@link Vector3#prj(Matrix4)} does. This is the same as
+	 * {@link Matrix4#prj(float[], float[], int, int, int)}.
+	 * @param stride the number of floats between consecutive points, must be >= 3 */
+	static public void prjVec3 (Matrix4 matrix, float[] vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m02 = m[Matrix4.M02], m03 = m[Matrix4.M03];
+		float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m12 = m[Matrix4.M12], m13 = m[Matrix4.M13];
+		float m20 = m[Matrix4.M20], m21 = m[Matrix4.M21], m22 = m[Matrix4.M22], m23 = m[Matrix4.M23];
+		float m30 = m[Matrix4.M30], m31 = m[Matrix4.M31], m32 = m[Matrix4.M32], m33 = m[Matrix4.M33];
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs[i], y = vecs[i + 1], z = vecs[i + 2];
+			float w = 1 / (x * m30 + y * m31 + z * m32 + m33);
+			vecs[i] = (x * m00 + y * m01 + z * m02 + m03) * w;
+			vecs[i + 1] = (x * m10 + y * m11 + z * m12 + m13) * w;
+			vecs[i + 2] = (x * m20 + y * m21 + z * m22 + m23) * w;
+		}
+	}
+
+	/** Multiplies 3D directions with the upper 3x3 part of the matrix, as {@link Vector3#rot(Matrix4)} does. This is the same as
+	 * {@link Matrix4#rot(float[], float[], int, int, int)}.
+	 * @param stride the number of floats between consecutive directions, must be >= 3 */
+	static public void rotVec3 (Matrix4 matrix, float[] vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m02 = m[Matrix4.M02];
+		float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m12 = m[Matrix4.M12];
+		float m20 = m[Matrix4.M20], m21 = m[Matrix4.M21], m22 = m[Matrix4.M22];
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs[i], y = vecs[i + 1], z = vecs[i + 2];
+			vecs[i] = x * m00 + y * m01 + z * m02;
+			vecs[i + 1] = x * m10 + y * m11 + z * m12;
+			vecs[i + 2] = x * m20 + y * m21 + z * m22;
+		}
+	}
+
+	/** Transforms normals by the matrix and normalizes them. The normals are multiplied with the cofactor matrix of the upper 3x3
+	 * part of the matrix, which is the inverse transpose scaled by the determinant, so they stay perpendicular to transformed
+	 * surfaces even when the matrix contains non-uniform scaling. The sign of the determinant is kept, so normals transformed by a
+	 * mirroring matrix point the same way as with {@link Matrix4#toNormalMatrix()}.
+	 * @param stride the number of floats between consecutive normals, must be >= 3 */
+	static public void mulNormals (Matrix4 matrix, float[] vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float a00 = m[Matrix4.M00], a01 = m[Matrix4.M01], a02 = m[Matrix4.M02];
+		float a10 = m[Matrix4.M10], a11 = m[Matrix4.M11], a12 = m[Matrix4.M12];
+		float a20 = m[Matrix4.M20], a21 = m[Matrix4.M21], a22 = m[Matrix4.M22];
+		float c00 = a11 * a22 - a12 * a21, c01 = a12 * a20 - a10 * a22, c02 = a10 * a21 - a11 * a20;
+		float c10 = a02 * a21 - a01 * a22, c11 = a00 * a22 - a02 * a20, c12 = a01 * a20 - a00 * a21;
+		float c20 = a01 * a12 - a02 * a11, c21 = a02 * a10 - a00 * a12, c22 = a00 * a11 - a01 * a10;
+		float sign = a00 * c00 + a01 * c01 + a02 * c02 < 0 ? -1 : 1;
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs[i], y = vecs[i + 1], z = vecs[i + 2];
+			float nx = x * c00 + y * c01 + z * c02;
+			float ny = x * c10 + y * c11 + z * c12;
+			float nz = x * c20 + y * c21 + z * c22;
+			float len2 = nx * nx + ny * ny + nz * nz;
+			float scale = len2 == 0 ? 0 : sign / (float)Math.sqrt(len2);
+			vecs[i] = nx * scale;
+			vecs[i + 1] = ny * scale;
+			vecs[i + 2] = nz * scale;
+		}
+	}
+
+	/** Transforms and normalizes all normals in the array.
+	 * @see #mulNormals(Matrix4, float[], int, int, int) */
+	static public void mulNormals (Matrix4 matrix, FloatArray vecs, int stride) {
+		mulNormals(matrix, vecs.items, 0, vecs.size / stride, stride);
+	}
+
+	/** Transforms and normalizes normals in the buffer. The buffer's position and limit are not used or changed.
+	 * @see #mulNormals(Matrix4, float[], int, int, int) */
+	static public void mulNormals (Matrix4 matrix, FloatBuffer vecs, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float a00 = m[Matrix4.M00], a01 = m[Matrix4.M01], a02 = m[Matrix4.M02];
+		float a10 = m[Matrix4.M10], a11 = m[Matrix4.M11], a12 = m[Matrix4.M12];
+		float a20 = m[Matrix4.M20], a21 = m[Matrix4.M21], a22 = m[Matrix4.M22];
+		float c00 = a11 * a22 - a12 * a21, c01 = a12 * a20 - a10 * a22, c02 = a10 * a21 - a11 * a20;
+		float c10 = a02 * a21 - a01 * a22, c11 = a00 * a22 - a02 * a20, c12 = a01 * a20 - a00 * a21;
+		float c20 = a01 * a12 - a02 * a11, c21 = a02 * a10 - a00 * a12, c22 = a00 * a11 - a01 * a10;
+		float sign = a00 * c00 + a01 * c01 + a02 * c02 < 0 ? -1 : 1;
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float x = vecs.get(i), y = vecs.get(i + 1), z = vecs.get(i + 2);
+			float nx = x * c00 + y * c01 + z * c02;
+			float ny = x * c10 + y * c11 + z * c12;
+			float nz = x * c20 + y * c21 + z * c22;
+			float len2 = nx * nx + ny * ny + nz * nz;
+			float scale = len2 == 0 ? 0 : sign / (float)Math.sqrt(len2);
+			vecs.put(i, nx * scale);
+			vecs.put(i + 1, ny * scale);
+			vecs.put(i + 2, nz * scale);
+		}
+	}
+
+	/** Transforms axis aligned bounding boxes by the matrix, storing the axis aligned box that encloses each transformed box. Each
+	 * box is stored as minX, minY, minZ, maxX, maxY, maxZ. This gives the same result as {@link com.badlogic.gdx.math.collision.BoundingBox#mul(Matrix4)}
+	 * without transforming the eight corners.
+	 * @param stride the number of floats between consecutive boxes, must be >= 6 */
+	static public void mulBounds (Matrix4 matrix, float[] boxes, int offset, int count, int stride) {
+		float[] m = matrix.val;
+		float m00 = m[Matrix4.M00], m01 = m[Matrix4.M01], m02 = m[Matrix4.M02], m03 = m[Matrix4.M03];
+		float m10 = m[Matrix4.M10], m11 = m[Matrix4.M11], m12 = m[Matrix4.M12], m13 = m[Matrix4.M13];
+		float m20 = m[Matrix4.M20], m21 = m[Matrix4.M21], m22 = m[Matrix4.M22], m23 = m[Matrix4.M23];
+		for (int i = offset, n = offset + count * stride; i < n; i += stride) {
+			float minX = boxes[i], minY = boxes[i + 1], minZ = boxes[i + 2];
+			float maxX = boxes[i + 3], maxY = boxes[i + 4], maxZ = boxes[i + 5];
+			// For each output axis the smallest and largest value of every term come from either the min or the max of the input axis.
+			float a = m00 * minX, b = m00 * maxX, c = m01 * minY, d = m01 * maxY, e = m02 * minZ, f = m02 * maxZ;
+			boxes[i] = m03 + Math.min(a, b) + Math.min(c, d) + Math.min(e, f);
+			boxes[i + 3] = m03 + Math.max(a, b) + Math.max(c, d) + Math.max(e, f);
+			a = m10 * minX;
+			b = m10 * maxX;
+			c = m11 * minY;
+			d = m11 * maxY;
+			e = m12 * minZ;
+			f = m12 * maxZ;
+			boxes[i + 1] = m13 + Math.min(a, b) + Math.min(c, d) + Math.min(e, f);
+			boxes[i + 4] = m13 + Math.max(a, b) + Math.max(c, d) + Math.max(e, f);
+			a = m20 * minX;
+			b = m20 * maxX;
+			c = m21 * minY;
+			d = m21 * maxY;
+			e = m22 * minZ;
+			f = m22 * maxZ;
+			boxes[i + 2] = m23 + Math.min(a, b) + Math.min(c, d) + Math.min(e, f);
+			boxes[i + 5] = m23 + Math.max(a, b) + Math.max(c, d) + Math.max(e, f);
+		}
+	}
+
+	/** Spherical linear interpolation of count quaternions from start towards end, storing the results in out, with the same
+	 * result as {@link Quaternion#slerp(Quaternion, float)}. Quaternions are stored as x, y, z, w. The arrays may be the same.
+	 * @param alpha the interpolation amount in the range [0,1] */
+	static public void slerp (float[] start, int startOffset, float[] end, int endOffset, float alpha, float[] out, int outOffset,
+		int count) {
+		for (int i = 0, n = count * 4; i < n; i += 4) {
+			int s = startOffset + i, e = endOffset + i, o = outOffset + i;
+			float x1 = start[s], y1 = start[s + 1], z1 = start[s + 2], w1 = start[s + 3];
+			float x2 = end[e], y2 = end[e + 1], z2 = end[e + 2], w2 = end[e + 3];
+			float dot = x1 * x2 + y1 * y2 + z1 * z2 + w1 * w2;
+			float absDot = dot < 0 ? -dot : dot;
+			float scale0 = 1 - alpha, scale1 = alpha;
+			if (1 - absDot > 0.1f) {
+				double angle = Math.acos(absDot);
+				double invSinTheta = 1 / Math.sin(angle);
+				scale0 = (float)(Math.sin((1 - alpha) * angle) * invSinTheta);
+				scale1 = (float)(Math.sin(alpha * angle) * invSinTheta);
+			}
+			if (dot < 0) scale1 = -scale1;
+			out[o] = scale0 * x1 + scale1 * x2;
+			out[o + 1] = scale0 * y1 + scale1 * y2;
+			out[o + 2] = scale0 * z1 + scale1 * z2;
+			out[o + 3] = scale0 * w1 + scale1 * w2;
+		}
+	}
+
+	/** Normalized linear interpolation of count quaternions from start towards end, storing the results in out. Quaternions are
+	 * stored as x, y, z, w. This is much cheaper than {@link #slerp(float[], int, float[], int, float, float[], int, int)} and, for
+	 * the small angles between consecutive animation keyframes, visually the same. The arrays may be the same.
+	 * @param alpha the interpolation amount in the range [0,1] */
+	static public void nlerp (float[] start, int startOffset, float[] end, int endOffset, float alpha, float[] out, int outOffset,
+		int count) {
+		for (int i = 0, n = count * 4; i < n; i += 4) {
+			int s = startOffset + i, e = endOffset + i, o = outOffset + i;
+			float x1 = start[s], y1 = start[s + 1], z1 = start[s + 2], w1 = start[s + 3];
+			float x2 = end[e], y2 = end[e + 1], z2 = end[e + 2], w2 = end[e + 3];
+			float scale0 = 1 - alpha, scale1 = x1 * x2 + y1 * y2 + z1 * z2 + w1 * w2 < 0 ? -alpha : alpha;
+			float x = scale0 * x1 + scale1 * x2, y = scale0 * y1 + scale1 * y2, z = scale0 * z1 + scale1 * z2, w = scale0 * w1
+				+ scale1 * w2;
+			float len2 = x * x + y * y + z * z + w * w;
+			float scale = len2 == 0 ? 0 : 1 / (float)Math.sqrt(len2);
+			out[o] = x * scale;
+			out[o + 1] = y * scale;
+			out[o + 2] = z * scale;
+			out[o + 3] = w * scale;
+		}
+	}
+}
@@ -0,0 +1,554 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.IntArray;
+
+/** A {@link SpatialIndex} that keeps axis aligned boxes in a balanced bounding volume hierarchy, similar to the dynamic tree used by
+ * Box2D. Each box is stored "fat", enlarged by a margin, so small movements don't require the tree to be changed. Boxes can be 2D
+ * ({@link Rectangle}, with z = 0) or 3D ({@link BoundingBox}), both can be mixed in one tree.
+ * <p>
+ * Because of the margin, queries may report boxes that don't actually overlap by up to the margin plus any predicted
+ * displacement. Nodes are stored in arrays, so adding and moving boxes does not allocate once the arrays have grown.
+ * @see SpatialHash */
+public class DynamicTree<T> implements SpatialIndex<T> {
+	static private final int NULL = -1;
+
+	private final float margin;
+	private float[] bounds;
+	private int[] parents, children1, children2, heights;
+	private Object[] userData;
+	private int root = NULL, freeList = NULL, capacity, proxyCount;
+	private int[] stack = new int[64];
+
+	/** Creates a tree with a margin of 0.1. */
+	public DynamicTree () {
+		this(0.1f, 16);
+	}
+
+	/** @param margin the amount each box is enlarged on every side when it is added or moved outside its fat box */
+	public DynamicTree (float margin, int initialCapacity) {
+		this.margin = margin;
+		capacity = 0;
+		bounds = new float[0];
+		parents = children1 = children2 = heights = new int[0];
+		userData = new Object[0];
+		grow(Math.max(1, initialCapacity));
+	}
+
+	public int add (T userData, Rectangle bounds) {
+		return add(userData, bounds.x, bounds.y, 0, bounds.x + bounds.width, bounds.y + bounds.height, 0);
+	}
+
+	public int add (T userData, BoundingBox bounds) {
+		Vector3 min = bounds.min, max = bounds.max;
+		return add(userData, min.x, min.y, min.z, max.x, max.y, max.z);
+	}
+
+	/** Adds a box to the tree.
+	 * @return the proxy used to identify the box in the tree */
+	public int add (T userData, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		int proxy = allocateNode();
+		float margin = this.margin;
+		setBounds(proxy, minX - margin, minY - margin, minZ - margin, maxX + margin, maxY + margin, maxZ + margin);
+		this.userData[proxy] = userData;
+		heights[proxy] = 0;
+		insertLeaf(proxy);
+		proxyCount++;
+		return proxy;
+	}
+
+	public boolean update (int proxy, Rectangle bounds) {
+		return update(proxy, bounds.x, bounds.y, 0, bounds.x + bounds.width, bounds.y + bounds.height, 0, 0, 0, 0);
+	}
+
+	/** Moves a box, enlarging the fat box in the direction of the displacement so boxes that keep moving the same way need to be
+	 * reinserted less often.
+	 * @param displacement the expected movement until the next update, eg velocity times delta time
+	 * @return true if the box had to be reinserted */
+	public boolean update (int proxy, Rectangle bounds, Vector2 displacement) {
+		return update(proxy, bounds.x, bounds.y, 0, bounds.x + bounds.width, bounds.y + bounds.height, 0, displacement.x,
+			displacement.y, 0);
+	}
+
+	public boolean update (int proxy, BoundingBox bounds) {
+		Vector3 min = bounds.min, max = bounds.max;
+		return update(proxy, min.x, min.y, min.z, max.x, max.y, max.z, 0, 0, 0);
+	}
+
+	/** @see #update(int, Rectangle, Vector2) */
+	public boolean update (int proxy, BoundingBox bounds, Vector3 displacement) {
+		Vector3 min = bounds.min, max = bounds.max;
+		return update(proxy, min.x, min.y, min.z, max.x, max.y, max.z, displacement.x, displacement.y, displacement.z);
+	}
+
+	/** Moves a box. If the new box is still inside the fat box nothing changes, otherwise the box is reinserted with a new fat box.
+	 * @return true if the box had to be reinserted */
+	public boolean update (int proxy, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float displacementX,
+		float displacementY, float displacementZ) {
+		if (proxy < 0 || proxy >= capacity || heights[proxy] != 0) throw new IllegalArgumentException("Invalid proxy: " + proxy);
+		float[] bounds = this.bounds;
+		int i = proxy * 6;
+		if (bounds[i] <= minX && bounds[i + 1] <= minY && bounds[i + 2] <= minZ && bounds[i + 3] >= maxX && bounds[i + 4] >= maxY
+			&& bounds[i + 5] >= maxZ) return false;
+		removeLeaf(proxy);
+		float margin = this.margin;
+		minX -= margin;
+		minY -= margin;
+		minZ -= margin;
+		maxX += margin;
+		maxY += margin;
+		maxZ += margin;
+		if (displacementX < 0)
+			minX += displacementX;
+		else
+			maxX += displacementX;
+		if (displacementY < 0)
+			minY += displacementY;
+		else
+			maxY += displacementY;
+		if (displacementZ < 0)
+			minZ += displacementZ;
+		else
+			maxZ += displacementZ;
+		setBounds(proxy, minX, minY, minZ, maxX, maxY, maxZ);
+		insertLeaf(proxy);
+		return true;
+	}
+
+	public void remove (int proxy) {
+		if (proxy < 0 || proxy >= capacity || heights[proxy] != 0) throw new IllegalArgumentException("Invalid proxy: " + proxy);
+		removeLeaf(proxy);
+		freeNode(proxy);
+		proxyCount--;
+	}
+
+	public void clear () {
+		root = NULL;
+		freeList = NULL;
+		proxyCount = 0;
+		for (int i = capacity - 1; i >= 0; i--)
+			freeNode(i);
+	}
+
+	public T getUserData (int proxy) {
+		return (T)userData[proxy];
+	}
+
+	/** Stores the fat bounds of the box in the specified rectangle, ignoring z.
+	 * @return the rectangle passed in, for chaining */
+	public Rectangle getFatBounds (int proxy, Rectangle out) {
+		float[] bounds = this.bounds;
+		int i = proxy * 6;
+		return out.set(bounds[i], bounds[i + 1], bounds[i + 3] - bounds[i], bounds[i + 4] - bounds[i + 1]);
+	}
+
+	/** Stores the fat bounds of the box in the specified bounding box.
+	 * @return the bounding box passed in, for chaining */
+	public BoundingBox getFatBounds (int proxy, BoundingBox out) {
+		float[] bounds = this.bounds;
+		int i = proxy * 6;
+		out.min.set(bounds[i], bounds[i + 1], bounds[i + 2]);
+		out.max.set(bounds[i + 3], bounds[i + 4], bounds[i + 5]);
+		return out.set(out.min, out.max);
+	}
+
+	public int getProxyCount () {
+		return proxyCount;
+	}
+
+	/** @return the height of the tree, 0 if the tree is empty or has one box */
+	public int getHeight () {
+		return root == NULL ? 0 : heights[root];
+	}
+
+	public void query (Rectangle region, QueryCallback<T> callback) {
+		query(region.x, region.y, Float.NEGATIVE_INFINITY, region.x + region.width, region.y + region.height,
+			Float.POSITIVE_INFINITY, callback);
+	}
+
+	public void query (BoundingBox region, QueryCallback<T> callback) {
+		Vector3 min = region.min, max = region.max;
+		query(min.x, min.y, min.z, max.x, max.y, max.z, callback);
+	}
+
+	/** Reports every box whose fat box overlaps the region. */
+	public void query (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, QueryCallback<T> callback) {
+		if (root == NULL) return;
+		float[] bounds = this.bounds;
+		int[] children1 = this.children1, children2 = this.children2;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = root;
+		while (top > 0) {
+			int node = stack[--top];
+			int i = node * 6;
+			if (bounds[i] > maxX || bounds[i + 3] < minX || bounds[i + 1] > maxY || bounds[i + 4] < minY || bounds[i + 2] > maxZ
+				|| bounds[i + 5] < minZ) continue;
+			int child1 = children1[node];
+			if (child1 == NULL) {
+				if (!callback.reportProxy(node, (T)userData[node])) return;
+			} else {
+				if (top + 2 > stack.length) this.stack = stack = grow(stack, top);
+				stack[top++] = child1;
+				stack[top++] = children2[node];
+			}
+		}
+	}
+
+	public void rayCast (Vector2 start, Vector2 end, RayCastCallback<T> callback) {
+		rayCast(start.x, start.y, 0, end.x - start.x, end.y - start.y, 0, callback);
+	}
+
+	/** Reports every box whose fat box intersects the ray between its origin and maxDistance. Fractions passed to and returned by
+	 * the callback are relative to maxDistance.
+	 * @param ray the ray, its direction should be normalized */
+	public void rayCast (Ray ray, float maxDistance, RayCastCallback<T> callback) {
+		Vector3 origin = ray.origin, direction = ray.direction;
+		rayCast(origin.x, origin.y, origin.z, direction.x * maxDistance, direction.y * maxDistance, direction.z * maxDistance,
+			callback);
+	}
+
+	private void rayCast (float startX, float startY, float startZ, float dx, float dy, float dz, RayCastCallback<T> callback) {
+		if (root == NULL) return;
+		float[] bounds = this.bounds;
+		int[] children1 = this.children1, children2 = this.children2;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = root;
+		float maxFraction = 1;
+		while (top > 0) {
+			int node = stack[--top];
+			if (!intersectSegment(bounds, node * 6, startX, startY, startZ, dx, dy, dz, maxFraction)) continue;
+			int child1 = children1[node];
+			if (child1 == NULL) {
+				float value = callback.reportRayProxy(node, (T)userData[node], maxFraction);
+				if (value == 0) return;
+				if (value > 0 && value < maxFraction) maxFraction = value;
+			} else {
+				if (top + 2 > stack.length) this.stack = stack = grow(stack, top);
+				stack[top++] = child1;
+				stack[top++] = children2[node];
+			}
+		}
+	}
+
+	/** Reports every pair of boxes whose fat boxes overlap, each pair once. */
+	public void queryPairs (PairCallback<T> callback) {
+		if (root == NULL) return;
+		float[] bounds = this.bounds;
+		int[] children1 = this.children1, children2 = this.children2, heights = this.heights;
+		Object[] userData = this.userData;
+		for (int proxy = 0, n = capacity; proxy < n; proxy++) {
+			if (heights[proxy] != 0) continue;
+			int p = proxy * 6;
+			float minX = bounds[p], minY = bounds[p + 1], minZ = bounds[p + 2];
+			float maxX = bounds[p + 3], maxY = bounds[p + 4], maxZ = bounds[p + 5];
+			int[] stack = this.stack;
+			int top = 0;
+			stack[top++] = root;
+			while (top > 0) {
+				int node = stack[--top];
+				int i = node * 6;
+				if (bounds[i] > maxX || bounds[i + 3] < minX || bounds[i + 1] > maxY || bounds[i + 4] < minY || bounds[i + 2] > maxZ
+					|| bounds[i + 5] < minZ) continue;
+				int child1 = children1[node];
+				if (child1 == NULL) {
+					if (node > proxy) callback.reportPair(proxy, (T)userData[proxy], node, (T)userData[node]);
+				} else {
+					if (top + 2 > stack.length) this.stack = stack = grow(stack, top);
+					stack[top++] = child1;
+					stack[top++] = children2[node];
+				}
+			}
+		}
+	}
+
+	private int allocateNode () {
+		if (freeList == NULL) grow(capacity << 1);
+		int node = freeList;
+		freeList = parents[node];
+		parents[node] = NULL;
+		children1[node] = NULL;
+		children2[node] = NULL;
+		heights[node] = 0;
+		return node;
+	}
+
+	/** Free nodes have a height of -1 and are linked through their parent. */
+	private void freeNode (int node) {
+		parents[node] = freeList;
+		children1[node] = NULL;
+		children2[node] = NULL;
+		heights[node] = -1;
+		userData[node] = null;
+		freeList = node;
+	}
+
+	private void grow (int newCapacity) {
+		int oldCapacity = capacity;
+		float[] newBounds = new float[newCapacity * 6];
+		System.arraycopy(bounds, 0, newBounds, 0, oldCapacity * 6);
+		bounds = newBounds;
+		parents = grow(parents, newCapacity);
+		children1 = grow(children1, newCapacity);
+		children2 = grow(children2, newCapacity);
+		heights = grow(heights, newCapacity);
+		Object[] newUserData = new Object[newCapacity];
+		System.arraycopy(userData, 0, newUserData, 0, oldCapacity);
+		userData = newUserData;
+		capacity = newCapacity;
+		for (int i = newCapacity - 1; i >= oldCapacity; i--)
+			freeNode(i);
+	}
+
+	static private int[] grow (int[] array, int minCapacity) {
+		int[] newArray = new int[Math.max(minCapacity, array.length << 1)];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		return newArray;
+	}
+
+	private void setBounds (int node, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		float[] bounds = this.bounds;
+		int i = node * 6;
+		bounds[i] = minX;
+		bounds[i + 1] = minY;
+		bounds[i + 2] = minZ;
+		bounds[i + 3] = maxX;
+		bounds[i + 4] = maxY;
+		bounds[i + 5] = maxZ;
+	}
+
+	/** Sets the bounds of the target node to enclose the bounds of nodes a and b. */
+	private void combine (int target, int a, int b) {
+		float[] bounds = this.bounds;
+		int t = target * 6, i = a * 6, j = b * 6;
+		bounds[t] = Math.min(bounds[i], bounds[j]);
+		bounds[t + 1] = Math.min(bounds[i + 1], bounds[j + 1]);
+		bounds[t + 2] = Math.min(bounds[i + 2], bounds[j + 2]);
+		bounds[t + 3] = Math.max(bounds[i + 3], bounds[j + 3]);
+		bounds[t + 4] = Math.max(bounds[i + 4], bounds[j + 4]);
+		bounds[t + 5] = Math.max(bounds[i + 5], bounds[j + 5]);
+	}
+
+	/** The cost of a node's bounds, the sum of its extents. Unlike the surface area this is not zero for flat 2D boxes. */
+	private float cost (int node) {
+		float[] bounds = this.bounds;
+		int i = node * 6;
+		return bounds[i + 3] - bounds[i] + bounds[i + 4] - bounds[i + 1] + bounds[i + 5] - bounds[i + 2];
+	}
+
+	/** The cost of the bounds that would enclose nodes a and b. */
+	private float combinedCost (int a, int b) {
+		float[] bounds = this.bounds;
+		int i = a * 6, j = b * 6;
+		return Math.max(bounds[i + 3], bounds[j + 3]) - Math.min(bounds[i], bounds[j]) + Math.max(bounds[i + 4], bounds[j + 4])
+			- Math.min(bounds[i + 1], bounds[j + 1]) + Math.max(bounds[i + 5], bounds[j + 5]) - Math.min(bounds[i + 2], bounds[j + 2]);
+	}
+
+	private void insertLeaf (int leaf) {
+		if (root == NULL) {
+			root = leaf;
+			parents[leaf] = NULL;
+			return;
+		}
+
+		// Find the best sibling, descending while that is cheaper than making a new parent here.
+		int[] parents = this.parents, children1 = this.children1, children2 = this.children2;
+		int index = root;
+		while (children1[index] != NULL) {
+			int child1 = children1[index], child2 = children2[index];
+			float combinedCost = combinedCost(index, leaf);
+			float cost = 2 * combinedCost;
+			float inheritanceCost = 2 * (combinedCost - cost(index));
+			float cost1 = combinedCost(child1, leaf) + inheritanceCost;
+			if (children1[child1] != NULL) cost1 -= cost(child1);
+			float cost2 = combinedCost(child2, leaf) + inheritanceCost;
+			if (children1[child2] != NULL) cost2 -= cost(child2);
+			if (cost < cost1 && cost < cost2) break;
+			index = cost1 < cost2 ? child1 : child2;
+		}
+		int sibling = index;
+
+		int oldParent = parents[sibling];
+		int newParent = allocateNode();
+		// allocateNode may have grown the arrays.
+		parents = this.parents;
+		children1 = this.children1;
+		children2 = this.children2;
+		int[] heights = this.heights;
+		parents[newParent] = oldParent;
+		combine(newParent, leaf, sibling);
+		heights[newParent] = heights[sibling] + 1;
+		if (oldParent != NULL) {
+			if (children1[oldParent] == sibling)
+				children1[oldParent] = newParent;
+			else
+				children2[oldParent] = newParent;
+		} else
+			root = newParent;
+		children1[newParent] = sibling;
+		children2[newParent] = leaf;
+		parents[sibling] = newParent;
+		parents[leaf] = newParent;
+
+		refit(parents[leaf]);
+	}
+
+	private void removeLeaf (int leaf) {
+		if (leaf == root) {
+			root = NULL;
+			return;
+		}
+		int[] parents = this.parents, children1 = this.children1, children2 = this.children2;
+		int parent = parents[leaf];
+		int grandParent = parents[parent];
+		int sibling = children1[parent] == leaf ? children2[parent] : children1[parent];
+		if (grandParent != NULL) {
+			if (children1[grandParent] == parent)
+				children1[grandParent] = sibling;
+			else
+				children2[grandParent] = sibling;
+			parents[sibling] = grandParent;
+			freeNode(parent);
+			refit(grandParent);
+		} else {
+			root = sibling;
+			parents[sibling] = NULL;
+			freeNode(parent);
+		}
+		parents[leaf] = NULL;
+	}
+
+	/** Walks up from the node, rebalancing and recomputing heights and bounds. */
+	private void refit (int index) {
+		int[] parents = this.parents, children1 = this.children1, children2 = this.children2, heights = this.heights;
+		while (index != NULL) {
+			index = balance(index);
+			int child1 = children1[index], child2 = children2[index];
+			heights[index] = 1 + Math.max(heights[child1], heights[child2]);
+			combine(index, child1, child2);
+			index = parents[index];
+		}
+	}
+
+	/** Performs a left or right rotation if node a is imbalanced.
+	 * @return the new root of the subtree */
+	private int balance (int a) {
+		int[] parents = this.parents, children1 = this.children1, children2 = this.children2, heights = this.heights;
+		if (children1[a] == NULL || heights[a] < 2) return a;
+		int b = children1[a], c = children2[a];
+		int balance = heights[c] - heights[b];
+
+		// Rotate c up.
+		if (balance > 1) {
+			int f = children1[c], g = children2[c];
+			children1[c] = a;
+			parents[c] = parents[a];
+			parents[a] = c;
+			int cParent = parents[c];
+			if (cParent != NULL) {
+				if (children1[cParent] == a)
+					children1[cParent] = c;
+				else
+					children2[cParent] = c;
+			} else
+				root = c;
+			if (heights[f] > heights[g]) {
+				children2[c] = f;
+				children2[a] = g;
+				parents[g] = a;
+				combine(a, b, g);
+				combine(c, a, f);
+				heights[a] = 1 + Math.max(heights[b], heights[g]);
+				heights[c] = 1 + Math.max(heights[a], heights[f]);
+			} else {
+				children2[c] = g;
+				children2[a] = f;
+				parents[f] = a;
+				combine(a, b, f);
+				combine(c, a, g);
+				heights[a] = 1 + Math.max(heights[b], heights[f]);
+				heights[c] = 1 + Math.max(heights[a], heights[g]);
+			}
+			return c;
+		}
+
+		// Rotate b up.
+		if (balance < -1) {
+			int d = children1[b], e = children2[b];
+			children1[b] = a;
+			parents[b] = parents[a];
+			parents[a] = b;
+			int bParent = parents[b];
+			if (bParent != NULL) {
+				if (children1[bParent] == a)
+					children1[bParent] = b;
+				else
+					children2[bParent] = b;
+			} else
+				root = b;
+			if (heights[d] > heights[e]) {
+				children2[b] = d;
+				children1[a] = e;
+				parents[e] = a;
+				combine(a, c, e);
+				combine(b, a, d);
+				heights[a] = 1 + Math.max(heights[c], heights[e]);
+				heights[b] = 1 + Math.max(heights[a], heights[d]);
+			} else {
+				children2[b] = e;
+				children1[a] = d;
+				parents[d] = a;
+				combine(a, c, d);
+				combine(b, a, e);
+				heights[a] = 1 + Math.max(heights[c], heights[d]);
+				heights[b] = 1 + Math.max(heights[a], heights[e]);
+			}
+			return b;
+		}
+		return a;
+	}
+
+	/** Slab test of the segment start + t * delta, 0 <= t <= maxFraction, against the bounds at the index. */
+	static private boolean intersectSegment (float[] bounds, int i, float startX, float startY, float startZ, float dx, float dy,
+		float dz, float maxFraction) {
+		float near = 0, far = maxFraction;
+		for (int axis = 0; axis < 3; axis++) {
+			float start = axis == 0 ? startX : axis == 1 ? startY : startZ;
+			float delta = axis == 0 ? dx : axis == 1 ? dy : dz;
+			float min = bounds[i + axis], max = bounds[i + axis + 3];
+			if (delta == 0) {
+				if (start < min || start > max) return false;
+				continue;
+			}
+			float inv = 1 / delta;
+			float t1 = (min - start) * inv, t2 = (max - start) * inv;
+			if (t1 > t2) {
+				float t = t1;
+				t1 = t2;
+				t2 = t;
+			}
+			if (t1 > near) near = t1;
+			if (t2 < far) far = t2;
+			if (near > far) return false;
+		}
+		return true;
+	}
+}
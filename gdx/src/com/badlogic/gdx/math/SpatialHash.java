@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.LongMap.Entries;
+import com.badlogic.gdx.utils.LongMap.Entry;
+
+/** A {@link SpatialIndex} that divides the plane into square cells of a fixed size and stores each rectangle in every cell it
+ * overlaps. Only cells that contain rectangles use memory. Works best when most rectangles are about the size of a cell or
+ * smaller; rectangles covering many cells are slow to add and move.
+ * <p>
+ * Queries are exact: only rectangles that actually overlap the region, segment or each other are reported.
+ * @see DynamicTree */
+public class SpatialHash<T> implements SpatialIndex<T> {
+	private final float cellSize, invCellSize;
+	private final LongMap<IntArray> cells = new LongMap<IntArray>();
+	private final Array<IntArray> freeCells = new Array<IntArray>(false, 16);
+
+	private float[] bounds;
+	private int[] cellRanges;
+	private Object[] userData;
+	private boolean[] active;
+	private int[] stamps;
+	private int stamp;
+	private final IntArray freeProxies = new IntArray();
+	private int proxyCount, proxyCapacity;
+
+	/** @param cellSize the width and height of a cell, ideally about the size of a typical rectangle */
+	public SpatialHash (float cellSize) {
+		this(cellSize, 16);
+	}
+
+	public SpatialHash (float cellSize, int initialCapacity) {
+		if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be > 0: " + cellSize);
+		this.cellSize = cellSize;
+		invCellSize = 1 / cellSize;
+		initialCapacity = Math.max(1, initialCapacity);
+		bounds = new float[initialCapacity * 4];
+		cellRanges = new int[initialCapacity * 4];
+		userData = new Object[initialCapacity];
+		active = new boolean[initialCapacity];
+		stamps = new int[initialCapacity];
+	}
+
+	public float getCellSize () {
+		return cellSize;
+	}
+
+	public int add (T userData, Rectangle bounds) {
+		int proxy;
+		if (freeProxies.size > 0)
+			proxy = freeProxies.pop();
+		else {
+			if (proxyCapacity == active.length) grow(proxyCapacity << 1);
+			proxy = proxyCapacity++;
+		}
+		active[proxy] = true;
+		this.userData[proxy] = userData;
+		setBounds(proxy, bounds);
+		int[] cellRanges = this.cellRanges;
+		int i = proxy * 4;
+		int minX = cell(bounds.x), minY = cell(bounds.y), maxX = cell(bounds.x + bounds.width), maxY = cell(bounds.y + bounds.height);
+		cellRanges[i] = minX;
+		cellRanges[i + 1] = minY;
+		cellRanges[i + 2] = maxX;
+		cellRanges[i + 3] = maxY;
+		addToCells(proxy, minX, minY, maxX, maxY);
+		proxyCount++;
+		return proxy;
+	}
+
+	public boolean update (int proxy, Rectangle bounds) {
+		setBounds(proxy, bounds);
+		int[] cellRanges = this.cellRanges;
+		int i = proxy * 4;
+		int minX = cell(bounds.x), minY = cell(bounds.y), maxX = cell(bounds.x + bounds.width), maxY = cell(bounds.y + bounds.height);
+		int oldMinX = cellRanges[i], oldMinY = cellRanges[i + 1], oldMaxX = cellRanges[i + 2], oldMaxY = cellRanges[i + 3];
+		if (minX == oldMinX && minY == oldMinY && maxX == oldMaxX && maxY == oldMaxY) return false;
+		removeFromCells(proxy, oldMinX, oldMinY, oldMaxX, oldMaxY);
+		cellRanges[i] = minX;
+		cellRanges[i + 1] = minY;
+		cellRanges[i + 2] = maxX;
+		cellRanges[i + 3] = maxY;
+		addToCells(proxy, minX, minY, maxX, maxY);
+		return true;
+	}
+
+	public void remove (int proxy) {
+		if (!active[proxy]) throw new IllegalArgumentException("Invalid proxy: " + proxy);
+		int i = proxy * 4;
+		removeFromCells(proxy, cellRanges[i], cellRanges[i + 1], cellRanges[i + 2], cellRanges[i + 3]);
+		active[proxy] = false;
+		userData[proxy] = null;
+		freeProxies.add(proxy);
+		proxyCount--;
+	}
+
+	public void clear () {
+		for (IntArray cell : cells.values()) {
+			cell.clear();
+			freeCells.add(cell);
+		}
+		cells.clear();
+		for (int i = 0; i < proxyCapacity; i++) {
+			active[i] = false;
+			userData[i] = null;
+		}
+		freeProxies.clear();
+		proxyCount = 0;
+		proxyCapacity = 0;
+	}
+
+	public T getUserData (int proxy) {
+		return (T)userData[proxy];
+	}
+
+	/** Stores the bounds of the rectangle in the specified rectangle.
+	 * @return the rectangle passed in, for chaining */
+	public Rectangle getBounds (int proxy, Rectangle out) {
+		float[] bounds = this.bounds;
+		int i = proxy * 4;
+		return out.set(bounds[i], bounds[i + 1], bounds[i + 2] - bounds[i], bounds[i + 3] - bounds[i + 1]);
+	}
+
+	public int getProxyCount () {
+		return proxyCount;
+	}
+
+	public void query (Rectangle region, QueryCallback<T> callback) {
+		float regionMinX = region.x, regionMinY = region.y;
+		float regionMaxX = region.x + region.width, regionMaxY = region.y + region.height;
+		float[] bounds = this.bounds;
+		Object[] userData = this.userData;
+		int minX = cell(regionMinX), minY = cell(regionMinY), maxX = cell(regionMaxX), maxY = cell(regionMaxY);
+		if ((long)(maxX - minX + 1) * (maxY - minY + 1) > cells.size) {
+			// The region covers more cells than are occupied, it is faster to test every rectangle.
+			boolean[] active = this.active;
+			for (int proxy = 0, n = proxyCapacity; proxy < n; proxy++) {
+				if (!active[proxy]) continue;
+				int i = proxy * 4;
+				if (bounds[i] > regionMaxX || bounds[i + 2] < regionMinX || bounds[i + 1] > regionMaxY || bounds[i + 3] < regionMinY)
+					continue;
+				if (!callback.reportProxy(proxy, (T)userData[proxy])) return;
+			}
+			return;
+		}
+		int stamp = nextStamp();
+		int[] stamps = this.stamps;
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				IntArray cell = cells.get(key(x, y));
+				if (cell == null) continue;
+				int[] proxies = cell.items;
+				for (int ii = 0, nn = cell.size; ii < nn; ii++) {
+					int proxy = proxies[ii];
+					if (stamps[proxy] == stamp) continue;
+					stamps[proxy] = stamp;
+					int i = proxy * 4;
+					if (bounds[i] > regionMaxX || bounds[i + 2] < regionMinX || bounds[i + 1] > regionMaxY
+						|| bounds[i + 3] < regionMinY) continue;
+					if (!callback.reportProxy(proxy, (T)userData[proxy])) return;
+				}
+			}
+		}
+	}
+
+	/** Walks the cells along the segment in order, so rectangles near the start are usually reported first. */
+	public void rayCast (Vector2 start, Vector2 end, RayCastCallback<T> callback) {
+		float startX = start.x, startY = start.y;
+		float dx = end.x - startX, dy = end.y - startY;
+		int x = cell(startX), y = cell(startY);
+		int endX = cell(end.x), endY = cell(end.y);
+		int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0, stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+		float deltaX = stepX == 0 ? Float.POSITIVE_INFINITY : cellSize / Math.abs(dx);
+		float deltaY = stepY == 0 ? Float.POSITIVE_INFINITY : cellSize / Math.abs(dy);
+		float nextX = stepX == 0 ? Float.POSITIVE_INFINITY : ((stepX > 0 ? x + 1 : x) * cellSize - startX) / dx;
+		float nextY = stepY == 0 ? Float.POSITIVE_INFINITY : ((stepY > 0 ? y + 1 : y) * cellSize - startY) / dy;
+		float maxFraction = 1;
+
+		float[] bounds = this.bounds;
+		Object[] userData = this.userData;
+		int stamp = nextStamp();
+		int[] stamps = this.stamps;
+		for (int steps = Math.abs(endX - x) + Math.abs(endY - y); steps >= 0; steps--) {
+			IntArray cell = cells.get(key(x, y));
+			if (cell != null) {
+				int[] proxies = cell.items;
+				for (int ii = 0; ii < cell.size; ii++) {
+					int proxy = proxies[ii];
+					if (stamps[proxy] == stamp) continue;
+					stamps[proxy] = stamp;
+					if (!intersectSegment(bounds, proxy * 4, startX, startY, dx, dy, maxFraction)) continue;
+					float value = callback.reportRayProxy(proxy, (T)userData[proxy], maxFraction);
+					if (value == 0) return;
+					if (value > 0 && value < maxFraction) maxFraction = value;
+				}
+			}
+			if (nextX < nextY) {
+				if (nextX > maxFraction) return;
+				x += stepX;
+				nextX += deltaX;
+			} else {
+				if (nextY > maxFraction) return;
+				y += stepY;
+				nextY += deltaY;
+			}
+		}
+	}
+
+	/** Each pair is only reported for the first cell, by lowest x and y, that both rectangles share. */
+	public void queryPairs (PairCallback<T> callback) {
+		float[] bounds = this.bounds;
+		int[] cellRanges = this.cellRanges;
+		Object[] userData = this.userData;
+		Entries<IntArray> entries = cells.entries();
+		while (entries.hasNext()) {
+			Entry<IntArray> entry = entries.next();
+			int cellX = (int)(entry.key >> 32), cellY = (int)entry.key;
+			IntArray cell = entry.value;
+			int[] proxies = cell.items;
+			for (int a = 0, n = cell.size; a < n; a++) {
+				int proxyA = proxies[a];
+				int i = proxyA * 4;
+				for (int b = a + 1; b < n; b++) {
+					int proxyB = proxies[b];
+					int j = proxyB * 4;
+					if (Math.max(cellRanges[i], cellRanges[j]) != cellX || Math.max(cellRanges[i + 1], cellRanges[j + 1]) != cellY)
+						continue;
+					if (bounds[i] > bounds[j + 2] || bounds[i + 2] < bounds[j] || bounds[i + 1] > bounds[j + 3]
+						|| bounds[i + 3] < bounds[j + 1]) continue;
+					callback.reportPair(proxyA, (T)userData[proxyA], proxyB, (T)userData[proxyB]);
+				}
+			}
+		}
+	}
+
+	private int cell (float value) {
+		return (int)Math.floor(value * invCellSize);
+	}
+
+	static private long key (int x, int y) {
+		return (long)x << 32 | y & 0xFFFFFFFFL;
+	}
+
+	private int nextStamp () {
+		if (++stamp == 0) {
+			int[] stamps = this.stamps;
+			for (int i = 0, n = stamps.length; i < n; i++)
+				stamps[i] = 0;
+			stamp = 1;
+		}
+		return stamp;
+	}
+
+	private void setBounds (int proxy, Rectangle rectangle) {
+		float[] bounds = this.bounds;
+		int i = proxy * 4;
+		bounds[i] = rectangle.x;
+		bounds[i + 1] = rectangle.y;
+		bounds[i + 2] = rectangle.x + rectangle.width;
+		bounds[i + 3] = rectangle.y + rectangle.height;
+	}
+
+	private void addToCells (int proxy, int minX, int minY, int maxX, int maxY) {
+		LongMap<IntArray> cells = this.cells;
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				long key = key(x, y);
+				IntArray cell = cells.get(key);
+				if (cell == null) {
+					cell = freeCells.size > 0 ? freeCells.pop() : new IntArray(false, 4);
+					cells.put(key, cell);
+				}
+				cell.add(proxy);
+			}
+		}
+	}
+
+	private void removeFromCells (int proxy, int minX, int minY, int maxX, int maxY) {
+		LongMap<IntArray> cells = this.cells;
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				long key = key(x, y);
+				IntArray cell = cells.get(key);
+				if (cell == null) continue;
+				cell.removeValue(proxy);
+				if (cell.size == 0) {
+					cells.remove(key);
+					freeCells.add(cell);
+				}
+			}
+		}
+	}
+
+	private void grow (int capacity) {
+		float[] newBounds = new float[capacity * 4];
+		System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+		bounds = newBounds;
+		int[] newCellRanges = new int[capacity * 4];
+		System.arraycopy(cellRanges, 0, newCellRanges, 0, cellRanges.length);
+		cellRanges = newCellRanges;
+		Object[] newUserData = new Object[capacity];
+		System.arraycopy(userData, 0, newUserData, 0, userData.length);
+		userData = newUserData;
+		boolean[] newActive = new boolean[capacity];
+		System.arraycopy(active, 0, newActive, 0, active.length);
+		active = newActive;
+		int[] newStamps = new int[capacity];
+		System.arraycopy(stamps, 0, newStamps, 0, stamps.length);
+		stamps = newStamps;
+	}
+
+	/** Slab test of the segment start + t * delta, 0 <= t <= maxFraction, against the bounds at the index. */
+	static boolean intersectSegment (float[] bounds, int i, float startX, float startY, float dx, float dy, float maxFraction) {
+		float near = 0, far = maxFraction;
+		if (dx == 0) {
+			if (startX < bounds[i] || startX > bounds[i + 2]) return false;
+		} else {
+			float inv = 1 / dx;
+			float t1 = (bounds[i] - startX) * inv, t2 = (bounds[i + 2] - startX) * inv;
+			if (t1 > t2) {
+				float t = t1;
+				t1 = t2;
+				t2 = t;
+			}
+			if (t1 > near) near = t1;
+			if (t2 < far) far = t2;
+			if (near > far) return false;
+		}
+		if (dy == 0) return startY >= bounds[i + 1] && startY <= bounds[i + 3];
+		float inv = 1 / dy;
+		float t1 = (bounds[i + 1] - startY) * inv, t2 = (bounds[i + 3] - startY) * inv;
+		if (t1 > t2) {
+			float t = t1;
+			t1 = t2;
+			t2 = t;
+		}
+		if (t1 > near) near = t1;
+		if (t2 < far) far = t2;
+		return near <= far;
+	}
+}
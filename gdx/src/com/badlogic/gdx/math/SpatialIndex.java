@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+/** A 2D broad-phase index of axis aligned rectangles, each identified by an int proxy and carrying user data. Queries report
+ * results through callback interfaces so no allocation happens per query. The index must not be modified from within a
+ * callback.
+ * @see SpatialHash
+ * @see DynamicTree */
+public interface SpatialIndex<T> {
+	/** Adds a rectangle to the index.
+	 * @return the proxy used to identify the rectangle in the index */
+	public int add (T userData, Rectangle bounds);
+
+	/** Moves a rectangle in the index.
+	 * @return true if the structure of the index had to be changed */
+	public boolean update (int proxy, Rectangle bounds);
+
+	/** Removes a rectangle from the index. The proxy may be reused by later calls to {@link #add(Object, Rectangle)}. */
+	public void remove (int proxy);
+
+	/** Removes all rectangles. */
+	public void clear ();
+
+	public T getUserData (int proxy);
+
+	/** @return the number of rectangles in the index */
+	public int getProxyCount ();
+
+	/** Reports every rectangle that may overlap the region. */
+	public void query (Rectangle region, QueryCallback<T> callback);
+
+	/** Reports every rectangle that may intersect the segment from start to end. */
+	public void rayCast (Vector2 start, Vector2 end, RayCastCallback<T> callback);
+
+	/** Reports every pair of rectangles that may overlap, each pair once. */
+	public void queryPairs (PairCallback<T> callback);
+
+	static public interface QueryCallback<T> {
+		/** @return false to stop the query */
+		public boolean reportProxy (int proxy, T userData);
+	}
+
+	static public interface RayCastCallback<T> {
+		/** Called for each proxy whose bounds intersect the part of the ray before maxFraction. The callback usually performs an
+		 * exact intersection test.
+		 * @param maxFraction the fraction of the ray's length searched so far
+		 * @return 0 to stop the ray cast, a fraction to clip the ray to (eg, the fraction of the closest hit so far), or a negative
+		 *         value to continue without clipping */
+		public float reportRayProxy (int proxy, T userData, float maxFraction);
+	}
+
+	static public interface PairCallback<T> {
+		public void reportPair (int proxyA, T userDataA, int proxyB, T userDataB);
+	}
+}
@@ -20,6 +20,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GLCommon;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
@@ -46,7 +47,7 @@ public class ScissorStack {
 
 		if (scissors.size == 0) {
 			if (scissor.width < 1 || scissor.height < 1) return false;
-			Gdx.gl.glEnable(GL10.GL_SCISSOR_TEST);
+			GLStateCache.enable(GL10.GL_SCISSOR_TEST);
 		} else {
 			// merge scissors
 			Rectangle parent = scissors.get(scissors.size - 1);
@@ -64,7 +65,7 @@ public class ScissorStack {
 			scissor.height = Math.max(1, maxY - minY);
 		}
 		scissors.add(scissor);
-		Gdx.gl.glScissor((int)scissor.x, (int)scissor.y, (int)scissor.width, (int)scissor.height);
+		GLStateCache.scissor((int)scissor.x, (int)scissor.y, (int)scissor.width, (int)scissor.height);
 		return true;
 	}
 
@@ -73,10 +74,10 @@ public class ScissorStack {
 	public static Rectangle popScissors () {
 		Rectangle old = scissors.pop();
 		if (scissors.size == 0)
-			Gdx.gl.glDisable(GL10.GL_SCISSOR_TEST);
+			GLStateCache.disable(GL10.GL_SCISSOR_TEST);
 		else {
 			Rectangle scissor = scissors.peek();
-			Gdx.gl.glScissor((int)scissor.x, (int)scissor.y, (int)scissor.width, (int)scissor.height);
+			GLStateCache.scissor((int)scissor.x, (int)scissor.y, (int)scissor.width, (int)scissor.height);
 		}
 		return old;
 	}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/** An unbounded, lock-free queue that allows any number of threads to call {@link #put(Object)} and one thread at a time to call
+ * {@link #poll()} or {@link #drainTo(Array)}. Unlike {@link AtomicQueue}, put never fails. Values are stored in fixed size chunks
+ * that are linked together, so a new chunk is only allocated every chunk size values.
+ * <p>
+ * Values put by one thread are polled in the order they were put. A value whose put has not returned yet may hold back values
+ * put after it by other threads until it is visible.
+ * @see AtomicQueue */
+public class AtomicChunkedQueue<T> {
+	private final int chunkSize;
+	private final AtomicReference<Chunk<T>> tail;
+	private Chunk<T> head;
+	private int readIndex;
+
+	/** Creates a queue with a chunk size of 128. */
+	public AtomicChunkedQueue () {
+		this(128);
+	}
+
+	/** @param chunkSize the number of values per chunk */
+	public AtomicChunkedQueue (int chunkSize) {
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be > 0: " + chunkSize);
+		this.chunkSize = chunkSize;
+		head = new Chunk(chunkSize);
+		tail = new AtomicReference(head);
+	}
+
+	/** Adds a value to the queue. Can be called from any thread.
+	 * @param value may not be null */
+	public void put (T value) {
+		if (value == null) throw new IllegalArgumentException("value cannot be null.");
+		while (true) {
+			Chunk<T> chunk = tail.get();
+			int index = chunk.writeIndex.getAndIncrement();
+			if (index < chunkSize) {
+				chunk.values.set(index, value);
+				return;
+			}
+			// The chunk is full, link a new one if no other thread did and move the tail to it.
+			Chunk<T> next = chunk.next.get();
+			if (next == null) {
+				Chunk<T> newChunk = new Chunk(chunkSize);
+				if (chunk.next.compareAndSet(null, newChunk))
+					next = newChunk;
+				else
+					next = chunk.next.get();
+			}
+			tail.compareAndSet(chunk, next);
+		}
+	}
+
+	/** Removes and returns the oldest value, or null if the queue is empty. Must only be called by one thread at a time. */
+	public T poll () {
+		if (readIndex == chunkSize) {
+			Chunk<T> next = head.next.get();
+			if (next == null) return null;
+			head = next;
+			readIndex = 0;
+		}
+		AtomicReferenceArray<T> values = head.values;
+		T value = values.get(readIndex);
+		if (value == null) return null;
+		values.lazySet(readIndex++, null);
+		return value;
+	}
+
+	/** Removes all values currently visible in the queue and adds them to the array, oldest first. Must only be called by one
+	 * thread at a time.
+	 * @return the number of values added */
+	public int drainTo (Array<T> array) {
+		int count = 0;
+		while (true) {
+			T value = poll();
+			if (value == null) return count;
+			array.add(value);
+			count++;
+		}
+	}
+
+	/** @return true if no values are visible to the consuming thread. Must only be called by the consuming thread. */
+	public boolean isEmpty () {
+		if (readIndex == chunkSize) {
+			Chunk<T> next = head.next.get();
+			return next == null || next.values.get(0) == null;
+		}
+		return head.values.get(readIndex) == null;
+	}
+
+	static private class Chunk<T> {
+		final AtomicReferenceArray<T> values;
+		final AtomicInteger writeIndex = new AtomicInteger();
+		final AtomicReference<Chunk<T>> next = new AtomicReference();
+
+		Chunk (int size) {
+			values = new AtomicReferenceArray(size);
+		}
+	}
+}
@@ -44,7 +44,7 @@ public class Bits {
 		bits[word] ^= 1L << (index & 0x3F);
 	}
 
-	private void checkCapacity (int len) {
+	void checkCapacity (int len) {
 		if (len >= bits.length) {
 			long[] newBits = new long[len + 1];
 			System.arraycopy(bits, 0, newBits, 0, bits.length);
@@ -78,18 +78,109 @@ public class Bits {
 	 * 
 	 * @return the logical size of this bitset */
 	public int length () {
+		long[] bits = this.bits;
 		for (int word = bits.length - 1; word >= 0; --word) {
-			if (bits[word] != 0) {
-				for (int bit = 63; bit >= 0; --bit) {
-					if ((bits[word] & (1L << (bit & 0x3F))) != 0L) {
-						return (word << 6) + bit;
-					}
-				}
-			}
+			long bitsAtWord = bits[word];
+			if (bitsAtWord != 0) return (word << 6) + 64 - Long.numberOfLeadingZeros(bitsAtWord);
 		}
 		return 0;
 	}
 
+	/** @return the number of bits set to true in this bitset */
+	public int cardinality () {
+		long[] bits = this.bits;
+		int count = 0;
+		for (int i = 0, n = bits.length; i < n; i++)
+			count += Long.bitCount(bits[i]);
+		return count;
+	}
+
+	/** Returns the number of bits set to true with an index lower than the specified index.
+	 * @param index the exclusive upper bound */
+	public int rank (int index) {
+		long[] bits = this.bits;
+		int word = index >>> 6;
+		int count = 0;
+		for (int i = 0, n = Math.min(word, bits.length); i < n; i++)
+			count += Long.bitCount(bits[i]);
+		if (word < bits.length && (index & 0x3F) != 0) count += Long.bitCount(bits[word] & ((1L << (index & 0x3F)) - 1));
+		return count;
+	}
+
+	/** Returns the index of the n-th bit set to true, counting from zero. If the bitset has fewer set bits, -1 is returned. This is
+	 * the inverse of {@link #rank(int)}. */
+	public int select (int n) {
+		if (n < 0) return -1;
+		long[] bits = this.bits;
+		for (int word = 0, length = bits.length; word < length; word++) {
+			long bitsAtWord = bits[word];
+			int count = Long.bitCount(bitsAtWord);
+			if (n < count) {
+				for (; n > 0; n--)
+					bitsAtWord &= bitsAtWord - 1;
+				return (word << 6) + Long.numberOfTrailingZeros(bitsAtWord);
+			}
+			n -= count;
+		}
+		return -1;
+	}
+
+	/** Sets all bits from fromIndex (inclusive) to toIndex (exclusive). */
+	public void set (int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) return;
+		int startWord = fromIndex >>> 6, endWord = (toIndex - 1) >>> 6;
+		checkCapacity(endWord);
+		long[] bits = this.bits;
+		long startMask = -1L << (fromIndex & 0x3F), endMask = -1L >>> (-toIndex & 0x3F);
+		if (startWord == endWord) {
+			bits[startWord] |= startMask & endMask;
+			return;
+		}
+		bits[startWord] |= startMask;
+		for (int i = startWord + 1; i < endWord; i++)
+			bits[i] = -1L;
+		bits[endWord] |= endMask;
+	}
+
+	/** Clears all bits from fromIndex (inclusive) to toIndex (exclusive). */
+	public void clear (int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) return;
+		long[] bits = this.bits;
+		int startWord = fromIndex >>> 6;
+		if (startWord >= bits.length) return;
+		int endWord = (toIndex - 1) >>> 6;
+		long startMask = -1L << (fromIndex & 0x3F), endMask = -1L >>> (-toIndex & 0x3F);
+		if (endWord >= bits.length) {
+			endWord = bits.length - 1;
+			endMask = -1L;
+		}
+		if (startWord == endWord) {
+			bits[startWord] &= ~(startMask & endMask);
+			return;
+		}
+		bits[startWord] &= ~startMask;
+		for (int i = startWord + 1; i < endWord; i++)
+			bits[i] = 0L;
+		bits[endWord] &= ~endMask;
+	}
+
+	/** Adds the indices of all set bits to the specified array, in ascending order.
+	 * @return the array passed in, for chaining */
+	public IntArray toArray (IntArray out) {
+		long[] bits = this.bits;
+		int[] items = out.ensureCapacity(cardinality());
+		int size = out.size;
+		for (int word = 0, length = bits.length; word < length; word++) {
+			long bitsAtWord = bits[word];
+			while (bitsAtWord != 0) {
+				items[size++] = (word << 6) + Long.numberOfTrailingZeros(bitsAtWord);
+				bitsAtWord &= bitsAtWord - 1;
+			}
+		}
+		out.size = size;
+		return out;
+	}
+
 	/** @return true if this bitset contains no bits that are set to true */
 	public boolean isEmpty () {
 		int length = bits.length;
@@ -104,46 +195,31 @@ public class Bits {
 	/** Returns the index of the first bit that is set to true that occurs on or after the specified starting index. If no such bit
 	 * exists then -1 is returned. */
 	public int nextSetBit (int fromIndex) {
+		long[] bits = this.bits;
 		int word = fromIndex >>> 6;
-		if (word >= bits.length) return -1;
-		for (int i = fromIndex & 0x3f; i < 64; i++) {
-			if ((bits[word] & (1L << (i & 0x3F))) != 0L) {
-				return (word << 6) + i;
-			}
+		int bitsLength = bits.length;
+		if (word >= bitsLength) return -1;
+		long bitsAtWord = bits[word] & (-1L << (fromIndex & 0x3F));
+		while (true) {
+			if (bitsAtWord != 0) return (word << 6) + Long.numberOfTrailingZeros(bitsAtWord);
+			if (++word == bitsLength) return -1;
+			bitsAtWord = bits[word];
 		}
-		for (word++; word < bits.length; word++) {
-			if (word != 0) {
-				for (int i = 0; i < 64; i++) {
-					if ((bits[word] & (1L << (i & 0x3F))) != 0L) {
-						return (word << 6) + i;
-					}
-				}
-			}
-		}
-		return -1;
 	}
 
 	/** Returns the index of the first bit that is set to false that occurs on or after the specified starting index. If no such bit
 	 * exists then -1 is returned. */
 	public int nextClearBit (int fromIndex) {
+		long[] bits = this.bits;
 		int word = fromIndex >>> 6;
-		if (word >= bits.length) return -1;
-		for (int i = fromIndex & 0x3f; i < 64; i++) {
-			if ((bits[word] & (1L << (i & 0x3F))) == 0L) {
-				return (word << 6) + i;
-			}
+		int bitsLength = bits.length;
+		if (word >= bitsLength) return -1;
+		long bitsAtWord = ~bits[word] & (-1L << (fromIndex & 0x3F));
+		while (true) {
+			if (bitsAtWord != 0) return (word << 6) + Long.numberOfTrailingZeros(bitsAtWord);
+			if (++word == bitsLength) return -1;
+			bitsAtWord = ~bits[word];
 		}
-		for (word++; word < bits.length; word++) {
-			if (word == 0) {
-				return word << 6;
-			}
-			for (int i = 0; i < 64; i++) {
-				if ((bits[word] & (1L << (i & 0x3F))) == 0L) {
-					return (word << 6) + i;
-				}
-			}
-		}
-		return -1;
 	}
 
 	/** Performs a logical <b>AND</b> of this target bit set with the argument bit set. This bit set is modified so that each bit in it has
@@ -0,0 +1,850 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** A compressed bitset for non-negative indices, suited for sparse or clustered sets such as entity masks. The index space is split
+ * into chunks of 65536 bits. Each non-empty chunk is stored in a container which is either a sorted array of the low 16 bits
+ * (when it holds at most 4096 bits) or a plain 65536 bit bitmap, similar to a roaring bitmap. Cardinality is tracked per container
+ * so {@link #cardinality()}, {@link #rank(int)} and {@link #select(int)} do not need to touch every bit.
+ * @see Bits */
+public class CompressedBits {
+	static final int ARRAY_MAX = 4096;
+
+	int[] keys;
+	Container[] containers;
+	int size;
+
+	public CompressedBits () {
+		this(4);
+	}
+
+	/** @param initialContainers the number of 65536 bit chunks that can be stored before the backing arrays are grown */
+	public CompressedBits (int initialContainers) {
+		keys = new int[Math.max(1, initialContainers)];
+		containers = new Container[keys.length];
+	}
+
+	/** Creates a new bitset containing the same bits as the specified bitset. */
+	public CompressedBits (CompressedBits bits) {
+		this(bits.size);
+		set(bits);
+	}
+
+	/** @return whether the bit is set */
+	public boolean get (int index) {
+		int i = indexOf(index >>> 16);
+		if (i < 0) return false;
+		return containers[i].contains(index & 0xFFFF);
+	}
+
+	/** @param index the index of the bit to set, must be >= 0 */
+	public void set (int index) {
+		int key = index >>> 16;
+		int i = indexOf(key);
+		if (i < 0) {
+			i = -i - 1;
+			insert(i, key, new ArrayContainer(4));
+		}
+		containers[i] = containers[i].add(index & 0xFFFF);
+	}
+
+	/** @param index the index of the bit to clear */
+	public void clear (int index) {
+		int i = indexOf(index >>> 16);
+		if (i < 0) return;
+		Container container = containers[i].remove(index & 0xFFFF);
+		if (container.cardinality == 0)
+			removeIndex(i);
+		else
+			containers[i] = container;
+	}
+
+	/** Flips the bit at the specified index. */
+	public void flip (int index) {
+		if (get(index))
+			clear(index);
+		else
+			set(index);
+	}
+
+	/** Sets all bits from fromIndex (inclusive) to toIndex (exclusive). */
+	public void set (int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) return;
+		int lastIndex = toIndex - 1;
+		for (int key = fromIndex >>> 16, lastKey = lastIndex >>> 16; key <= lastKey; key++) {
+			int from = key == fromIndex >>> 16 ? fromIndex & 0xFFFF : 0;
+			int to = key == lastKey ? (lastIndex & 0xFFFF) + 1 : 0x10000;
+			int i = indexOf(key);
+			if (i < 0) {
+				i = -i - 1;
+				insert(i, key, new ArrayContainer(Math.min(to - from, ARRAY_MAX)));
+			}
+			containers[i] = containers[i].addRange(from, to);
+		}
+	}
+
+	/** Clears all bits from fromIndex (inclusive) to toIndex (exclusive). */
+	public void clear (int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) return;
+		int lastIndex = toIndex - 1;
+		int firstKey = fromIndex >>> 16, lastKey = lastIndex >>> 16;
+		int i = indexOf(firstKey);
+		if (i < 0) i = -i - 1;
+		while (i < size) {
+			int key = keys[i];
+			if (key > lastKey) break;
+			int from = key == firstKey ? fromIndex & 0xFFFF : 0;
+			int to = key == lastKey ? (lastIndex & 0xFFFF) + 1 : 0x10000;
+			Container container = containers[i].removeRange(from, to);
+			if (container.cardinality == 0)
+				removeIndex(i);
+			else
+				containers[i++] = container;
+		}
+	}
+
+	/** Clears the entire bitset. */
+	public void clear () {
+		Container[] containers = this.containers;
+		for (int i = 0, n = size; i < n; i++)
+			containers[i] = null;
+		size = 0;
+	}
+
+	/** Makes this bitset contain the same bits as the specified bitset. */
+	public void set (CompressedBits other) {
+		if (other == this) return;
+		clear();
+		ensureCapacity(other.size);
+		for (int i = 0, n = other.size; i < n; i++) {
+			keys[i] = other.keys[i];
+			containers[i] = other.containers[i].copy();
+		}
+		size = other.size;
+	}
+
+	/** Adds all bits set in the specified bitset. */
+	public void set (Bits bits) {
+		long[] words = bits.bits;
+		for (int word = 0, n = words.length; word < n; word++) {
+			long bitsAtWord = words[word];
+			while (bitsAtWord != 0) {
+				set((word << 6) + Long.numberOfTrailingZeros(bitsAtWord));
+				bitsAtWord &= bitsAtWord - 1;
+			}
+		}
+	}
+
+	/** Sets all bits of this bitset in the specified uncompressed bitset.
+	 * @return the bitset passed in, for chaining */
+	public Bits toBits (Bits out) {
+		for (int i = 0, n = size; i < n; i++)
+			containers[i].toBits(keys[i] << 16, out);
+		return out;
+	}
+
+	/** @return true if this bitset contains no bits that are set to true */
+	public boolean isEmpty () {
+		return size == 0;
+	}
+
+	/** @return the number of bits set to true in this bitset */
+	public int cardinality () {
+		Container[] containers = this.containers;
+		int count = 0;
+		for (int i = 0, n = size; i < n; i++)
+			count += containers[i].cardinality;
+		return count;
+	}
+
+	/** Returns the "logical size" of this bitset: the index of the highest set bit in the bitset plus one. Returns zero if the
+	 * bitset contains no set bits. */
+	public int length () {
+		if (size == 0) return 0;
+		Container container = containers[size - 1];
+		return (keys[size - 1] << 16) + container.select(container.cardinality - 1) + 1;
+	}
+
+	/** Returns the number of bits set to true with an index lower than the specified index.
+	 * @param index the exclusive upper bound */
+	public int rank (int index) {
+		int key = index >>> 16;
+		int count = 0;
+		for (int i = 0, n = size; i < n; i++) {
+			int containerKey = keys[i];
+			if (containerKey < key)
+				count += containers[i].cardinality;
+			else {
+				if (containerKey == key) count += containers[i].rank(index & 0xFFFF);
+				break;
+			}
+		}
+		return count;
+	}
+
+	/** Returns the index of the n-th bit set to true, counting from zero. If the bitset has fewer set bits, -1 is returned. This is
+	 * the inverse of {@link #rank(int)}. */
+	public int select (int n) {
+		if (n < 0) return -1;
+		for (int i = 0, s = size; i < s; i++) {
+			Container container = containers[i];
+			if (n < container.cardinality) return (keys[i] << 16) + container.select(n);
+			n -= container.cardinality;
+		}
+		return -1;
+	}
+
+	/** Returns the index of the first bit that is set to true that occurs on or after the specified starting index. If no such bit
+	 * exists then -1 is returned. */
+	public int nextSetBit (int fromIndex) {
+		int key = fromIndex >>> 16;
+		int i = indexOf(key);
+		if (i >= 0) {
+			int low = containers[i].nextSetBit(fromIndex & 0xFFFF);
+			if (low != -1) return (key << 16) + low;
+			i++;
+		} else
+			i = -i - 1;
+		if (i >= size) return -1;
+		return (keys[i] << 16) + containers[i].select(0);
+	}
+
+	/** Adds the indices of all set bits to the specified array, in ascending order.
+	 * @return the array passed in, for chaining */
+	public IntArray toArray (IntArray out) {
+		out.ensureCapacity(cardinality());
+		for (int i = 0, n = size; i < n; i++)
+			containers[i].toArray(keys[i] << 16, out);
+		return out;
+	}
+
+	/** Performs a logical <b>AND</b> of this bitset with the argument bitset. This bitset is modified so that only the bits set in
+	 * both bitsets remain set. */
+	public void and (CompressedBits other) {
+		int i = 0, j = 0, newSize = 0;
+		int[] keys = this.keys;
+		Container[] containers = this.containers;
+		while (i < size && j < other.size) {
+			int key = keys[i], otherKey = other.keys[j];
+			if (key < otherKey)
+				i++;
+			else if (key > otherKey)
+				j++;
+			else {
+				Container container = containers[i].and(other.containers[j]);
+				if (container.cardinality > 0) {
+					keys[newSize] = key;
+					containers[newSize++] = container;
+				}
+				i++;
+				j++;
+			}
+		}
+		truncate(newSize);
+	}
+
+	/** Clears all of the bits in this bitset whose corresponding bit is set in the specified bitset. */
+	public void andNot (CompressedBits other) {
+		int i = 0, j = 0, newSize = 0;
+		int[] keys = this.keys;
+		Container[] containers = this.containers;
+		while (i < size) {
+			int key = keys[i];
+			while (j < other.size && other.keys[j] < key)
+				j++;
+			Container container = containers[i];
+			if (j < other.size && other.keys[j] == key) container = container.andNot(other.containers[j]);
+			if (container.cardinality > 0) {
+				keys[newSize] = key;
+				containers[newSize++] = container;
+			}
+			i++;
+		}
+		truncate(newSize);
+	}
+
+	/** Performs a logical <b>OR</b> of this bitset with the argument bitset. This bitset is modified so that a bit is set if it was
+	 * set in either bitset. */
+	public void or (CompressedBits other) {
+		for (int j = 0, n = other.size; j < n; j++) {
+			int key = other.keys[j];
+			int i = indexOf(key);
+			if (i < 0)
+				insert(-i - 1, key, other.containers[j].copy());
+			else
+				containers[i] = containers[i].or(other.containers[j]);
+		}
+	}
+
+	/** Returns true if the specified bitset has any bits set to true that are also set to true in this bitset. */
+	public boolean intersects (CompressedBits other) {
+		int i = 0, j = 0;
+		while (i < size && j < other.size) {
+			int key = keys[i], otherKey = other.keys[j];
+			if (key < otherKey)
+				i++;
+			else if (key > otherKey)
+				j++;
+			else {
+				if (containers[i].intersects(other.containers[j])) return true;
+				i++;
+				j++;
+			}
+		}
+		return false;
+	}
+
+	/** Sets this bitset to the intersection of all the specified bitsets. The smallest bitset is used as the starting point and the
+	 * others are intersected in turn, stopping early once the result is empty. This bitset may be one of the specified bitsets, in
+	 * which case the others are intersected into it directly.
+	 * @param sets at least one bitset */
+	public void setToIntersection (Array<CompressedBits> sets) {
+		if (sets.size == 0) throw new IllegalArgumentException("sets cannot be empty.");
+		int smallestIndex = 0, smallest = Integer.MAX_VALUE;
+		for (int i = 0, n = sets.size; i < n; i++) {
+			int cardinality = sets.get(i).cardinality();
+			if (cardinality < smallest) {
+				smallest = cardinality;
+				smallestIndex = i;
+			}
+		}
+		if (sets.contains(this, true)) {
+			for (int i = 0, n = sets.size; i < n && size > 0; i++)
+				if (sets.get(i) != this) and(sets.get(i));
+			return;
+		}
+		set(sets.get(smallestIndex));
+		for (int i = 0, n = sets.size; i < n && size > 0; i++)
+			if (i != smallestIndex) and(sets.get(i));
+	}
+
+	private int indexOf (int key) {
+		int[] keys = this.keys;
+		int low = 0, high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midKey = keys[mid];
+			if (midKey < key)
+				low = mid + 1;
+			else if (midKey > key)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -(low + 1);
+	}
+
+	private void insert (int index, int key, Container container) {
+		ensureCapacity(size + 1);
+		System.arraycopy(keys, index, keys, index + 1, size - index);
+		System.arraycopy(containers, index, containers, index + 1, size - index);
+		keys[index] = key;
+		containers[index] = container;
+		size++;
+	}
+
+	private void removeIndex (int index) {
+		size--;
+		System.arraycopy(keys, index + 1, keys, index, size - index);
+		System.arraycopy(containers, index + 1, containers, index, size - index);
+		containers[size] = null;
+	}
+
+	private void truncate (int newSize) {
+		Container[] containers = this.containers;
+		for (int i = newSize, n = size; i < n; i++)
+			containers[i] = null;
+		size = newSize;
+	}
+
+	private void ensureCapacity (int capacity) {
+		if (capacity <= keys.length) return;
+		int newCapacity = Math.max(capacity, (int)(keys.length * 1.75f));
+		int[] newKeys = new int[newCapacity];
+		System.arraycopy(keys, 0, newKeys, 0, size);
+		keys = newKeys;
+		Container[] newContainers = new Container[newCapacity];
+		System.arraycopy(containers, 0, newContainers, 0, size);
+		containers = newContainers;
+	}
+
+	public int hashCode () {
+		int h = 0;
+		for (int i = 0, n = size; i < n; i++)
+			h = h * 31 + keys[i] * 17 + containers[i].cardinality;
+		return h;
+	}
+
+	public boolean equals (Object object) {
+		if (object == this) return true;
+		if (!(object instanceof CompressedBits)) return false;
+		CompressedBits other = (CompressedBits)object;
+		if (other.size != size) return false;
+		for (int i = 0, n = size; i < n; i++) {
+			if (keys[i] != other.keys[i]) return false;
+			Container container = containers[i], otherContainer = other.containers[i];
+			if (container.cardinality != otherContainer.cardinality) return false;
+			for (int j = 0, c = container.cardinality; j < c; j++)
+				if (!otherContainer.contains(container.select(j))) return false;
+		}
+		return true;
+	}
+
+	/** Holds the low 16 bits of the set bits in one 65536 bit chunk. Mutating methods return the container to use afterward, which
+	 * is a different instance when the representation changes. */
+	static abstract class Container {
+		int cardinality;
+
+		abstract boolean contains (int low);
+
+		abstract Container add (int low);
+
+		abstract Container remove (int low);
+
+		/** @param to exclusive */
+		abstract Container addRange (int from, int to);
+
+		/** @param to exclusive */
+		abstract Container removeRange (int from, int to);
+
+		/** @return the number of set bits lower than the specified value */
+		abstract int rank (int low);
+
+		abstract int select (int n);
+
+		/** @return the first set bit on or after the specified value, or -1 */
+		abstract int nextSetBit (int low);
+
+		abstract Container and (Container other);
+
+		abstract Container andNot (Container other);
+
+		abstract Container or (Container other);
+
+		abstract boolean intersects (Container other);
+
+		abstract void toArray (int high, IntArray out);
+
+		abstract void toBits (int high, Bits out);
+
+		abstract Container copy ();
+	}
+
+	/** Stores up to {@link CompressedBits#ARRAY_MAX} sorted values. */
+	static class ArrayContainer extends Container {
+		char[] values;
+
+		ArrayContainer (int capacity) {
+			values = new char[Math.max(4, capacity)];
+		}
+
+		private int indexOf (int low) {
+			char[] values = this.values;
+			int lowIndex = 0, highIndex = cardinality - 1;
+			while (lowIndex <= highIndex) {
+				int mid = (lowIndex + highIndex) >>> 1;
+				int value = values[mid];
+				if (value < low)
+					lowIndex = mid + 1;
+				else if (value > low)
+					highIndex = mid - 1;
+				else
+					return mid;
+			}
+			return -(lowIndex + 1);
+		}
+
+		boolean contains (int low) {
+			return indexOf(low) >= 0;
+		}
+
+		Container add (int low) {
+			int index = indexOf(low);
+			if (index >= 0) return this;
+			if (cardinality == ARRAY_MAX) return toBitmap().add(low);
+			index = -index - 1;
+			if (cardinality == values.length) {
+				char[] newValues = new char[Math.min(ARRAY_MAX, (int)(cardinality * 1.75f))];
+				System.arraycopy(values, 0, newValues, 0, cardinality);
+				values = newValues;
+			}
+			System.arraycopy(values, index, values, index + 1, cardinality - index);
+			values[index] = (char)low;
+			cardinality++;
+			return this;
+		}
+
+		Container remove (int low) {
+			int index = indexOf(low);
+			if (index < 0) return this;
+			cardinality--;
+			System.arraycopy(values, index + 1, values, index, cardinality - index);
+			return this;
+		}
+
+		Container addRange (int from, int to) {
+			int start = indexOf(from);
+			if (start < 0) start = -start - 1;
+			int end = indexOf(to);
+			if (end < 0) end = -end - 1;
+			int newCardinality = cardinality - (end - start) + (to - from);
+			if (newCardinality > ARRAY_MAX) return toBitmap().addRange(from, to);
+			char[] values = this.values;
+			if (newCardinality > values.length) {
+				char[] newValues = new char[Math.min(ARRAY_MAX, Math.max(newCardinality, (int)(cardinality * 1.75f)))];
+				System.arraycopy(values, 0, newValues, 0, start);
+				System.arraycopy(values, end, newValues, start + to - from, cardinality - end);
+				this.values = values = newValues;
+			} else
+				System.arraycopy(values, end, values, start + to - from, cardinality - end);
+			for (int i = start, value = from; value < to; i++, value++)
+				values[i] = (char)value;
+			cardinality = newCardinality;
+			return this;
+		}
+
+		Container removeRange (int from, int to) {
+			int start = indexOf(from);
+			if (start < 0) start = -start - 1;
+			int end = indexOf(to);
+			if (end < 0) end = -end - 1;
+			System.arraycopy(values, end, values, start, cardinality - end);
+			cardinality -= end - start;
+			return this;
+		}
+
+		int rank (int low) {
+			int index = indexOf(low);
+			return index >= 0 ? index : -index - 1;
+		}
+
+		int select (int n) {
+			return values[n];
+		}
+
+		int nextSetBit (int low) {
+			int index = indexOf(low);
+			if (index < 0) index = -index - 1;
+			return index < cardinality ? values[index] : -1;
+		}
+
+		Container and (Container other) {
+			char[] values = this.values;
+			int newCardinality = 0;
+			for (int i = 0, n = cardinality; i < n; i++) {
+				char value = values[i];
+				if (other.contains(value)) values[newCardinality++] = value;
+			}
+			cardinality = newCardinality;
+			return this;
+		}
+
+		Container andNot (Container other) {
+			char[] values = this.values;
+			int newCardinality = 0;
+			for (int i = 0, n = cardinality; i < n; i++) {
+				char value = values[i];
+				if (!other.contains(value)) values[newCardinality++] = value;
+			}
+			cardinality = newCardinality;
+			return this;
+		}
+
+		Container or (Container other) {
+			if (other instanceof BitmapContainer) {
+				BitmapContainer result = (BitmapContainer)other.copy();
+				for (int i = 0, n = cardinality; i < n; i++)
+					result.add(values[i]);
+				return result;
+			}
+			ArrayContainer otherArray = (ArrayContainer)other;
+			if (cardinality + otherArray.cardinality > ARRAY_MAX) return toBitmap().or(other);
+			char[] otherValues = otherArray.values;
+			char[] merged = new char[Math.max(values.length, cardinality + otherArray.cardinality)];
+			int i = 0, j = 0, k = 0;
+			while (i < cardinality && j < otherArray.cardinality) {
+				char a = values[i], b = otherValues[j];
+				if (a < b)
+					merged[k++] = values[i++];
+				else if (a > b)
+					merged[k++] = otherValues[j++];
+				else {
+					merged[k++] = a;
+					i++;
+					j++;
+				}
+			}
+			while (i < cardinality)
+				merged[k++] = values[i++];
+			while (j < otherArray.cardinality)
+				merged[k++] = otherValues[j++];
+			values = merged;
+			cardinality = k;
+			return this;
+		}
+
+		boolean intersects (Container other) {
+			char[] values = this.values;
+			for (int i = 0, n = cardinality; i < n; i++)
+				if (other.contains(values[i])) return true;
+			return false;
+		}
+
+		void toArray (int high, IntArray out) {
+			int[] items = out.ensureCapacity(cardinality);
+			char[] values = this.values;
+			int size = out.size;
+			for (int i = 0, n = cardinality; i < n; i++)
+				items[size++] = high | values[i];
+			out.size = size;
+		}
+
+		void toBits (int high, Bits out) {
+			char[] values = this.values;
+			for (int i = 0, n = cardinality; i < n; i++)
+				out.set(high | values[i]);
+		}
+
+		Container copy () {
+			ArrayContainer copy = new ArrayContainer(cardinality);
+			System.arraycopy(values, 0, copy.values, 0, cardinality);
+			copy.cardinality = cardinality;
+			return copy;
+		}
+
+		BitmapContainer toBitmap () {
+			BitmapContainer bitmap = new BitmapContainer();
+			long[] words = bitmap.words;
+			char[] values = this.values;
+			for (int i = 0, n = cardinality; i < n; i++) {
+				char value = values[i];
+				words[value >>> 6] |= 1L << value;
+			}
+			bitmap.cardinality = cardinality;
+			return bitmap;
+		}
+	}
+
+	/** Stores 65536 bits as 1024 longs. */
+	static class BitmapContainer extends Container {
+		final long[] words = new long[1024];
+
+		boolean contains (int low) {
+			return (words[low >>> 6] & (1L << low)) != 0;
+		}
+
+		Container add (int low) {
+			long word = words[low >>> 6];
+			long newWord = word | (1L << low);
+			if (newWord != word) {
+				words[low >>> 6] = newWord;
+				cardinality++;
+			}
+			return this;
+		}
+
+		Container remove (int low) {
+			long word = words[low >>> 6];
+			long newWord = word & ~(1L << low);
+			if (newWord != word) {
+				words[low >>> 6] = newWord;
+				cardinality--;
+				if (cardinality <= ARRAY_MAX) return toArrayContainer();
+			}
+			return this;
+		}
+
+		Container addRange (int from, int to) {
+			setRange(from, to, true);
+			return this;
+		}
+
+		Container removeRange (int from, int to) {
+			setRange(from, to, false);
+			return cardinality <= ARRAY_MAX ? toArrayContainer() : this;
+		}
+
+		private void setRange (int from, int to, boolean value) {
+			long[] words = this.words;
+			int startWord = from >>> 6, endWord = (to - 1) >>> 6;
+			long startMask = -1L << from, endMask = -1L >>> -to;
+			for (int i = startWord; i <= endWord; i++) {
+				long mask = -1L;
+				if (i == startWord) mask &= startMask;
+				if (i == endWord) mask &= endMask;
+				long word = words[i];
+				long newWord = value ? word | mask : word & ~mask;
+				cardinality += Long.bitCount(newWord) - Long.bitCount(word);
+				words[i] = newWord;
+			}
+		}
+
+		int rank (int low) {
+			long[] words = this.words;
+			int word = low >>> 6, count = 0;
+			for (int i = 0; i < word; i++)
+				count += Long.bitCount(words[i]);
+			if ((low & 0x3F) != 0) count += Long.bitCount(words[word] & ((1L << low) - 1));
+			return count;
+		}
+
+		int select (int n) {
+			long[] words = this.words;
+			for (int i = 0; i < 1024; i++) {
+				long word = words[i];
+				int count = Long.bitCount(word);
+				if (n < count) {
+					for (; n > 0; n--)
+						word &= word - 1;
+					return (i << 6) + Long.numberOfTrailingZeros(word);
+				}
+				n -= count;
+			}
+			return -1;
+		}
+
+		int nextSetBit (int low) {
+			long[] words = this.words;
+			int i = low >>> 6;
+			long word = words[i] & (-1L << low);
+			while (true) {
+				if (word != 0) return (i << 6) + Long.numberOfTrailingZeros(word);
+				if (++i == 1024) return -1;
+				word = words[i];
+			}
+		}
+
+		Container and (Container other) {
+			if (other instanceof ArrayContainer) {
+				ArrayContainer result = (ArrayContainer)other.copy();
+				return result.and(this);
+			}
+			long[] words = this.words, otherWords = ((BitmapContainer)other).words;
+			int count = 0;
+			for (int i = 0; i < 1024; i++) {
+				long word = words[i] & otherWords[i];
+				words[i] = word;
+				count += Long.bitCount(word);
+			}
+			cardinality = count;
+			return count <= ARRAY_MAX ? toArrayContainer() : this;
+		}
+
+		Container andNot (Container other) {
+			long[] words = this.words;
+			if (other instanceof ArrayContainer) {
+				ArrayContainer array = (ArrayContainer)other;
+				char[] values = array.values;
+				for (int i = 0, n = array.cardinality; i < n; i++) {
+					char value = values[i];
+					long word = words[value >>> 6];
+					long newWord = word & ~(1L << value);
+					if (newWord != word) {
+						words[value >>> 6] = newWord;
+						cardinality--;
+					}
+				}
+			} else {
+				long[] otherWords = ((BitmapContainer)other).words;
+				int count = 0;
+				for (int i = 0; i < 1024; i++) {
+					long word = words[i] & ~otherWords[i];
+					words[i] = word;
+					count += Long.bitCount(word);
+				}
+				cardinality = count;
+			}
+			return cardinality <= ARRAY_MAX ? toArrayContainer() : this;
+		}
+
+		Container or (Container other) {
+			if (other instanceof ArrayContainer) {
+				ArrayContainer array = (ArrayContainer)other;
+				char[] values = array.values;
+				for (int i = 0, n = array.cardinality; i < n; i++)
+					add(values[i]);
+				return this;
+			}
+			long[] words = this.words, otherWords = ((BitmapContainer)other).words;
+			int count = 0;
+			for (int i = 0; i < 1024; i++) {
+				long word = words[i] | otherWords[i];
+				words[i] = word;
+				count += Long.bitCount(word);
+			}
+			cardinality = count;
+			return this;
+		}
+
+		boolean intersects (Container other) {
+			if (other instanceof ArrayContainer) return other.intersects(this);
+			long[] words = this.words, otherWords = ((BitmapContainer)other).words;
+			for (int i = 0; i < 1024; i++)
+				if ((words[i] & otherWords[i]) != 0) return true;
+			return false;
+		}
+
+		void toArray (int high, IntArray out) {
+			int[] items = out.ensureCapacity(cardinality);
+			long[] words = this.words;
+			int size = out.size;
+			for (int i = 0; i < 1024; i++) {
+				long word = words[i];
+				while (word != 0) {
+					items[size++] = high | (i << 6) + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+				}
+			}
+			out.size = size;
+		}
+
+		void toBits (int high, Bits out) {
+			int firstWord = high >>> 6;
+			out.checkCapacity(firstWord + 1023);
+			long[] bits = out.bits;
+			long[] words = this.words;
+			for (int i = 0; i < 1024; i++)
+				bits[firstWord + i] |= words[i];
+		}
+
+		Container copy () {
+			BitmapContainer copy = new BitmapContainer();
+			System.arraycopy(words, 0, copy.words, 0, 1024);
+			copy.cardinality = cardinality;
+			return copy;
+		}
+
+		ArrayContainer toArrayContainer () {
+			ArrayContainer array = new ArrayContainer(cardinality);
+			toArray(array.values);
+			array.cardinality = cardinality;
+			return array;
+		}
+
+		private void toArray (char[] values) {
+			long[] words = this.words;
+			int index = 0;
+			for (int i = 0; i < 1024; i++) {
+				long word = words[i];
+				while (word != 0) {
+					values[index++] = (char)((i << 6) + Long.numberOfTrailingZeros(word));
+					word &= word - 1;
+				}
+			}
+		}
+	}
+}
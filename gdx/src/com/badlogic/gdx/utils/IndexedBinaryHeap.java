@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** A binary min heap of int ids in the range 0 to capacity - 1, each with a float value. Unlike {@link BinaryHeap} no node objects
+ * are needed, and the position of every id in the heap is tracked so its value can be changed (eg, decrease-key) or it can be
+ * removed in O(log n). Adding, popping and updating never allocate unless the capacity is increased.
+ * @see BinaryHeap */
+public class IndexedBinaryHeap {
+	public int size;
+
+	private int[] heap;
+	private int[] positions;
+	private float[] values;
+
+	/** @param capacity the number of distinct ids, ids must be less than this value */
+	public IndexedBinaryHeap (int capacity) {
+		heap = new int[capacity];
+		positions = new int[capacity];
+		values = new float[capacity];
+		for (int i = 0; i < capacity; i++)
+			positions[i] = -1;
+	}
+
+	/** Adds the id with the specified value.
+	 * @throws IllegalArgumentException if the id is already in the heap */
+	public void add (int id, float value) {
+		if (positions[id] != -1) throw new IllegalArgumentException("id is already in the heap: " + id);
+		values[id] = value;
+		heap[size] = id;
+		positions[id] = size;
+		up(size++);
+	}
+
+	/** Adds the id with the specified value, or changes its value if it is already in the heap. */
+	public void addOrUpdate (int id, float value) {
+		if (positions[id] == -1)
+			add(id, value);
+		else
+			setValue(id, value);
+	}
+
+	/** @return whether the id is currently in the heap */
+	public boolean contains (int id) {
+		return positions[id] != -1;
+	}
+
+	/** @return the id with the smallest value, without removing it */
+	public int peek () {
+		if (size == 0) throw new IllegalStateException("The heap is empty.");
+		return heap[0];
+	}
+
+	/** @return the smallest value in the heap */
+	public float peekValue () {
+		if (size == 0) throw new IllegalStateException("The heap is empty.");
+		return values[heap[0]];
+	}
+
+	/** Removes and returns the id with the smallest value. */
+	public int pop () {
+		if (size == 0) throw new IllegalStateException("The heap is empty.");
+		int[] heap = this.heap;
+		int popped = heap[0];
+		positions[popped] = -1;
+		if (--size > 0) {
+			heap[0] = heap[size];
+			positions[heap[0]] = 0;
+			down(0);
+		}
+		return popped;
+	}
+
+	/** Removes the id from the heap, if present.
+	 * @return true if the id was in the heap */
+	public boolean remove (int id) {
+		int index = positions[id];
+		if (index == -1) return false;
+		positions[id] = -1;
+		if (--size > index) {
+			int last = heap[size];
+			heap[index] = last;
+			positions[last] = index;
+			if (values[last] < values[id])
+				up(index);
+			else
+				down(index);
+		}
+		return true;
+	}
+
+	/** @return the value of the id, which is only meaningful if the id is in the heap */
+	public float getValue (int id) {
+		return values[id];
+	}
+
+	/** Changes the value of an id in the heap and restores the heap order. */
+	public void setValue (int id, float value) {
+		int index = positions[id];
+		if (index == -1) throw new IllegalArgumentException("id is not in the heap: " + id);
+		float oldValue = values[id];
+		values[id] = value;
+		if (value < oldValue)
+			up(index);
+		else
+			down(index);
+	}
+
+	/** Removes all ids. This is O(size), not O(capacity). */
+	public void clear () {
+		int[] heap = this.heap, positions = this.positions;
+		for (int i = 0, n = size; i < n; i++)
+			positions[heap[i]] = -1;
+		size = 0;
+	}
+
+	/** @return the number of distinct ids the heap can hold */
+	public int getCapacity () {
+		return positions.length;
+	}
+
+	/** Increases the capacity if necessary. The heap keeps its contents. */
+	public void ensureCapacity (int capacity) {
+		int oldCapacity = positions.length;
+		if (capacity <= oldCapacity) return;
+		int[] newHeap = new int[capacity];
+		System.arraycopy(heap, 0, newHeap, 0, size);
+		heap = newHeap;
+		int[] newPositions = new int[capacity];
+		System.arraycopy(positions, 0, newPositions, 0, oldCapacity);
+		for (int i = oldCapacity; i < capacity; i++)
+			newPositions[i] = -1;
+		positions = newPositions;
+		float[] newValues = new float[capacity];
+		System.arraycopy(values, 0, newValues, 0, oldCapacity);
+		values = newValues;
+	}
+
+	private void up (int index) {
+		int[] heap = this.heap, positions = this.positions;
+		float[] values = this.values;
+		int id = heap[index];
+		float value = values[id];
+		while (index > 0) {
+			int parentIndex = (index - 1) >> 1;
+			int parent = heap[parentIndex];
+			if (value >= values[parent]) break;
+			heap[index] = parent;
+			positions[parent] = index;
+			index = parentIndex;
+		}
+		heap[index] = id;
+		positions[id] = index;
+	}
+
+	private void down (int index) {
+		int[] heap = this.heap, positions = this.positions;
+		float[] values = this.values;
+		int size = this.size;
+		int id = heap[index];
+		float value = values[id];
+		while (true) {
+			int childIndex = 1 + (index << 1);
+			if (childIndex >= size) break;
+			int child = heap[childIndex];
+			float childValue = values[child];
+			int rightIndex = childIndex + 1;
+			if (rightIndex < size) {
+				int right = heap[rightIndex];
+				float rightValue = values[right];
+				if (rightValue < childValue) {
+					childIndex = rightIndex;
+					child = right;
+					childValue = rightValue;
+				}
+			}
+			if (childValue >= value) break;
+			heap[index] = child;
+			positions[child] = index;
+			index = childIndex;
+		}
+		heap[index] = id;
+		positions[id] = index;
+	}
+
+	public String toString () {
+		if (size == 0) return "[]";
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('[');
+		buffer.append(heap[0]);
+		buffer.append(':');
+		buffer.append(values[heap[0]]);
+		for (int i = 1; i < size; i++) {
+			buffer.append(", ");
+			buffer.append(heap[i]);
+			buffer.append(':');
+			buffer.append(values[heap[i]]);
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+}
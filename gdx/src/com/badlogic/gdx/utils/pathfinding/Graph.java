@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.pathfinding;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/** A graph searched by a {@link PathFinder}. Nodes are identified by ints from 0 to {@link #getNodeCount()} - 1. Implementations
+ * must not be modified during a search, but may be searched by multiple {@link PathFinder} instances on different threads at the
+ * same time. */
+public interface Graph {
+	/** @return the number of nodes, node ids must be less than this value */
+	public int getNodeCount ();
+
+	/** Adds the nodes that can be reached directly from the specified node and the cost of moving to each of them. Costs must not
+	 * be negative.
+	 * @param nodes receives the connected nodes, already cleared
+	 * @param costs receives the cost of each connection, in the same order as the nodes, already cleared */
+	public void getConnections (int node, IntArray nodes, FloatArray costs);
+
+	/** Returns the estimated cost of moving from the node to the goal. For {@link PathFinder#findPath(Graph, int, int, IntArray)} to
+	 * find the cheapest path this must never be greater than the actual cost. Returning 0 turns A* into Dijkstra's algorithm. */
+	public float estimate (int node, int goal);
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.pathfinding;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/** A {@link Graph} over a grid of cells, each with the cost of entering it. The node for a cell is <code>y * width + x</code>.
+ * Cells with a negative cost are blocked. Diagonal moves cost the cell cost times sqrt(2) and are only possible when both
+ * orthogonally adjacent cells are walkable, so paths never cut corners.
+ * @see #setCosts(TiledMapTileLayer, String, float, float) */
+public class GridGraph implements Graph {
+	static public final float BLOCKED = -1;
+	static final float SQRT2 = 1.4142135f;
+
+	public final int width, height;
+	public boolean allowDiagonal = true;
+
+	final float[] costs;
+	private float minCost = 1;
+
+	/** Creates a grid where every cell has a cost of 1. */
+	public GridGraph (int width, int height) {
+		this.width = width;
+		this.height = height;
+		costs = new float[width * height];
+		for (int i = 0, n = costs.length; i < n; i++)
+			costs[i] = 1;
+	}
+
+	/** Creates a grid the size of the layer and sets the costs from its cells.
+	 * @see #setCosts(TiledMapTileLayer, String, float, float) */
+	public GridGraph (TiledMapTileLayer layer, String costProperty, float defaultCost, float emptyCost) {
+		this(layer.getWidth(), layer.getHeight());
+		setCosts(layer, costProperty, defaultCost, emptyCost);
+	}
+
+	/** Sets the cost of every cell from the tiles of the layer, which must be the same size as this grid.
+	 * @param costProperty the name of the tile property that holds the cost, may be null
+	 * @param defaultCost the cost used for tiles without the cost property
+	 * @param emptyCost the cost used for cells without a tile, eg {@link #BLOCKED} */
+	public void setCosts (TiledMapTileLayer layer, String costProperty, float defaultCost, float emptyCost) {
+		if (layer.getWidth() != width || layer.getHeight() != height)
+			throw new IllegalArgumentException("Layer size must match the grid size: " + layer.getWidth() + "x" + layer.getHeight());
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				Cell cell = layer.getCell(x, y);
+				TiledMapTile tile = cell == null ? null : cell.getTile();
+				float cost;
+				if (tile == null)
+					cost = emptyCost;
+				else if (costProperty == null)
+					cost = defaultCost;
+				else {
+					Object value = tile.getProperties().get(costProperty);
+					if (value instanceof Number)
+						cost = ((Number)value).floatValue();
+					else if (value != null)
+						cost = Float.parseFloat(value.toString());
+					else
+						cost = defaultCost;
+				}
+				setCost(x, y, cost);
+			}
+		}
+	}
+
+	/** @param cost the cost of entering the cell, or a negative value if the cell is blocked */
+	public void setCost (int x, int y, float cost) {
+		costs[y * width + x] = cost;
+		if (cost >= 0 && cost < minCost) minCost = cost;
+	}
+
+	public float getCost (int x, int y) {
+		return costs[y * width + x];
+	}
+
+	/** @return false if the cell is outside the grid or blocked */
+	public boolean isWalkable (int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height && costs[y * width + x] >= 0;
+	}
+
+	public int getNode (int x, int y) {
+		return y * width + x;
+	}
+
+	public int getX (int node) {
+		return node % width;
+	}
+
+	public int getY (int node) {
+		return node / width;
+	}
+
+	public int getNodeCount () {
+		return costs.length;
+	}
+
+	public void getConnections (int node, IntArray nodes, FloatArray costs) {
+		int width = this.width;
+		int x = node % width, y = node / width;
+		boolean left = isWalkable(x - 1, y), right = isWalkable(x + 1, y);
+		boolean down = isWalkable(x, y - 1), up = isWalkable(x, y + 1);
+		float[] cellCosts = this.costs;
+		if (left) connect(node - 1, 1, nodes, costs);
+		if (right) connect(node + 1, 1, nodes, costs);
+		if (down) connect(node - width, 1, nodes, costs);
+		if (up) connect(node + width, 1, nodes, costs);
+		if (!allowDiagonal) return;
+		if (left && down && cellCosts[node - width - 1] >= 0) connect(node - width - 1, SQRT2, nodes, costs);
+		if (right && down && cellCosts[node - width + 1] >= 0) connect(node - width + 1, SQRT2, nodes, costs);
+		if (left && up && cellCosts[node + width - 1] >= 0) connect(node + width - 1, SQRT2, nodes, costs);
+		if (right && up && cellCosts[node + width + 1] >= 0) connect(node + width + 1, SQRT2, nodes, costs);
+	}
+
+	private void connect (int node, float scale, IntArray nodes, FloatArray costs) {
+		nodes.add(node);
+		costs.add(this.costs[node] * scale);
+	}
+
+	/** Returns the octile distance (or Manhattan distance if diagonal moves are not allowed) scaled by the lowest cell cost. */
+	public float estimate (int node, int goal) {
+		int width = this.width;
+		int dx = Math.abs(node % width - goal % width), dy = Math.abs(node / width - goal / width);
+		if (!allowDiagonal) return (dx + dy) * minCost;
+		return (Math.max(dx, dy) + (SQRT2 - 1) * Math.min(dx, dy)) * minCost;
+	}
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.pathfinding;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Runs many path searches in parallel on worker threads. Each worker thread has its own {@link PathFinder}, so after the first
+ * searches have sized its arrays no allocation happens per search.
+ * <p>
+ * This class is not thread safe, {@link #findPaths(Graph, Array)} must be called from one thread at a time. */
+public class ParallelPathFinder implements Disposable {
+	private final AsyncExecutor executor;
+	private final Worker[] workers;
+	private final AsyncResult[] results;
+
+	/** @param threads the number of worker threads, eg the number of available processors */
+	public ParallelPathFinder (int threads) {
+		executor = new AsyncExecutor(threads);
+		workers = new Worker[threads];
+		for (int i = 0; i < threads; i++)
+			workers[i] = new Worker(i, threads);
+		results = new AsyncResult[threads];
+	}
+
+	/** Finds a path for every request and blocks until all searches are done. Requests are divided evenly among the worker
+	 * threads. The graph must not be modified until this method returns. */
+	public void findPaths (Graph graph, Array<PathRequest> requests) {
+		Worker[] workers = this.workers;
+		AsyncResult[] results = this.results;
+		int count = Math.min(workers.length, requests.size);
+		for (int i = 0; i < count; i++) {
+			Worker worker = workers[i];
+			worker.graph = graph;
+			worker.requests = requests;
+			results[i] = executor.submit(worker);
+		}
+		for (int i = 0; i < count; i++) {
+			results[i].get();
+			results[i] = null;
+			workers[i].graph = null;
+			workers[i].requests = null;
+		}
+	}
+
+	/** Waits for running searches to finish, then stops the worker threads. */
+	public void dispose () {
+		executor.dispose();
+	}
+
+	static private class Worker implements AsyncTask<Void> {
+		final PathFinder pathFinder = new PathFinder();
+		final int offset, stride;
+		Graph graph;
+		Array<PathRequest> requests;
+
+		Worker (int offset, int stride) {
+			this.offset = offset;
+			this.stride = stride;
+		}
+
+		public Void call () throws Exception {
+			Graph graph = this.graph;
+			PathFinder pathFinder = this.pathFinder;
+			for (int i = offset, n = requests.size; i < n; i += stride) {
+				PathRequest request = requests.get(i);
+				if (request.jumpPointSearch && graph instanceof GridGraph)
+					request.found = pathFinder.findPathJPS((GridGraph)graph, request.start, request.goal, request.path);
+				else
+					request.found = pathFinder.findPath(graph, request.start, request.goal, request.path);
+				request.cost = pathFinder.getCost(request.goal);
+			}
+			return null;
+		}
+	}
+}
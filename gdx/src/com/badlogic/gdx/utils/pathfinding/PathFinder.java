@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.pathfinding;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IndexedBinaryHeap;
+import com.badlogic.gdx.utils.IntArray;
+
+/** Finds paths through a {@link Graph} using A*, Dijkstra's algorithm or, for a {@link GridGraph}, jump point search. A PathFinder
+ * holds the state of a search and is meant to be reused: after the arrays have grown to the size of the graph, searches do not
+ * allocate. A PathFinder is not thread safe, but a separate instance per thread can search the same graph concurrently, see
+ * {@link ParallelPathFinder}. */
+public class PathFinder {
+	private final IndexedBinaryHeap open = new IndexedBinaryHeap(0);
+	private float[] costs = new float[0];
+	private int[] parents = new int[0];
+	private int[] visited = new int[0];
+	private int searchId;
+	private final IntArray connections = new IntArray();
+	private final FloatArray connectionCosts = new FloatArray();
+
+	/** The number of nodes taken from the open list during the last search. */
+	public int nodesExpanded;
+
+	/** Finds the cheapest path from start to goal using A*.
+	 * @param path cleared and then receives the nodes of the path, including start and goal
+	 * @return true if a path was found */
+	public boolean findPath (Graph graph, int start, int goal, IntArray path) {
+		begin(graph.getNodeCount());
+		path.clear();
+		IndexedBinaryHeap open = this.open;
+		IntArray connections = this.connections;
+		FloatArray connectionCosts = this.connectionCosts;
+		visit(start, 0, -1, graph.estimate(start, goal));
+		while (open.size > 0) {
+			int node = open.pop();
+			nodesExpanded++;
+			if (node == goal) {
+				buildPath(goal, path);
+				return true;
+			}
+			float cost = costs[node];
+			connections.clear();
+			connectionCosts.clear();
+			graph.getConnections(node, connections, connectionCosts);
+			int[] nodes = connections.items;
+			float[] nodeCosts = connectionCosts.items;
+			for (int i = 0, n = connections.size; i < n; i++) {
+				int next = nodes[i];
+				visit(next, cost + nodeCosts[i], node, graph.estimate(next, goal));
+			}
+		}
+		return false;
+	}
+
+	/** Computes the cost of the cheapest path from start to every node whose cost is at most maxCost, using Dijkstra's algorithm.
+	 * Afterward the costs are available from {@link #getCost(int)} and paths from {@link #getPath(int, IntArray)}. */
+	public void computeCosts (Graph graph, int start, float maxCost) {
+		begin(graph.getNodeCount());
+		IndexedBinaryHeap open = this.open;
+		IntArray connections = this.connections;
+		FloatArray connectionCosts = this.connectionCosts;
+		visit(start, 0, -1, 0);
+		while (open.size > 0) {
+			int node = open.pop();
+			float cost = costs[node];
+			if (cost > maxCost) {
+				open.clear();
+				break;
+			}
+			nodesExpanded++;
+			connections.clear();
+			connectionCosts.clear();
+			graph.getConnections(node, connections, connectionCosts);
+			int[] nodes = connections.items;
+			float[] nodeCosts = connectionCosts.items;
+			for (int i = 0, n = connections.size; i < n; i++)
+				visit(nodes[i], cost + nodeCosts[i], node, 0);
+		}
+	}
+
+	/** Finds the shortest path from start to goal using jump point search, which expands far fewer nodes than A* on open grids. The
+	 * search treats every walkable cell as having a cost of 1, so it only finds the cheapest path on grids with uniform costs. If
+	 * diagonal moves are not allowed this falls back to {@link #findPath(Graph, int, int, IntArray)}.
+	 * @param path cleared and then receives every cell of the path, including start and goal
+	 * @return true if a path was found */
+	public boolean findPathJPS (GridGraph grid, int start, int goal, IntArray path) {
+		if (!grid.allowDiagonal) return findPath(grid, start, goal, path);
+		begin(grid.getNodeCount());
+		path.clear();
+		int width = grid.width;
+		int goalX = goal % width, goalY = goal / width;
+		IndexedBinaryHeap open = this.open;
+		IntArray connections = this.connections;
+		visit(start, 0, -1, octile(start % width, start / width, goalX, goalY));
+		while (open.size > 0) {
+			int node = open.pop();
+			nodesExpanded++;
+			if (node == goal) {
+				buildJumpPath(width, goal, path);
+				return true;
+			}
+			int x = node % width, y = node / width;
+			float cost = costs[node];
+			connections.clear();
+			prunedNeighbors(grid, node, x, y, connections);
+			int[] nodes = connections.items;
+			for (int i = 0, n = connections.size; i < n; i++) {
+				int neighborX = nodes[i] % width, neighborY = nodes[i] / width;
+				int jumpNode = jump(grid, neighborX, neighborY, neighborX - x, neighborY - y, goalX, goalY);
+				if (jumpNode == -1) continue;
+				int jumpX = jumpNode % width, jumpY = jumpNode / width;
+				visit(jumpNode, cost + octile(x, y, jumpX, jumpY), node, octile(jumpX, jumpY, goalX, goalY));
+			}
+		}
+		return false;
+	}
+
+	/** @return the cost of the cheapest path found to the node by the last search, or positive infinity if the node was not
+	 *         reached */
+	public float getCost (int node) {
+		if (node >= visited.length || visited[node] != searchId) return Float.POSITIVE_INFINITY;
+		return costs[node];
+	}
+
+	/** Stores the path to the node found by the last search. For {@link #findPathJPS(GridGraph, int, int, IntArray)} only the jump
+	 * points are stored.
+	 * @param path cleared and then receives the nodes of the path
+	 * @return false if the node was not reached */
+	public boolean getPath (int node, IntArray path) {
+		path.clear();
+		if (node >= visited.length || visited[node] != searchId) return false;
+		buildPath(node, path);
+		return true;
+	}
+
+	private void begin (int nodeCount) {
+		if (visited.length < nodeCount) {
+			costs = new float[nodeCount];
+			parents = new int[nodeCount];
+			visited = new int[nodeCount];
+			searchId = 0;
+			open.ensureCapacity(nodeCount);
+		}
+		open.clear();
+		nodesExpanded = 0;
+		if (++searchId == 0) {
+			int[] visited = this.visited;
+			for (int i = 0, n = visited.length; i < n; i++)
+				visited[i] = 0;
+			searchId = 1;
+		}
+	}
+
+	/** Records the cost and parent of the node if it is reached for the first time or more cheaply than before, and adds it to the
+	 * open list. */
+	private void visit (int node, float cost, int parent, float estimate) {
+		if (visited[node] == searchId) {
+			if (cost >= costs[node]) return;
+		} else
+			visited[node] = searchId;
+		costs[node] = cost;
+		parents[node] = parent;
+		open.addOrUpdate(node, cost + estimate);
+	}
+
+	private void buildPath (int node, IntArray path) {
+		int[] parents = this.parents;
+		for (; node != -1; node = parents[node])
+			path.add(node);
+		path.reverse();
+	}
+
+	/** Stores every cell of the path, filling in the cells between consecutive jump points, which always lie on a straight or
+	 * diagonal line. */
+	private void buildJumpPath (int width, int node, IntArray path) {
+		int[] parents = this.parents;
+		while (true) {
+			int parent = parents[node];
+			if (parent == -1) break;
+			int x = node % width, y = node / width;
+			int parentX = parent % width, parentY = parent / width;
+			int dx = sign(parentX - x), dy = sign(parentY - y);
+			while (x != parentX || y != parentY) {
+				path.add(y * width + x);
+				x += dx;
+				y += dy;
+			}
+			node = parent;
+		}
+		path.add(node);
+		path.reverse();
+	}
+
+	/** Adds the neighbors of the node that can be on an optimal path, given the direction it was reached from. */
+	private void prunedNeighbors (GridGraph grid, int node, int x, int y, IntArray out) {
+		int width = grid.width;
+		int parent = parents[node];
+		if (parent == -1) {
+			connectionCosts.clear();
+			grid.getConnections(node, out, connectionCosts);
+			return;
+		}
+		int dx = sign(x - parent % width), dy = sign(y - parent / width);
+		if (dx != 0 && dy != 0) {
+			boolean vertical = grid.isWalkable(x, y + dy), horizontal = grid.isWalkable(x + dx, y);
+			if (vertical) out.add(node + dy * width);
+			if (horizontal) out.add(node + dx);
+			if (vertical && horizontal && grid.isWalkable(x + dx, y + dy)) out.add(node + dy * width + dx);
+		} else if (dx != 0) {
+			boolean next = grid.isWalkable(x + dx, y), up = grid.isWalkable(x, y + 1), down = grid.isWalkable(x, y - 1);
+			if (next) {
+				out.add(node + dx);
+				if (up && grid.isWalkable(x + dx, y + 1)) out.add(node + width + dx);
+				if (down && grid.isWalkable(x + dx, y - 1)) out.add(node - width + dx);
+			}
+			if (up) out.add(node + width);
+			if (down) out.add(node - width);
+		} else {
+			boolean next = grid.isWalkable(x, y + dy), right = grid.isWalkable(x + 1, y), left = grid.isWalkable(x - 1, y);
+			if (next) {
+				out.add(node + dy * width);
+				if (right && grid.isWalkable(x + 1, y + dy)) out.add(node + dy * width + 1);
+				if (left && grid.isWalkable(x - 1, y + dy)) out.add(node + dy * width - 1);
+			}
+			if (right) out.add(node + 1);
+			if (left) out.add(node - 1);
+		}
+	}
+
+	/** Moves from the cell in the direction until a jump point is found.
+	 * @return the jump point node, or -1 if a blocked cell or the edge of the grid was reached first */
+	private int jump (GridGraph grid, int x, int y, int dx, int dy, int goalX, int goalY) {
+		while (true) {
+			if (!grid.isWalkable(x, y)) return -1;
+			if (x == goalX && y == goalY) return y * grid.width + x;
+			if (dx != 0 && dy != 0) {
+				// A diagonal move stops where a straight move in either component direction finds a jump point.
+				if (jump(grid, x + dx, y, dx, 0, goalX, goalY) != -1 || jump(grid, x, y + dy, 0, dy, goalX, goalY) != -1)
+					return y * grid.width + x;
+				if (!grid.isWalkable(x + dx, y) || !grid.isWalkable(x, y + dy)) return -1;
+			} else if (dx != 0) {
+				if ((grid.isWalkable(x, y - 1) && !grid.isWalkable(x - dx, y - 1))
+					|| (grid.isWalkable(x, y + 1) && !grid.isWalkable(x - dx, y + 1))) return y * grid.width + x;
+			} else {
+				if ((grid.isWalkable(x - 1, y) && !grid.isWalkable(x - 1, y - dy))
+					|| (grid.isWalkable(x + 1, y) && !grid.isWalkable(x + 1, y - dy))) return y * grid.width + x;
+			}
+			x += dx;
+			y += dy;
+		}
+	}
+
+	static private float octile (int x, int y, int x2, int y2) {
+		int dx = Math.abs(x - x2), dy = Math.abs(y - y2);
+		return Math.max(dx, dy) + (GridGraph.SQRT2 - 1) * Math.min(dx, dy);
+	}
+
+	static private int sign (int value) {
+		return value > 0 ? 1 : value < 0 ? -1 : 0;
+	}
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.pathfinding;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/** A path to be found by a {@link ParallelPathFinder}. Requests can be reused, the path array is cleared for each search. */
+public class PathRequest {
+	public int start, goal;
+	/** If true and the graph is a {@link GridGraph}, {@link PathFinder#findPathJPS(GridGraph, int, int, IntArray)} is used. */
+	public boolean jumpPointSearch;
+
+	/** Receives the nodes of the path, including start and goal. */
+	public final IntArray path = new IntArray();
+	/** Whether a path was found. */
+	public boolean found;
+	/** The cost of the path, or positive infinity if no path was found. */
+	public float cost;
+
+	public PathRequest () {
+	}
+
+	public PathRequest (int start, int goal) {
+		this.start = start;
+		this.goal = goal;
+	}
+
+	public void set (int start, int goal) {
+		this.start = start;
+		this.goal = goal;
+	}
+}
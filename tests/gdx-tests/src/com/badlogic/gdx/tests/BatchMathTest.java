@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.BatchMath;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Checks {@link BatchMath} against the per vector methods and compares its speed with the JNI bulk methods of {@link Matrix4}
+ * for different batch sizes. */
+public class BatchMathTest extends GdxTest {
+	@Override
+	public boolean needsGL20 () {
+		return false;
+	}
+
+	@Override
+	public void create () {
+		Matrix4 mat = new Matrix4().setToRotation(0, 1, 1, 30).scl(2, 1, 3).trn(1, 2, 3);
+		Vector3 vec = new Vector3();
+		float[] vecs = new float[5 * 10];
+		for (int i = 0; i < vecs.length; i++)
+			vecs[i] = MathUtils.random(-10f, 10f);
+		float[] copy = vecs.clone();
+
+		BatchMath.mulVec3(mat, vecs, 0, 10, 5);
+		for (int i = 0; i < 10; i++)
+			check(vec.set(copy[i * 5], copy[i * 5 + 1], copy[i * 5 + 2]).mul(mat), vecs, i * 5);
+
+		System.arraycopy(copy, 0, vecs, 0, vecs.length);
+		BatchMath.prjVec3(mat, vecs, 0, 10, 5);
+		for (int i = 0; i < 10; i++)
+			check(vec.set(copy[i * 5], copy[i * 5 + 1], copy[i * 5 + 2]).prj(mat), vecs, i * 5);
+
+		System.arraycopy(copy, 0, vecs, 0, vecs.length);
+		BatchMath.rotVec3(mat, vecs, 0, 10, 5);
+		for (int i = 0; i < 10; i++)
+			check(vec.set(copy[i * 5], copy[i * 5 + 1], copy[i * 5 + 2]).rot(mat), vecs, i * 5);
+
+		// the second matrix mirrors, which flips the sign of the determinant
+		Matrix4[] normalMats = {mat, new Matrix4(mat).scl(-1, 1, 1)};
+		for (Matrix4 normalMat : normalMats) {
+			Matrix4 normalMatrix = new Matrix4(normalMat).toNormalMatrix();
+			System.arraycopy(copy, 0, vecs, 0, vecs.length);
+			BatchMath.mulNormals(normalMat, vecs, 0, 10, 5);
+			for (int i = 0; i < 10; i++)
+				check(vec.set(copy[i * 5], copy[i * 5 + 1], copy[i * 5 + 2]).rot(normalMatrix).nor(), vecs, i * 5);
+		}
+
+		BoundingBox box = new BoundingBox(new Vector3(-1, -2, -3), new Vector3(4, 5, 6));
+		float[] boxes = {-1, -2, -3, 4, 5, 6};
+		box.mul(mat);
+		BatchMath.mulBounds(mat, boxes, 0, 1, 6);
+		check(box.min, boxes, 0);
+		check(box.max, boxes, 3);
+
+		Quaternion q1 = new Quaternion(new Vector3(1, 0, 0), 10), q2 = new Quaternion(new Vector3(0, 1, 1).nor(), 120);
+		float[] quats = {q1.x, q1.y, q1.z, q1.w, q2.x, q2.y, q2.z, q2.w};
+		q1.slerp(q2, 0.3f);
+		BatchMath.slerp(quats, 0, quats, 4, 0.3f, quats, 0, 1);
+		if (!equal(q1.x, quats[0]) || !equal(q1.w, quats[3])) throw new GdxRuntimeException("slerp doesn't work");
+
+		Gdx.app.log("BatchMathTest", "all checks passed");
+		for (int count = 4; count <= 4096; count *= 8)
+			bench(mat, count);
+	}
+
+	private void bench (Matrix4 mat, int count) {
+		float[] vecs = new float[count * 3];
+		float[] xs = new float[count], ys = new float[count], zs = new float[count];
+		int iterations = 2000000 / count;
+
+		long start = TimeUtils.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			Matrix4.mulVec(mat.val, vecs, 0, count, 3);
+		log("jni mulVec", count, start);
+
+		start = TimeUtils.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			BatchMath.mulVec3(mat, vecs, 0, count, 3);
+		log("java mulVec3", count, start);
+
+		start = TimeUtils.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			BatchMath.mulVec3(mat, xs, ys, zs, 0, count);
+		log("java mulVec3 soa", count, start);
+
+		start = TimeUtils.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			Matrix4.rot(mat.val, vecs, 0, count, 3);
+		log("jni rot", count, start);
+
+		start = TimeUtils.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			BatchMath.rotVec3(mat, vecs, 0, count, 3);
+		log("java rotVec3", count, start);
+	}
+
+	private void log (String name, int count, long start) {
+		Gdx.app.log("BatchMathTest", name + ", batches of " + count + " took: " + (TimeUtils.nanoTime() - start) / 1000000000.0f);
+	}
+
+	private boolean equal (float a, float b) {
+		return Math.abs(a - b) <= 0.0001f * Math.max(1, Math.abs(a));
+	}
+
+	private void check (Vector3 vec, float[] values, int offset) {
+		if (!equal(vec.x, values[offset]) || !equal(vec.y, values[offset + 1]) || !equal(vec.z, values[offset + 2]))
+			throw new GdxRuntimeException("vectors are not equal");
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+import com.badlogic.gdx.graphics.glutils.GLStateCache;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Runs {@link GLProfiler} and {@link GLStateCache} against a mock GL20 that only records the names of the calls it receives, so
+ * it needs no GPU. Checks that the profiler passes every call on to GL and counts it, and which calls the state cache keeps
+ * from reaching GL. The real GL instances are restored afterwards. */
+public class GLProfilerTest extends GdxTest {
+	final Array<String> received = new Array<String>();
+
+	@Override
+	public void create () {
+		GLCommon gl = Gdx.gl;
+		GL10 gl10 = Gdx.gl10;
+		GL20 gl20 = Gdx.gl20;
+		boolean cacheEnabled = GLStateCache.isEnabled();
+
+		GL20 mock = (GL20)Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {GL20.class}, new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				received.add(method.getName());
+				Class<?> type = method.getReturnType();
+				if (type == int.class) return 0;
+				if (type == boolean.class) return false;
+				if (type == String.class) return "";
+				return null;
+			}
+		});
+		Gdx.gl = mock;
+		Gdx.gl10 = null;
+		Gdx.gl20 = mock;
+		GLProfiler profiler = new GLProfiler();
+		try {
+			profiler.install();
+			checkProfiler(profiler);
+			checkStateCache(profiler);
+		} finally {
+			profiler.uninstall();
+			Gdx.gl = gl;
+			Gdx.gl10 = gl10;
+			Gdx.gl20 = gl20;
+			// forgets the state set on the mock
+			GLStateCache.setEnabled(cacheEnabled);
+		}
+		Gdx.app.log("GLProfilerTest", "all checks passed");
+	}
+
+	private void checkProfiler (GLProfiler profiler) {
+		GLStateCache.setEnabled(false);
+		Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0);
+		Gdx.gl.glBindTexture(GL20.GL_TEXTURE_2D, 1);
+		Gdx.gl.glBindTexture(GL20.GL_TEXTURE_2D, 1);
+		Gdx.gl20.glUseProgram(2);
+		Gdx.gl20.glBufferData(GL20.GL_ARRAY_BUFFER, 64, null, GL20.GL_STATIC_DRAW);
+		Gdx.gl.glDrawArrays(GL20.GL_TRIANGLES, 0, 6);
+		// the profiler only counts, even the redundant bind reaches GL
+		expect("glActiveTexture", "glBindTexture", "glBindTexture", "glUseProgram", "glBufferData", "glDrawArrays");
+		check(profiler.calls == 6, "calls");
+		check(profiler.getCallCount("glBindTexture") == 2, "glBindTexture calls");
+		check(profiler.textureBindings == 2, "texture bindings");
+		check(profiler.shaderSwitches == 1, "shader switches");
+		check(profiler.stateChanges == 4, "state changes");
+		check(profiler.redundantStateChanges == 1, "redundant state changes");
+		check(profiler.bytesUploaded == 64, "bytes uploaded");
+		check(profiler.drawCalls == 1 && profiler.vertexCount == 6, "draw calls");
+
+		profiler.nextFrame();
+		check(profiler.getLastFrame().drawCalls == 1 && profiler.getLastFrame().getCallCount("glBindTexture") == 2, "last frame");
+		check(profiler.calls == 0 && profiler.drawCalls == 0, "counters not reset");
+	}
+
+	private void checkStateCache (GLProfiler profiler) {
+		GLStateCache.setEnabled(true);
+		GLStateCache.resetCounters();
+		profiler.reset();
+		profiler.resetState();
+		GLStateCache.bindTexture(0, GL20.GL_TEXTURE_2D, 3);
+		GLStateCache.bindTexture(0, GL20.GL_TEXTURE_2D, 3);
+		GLStateCache.useProgram(4);
+		GLStateCache.useProgram(4);
+		GLStateCache.enable(GL20.GL_BLEND);
+		GLStateCache.enable(GL20.GL_BLEND);
+		GLStateCache.disable(GL20.GL_BLEND);
+		// the repeated calls are skipped, so none of the calls that reach GL is redundant
+		expect("glActiveTexture", "glBindTexture", "glUseProgram", "glEnable", "glDisable");
+		check(GLStateCache.getElidedCalls() == 4, "elided calls");
+		check(profiler.redundantStateChanges == 0, "redundant state changes with cache");
+
+		// after invalidating, the cache doesn't know the program anymore and has to set it again
+		GLStateCache.invalidate();
+		GLStateCache.useProgram(4);
+		expect("glUseProgram");
+		check(profiler.redundantStateChanges == 1, "redundant state change after invalidate");
+	}
+
+	private void expect (String... calls) {
+		boolean equal = received.size == calls.length;
+		for (int i = 0; equal && i < calls.length; i++)
+			equal = calls[i].equals(received.get(i));
+		check(equal, "expected GL calls " + new Array<String>(calls) + " but got " + received);
+		received.clear();
+	}
+
+	private void check (boolean condition, String message) {
+		if (!condition) throw new GdxRuntimeException("check failed: " + message);
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Draws sprites alternating between several textures, once with a SpriteBatch that flushes on every texture change and once
+ * with one binding all textures to separate units. Touch to switch between the two, the render calls are logged every second. */
+public class SpriteBatchMultiTextureTest extends GdxTest {
+	static final int SPRITES = 2000;
+
+	SpriteBatch batch, multiTextureBatch;
+	Texture[] textures;
+	float[] positions = new float[SPRITES * 2];
+	boolean useMultiTexture = true;
+	long lastLog;
+
+	@Override
+	public boolean needsGL20 () {
+		return true;
+	}
+
+	@Override
+	public void create () {
+		Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
+		textures = new Texture[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			Pixmap pixmap = new Pixmap(16, 16, Format.RGBA8888);
+			pixmap.setColor(colors[i]);
+			pixmap.fill();
+			textures[i] = new Texture(pixmap);
+			pixmap.dispose();
+		}
+		for (int i = 0; i < positions.length; i += 2) {
+			positions[i] = MathUtils.random(Gdx.graphics.getWidth() - 16);
+			positions[i + 1] = MathUtils.random(Gdx.graphics.getHeight() - 16);
+		}
+		batch = new SpriteBatch(1000);
+		multiTextureBatch = new SpriteBatch(1000, 1, textures.length);
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
+		if (Gdx.input.justTouched()) useMultiTexture = !useMultiTexture;
+
+		SpriteBatch batch = useMultiTexture ? multiTextureBatch : this.batch;
+		batch.begin();
+		for (int i = 0; i < SPRITES; i++)
+			batch.draw(textures[i % textures.length], positions[i * 2], positions[i * 2 + 1]);
+		batch.end();
+
+		if (TimeUtils.millis() - lastLog > 1000) {
+			lastLog = TimeUtils.millis();
+			Gdx.app.log("SpriteBatchMultiTextureTest", (useMultiTexture ? "multi texture" : "single texture") + ", render calls: "
+				+ batch.renderCalls + ", fps: " + Gdx.graphics.getFramesPerSecond());
+		}
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		multiTextureBatch.dispose();
+		for (Texture texture : textures)
+			texture.dispose();
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCommandBuffer;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Checks that {@link SpriteCommandBuffer} draws the commands ordered by layer, including negative layers, and in recording
+ * order within a layer, then draws overlapping sprites on three layers that were recorded in the wrong order. */
+public class SpriteCommandBufferTest extends GdxTest {
+	SpriteBatch batch;
+	SpriteCommandBuffer buffer;
+	Texture texture;
+
+	@Override
+	public boolean needsGL20 () {
+		return false;
+	}
+
+	@Override
+	public void create () {
+		Pixmap pixmap = new Pixmap(1, 1, Format.RGBA8888);
+		pixmap.setColor(Color.WHITE);
+		pixmap.fill();
+		texture = new Texture(pixmap);
+		pixmap.dispose();
+		batch = new SpriteBatch();
+		buffer = new SpriteCommandBuffer();
+
+		// the x coordinate identifies the command
+		int[] layers = {1, -1, 0, -1, 1, 0, Short.MIN_VALUE, Short.MAX_VALUE};
+		int[] expected = {6, 1, 3, 2, 5, 0, 4, 7};
+		for (int sortByTexture = 0; sortByTexture < 2; sortByTexture++) {
+			buffer.setSortByTexture(sortByTexture == 1);
+			for (int i = 0; i < layers.length; i++) {
+				buffer.setLayer(layers[i]);
+				buffer.draw(texture, i, 0, 1, 1);
+			}
+			final FloatArray xs = new FloatArray();
+			SpriteBatch recorder = new SpriteBatch(1) {
+				@Override
+				public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+					for (int i = offset; i < offset + count; i += 20)
+						xs.add(spriteVertices[i]);
+				}
+			};
+			buffer.flush(recorder);
+			recorder.dispose();
+			if (xs.size != expected.length) throw new GdxRuntimeException("expected " + expected.length + " sprites: " + xs.size);
+			for (int i = 0; i < expected.length; i++)
+				if (xs.get(i) != expected[i]) throw new GdxRuntimeException("wrong sprite at " + i + ": " + xs.get(i));
+		}
+		buffer.setSortByTexture(false);
+		Gdx.app.log("SpriteCommandBufferTest", "all checks passed");
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL10.GL_COLOR_BUFFER_BIT);
+		// red on top of green on top of blue
+		buffer.setLayer(1);
+		buffer.setColor(1, 0, 0, 1);
+		buffer.draw(texture, 100, 100, 100, 100);
+		buffer.setLayer(-1);
+		buffer.setColor(0, 0, 1, 1);
+		buffer.draw(texture, 50, 50, 100, 100);
+		buffer.setLayer(0);
+		buffer.setColor(0, 1, 0, 1);
+		buffer.draw(texture, 75, 75, 100, 100);
+		batch.begin();
+		buffer.flush(batch);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		buffer.dispose();
+		batch.dispose();
+		texture.dispose();
+	}
+}